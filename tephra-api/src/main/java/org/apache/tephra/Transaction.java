@@ -39,6 +39,12 @@ public class Transaction {
 
   private static final long[] NO_EXCLUDES = { };
   public static final long NO_TX_IN_PROGRESS = Long.MAX_VALUE;
+  /**
+   * Transaction id and write pointer of a {@link TransactionType#READ_ONLY} transaction. This is above any read
+   * pointer, so it never matches the version of committed data. It is not a version that data can be written at,
+   * transaction-aware clients must refuse writes in read-only transactions.
+   */
+  public static final long READ_ONLY_WRITE_POINTER = Long.MAX_VALUE;
 
   public static final Transaction ALL_VISIBLE_LATEST =
     new Transaction(Long.MAX_VALUE, Long.MAX_VALUE, NO_EXCLUDES, NO_EXCLUDES, NO_TX_IN_PROGRESS, TransactionType.SHORT);
@@ -205,8 +211,14 @@ public class Transaction {
    * invalid transactions).
    */
   public boolean isExcluded(long version) {
-    return Arrays.binarySearch(inProgress, version) >= 0
-      || Arrays.binarySearch(invalids, version) >= 0;
+    return Arrays.binarySearch(inProgress, version) >= 0 || isInvalid(version);
+  }
+
+  private boolean isInvalid(long version) {
+    // the invalid list can be large, but most versions are outside of its range
+    int last = invalids.length - 1;
+    return last >= 0 && version >= invalids[0] && version <= invalids[last]
+      && Arrays.binarySearch(invalids, version) >= 0;
   }
 
   /**
@@ -241,6 +253,10 @@ public class Transaction {
    * @return true if version was written by current transaction, false otherwise.
    */
   public boolean isCurrentWrite(long version) {
+    if (type == TransactionType.READ_ONLY) {
+      // a read-only transaction has not written anything
+      return false;
+    }
     return writePointer == version || txId == version || isCheckpoint(version);
   }
 
@@ -29,5 +29,10 @@ public enum TransactionType {
   /**
    * Long running transactions do not detect conflicts during commit.
    */
-  LONG
+  LONG,
+  /**
+   * Read-only transactions only read from a snapshot. They are not assigned a write pointer of their own, are not
+   * tracked as in-progress by the transaction manager and must not be used to write.
+   */
+  READ_ONLY
 }
@@ -148,6 +148,16 @@ public abstract class AbstractTransactionAwareTable implements TransactionAware
    */
   protected abstract boolean doRollback() throws Exception;
 
+  /**
+   * Fails if the current transaction must not write. A read-only transaction has no write pointer that data can be
+   * written at, hence any write would be visible to all transactions right away and could not be rolled back.
+   */
+  protected void checkWritable() throws IOException {
+    if (tx.getType() == TransactionType.READ_ONLY) {
+      throw new IOException("Cannot write in read-only transaction " + tx.getTransactionId());
+    }
+  }
+
   protected void addToChangeSet(byte[] row, byte[] family, byte[] qualifier) {
     long currentWritePointer = tx.getWritePointer();
     Set<ActionChange> changeSet = changeSets.get(currentWritePointer);
@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index of the committed change sets of the {@link TransactionManager}: maps every committed change to
+ * the latest time it was committed at, so that conflict detection does not need to look at all committed change sets.
+ *
+ * <p>If the transaction manager keeps fingerprints of the change keys, the index is a primitive open-addressing table
+ * keyed by the fingerprints, which does not take any object per change. Otherwise it is a concurrent map from the
+ * change to its latest commit time.</p>
+ *
+ * <p>The index is only modified by one thread at a time, while holding the global lock of the transaction manager or
+ * during recovery, but may be read concurrently.</p>
+ */
+abstract class CommittedChangeIndex {
+
+  /**
+   * Creates an index for change sets with fingerprints of the given width, or with full change keys for 0 bits.
+   */
+  static CommittedChangeIndex create(int fingerprintBits) {
+    return fingerprintBits == 0 ? new KeyIndex() : new FingerprintIndex(fingerprintBits);
+  }
+
+  /**
+   * Returns whether any of the given changes was committed after the given transaction started.
+   */
+  abstract boolean hasCommittedAfter(Set<ChangeId> changes, long transactionId);
+
+  /**
+   * Records the given commit time as the latest commit of each of the changes, unless a later one is known already.
+   * Commits may be replayed out of order from the transaction log.
+   */
+  abstract void add(Set<ChangeId> changes, long commitPointer);
+
+  /**
+   * Removes the changes whose latest commit is at the given commit time.
+   */
+  abstract void remove(Set<ChangeId> changes, long commitPointer);
+
+  /**
+   * Returns the number of changes in the index.
+   */
+  abstract int size();
+
+  abstract void clear();
+
+  /**
+   * Index of full change keys.
+   */
+  private static final class KeyIndex extends CommittedChangeIndex {
+    private final ConcurrentMap<ChangeId, Long> commits = Maps.newConcurrentMap();
+
+    @Override
+    boolean hasCommittedAfter(Set<ChangeId> changes, long transactionId) {
+      for (ChangeId change : changes) {
+        Long commitPointer = commits.get(change);
+        if (commitPointer != null && commitPointer > transactionId) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    void add(Set<ChangeId> changes, long commitPointer) {
+      for (ChangeId change : changes) {
+        Long latest = commits.get(change);
+        if (latest == null || latest < commitPointer) {
+          commits.put(change, commitPointer);
+        }
+      }
+    }
+
+    @Override
+    void remove(Set<ChangeId> changes, long commitPointer) {
+      for (ChangeId change : changes) {
+        // only remove the entry if there was no later commit of the same change
+        commits.remove(change, commitPointer);
+      }
+    }
+
+    @Override
+    int size() {
+      return commits.size();
+    }
+
+    @Override
+    void clear() {
+      commits.clear();
+    }
+  }
+
+  /**
+   * Index of fingerprints, in an open-addressing table with linear probing. Every slot holds the fingerprint in one
+   * or two longs of the key array, and the latest commit time in the commit array, which is 0 for an empty slot.
+   * Reads take the read lock of the table, so that they never see it while it is changed or resized.
+   */
+  private static final class FingerprintIndex extends CommittedChangeIndex {
+    private static final int MIN_CAPACITY = 16;
+    // 2^64 divided by the golden ratio, to spread the fingerprints over the table differently than the change sets
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private final int bits;
+    // number of longs per fingerprint in the key array
+    private final int stride;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] keys;
+    private long[] commits;
+    private int capacity;
+    // 64 minus the number of bits of a slot index
+    private int shift;
+    private int size;
+
+    private FingerprintIndex(int bits) {
+      this.bits = bits;
+      this.stride = bits > Long.SIZE ? 2 : 1;
+      allocate(MIN_CAPACITY);
+    }
+
+    @Override
+    boolean hasCommittedAfter(Set<ChangeId> changes, final long transactionId) {
+      FingerprintChangeSet fingerprints = checkFingerprints(changes);
+      lock.readLock().lock();
+      try {
+        return !fingerprints.visit(new FingerprintChangeSet.FingerprintVisitor() {
+          @Override
+          public boolean visit(long high, long low) {
+            // continue as long as no change was committed after the transaction started
+            long commitPointer = commits[slot(high, low)];
+            return commitPointer == 0 || commitPointer <= transactionId;
+          }
+        });
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    @Override
+    void add(Set<ChangeId> changes, final long commitPointer) {
+      FingerprintChangeSet fingerprints = checkFingerprints(changes);
+      // 0 marks an empty slot
+      Preconditions.checkArgument(commitPointer > 0, "Commit time must be positive but is %s", commitPointer);
+      lock.writeLock().lock();
+      try {
+        fingerprints.visit(new FingerprintChangeSet.FingerprintVisitor() {
+          @Override
+          public boolean visit(long high, long low) {
+            put(high, low, commitPointer);
+            return true;
+          }
+        });
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    @Override
+    void remove(Set<ChangeId> changes, final long commitPointer) {
+      FingerprintChangeSet fingerprints = checkFingerprints(changes);
+      lock.writeLock().lock();
+      try {
+        fingerprints.visit(new FingerprintChangeSet.FingerprintVisitor() {
+          @Override
+          public boolean visit(long high, long low) {
+            int slot = slot(high, low);
+            // only remove the entry if there was no later commit of the same change
+            if (commits[slot] != 0 && commits[slot] == commitPointer) {
+              removeSlot(slot);
+            }
+            return true;
+          }
+        });
+        // give the memory back once most of the changes were pruned
+        if (capacity > MIN_CAPACITY && size * 8 < capacity) {
+          resize(Math.max(MIN_CAPACITY, Integer.highestOneBit(size) * 4));
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    @Override
+    int size() {
+      lock.readLock().lock();
+      try {
+        return size;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    @Override
+    void clear() {
+      lock.writeLock().lock();
+      try {
+        allocate(MIN_CAPACITY);
+        size = 0;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private FingerprintChangeSet checkFingerprints(Set<ChangeId> changes) {
+      Preconditions.checkArgument(changes instanceof FingerprintChangeSet
+                                    && ((FingerprintChangeSet) changes).getBits() == bits,
+                                  "Changes are not %s bit fingerprints", bits);
+      return (FingerprintChangeSet) changes;
+    }
+
+    private void put(long high, long low, long commitPointer) {
+      int slot = slot(high, low);
+      if (commits[slot] == 0) {
+        keys[slot * stride] = high;
+        if (stride == 2) {
+          keys[slot * stride + 1] = low;
+        }
+        commits[slot] = commitPointer;
+        size++;
+        // keep the load factor at most 1/2
+        if (size * 2 > capacity) {
+          resize(capacity * 2);
+        }
+      } else if (commits[slot] < commitPointer) {
+        commits[slot] = commitPointer;
+      }
+    }
+
+    /**
+     * Empties the given slot, and moves later entries of the same probe sequence into it, so that no lookup stops
+     * at the empty slot before reaching them.
+     */
+    private void removeSlot(int slot) {
+      int free = slot;
+      int i = slot;
+      while (true) {
+        i = (i + 1) & (capacity - 1);
+        if (commits[i] == 0) {
+          break;
+        }
+        int home = home(keys[i * stride], stride == 2 ? keys[i * stride + 1] : 0);
+        // the entry can move to the free slot unless its home slot lies cyclically after the free slot
+        boolean canMove = free <= i ? (home <= free || home > i) : (home <= free && home > i);
+        if (canMove) {
+          System.arraycopy(keys, i * stride, keys, free * stride, stride);
+          commits[free] = commits[i];
+          free = i;
+        }
+      }
+      keys[free * stride] = 0;
+      if (stride == 2) {
+        keys[free * stride + 1] = 0;
+      }
+      commits[free] = 0;
+      size--;
+    }
+
+    /**
+     * Returns the slot that holds the given fingerprint, or the empty slot where it would be inserted.
+     */
+    private int slot(long high, long low) {
+      int i = home(high, low);
+      while (commits[i] != 0 && (keys[i * stride] != high || (stride == 2 && keys[i * stride + 1] != low))) {
+        i = (i + 1) & (capacity - 1);
+      }
+      return i;
+    }
+
+    private int home(long high, long low) {
+      return (int) (((high ^ low) * MIX) >>> shift);
+    }
+
+    private void resize(int newCapacity) {
+      long[] oldKeys = keys;
+      long[] oldCommits = commits;
+      allocate(newCapacity);
+      for (int i = 0; i < oldCommits.length; i++) {
+        if (oldCommits[i] != 0) {
+          long high = oldKeys[i * stride];
+          long low = stride == 2 ? oldKeys[i * stride + 1] : 0;
+          int slot = slot(high, low);
+          keys[slot * stride] = high;
+          if (stride == 2) {
+            keys[slot * stride + 1] = low;
+          }
+          commits[slot] = oldCommits[i];
+        }
+      }
+    }
+
+    private void allocate(int newCapacity) {
+      keys = new long[newCapacity * stride];
+      commits = new long[newCapacity];
+      capacity = newCapacity;
+      shift = Long.SIZE - Integer.numberOfTrailingZeros(newCapacity);
+    }
+  }
+}
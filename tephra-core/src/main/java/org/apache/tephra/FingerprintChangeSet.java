@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of {@link ChangeId}s that only retains a fixed-width hash fingerprint of every change, stored in a
+ * primitive open-addressing table instead of one object per change.
+ *
+ * <p>The elements of this set are the fingerprints themselves: every {@link ChangeId} returned by the iterator has
+ * a key of {@code bits / 8} bytes, which is also how change sets are written to snapshots and the transaction log.
+ * Full change keys are added with {@link #addKey(byte[])}. A fingerprint cannot be told apart from a full change key
+ * of the same length, so snapshots and the transaction log record the width of a fingerprinted change set along
+ * with its changes, and decode it as a {@code FingerprintChangeSet} again.</p>
+ *
+ * <p>Two different changes with the same fingerprint are indistinguishable. For conflict detection this means
+ * that a transaction may be rejected because of a change that it did not actually conflict with (a false conflict),
+ * but a real conflict is never missed. With {@code n} changes committed while a transaction is in progress, the
+ * probability of a false conflict for a single change of that transaction is about {@code n / 2^bits}.</p>
+ *
+ * <p>This class is not thread-safe, and does not support removal of elements.</p>
+ */
+public final class FingerprintChangeSet extends AbstractSet<ChangeId> {
+
+  /** The smallest supported fingerprint width, in bits. */
+  public static final int MIN_BITS = 32;
+  /** The largest supported fingerprint width, in bits. */
+  public static final int MAX_BITS = 128;
+
+  private static final HashFunction HASH = Hashing.murmur3_128();
+  private static final int MIN_CAPACITY = 4;
+
+  private final int bits;
+  private final int bytes;
+  // number of longs per slot in the table
+  private final int stride;
+  // a slot of all zeros marks an empty slot, the zero fingerprint is tracked separately
+  private long[] table;
+  private int capacity;
+  private int size;
+  private boolean containsZero;
+
+  public FingerprintChangeSet(int bits) {
+    this(bits, MIN_CAPACITY);
+  }
+
+  public FingerprintChangeSet(int bits, int expectedSize) {
+    checkBits(bits);
+    this.bits = bits;
+    this.bytes = bits / Byte.SIZE;
+    this.stride = bytes > 8 ? 2 : 1;
+    this.capacity = capacityFor(expectedSize);
+    this.table = new long[capacity * stride];
+  }
+
+  /**
+   * Creates a set of the given width with the given fingerprints, as returned by the iterator of a set with the same
+   * width. This is used to decode fingerprinted change sets.
+   *
+   * @throws IllegalArgumentException if the width is not supported, or any of the changes is not a fingerprint of
+   *     that width
+   */
+  public static FingerprintChangeSet copyOf(int bits, Collection<ChangeId> fingerprints) {
+    FingerprintChangeSet set = new FingerprintChangeSet(bits, fingerprints.size());
+    for (ChangeId fingerprint : fingerprints) {
+      set.add(fingerprint);
+    }
+    return set;
+  }
+
+  /**
+   * Checks that the given number of bits is a supported fingerprint width.
+   *
+   * @throws IllegalArgumentException if it is not a multiple of 8 between {@link #MIN_BITS} and {@link #MAX_BITS}
+   */
+  public static void checkBits(int bits) {
+    Preconditions.checkArgument(bits >= MIN_BITS && bits <= MAX_BITS && bits % Byte.SIZE == 0,
+                                "Fingerprint width must be a multiple of 8 between %s and %s bits, but is %s",
+                                MIN_BITS, MAX_BITS, bits);
+  }
+
+  /**
+   * Returns the fingerprint width of this set, in bits.
+   */
+  public int getBits() {
+    return bits;
+  }
+
+  /**
+   * Returns whether the given change is a fingerprint of the width of this set, rather than a full change key.
+   */
+  public boolean isFingerprint(ChangeId change) {
+    return change.getKey().length == bytes;
+  }
+
+  /**
+   * Adds the fingerprint of the given full change key.
+   *
+   * @return whether the set did not contain the fingerprint yet
+   */
+  public boolean addKey(byte[] key) {
+    byte[] hash = HASH.hashBytes(key).asBytes();
+    return add(high(hash), low(hash));
+  }
+
+  /**
+   * Adds a fingerprint, as returned by the iterator of a set with the same width.
+   *
+   * @throws IllegalArgumentException if the given change is not a fingerprint of the width of this set
+   */
+  @Override
+  public boolean add(ChangeId fingerprint) {
+    Preconditions.checkArgument(isFingerprint(fingerprint), "Not a %s bit fingerprint: %s", bits, fingerprint);
+    byte[] key = fingerprint.getKey();
+    return add(high(key), low(key));
+  }
+
+  /**
+   * Adds the fingerprint of the same key for the width of this set, given a fingerprint of the same or a greater
+   * width. A fingerprint is a prefix of the hash of the key, so this is the prefix of the given fingerprint.
+   *
+   * @throws IllegalArgumentException if the given change is narrower than the fingerprints of this set
+   */
+  public boolean addPrefix(ChangeId fingerprint) {
+    byte[] key = fingerprint.getKey();
+    Preconditions.checkArgument(key.length >= bytes, "Not a fingerprint of at least %s bits: %s", bits, fingerprint);
+    return add(high(key), low(key));
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    if (!(o instanceof ChangeId) || !isFingerprint((ChangeId) o)) {
+      return false;
+    }
+    byte[] key = ((ChangeId) o).getKey();
+    long high = high(key);
+    long low = low(key);
+    if (high == 0 && low == 0) {
+      return containsZero;
+    }
+    return !isEmpty(slot(table, capacity, high, low) / stride);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<ChangeId> iterator() {
+    return new Iterator<ChangeId>() {
+      private int next = containsZero ? -1 : advance(0);
+      private int remaining = size;
+
+      @Override
+      public boolean hasNext() {
+        return remaining > 0;
+      }
+
+      @Override
+      public ChangeId next() {
+        if (remaining == 0) {
+          throw new NoSuchElementException();
+        }
+        ChangeId change;
+        if (next < 0) {
+          change = toChangeId(0, 0);
+        } else {
+          change = toChangeId(table[next * stride], stride == 2 ? table[next * stride + 1] : 0);
+        }
+        remaining--;
+        next = advance(next + 1);
+        return change;
+      }
+
+      private int advance(int from) {
+        for (int i = from; i < capacity; i++) {
+          if (!isEmpty(i)) {
+            return i;
+          }
+        }
+        return capacity;
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException("Removal is not supported");
+      }
+    };
+  }
+
+  /**
+   * Passes every fingerprint of this set to the given visitor, without creating a {@link ChangeId} for it, until the
+   * visitor returns false.
+   *
+   * @return whether all fingerprints were visited
+   */
+  boolean visit(FingerprintVisitor visitor) {
+    if (containsZero && !visitor.visit(0, 0)) {
+      return false;
+    }
+    for (int i = 0; i < capacity; i++) {
+      if (!isEmpty(i) && !visitor.visit(table[i * stride], stride == 2 ? table[i * stride + 1] : 0)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Receives the fingerprints of a {@link FingerprintChangeSet} as two longs: the first (up to) 8 bytes, and the
+   * remaining bytes for fingerprints wider than 64 bits, or 0.
+   */
+  interface FingerprintVisitor {
+    /**
+     * @return whether to continue with the next fingerprint
+     */
+    boolean visit(long high, long low);
+  }
+
+  private boolean add(long high, long low) {
+    if (high == 0 && low == 0) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+    int slot = slot(table, capacity, high, low);
+    if (!isEmpty(slot / stride)) {
+      return false;
+    }
+    table[slot] = high;
+    if (stride == 2) {
+      table[slot + 1] = low;
+    }
+    size++;
+    // keep the load factor at most 1/2
+    if (size * 2 > capacity) {
+      resize(capacity * 2);
+    }
+    return true;
+  }
+
+  private void resize(int newCapacity) {
+    long[] newTable = new long[newCapacity * stride];
+    for (int i = 0; i < capacity; i++) {
+      if (!isEmpty(i)) {
+        long high = table[i * stride];
+        long low = stride == 2 ? table[i * stride + 1] : 0;
+        int slot = slot(newTable, newCapacity, high, low);
+        newTable[slot] = high;
+        if (stride == 2) {
+          newTable[slot + 1] = low;
+        }
+      }
+    }
+    table = newTable;
+    capacity = newCapacity;
+  }
+
+  private boolean isEmpty(int index) {
+    return table[index * stride] == 0 && (stride == 1 || table[index * stride + 1] == 0);
+  }
+
+  /**
+   * Returns the array offset of the slot that contains the given fingerprint, or of the empty slot where it
+   * would be inserted, using linear probing.
+   */
+  private int slot(long[] slots, int slotCount, long high, long low) {
+    // the fingerprint is a hash already, it only needs to be folded into an int
+    long hash = high ^ low;
+    int index = ((int) (hash ^ (hash >>> 32))) & (slotCount - 1);
+    while (true) {
+      int offset = index * stride;
+      long slotHigh = slots[offset];
+      long slotLow = stride == 2 ? slots[offset + 1] : 0;
+      if ((slotHigh == 0 && slotLow == 0) || (slotHigh == high && slotLow == low)) {
+        return offset;
+      }
+      index = (index + 1) & (slotCount - 1);
+    }
+  }
+
+  private ChangeId toChangeId(long high, long low) {
+    byte[] key = new byte[bytes];
+    for (int i = 0; i < bytes; i++) {
+      long value = i < 8 ? high : low;
+      int shift = 8 * (7 - (i % 8));
+      key[i] = (byte) (value >>> shift);
+    }
+    return new ChangeId(key);
+  }
+
+  /**
+   * Returns the first (up to) 8 bytes of the fingerprint within the given hash or key.
+   */
+  private long high(byte[] key) {
+    return toLong(key, 0, Math.min(bytes, 8));
+  }
+
+  /**
+   * Returns the remaining bytes of the fingerprint within the given hash or key.
+   */
+  private long low(byte[] key) {
+    return bytes > 8 ? toLong(key, 8, bytes - 8) : 0;
+  }
+
+  private static long toLong(byte[] key, int offset, int length) {
+    long value = 0;
+    for (int i = 0; i < 8; i++) {
+      value <<= 8;
+      if (i < length) {
+        value |= key[offset + i] & 0xFF;
+      }
+    }
+    return value;
+  }
+
+  private static int capacityFor(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+}
@@ -31,11 +31,22 @@ import java.io.IOException;
  */
 public class TransactionCodec {
 
+  private final boolean encodeInvalids;
+
   public TransactionCodec() {
+    this(false);
+  }
+
+  /**
+   * @param encodeInvalids whether to encode the invalid list of transactions compactly. Transactions encoded that
+   *                       way can only be decoded by this or later versions of the codec.
+   */
+  public TransactionCodec(boolean encodeInvalids) {
+    this.encodeInvalids = encodeInvalids;
   }
 
   public byte[] encode(Transaction tx) throws IOException {
-    TTransaction thriftTx = TransactionConverterUtils.wrap(tx);
+    TTransaction thriftTx = TransactionConverterUtils.wrap(tx, encodeInvalids);
     TSerializer serializer = new TSerializer();
     try {
       return serializer.serialize(thriftTx);
@@ -88,7 +88,25 @@ public class TransactionContext {
    *     TransactionAware
    */
   public void start() throws TransactionFailureException {
-    currentTx = txClient.startShort();
+    start(txClient.startShort());
+  }
+
+  /**
+   * Starts a new read-only transaction. This works like {@link #start()}, but the transaction is not tracked by the
+   * {@link TransactionSystemClient}: finishing it does not need to call the transaction system, and fails if any of
+   * the registered TransactionAwares has changes. A read-only transaction cannot be checkpointed. If the transaction
+   * system does not support read-only transactions, a short transaction is started instead, see
+   * {@link TransactionSystemClient#startReadOnly()}.
+   *
+   * @throws TransactionFailureException if an exception occurs starting the transaction with any registered
+   *     TransactionAware
+   */
+  public void startReadOnly() throws TransactionFailureException {
+    start(txClient.startReadOnly());
+  }
+
+  private void start(Transaction tx) throws TransactionFailureException {
+    currentTx = tx;
     for (TransactionAware txAware : txAwares) {
       try {
         txAware.startTx(currentTx);
@@ -96,7 +114,9 @@ public class TransactionContext {
         String message = String.format("Unable to start transaction-aware '%s' for transaction %d. ",
                                        txAware.getTransactionAwareName(), currentTx.getTransactionId());
         LOG.warn(message, e);
-        txClient.abort(currentTx);
+        if (!isReadOnly()) {
+          txClient.abort(currentTx);
+        }
         throw new TransactionFailureException(message, e);
       }
     }
@@ -112,10 +132,38 @@ public class TransactionContext {
    */
   public void finish() throws TransactionFailureException {
     Preconditions.checkState(currentTx != null, "Cannot finish tx that has not been started");
+    if (isReadOnly()) {
+      finishReadOnly();
+      return;
+    }
     // each of these steps will abort and rollback the tx in case if errors, and throw an exception
     checkForConflicts();
     persist();
-    commit();
+    commit(null);
+    postCommit();
+    currentTx = null;
+  }
+
+  /**
+   * Commits the current transaction with a single call to the {@link TransactionSystemClient}. This will: flush any
+   * pending writes from the {@code TransactionAware}s; check for conflicts and commit the current transaction in one
+   * step, based on the change set aggregated from all registered {@link TransactionAware} instances; and clear the
+   * current transaction state. Compared to {@link #finish()}, this saves a call to the transaction system, but the
+   * writes are persisted before conflicts are detected, and have to be rolled back if there are any.
+   *
+   * @throws TransactionConflictException if a conflict is detected with a recently committed transaction
+   * @throws TransactionFailureException if an error occurs while committing
+   */
+  public void finishWithSingleCall() throws TransactionFailureException {
+    Preconditions.checkState(currentTx != null, "Cannot finish tx that has not been started");
+    if (isReadOnly()) {
+      finishReadOnly();
+      return;
+    }
+    // each of these steps will abort and rollback the tx in case if errors, and throw an exception
+    Collection<byte[]> changes = getChanges();
+    persist();
+    commit(changes);
     postCommit();
     currentTx = null;
   }
@@ -149,6 +197,7 @@ public class TransactionContext {
    */
   public void checkpoint() throws TransactionFailureException {
     Preconditions.checkState(currentTx != null, "Cannot checkpoint tx that has not been started");
+    Preconditions.checkState(!isReadOnly(), "Cannot checkpoint a read-only tx");
     persist();
     try {
       currentTx = txClient.checkpoint(currentTx);
@@ -193,6 +242,10 @@ public class TransactionContext {
       // might be called by some generic exception handler even though already aborted/finished - we allow that
       return;
     }
+    if (isReadOnly()) {
+      abortReadOnly(cause);
+      return;
+    }
     try {
       boolean success = true;
       for (TransactionAware txAware : txAwares) {
@@ -223,7 +276,36 @@ public class TransactionContext {
     }
   }
 
-  private void checkForConflicts() throws TransactionFailureException {
+  /**
+   * Aborts the current read-only transaction. It is not tracked by the transaction system, so there is nothing to
+   * abort there, and none of the TransactionAwares is rolled back: a read-only transaction must not write, and a
+   * rollback would delete data at its write pointer.
+   */
+  private void abortReadOnly(@Nullable TransactionFailureException cause) throws TransactionFailureException {
+    currentTx = null;
+    if (cause != null) {
+      throw cause;
+    }
+  }
+
+  private boolean isReadOnly() {
+    return currentTx.getType() == TransactionType.READ_ONLY;
+  }
+
+  /**
+   * Finishes the current read-only transaction, which only has to fail if any of the TransactionAwares has changes.
+   */
+  private void finishReadOnly() throws TransactionFailureException {
+    if (!getChanges().isEmpty()) {
+      String message = String.format("Read-only transaction %d has changes.", currentTx.getTransactionId());
+      abort(new TransactionFailureException(message));
+      // abort will throw that exception
+    }
+    postCommit();
+    currentTx = null;
+  }
+
+  private Collection<byte[]> getChanges() throws TransactionFailureException {
     Collection<byte[]> changes = Lists.newArrayList();
     for (TransactionAware txAware : txAwares) {
       try {
@@ -236,6 +318,11 @@ public class TransactionContext {
         // abort will throw that exception
       }
     }
+    return changes;
+  }
+
+  private void checkForConflicts() throws TransactionFailureException {
+    Collection<byte[]> changes = getChanges();
 
     boolean canCommit = false;
     try {
@@ -282,10 +369,13 @@ public class TransactionContext {
     }
   }
 
-  private void commit() throws TransactionFailureException {
+  /**
+   * Commits the current transaction, also checking the given changes for conflicts if not null.
+   */
+  private void commit(@Nullable Collection<byte[]> changes) throws TransactionFailureException {
     boolean commitSuccess = false;
     try {
-      commitSuccess = txClient.commit(currentTx);
+      commitSuccess = changes == null ? txClient.commit(currentTx) : txClient.commitWithChanges(currentTx, changes);
     } catch (TransactionNotInProgressException e) {
       String message = String.format("Transaction %d is not in progress.", currentTx.getTransactionId());
       LOG.warn(message, e);
@@ -25,7 +25,12 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Longs;
 import com.google.common.util.concurrent.AbstractService;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.inject.Inject;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import org.apache.hadoop.conf.Configuration;
@@ -34,25 +39,35 @@ import org.apache.tephra.metrics.MetricsCollector;
 import org.apache.tephra.persist.NoOpTransactionStateStorage;
 import org.apache.tephra.persist.TransactionEdit;
 import org.apache.tephra.persist.TransactionLog;
+import org.apache.tephra.persist.TransactionLogCompactor;
+import org.apache.tephra.persist.TransactionLogPrefetcher;
 import org.apache.tephra.persist.TransactionLogReader;
 import org.apache.tephra.persist.TransactionSnapshot;
 import org.apache.tephra.persist.TransactionStateStorage;
+import org.apache.tephra.persist.TransactionVisibilityState;
 import org.apache.tephra.snapshot.SnapshotCodecProvider;
-import org.apache.tephra.util.TxUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.Nonnull;
@@ -118,22 +133,35 @@ public class TransactionManager extends AbstractService {
 
   // Transactions that are in progress, with their info.
   private final NavigableMap<Long, InProgressTx> inProgress = new ConcurrentSkipListMap<Long, InProgressTx>();
-
-  // the list of transactions that are invalid (not properly committed/aborted, or timed out)
-  // TODO: explain usage of two arrays
-  private final LongArrayList invalid = new LongArrayList();
-  private long[] invalidArray = NO_INVALID_TX;
+  // The in-progress transactions ordered by expiration, so that the cleanup only visits timed out transactions.
+  // Every change to the in-progress map must be reflected here.
+  private final NavigableSet<TxExpiration> expirations = new ConcurrentSkipListSet<TxExpiration>();
+
+  // read pointer, last write pointer and the excluded in-progress versions, as seen by a newly started transaction.
+  // Starting a transaction swaps this atomically, without holding the global lock. All other changes to these
+  // values are made while holding the global lock, but must still go through compareAndSet.
+  private final AtomicReference<InProgressState> inProgressState =
+    new AtomicReference<InProgressState>(InProgressState.EMPTY);
+
+  // the sorted list of transactions that are invalid (not properly committed/aborted, or timed out). The array is
+  // never modified, every change replaces it, so that it can be shared by all transactions started in between.
+  // It is read without holding the global lock when starting transactions, hence volatile. It must always be updated
+  // before an invalidated transaction is removed from the in-progress state.
+  private volatile long[] invalidArray = NO_INVALID_TX;
 
   // todo: use moving array instead (use Long2ObjectMap<byte[]> in fastutil)
   // todo: should this be consolidated with inProgress?
   // commit time next writePointer -> changes made by this tx
+  // NOTE: the change sets in this map and in committingChangeSets are never modified once they were added, so that
+  //       they can be read without locking and shared with snapshots of the state
   private final NavigableMap<Long, Set<ChangeId>> committedChangeSets =
     new ConcurrentSkipListMap<Long, Set<ChangeId>>();
+  // inverted index of committedChangeSets: change -> latest commit time, so that conflict detection does not need
+  // to look at all committed change sets. Only modified while holding the global lock, or during recovery.
+  private final CommittedChangeIndex committedChangeIndex;
   // not committed yet
   private final Map<Long, Set<ChangeId>> committingChangeSets = Maps.newConcurrentMap();
 
-  private long readPointer;
-  private long lastWritePointer;
   private MetricsCollector txMetricsCollector;
 
   private final TransactionStateStorage persistor;
@@ -141,6 +169,10 @@ public class TransactionManager extends AbstractService {
   private final int cleanupInterval;
   private final int defaultTimeout;
   private final int defaultLongTimeout;
+  // width of the fingerprints kept for change keys, or 0 to keep the full keys
+  private final int changeFingerprintBits;
+  // number of logs that are read ahead while replaying
+  private final int replayThreads;
   private DaemonThreadExecutor cleanupThread = null;
 
   private volatile TransactionLog currentLog;
@@ -151,6 +183,13 @@ public class TransactionManager extends AbstractService {
   private final long snapshotFrequencyInSeconds;
   // number of most recent snapshots to retain
   private final int snapshotRetainCount;
+  // frequency in seconds to roll the WAL between snapshots, and compact the closed logs
+  private final long logRollIntervalInSeconds;
+  // frequency in seconds to write the visibility state between snapshots
+  private final long visibilityStateIntervalInSeconds;
+  // timestamp of the last visibility state written
+  private long lastVisibilityStateTime;
+  private volatile VisibilityStateListener visibilityStateListener;
   private DaemonThreadExecutor snapshotThread;
   private DaemonThreadExecutor metricsThread;
 
@@ -182,6 +221,18 @@ public class TransactionManager extends AbstractService {
     // must always keep at least 1 snapshot
     snapshotRetainCount = Math.max(conf.getInt(TxConstants.Manager.CFG_TX_SNAPSHOT_RETAIN,
                                                TxConstants.Manager.DEFAULT_TX_SNAPSHOT_RETAIN), 1);
+    changeFingerprintBits = conf.getInt(TxConstants.Manager.CFG_TX_CHANGE_FINGERPRINT_BITS,
+                                        TxConstants.Manager.DEFAULT_TX_CHANGE_FINGERPRINT_BITS);
+    if (changeFingerprintBits != 0) {
+      FingerprintChangeSet.checkBits(changeFingerprintBits);
+    }
+    committedChangeIndex = CommittedChangeIndex.create(changeFingerprintBits);
+    logRollIntervalInSeconds = conf.getLong(TxConstants.TransactionLog.CFG_TX_LOG_ROLL_INTERVAL,
+                                            TxConstants.TransactionLog.DEFAULT_TX_LOG_ROLL_INTERVAL);
+    visibilityStateIntervalInSeconds = conf.getLong(TxConstants.Manager.CFG_TX_VISIBILITY_STATE_INTERVAL,
+                                                    TxConstants.Manager.DEFAULT_TX_VISIBILITY_STATE_INTERVAL);
+    replayThreads = Math.max(1, conf.getInt(TxConstants.TransactionLog.CFG_TX_LOG_REPLAY_THREADS,
+                                            TxConstants.TransactionLog.DEFAULT_TX_LOG_REPLAY_THREADS));
 
     // intentionally not using a constant, as this config should not be exposed
     // TODO: REMOVE WITH txnBackwardsCompatCheck()
@@ -194,13 +245,13 @@ public class TransactionManager extends AbstractService {
   }
 
   private void clear() {
-    invalid.clear();
     invalidArray = NO_INVALID_TX;
     inProgress.clear();
+    expirations.clear();
     committedChangeSets.clear();
+    committedChangeIndex.clear();
     committingChangeSets.clear();
-    lastWritePointer = 0;
-    readPointer = 0;
+    inProgressState.set(InProgressState.EMPTY);
     lastSnapshotTime = 0;
   }
 
@@ -230,9 +281,11 @@ public class TransactionManager extends AbstractService {
     // initialize the WAL if we did not force a snapshot in recoverState()
     initLog();
     // initialize next write pointer if needed
-    if (lastWritePointer == 0) {
-      lastWritePointer = getNextWritePointer();
-      readPointer = lastWritePointer;
+    InProgressState current = inProgressState.get();
+    if (current.getLastWritePointer() == 0) {
+      long writePointer = getNextWritePointer(current);
+      inProgressState.set(new InProgressState(writePointer, writePointer, current.getInProgress(),
+                                              current.getShortInProgress()));
     }
 
     notifyStarted();
@@ -282,6 +335,25 @@ public class TransactionManager extends AbstractService {
             } catch (IOException ioe) {
               LOG.error("Periodic snapshot failed!", ioe);
             }
+          } else if (logRollIntervalInSeconds > 0 && currentLog != null &&
+            currentLog.getTimestamp() < (currentTime - logRollIntervalInSeconds * 1000)) {
+            try {
+              rollLog();
+              compactLogs();
+            } catch (IOException ioe) {
+              LOG.error("Periodic transaction log roll failed!", ioe);
+            }
+          }
+          if (visibilityStateIntervalInSeconds > 0 &&
+            lastVisibilityStateTime < (currentTime - visibilityStateIntervalInSeconds * 1000)) {
+            try {
+              TransactionVisibilityState state = getVisibilityState();
+              if (state != null) {
+                writeVisibilityState(state);
+              }
+            } catch (IOException ioe) {
+              LOG.error("Periodic write of the transaction visibility state failed!", ioe);
+            }
           }
         }
 
@@ -336,6 +408,7 @@ public class TransactionManager extends AbstractService {
 
   private void cleanupTimedOutTransactions() {
     List<TransactionEdit> invalidEdits = null;
+    ListenableFuture<Void> appended = null;
     this.logReadLock.lock();
     try {
       synchronized (this) {
@@ -344,64 +417,82 @@ public class TransactionManager extends AbstractService {
         }
 
         long currentTime = System.currentTimeMillis();
-        List<Long> timedOut = Lists.newArrayList();
-        for (Map.Entry<Long, InProgressTx> tx : inProgress.entrySet()) {
-          long expiration = tx.getValue().getExpiration();
-          if (expiration >= 0L && currentTime > expiration) {
-            // timed out, remember tx id (can't remove while iterating over entries)
-            timedOut.add(tx.getKey());
-            LOG.info("Tx invalid list: added tx {} because of timeout", tx.getKey());
-          } else if (expiration < 0) {
+        LongArrayList timedOut = new LongArrayList();
+        // only visit the transactions that expired before the current time, negative expirations come first
+        for (TxExpiration expired : expirations.headSet(new TxExpiration(currentTime, Long.MIN_VALUE))) {
+          long tx = expired.getTransactionId();
+          if (expired.getExpiration() < 0) {
             LOG.warn("Transaction {} has negative expiration time {}. Likely cause is the transaction was not " +
                        "migrated correctly, this transaction will be expired immediately",
-                     tx.getKey(), expiration);
-            timedOut.add(tx.getKey());
+                     tx, expired.getExpiration());
+          } else {
+            LOG.info("Tx invalid list: added tx {} because of timeout", tx);
           }
+          timedOut.add(tx);
         }
         if (!timedOut.isEmpty()) {
           invalidEdits = Lists.newArrayListWithCapacity(timedOut.size());
-          invalid.addAll(timedOut);
-          for (long tx : timedOut) {
+          // the invalid list must be updated before the transactions are removed from the in-progress state
+          addInvalid(timedOut);
+          for (int i = 0; i < timedOut.size(); i++) {
+            long tx = timedOut.getLong(i);
             committingChangeSets.remove(tx);
-            inProgress.remove(tx);
+            InProgressTx removed = removeInProgressTx(tx);
+            if (removed != null) {
+              removeInProgress(tx, removed.getCheckpointWritePointers());
+            }
             invalidEdits.add(TransactionEdit.createInvalid(tx));
           }
-
-          // todo: find a more efficient way to keep this sorted. Could it just be an array?
-          Collections.sort(invalid);
-          invalidArray = invalid.toLongArray();
           LOG.info("Invalidated {} transactions due to timeout.", timedOut.size());
         }
       }
       if (invalidEdits != null) {
-          appendToLog(invalidEdits);
+        appended = appendToLogAsync(invalidEdits);
       }
     } finally {
       this.logReadLock.unlock();
     }
+    if (appended != null) {
+      awaitLog(appended);
+    }
   }
 
   public synchronized TransactionSnapshot getSnapshot() throws IOException {
-    TransactionSnapshot snapshot = null;
     if (!isRunning() && !isStopping()) {
       return null;
     }
+    return getSnapshot(nextSnapshotTime());
+  }
 
-    long now = System.currentTimeMillis();
-    // avoid duplicate snapshots at same timestamp
-    if (now == lastSnapshotTime || (currentLog != null && now == currentLog.getTimestamp())) {
-      try {
-        TimeUnit.MILLISECONDS.sleep(1);
-      } catch (InterruptedException ie) { }
-    }
+  // must be called while synchronized on this
+  private TransactionSnapshot getSnapshot(long timestamp) {
     // copy in memory state
-    snapshot = getCurrentState();
+    TransactionSnapshot snapshot = getCurrentState(timestamp);
 
     LOG.debug("Starting snapshot of transaction state with timestamp {}", snapshot.getTimestamp());
     LOG.debug("Returning snapshot of state: " + snapshot);
     return snapshot;
   }
 
+  /**
+   * Returns the timestamp for the next snapshot, and the log that is started with it.
+   */
+  private long nextSnapshotTime() {
+    long now = System.currentTimeMillis();
+    // avoid duplicate snapshots at same timestamp
+    TransactionLog log = currentLog;
+    while (now == lastSnapshotTime || (log != null && now == log.getTimestamp())) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(1);
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      now = System.currentTimeMillis();
+    }
+    return now;
+  }
+
   /**
    * Take a snapshot of the transaction state and serialize it into the given output stream.
    * @return whether a snapshot was taken.
@@ -416,15 +507,34 @@ public class TransactionManager extends AbstractService {
     }
   }
 
+  /**
+   * Takes a snapshot and rolls the WAL. The next log is created and opened before transaction operations are
+   * blocked, and the snapshot gets the timestamp of that log: all edits appended before the roll are in the snapshot
+   * and in older logs, all edits appended after it are in the next log. The old log is closed after transaction
+   * operations are unblocked, it writes its outstanding edits in the background and completes their appends.
+   */
   private void doSnapshot(boolean closing) throws IOException {
     long snapshotTime = 0L;
     TransactionSnapshot snapshot = null;
     TransactionLog oldLog = null;
+    TransactionLog nextLog = null;
     try {
+      if (!closing) {
+        if (!isRunning() && !isStopping()) {
+          return;
+        }
+        nextLog = persistor.createLog(nextSnapshotTime());
+        nextLog.init();
+      }
+      Stopwatch timer = new Stopwatch().start();
       this.logWriteLock.lock();
       try {
         synchronized (this) {
-          snapshot = getSnapshot();
+          if (closing) {
+            snapshot = getSnapshot();
+          } else if (isRunning() || isStopping()) {
+            snapshot = getSnapshot(nextLog.getTimestamp());
+          }
           if (snapshot == null && !closing) {
             return;
           }
@@ -435,21 +545,32 @@ public class TransactionManager extends AbstractService {
           // roll WAL
           oldLog = currentLog;
           if (!closing) {
-            currentLog = persistor.createLog(snapshot.getTimestamp());
+            currentLog = nextLog;
+            nextLog = null;
           }
         }
-        // there may not be an existing log on startup
-        if (oldLog != null) {
-          oldLog.close();
-        }
       } finally {
         this.logWriteLock.unlock();
       }
+      // the time that transaction operations were blocked
+      txMetricsCollector.histogram("wal.roll.latency", (int) timer.elapsedMillis());
+      // there may not be an existing log on startup
+      if (oldLog != null) {
+        oldLog.close();
+      }
 
       // save snapshot
       if (snapshot != null) {
         persistor.writeSnapshot(snapshot);
         lastSnapshotTime = snapshotTime;
+        if (visibilityStateIntervalInSeconds > 0 && !closing) {
+          // keep the visibility state at least as recent as the snapshot, so that it is read instead of the snapshot
+          try {
+            writeVisibilityState(snapshot);
+          } catch (IOException ioe) {
+            LOG.error("Failed to write the transaction visibility state of the snapshot", ioe);
+          }
+        }
 
         // clean any obsoleted snapshots and WALs
         long oldestRetainedTimestamp = persistor.deleteOldSnapshots(snapshotRetainCount);
@@ -457,26 +578,177 @@ public class TransactionManager extends AbstractService {
       }
     } catch (IOException ioe) {
       abortService("Snapshot (timestamp " + snapshotTime + ") failed due to: " + ioe.getMessage(), ioe);
+    } finally {
+      // the next log was not used if the snapshot was not taken
+      if (nextLog != null) {
+        nextLog.close();
+      }
+    }
+  }
+
+  /**
+   * Rolls the WAL without taking a snapshot, like {@link #doSnapshot(boolean)}. If the next log cannot be created,
+   * the current log remains in use.
+   */
+  private void rollLog() throws IOException {
+    if (!isRunning()) {
+      return;
+    }
+    TransactionLog nextLog = persistor.createLog(nextSnapshotTime());
+    TransactionLog oldLog;
+    try {
+      nextLog.init();
+    } catch (IOException e) {
+      nextLog.close();
+      throw e;
+    }
+    Stopwatch timer = new Stopwatch().start();
+    this.logWriteLock.lock();
+    try {
+      synchronized (this) {
+        oldLog = currentLog;
+        currentLog = nextLog;
+      }
+    } finally {
+      this.logWriteLock.unlock();
     }
+    txMetricsCollector.histogram("wal.roll.latency", (int) timer.elapsedMillis());
+    oldLog.close();
   }
 
+  /**
+   * Replaces the closed logs since the last snapshot with a checkpoint of their net effect, see
+   * {@link TransactionLogCompactor}. This is called by the snapshot thread, and hence never concurrently with a
+   * periodic snapshot. A failure to compact is not fatal, the logs are replayed instead.
+   */
+  private void compactLogs() {
+    TransactionLog log = currentLog;
+    List<TransactionLog> closedLogs = new ArrayList<>();
+    try {
+      for (TransactionLog closedLog : persistor.getLogsSince(lastSnapshotTime)) {
+        if (closedLog.getTimestamp() < log.getTimestamp()) {
+          closedLogs.add(closedLog);
+        }
+      }
+      // a single log may already be a checkpoint
+      if (closedLogs.size() < 2) {
+        return;
+      }
+      Stopwatch timer = new Stopwatch().start();
+      TransactionLogCompactor compactor = new TransactionLogCompactor(closedLogs);
+      TransactionLogReader edits = compactor.getReader();
+      try {
+        persistor.writeCheckpoint(closedLogs.get(0).getTimestamp(),
+                                  closedLogs.get(closedLogs.size() - 1).getTimestamp(), edits);
+      } finally {
+        edits.close();
+      }
+      txMetricsCollector.histogram("wal.compaction.latency", (int) timer.elapsedMillis());
+      LOG.info("Compacted {} edits of {} transaction logs in {} ms",
+               compactor.getEditCount(), closedLogs.size(), timer.elapsedMillis());
+    } catch (IOException e) {
+      LOG.warn("Failed to compact transaction logs " + closedLogs, e);
+    }
+  }
+
+  /**
+   * Returns a snapshot of the current state. Taking it only copies references to the per-transaction state: the
+   * change sets and the invalid list are immutable and shared with the snapshot. Hence its cost does not depend on
+   * the size of the change sets, and the snapshot can be serialized without holding any lock.
+   */
   public synchronized TransactionSnapshot getCurrentState() {
-    return TransactionSnapshot.copyFrom(System.currentTimeMillis(), readPointer, lastWritePointer,
-                                        invalid, inProgress, committingChangeSets, committedChangeSets);
+    return getCurrentState(System.currentTimeMillis());
+  }
+
+  private synchronized TransactionSnapshot getCurrentState(long timestamp) {
+    InProgressState current = inProgressState.get();
+    return new TransactionSnapshot(timestamp, current.getReadPointer(), current.getLastWritePointer(),
+                                   Longs.asList(invalidArray), copyInProgress(current),
+                                   new HashMap<>(committingChangeSets),
+                                   new TreeMap<>(committedChangeSets));
+  }
+
+  /**
+   * Returns the current transaction visibility state, that is, the current state without the change sets, or
+   * {@code null} if the transaction manager is not running.
+   */
+  public synchronized TransactionVisibilityState getVisibilityState() {
+    if (!isRunning()) {
+      return null;
+    }
+    InProgressState current = inProgressState.get();
+    return new TransactionSnapshot(System.currentTimeMillis(), current.getReadPointer(),
+                                   current.getLastWritePointer(), Longs.asList(invalidArray), copyInProgress(current));
+  }
+
+  /**
+   * Copies the in-progress transactions of the given published state. Transactions are started without the global
+   * lock: they are put into the in-progress map before the state that excludes them is published, and removed again
+   * if another start published first. Hence only the map entries of transactions excluded by the state are copied,
+   * consistent with its read and write pointers. Must be called while synchronized on this.
+   */
+  private NavigableMap<Long, InProgressTx> copyInProgress(InProgressState current) {
+    NavigableMap<Long, InProgressTx> inProgressCopy = new TreeMap<>();
+    for (long id : current.getInProgress()) {
+      InProgressTx tx = inProgress.get(id);
+      if (tx == null) {
+        // a checkpoint write pointer, which is copied with its transaction
+        continue;
+      }
+      // checkpoints modify the write pointers of an in-progress transaction
+      if (tx.getCheckpointWritePointers() != null && !tx.getCheckpointWritePointers().isEmpty()) {
+        tx = new InProgressTx(tx.getVisibilityUpperBound(), tx.getExpiration(), tx.getType(),
+                              new LongArrayList(tx.getCheckpointWritePointers()));
+      }
+      inProgressCopy.put(id, tx);
+    }
+    return inProgressCopy;
+  }
+
+  /**
+   * Persists the given visibility state for coprocessors, see
+   * {@link TransactionStateStorage#writeVisibilityState(TransactionVisibilityState)}.
+   */
+  private void writeVisibilityState(TransactionVisibilityState state) throws IOException {
+    Stopwatch timer = new Stopwatch().start();
+    persistor.writeVisibilityState(state);
+    lastVisibilityStateTime = state.getTimestamp();
+    txMetricsCollector.histogram("visibility.state.latency", (int) timer.elapsedMillis());
+    VisibilityStateListener listener = visibilityStateListener;
+    if (listener != null) {
+      listener.visibilityStateWritten(state.getTimestamp());
+    }
+  }
+
+  /**
+   * Sets the listener to notify whenever the transaction visibility state is written, see
+   * {@link TxConstants.Manager#CFG_TX_VISIBILITY_STATE_INTERVAL}.
+   */
+  public void setVisibilityStateListener(@Nullable VisibilityStateListener listener) {
+    this.visibilityStateListener = listener;
   }
 
   public synchronized void recoverState() {
     try {
+      Stopwatch timer = new Stopwatch().start();
       TransactionSnapshot lastSnapshot = persistor.getLatestSnapshot();
       // if we failed before a snapshot could complete, we might not have one to restore
       if (lastSnapshot != null) {
         restoreSnapshot(lastSnapshot);
       }
+      long snapshotMillis = timer.elapsedMillis();
+      txMetricsCollector.gauge("recovery.snapshot.latency", (int) snapshotMillis);
       // replay any WALs since the last snapshot
       Collection<TransactionLog> logs = persistor.getLogsSince(lastSnapshotTime);
       if (logs != null) {
-        replayLogs(logs);
+        int editCnt = replayLogs(logs);
+        long replayMillis = timer.elapsedMillis() - snapshotMillis;
+        txMetricsCollector.gauge("recovery.replay.latency", (int) replayMillis);
+        txMetricsCollector.gauge("recovery.replay.edits", editCnt);
+        txMetricsCollector.gauge("recovery.replay.logs", logs.size());
+        LOG.info("Replayed {} edits from {} transaction logs in {} ms", editCnt, logs.size(), replayMillis);
       }
+      txMetricsCollector.gauge("recovery.latency", (int) timer.elapsedMillis());
     } catch (IOException e) {
       LOG.error("Unable to read back transaction state:", e);
       throw Throwables.propagate(e);
@@ -489,21 +761,49 @@ public class TransactionManager extends AbstractService {
   private void restoreSnapshot(TransactionSnapshot snapshot) {
     LOG.info("Restoring transaction state from snapshot at " + snapshot.getTimestamp());
     Preconditions.checkState(lastSnapshotTime == 0, "lastSnapshotTime has been set!");
-    Preconditions.checkState(readPointer == 0, "readPointer has been set!");
-    Preconditions.checkState(lastWritePointer == 0, "lastWritePointer has been set!");
-    Preconditions.checkState(invalid.isEmpty(), "invalid list should be empty!");
+    Preconditions.checkState(inProgressState.get().getReadPointer() == 0, "readPointer has been set!");
+    Preconditions.checkState(inProgressState.get().getLastWritePointer() == 0, "lastWritePointer has been set!");
+    Preconditions.checkState(invalidArray.length == 0, "invalid list should be empty!");
     Preconditions.checkState(inProgress.isEmpty(), "inProgress map should be empty!");
     Preconditions.checkState(committingChangeSets.isEmpty(), "committingChangeSets should be empty!");
     Preconditions.checkState(committedChangeSets.isEmpty(), "committedChangeSets should be empty!");
     LOG.info("Restoring snapshot of state: " + snapshot);
 
     lastSnapshotTime = snapshot.getTimestamp();
-    readPointer = snapshot.getReadPointer();
-    lastWritePointer = snapshot.getWritePointer();
-    invalid.addAll(snapshot.getInvalid());
+    long[] restoredInvalid = Longs.toArray(snapshot.getInvalid());
+    Arrays.sort(restoredInvalid);
+    invalidArray = restoredInvalid;
     inProgress.putAll(txnBackwardsCompatCheck(defaultLongTimeout, longTimeoutTolerance, snapshot.getInProgress()));
-    committingChangeSets.putAll(snapshot.getCommittingChangeSets());
-    committedChangeSets.putAll(snapshot.getCommittedChangeSets());
+    for (Map.Entry<Long, InProgressTx> entry : inProgress.entrySet()) {
+      expirations.add(new TxExpiration(entry.getValue().getExpiration(), entry.getKey()));
+    }
+    for (Map.Entry<Long, Set<ChangeId>> changeSet : snapshot.getCommittingChangeSets().entrySet()) {
+      committingChangeSets.put(changeSet.getKey(), toChangeSet(changeSet.getValue()));
+    }
+    for (Map.Entry<Long, Set<ChangeId>> changeSet : snapshot.getCommittedChangeSets().entrySet()) {
+      committedChangeSets.put(changeSet.getKey(), toChangeSet(changeSet.getValue()));
+    }
+    for (Map.Entry<Long, Set<ChangeId>> changeSet : committedChangeSets.entrySet()) {
+      committedChangeIndex.add(changeSet.getValue(), changeSet.getKey());
+    }
+
+    LongArrayList inProgressIds = new LongArrayList(inProgress.size());
+    LongArrayList shortIds = new LongArrayList(inProgress.size());
+    for (Map.Entry<Long, InProgressTx> entry : inProgress.entrySet()) {
+      inProgressIds.add(entry.getKey());
+      if (!entry.getValue().isLongRunning()) {
+        // entries are iterated in ascending order, so this stays sorted
+        shortIds.add(entry.getKey());
+      }
+      LongArrayList checkpointIds = entry.getValue().getCheckpointWritePointers();
+      if (checkpointIds != null) {
+        inProgressIds.addAll(checkpointIds);
+      }
+    }
+    long[] sortedIds = inProgressIds.toLongArray();
+    Arrays.sort(sortedIds);
+    inProgressState.set(new InProgressState(snapshot.getReadPointer(), snapshot.getWritePointer(), sortedIds,
+                                            shortIds.toLongArray()));
   }
 
   /**
@@ -562,94 +862,103 @@ public class TransactionManager extends AbstractService {
   }
 
   /**
-   * Replay all logged edits from the given transaction logs.
+   * Replay all logged edits from the given transaction logs. The logs are read and decoded ahead by a pool of
+   * threads, while their edits are applied in order.
+   * @return the number of edits that were replayed
    */
-  private void replayLogs(Collection<TransactionLog> logs) {
-    for (TransactionLog log : logs) {
-      LOG.info("Replaying edits from transaction log " + log.getName());
-      int editCnt = 0;
-      try {
-        TransactionLogReader reader = log.getReader();
-        // reader may be null in the case of an empty file
-        if (reader == null) {
-          continue;
-        }
-        TransactionEdit edit = null;
-        while ((edit = reader.next()) != null) {
-          editCnt++;
-          switch (edit.getState()) {
-            case INPROGRESS:
-              long expiration = edit.getExpiration();
-              TransactionType type = edit.getType();
-              // Check if transaction needs to be migrated to have expiration and type. Previous version of 
-              // long running transactions were represented with expiration time as -1.
-              // This can be removed when we stop supporting TransactionEditCodecV2.
-              if (expiration < 0) {
-                expiration = getTxExpirationFromWritePointer(edit.getWritePointer(), defaultLongTimeout);
-                type = TransactionType.LONG;
-              } else if (type == null) {
-                type = TransactionType.SHORT;
-              }
-              addInProgressAndAdvance(edit.getWritePointer(), edit.getVisibilityUpperBound(),
-                                      expiration, type);
-              break;
-            case COMMITTING:
-              addCommittingChangeSet(edit.getWritePointer(), edit.getChanges());
-              break;
-            case COMMITTED:
-              // TODO: need to reconcile usage of transaction id v/s write pointer TEPHRA-140
-              long transactionId = edit.getWritePointer();
-              long[] checkpointPointers = edit.getCheckpointPointers();
-              long writePointer = checkpointPointers == null || checkpointPointers.length == 0 ?
-                transactionId : checkpointPointers[checkpointPointers.length - 1];
-              doCommit(transactionId, writePointer, edit.getChanges(),
-                       edit.getCommitPointer(), edit.getCanCommit());
-              break;
-            case INVALID:
-              doInvalidate(edit.getWritePointer());
-              break;
-            case ABORTED:
-              type = edit.getType();
-              // Check if transaction edit needs to be migrated to have type. Previous versions of
-              // ABORTED edits did not contain type.
-              // This can be removed when we stop supporting TransactionEditCodecV2.
-              if (type == null) {
-                InProgressTx inProgressTx = inProgress.get(edit.getWritePointer());
-                if (inProgressTx != null) {
-                  type = inProgressTx.getType();
-                } else {
-                  // If transaction is not in-progress, then it has either been already aborted or invalidated.
-                  // We cannot determine the transaction's state based on current information, to be safe invalidate it.
-                  LOG.warn("Invalidating transaction {} as it's type cannot be determined during replay",
-                           edit.getWritePointer());
-                  doInvalidate(edit.getWritePointer());
-                  break;
-                }
-              }
-              doAbort(edit.getWritePointer(), edit.getCheckpointPointers(), type);
-              break;
-            case TRUNCATE_INVALID_TX:
-              if (edit.getTruncateInvalidTxTime() != 0) {
-                doTruncateInvalidTxBefore(edit.getTruncateInvalidTxTime());
+  private int replayLogs(Collection<TransactionLog> logs) {
+    int totalCnt = 0;
+    TransactionLogPrefetcher prefetcher = new TransactionLogPrefetcher(logs, replayThreads);
+    try {
+      for (TransactionLog log : logs) {
+        totalCnt += replayLog(log, prefetcher.nextReader());
+      }
+    } finally {
+      prefetcher.close();
+    }
+    return totalCnt;
+  }
+
+  private int replayLog(TransactionLog log, TransactionLogReader reader) {
+    LOG.info("Replaying edits from transaction log " + log.getName());
+    int editCnt = 0;
+    try {
+      TransactionEdit edit = null;
+      while ((edit = reader.next()) != null) {
+        editCnt++;
+        switch (edit.getState()) {
+          case INPROGRESS:
+            long expiration = edit.getExpiration();
+            TransactionType type = edit.getType();
+            // Check if transaction needs to be migrated to have expiration and type. Previous version of 
+            // long running transactions were represented with expiration time as -1.
+            // This can be removed when we stop supporting TransactionEditCodecV2.
+            if (expiration < 0) {
+              expiration = getTxExpirationFromWritePointer(edit.getWritePointer(), defaultLongTimeout);
+              type = TransactionType.LONG;
+            } else if (type == null) {
+              type = TransactionType.SHORT;
+            }
+            addInProgressAndAdvance(edit.getWritePointer(), edit.getVisibilityUpperBound(),
+                                    expiration, type);
+            break;
+          case COMMITTING:
+            addCommittingChangeSet(edit.getWritePointer(), toChangeSet(edit.getChanges()));
+            break;
+          case COMMITTED:
+            // TODO: need to reconcile usage of transaction id v/s write pointer TEPHRA-140
+            long transactionId = edit.getWritePointer();
+            long[] checkpointPointers = edit.getCheckpointPointers();
+            long writePointer = checkpointPointers == null || checkpointPointers.length == 0 ?
+              transactionId : checkpointPointers[checkpointPointers.length - 1];
+            doCommit(transactionId, writePointer, toChangeSet(edit.getChanges()),
+                     edit.getCommitPointer(), edit.getCanCommit());
+            break;
+          case INVALID:
+            doInvalidate(edit.getWritePointer());
+            break;
+          case ABORTED:
+            type = edit.getType();
+            // Check if transaction edit needs to be migrated to have type. Previous versions of
+            // ABORTED edits did not contain type.
+            // This can be removed when we stop supporting TransactionEditCodecV2.
+            if (type == null) {
+              InProgressTx inProgressTx = inProgress.get(edit.getWritePointer());
+              if (inProgressTx != null) {
+                type = inProgressTx.getType();
               } else {
-                doTruncateInvalidTx(edit.getTruncateInvalidTx());
+                // If transaction is not in-progress, then it has either been already aborted or invalidated.
+                // We cannot determine the transaction's state based on current information, to be safe invalidate it.
+                LOG.warn("Invalidating transaction {} as it's type cannot be determined during replay",
+                         edit.getWritePointer());
+                doInvalidate(edit.getWritePointer());
+                break;
               }
-              break;
-            case CHECKPOINT:
-              doCheckpoint(edit.getWritePointer(), edit.getParentWritePointer());
-              break;
-            default:
-              // unknown type!
-              throw new IllegalArgumentException("Invalid state for WAL entry: " + edit.getState());
-          }
+            }
+            doAbort(edit.getWritePointer(), edit.getCheckpointPointers(), type);
+            break;
+          case TRUNCATE_INVALID_TX:
+            if (edit.getTruncateInvalidTxTime() != 0) {
+              doTruncateInvalidTxBefore(edit.getTruncateInvalidTxTime());
+            } else {
+              doTruncateInvalidTx(edit.getTruncateInvalidTx());
+            }
+            break;
+          case CHECKPOINT:
+            doCheckpoint(edit.getWritePointer(), edit.getParentWritePointer());
+            break;
+          default:
+            // unknown type!
+            throw new IllegalArgumentException("Invalid state for WAL entry: " + edit.getState());
         }
-      } catch (IOException ioe) {
-        throw Throwables.propagate(ioe);
-      } catch (InvalidTruncateTimeException e) {
-        throw Throwables.propagate(e);
       }
-      LOG.info("Read " + editCnt + " edits from log " + log.getName());
+    } catch (IOException ioe) {
+      throw Throwables.propagate(ioe);
+    } catch (InvalidTruncateTimeException e) {
+      throw Throwables.propagate(e);
     }
+    LOG.info("Read " + editCnt + " edits from log " + log.getName());
+    return editCnt;
   }
 
   @Override
@@ -739,10 +1048,10 @@ public class TransactionManager extends AbstractService {
     return writePointer / TxConstants.MAX_TX_PER_MS + TimeUnit.SECONDS.toMillis(timeoutInSeconds);
   }
 
-  private long getNextWritePointer() {
+  private static long getNextWritePointer(InProgressState current) {
     // We want to align tx ids with current time. We assume that tx ids are sequential, but not less than
     // System.currentTimeMillis() * MAX_TX_PER_MS.
-    return Math.max(lastWritePointer + 1, System.currentTimeMillis() * TxConstants.MAX_TX_PER_MS);
+    return Math.max(current.getLastWritePointer() + 1, System.currentTimeMillis() * TxConstants.MAX_TX_PER_MS);
   }
 
   /**
@@ -758,46 +1067,155 @@ public class TransactionManager extends AbstractService {
     return tx;
   }
 
+  /**
+   * Start a batch of short transactions with a given timeout. All write pointers are allocated together and the
+   * transactions are written to the transaction log with a single append. The transactions share the same snapshot:
+   * none of them sees the writes of any other transaction of the batch.
+   *
+   * @param count the number of transactions to start
+   * @param timeoutInSeconds the time out period in seconds.
+   * @return the started transactions, in the order of their write pointers
+   */
+  public List<Transaction> startShort(int count, int timeoutInSeconds) {
+    Preconditions.checkArgument(count > 0, "count must be positive but is %s", count);
+    Preconditions.checkArgument(timeoutInSeconds > 0, "timeout must be positive but is %s", timeoutInSeconds);
+    txMetricsCollector.rate("start.short.batch");
+    txMetricsCollector.rate("start.short", count);
+    Stopwatch timer = new Stopwatch().start();
+    long expiration = getTxExpiration(timeoutInSeconds);
+    List<Transaction> txs = startTxs(count, expiration, TransactionType.SHORT);
+    txMetricsCollector.histogram("start.short.batch.latency", (int) timer.elapsedMillis());
+    return txs;
+  }
+
+  /**
+   * Start a read-only transaction. This only takes a snapshot of the current state: the transaction is not assigned
+   * a write pointer of its own, it is not tracked as in-progress and it is not written to the transaction log. Its
+   * transaction id and write pointer are {@link Transaction#READ_ONLY_WRITE_POINTER}, which never matches the version
+   * of committed data. A read-only transaction does not need to be committed or aborted, and it must not be used to
+   * write.
+   */
+  public Transaction startReadOnly() {
+    txMetricsCollector.rate("start.readonly");
+    ensureAvailable();
+    InProgressState current = inProgressState.get();
+    return createTransaction(current, Transaction.READ_ONLY_WRITE_POINTER, TransactionType.READ_ONLY);
+  }
+
   private Transaction startTx(long expiration, TransactionType type) {
-    Transaction tx = null;
-    long txid;
+    return startTxs(1, expiration, type).get(0);
+  }
+
+  private List<Transaction> startTxs(int count, long expiration, TransactionType type) {
+    List<Transaction> txs = Lists.newArrayListWithCapacity(count);
+    ListenableFuture<Void> appended;
     // guard against changes to the transaction log while processing
     this.logReadLock.lock();
     try {
-      synchronized (this) {
-        ensureAvailable();
-        txid = getNextWritePointer();
-        tx = createTransaction(txid, type);
-        addInProgressAndAdvance(tx.getTransactionId(), tx.getVisibilityUpperBound(), expiration, type);
+      ensureAvailable();
+      // Allocating the write pointers and registering the new transactions as in-progress happens in a single
+      // compareAndSet on the in-progress state, without taking the global lock. The transactions are added to the
+      // in-progress map before that, so that they are never excluded by other transactions without being tracked.
+      while (true) {
+        InProgressState current = inProgressState.get();
+        long firstTxid = getNextWritePointer(current);
+        boolean registered = true;
+        for (int i = 0; i < count; i++) {
+          Transaction tx = createTransaction(current, firstTxid + i, type);
+          if (inProgress.putIfAbsent(tx.getTransactionId(),
+                                     new InProgressTx(tx.getVisibilityUpperBound(), expiration, type)) != null) {
+            // a concurrent start picked the same write pointer and has not published it yet
+            registered = false;
+            break;
+          }
+          txs.add(tx);
+        }
+        if (registered) {
+          InProgressState updated = current.addInProgress(firstTxid, count, type == TransactionType.SHORT);
+          if (inProgressState.compareAndSet(current, updated)) {
+            for (Transaction tx : txs) {
+              expirations.add(new TxExpiration(expiration, tx.getTransactionId()));
+            }
+            break;
+          }
+        }
+        for (Transaction tx : txs) {
+          inProgress.remove(tx.getTransactionId());
+        }
+        txs.clear();
+        if (!registered) {
+          // the other start only needs to publish its state, let it run instead of spinning on the same pointers
+          Thread.yield();
+        }
+      }
+      List<TransactionEdit> edits = Lists.newArrayListWithCapacity(count);
+      for (Transaction tx : txs) {
+        edits.add(TransactionEdit.createStarted(tx.getTransactionId(), tx.getVisibilityUpperBound(), expiration, type));
       }
       // appending to WAL out of global lock for concurrent performance
       // we should still be able to arrive at the same state even if log entries are out of order
-      appendToLog(TransactionEdit.createStarted(tx.getTransactionId(), tx.getVisibilityUpperBound(), expiration, type));
+      appended = appendToLogAsync(edits);
     } finally {
       this.logReadLock.unlock();
     }
-    return tx;
+    awaitLog(appended);
+    return txs;
   }
 
   private void addInProgressAndAdvance(long writePointer, long visibilityUpperBound,
                                        long expiration, TransactionType type) {
-    inProgress.put(writePointer, new InProgressTx(visibilityUpperBound, expiration, type));
-    advanceWritePointer(writePointer);
+    InProgressTx inProgressTx = new InProgressTx(visibilityUpperBound, expiration, type);
+    InProgressTx previous = inProgress.put(writePointer, inProgressTx);
+    if (previous != null) {
+      expirations.remove(new TxExpiration(previous.getExpiration(), writePointer));
+    }
+    expirations.add(new TxExpiration(expiration, writePointer));
+    addInProgress(writePointer, !inProgressTx.isLongRunning());
   }
 
-  private void advanceWritePointer(long writePointer) {
-    // don't move the write pointer back if we have out of order transaction log entries
-    if (writePointer > lastWritePointer) {
-      lastWritePointer = writePointer;
-    }
+  /**
+   * Adds the given write pointer to the excluded in-progress versions, moving the write pointer forward if needed.
+   *
+   * @param shortTx whether the write pointer is the id of a short transaction, as opposed to the id of a long
+   *                transaction or a checkpoint write pointer
+   */
+  private void addInProgress(long writePointer, boolean shortTx) {
+    InProgressState current;
+    do {
+      current = inProgressState.get();
+    } while (!inProgressState.compareAndSet(current, current.addInProgress(writePointer, shortTx)));
+  }
+
+  /**
+   * Removes a transaction and its checkpoint write pointers from the excluded in-progress versions.
+   */
+  private void removeInProgress(long transactionId, @Nullable LongArrayList checkpointWritePointers) {
+    removeInProgress(transactionId, checkpointWritePointers, 0L);
+  }
+
+  /**
+   * Removes a transaction and its checkpoint write pointers from the excluded in-progress versions, and moves the
+   * read pointer to the given write pointer if needed, as one atomic change.
+   */
+  private void removeInProgress(long transactionId, @Nullable LongArrayList checkpointWritePointers,
+                                long committedWritePointer) {
+    InProgressState current;
+    do {
+      current = inProgressState.get();
+    } while (!inProgressState.compareAndSet(
+      current, current.removeInProgress(transactionId, checkpointWritePointers, committedWritePointer)));
   }
 
   public boolean canCommit(Transaction tx, Collection<byte[]> changeIds) throws TransactionNotInProgressException {
     txMetricsCollector.rate("canCommit");
+    if (tx.getType() == TransactionType.READ_ONLY) {
+      // a read-only transaction is not tracked, it can only commit if it has not written anything
+      return changeIds.isEmpty();
+    }
     Stopwatch timer = new Stopwatch().start();
     if (inProgress.get(tx.getTransactionId()) == null) {
       // invalid transaction, either this has timed out and moved to invalid, or something else is wrong.
-      if (invalid.contains(tx.getTransactionId())) {
+      if (isInvalid(tx.getTransactionId())) {
         throw new TransactionNotInProgressException(
           String.format("canCommit() is called for transaction %d that is not in progress (it is known to be invalid)",
                         tx.getTransactionId()));
@@ -807,14 +1225,12 @@ public class TransactionManager extends AbstractService {
       }
     }
 
-    Set<ChangeId> set = Sets.newHashSetWithExpectedSize(changeIds.size());
-    for (byte[] change : changeIds) {
-      set.add(new ChangeId(change));
-    }
+    Set<ChangeId> set = newChangeSet(changeIds);
 
     if (hasConflicts(tx, set)) {
       return false;
     }
+    ListenableFuture<Void> appended;
     // guard against changes to the transaction log while processing
     this.logReadLock.lock();
     try {
@@ -822,14 +1238,81 @@ public class TransactionManager extends AbstractService {
         ensureAvailable();
         addCommittingChangeSet(tx.getTransactionId(), set);
       }
-      appendToLog(TransactionEdit.createCommitting(tx.getTransactionId(), set));
+      appended = appendToLogAsync(TransactionEdit.createCommitting(tx.getTransactionId(), set));
     } finally {
       this.logReadLock.unlock();
     }
+    awaitLog(appended);
     txMetricsCollector.histogram("canCommit.latency", (int) timer.elapsedMillis());
     return true;
   }
 
+  /**
+   * Creates the change set for the given change keys, keeping only their fingerprints if configured.
+   */
+  private Set<ChangeId> newChangeSet(Collection<byte[]> changeIds) {
+    if (changeFingerprintBits == 0) {
+      Set<ChangeId> set = Sets.newHashSetWithExpectedSize(changeIds.size());
+      for (byte[] change : changeIds) {
+        set.add(new ChangeId(change));
+      }
+      return set;
+    }
+    FingerprintChangeSet set = new FingerprintChangeSet(changeFingerprintBits, changeIds.size());
+    for (byte[] change : changeIds) {
+      set.addKey(change);
+    }
+    return set;
+  }
+
+  /**
+   * Converts a change set read from a snapshot or the transaction log to the configured representation, if
+   * fingerprints are configured. Snapshots and the transaction log decode fingerprinted change sets as a
+   * {@link FingerprintChangeSet}, any other change set holds full change keys, which are fingerprinted.
+   */
+  private Set<ChangeId> toChangeSet(@Nullable Set<ChangeId> changes) {
+    if (changeFingerprintBits == 0 || changes == null) {
+      return changes;
+    }
+    FingerprintChangeSet set = new FingerprintChangeSet(changeFingerprintBits, changes.size());
+    if (changes instanceof FingerprintChangeSet) {
+      int bits = ((FingerprintChangeSet) changes).getBits();
+      if (bits == changeFingerprintBits) {
+        return changes;
+      }
+      if (bits < changeFingerprintBits) {
+        // the full keys are unknown, a fingerprint cannot be widened
+        LOG.warn("Ignoring {} changes recorded as {} bit fingerprints, narrower than the configured {} bits.",
+                 changes.size(), bits, changeFingerprintBits);
+        return set;
+      }
+      for (ChangeId change : changes) {
+        set.addPrefix(change);
+      }
+      return set;
+    }
+    for (ChangeId change : changes) {
+      set.addKey(change.getKey());
+    }
+    return set;
+  }
+
+  /**
+   * Returns a new change set that contains the changes of both given sets, in the representation of the first one.
+   */
+  private static Set<ChangeId> union(Set<ChangeId> changes, Set<ChangeId> otherChanges) {
+    Set<ChangeId> union;
+    if (changes instanceof FingerprintChangeSet) {
+      int bits = ((FingerprintChangeSet) changes).getBits();
+      union = new FingerprintChangeSet(bits, changes.size() + otherChanges.size());
+    } else {
+      union = Sets.newHashSetWithExpectedSize(changes.size() + otherChanges.size());
+    }
+    union.addAll(changes);
+    union.addAll(otherChanges);
+    return union;
+  }
+
   private void addCommittingChangeSet(long writePointer, Set<ChangeId> changes) {
     committingChangeSets.put(writePointer, changes);
   }
@@ -837,20 +1320,51 @@ public class TransactionManager extends AbstractService {
   public boolean commit(Transaction tx) throws TransactionNotInProgressException {
     txMetricsCollector.rate("commit");
     Stopwatch timer = new Stopwatch().start();
+    if (!commit(tx, null)) {
+      return false;
+    }
+    txMetricsCollector.histogram("commit.latency", (int) timer.elapsedMillis());
+    return true;
+  }
+
+  /**
+   * Checks the given changes of a transaction for conflicts and commits it, in one step. This is equivalent to
+   * {@link #canCommit(Transaction, Collection)} followed by {@link #commit(Transaction)}, but only writes a single
+   * edit to the transaction log. Any change set from an earlier call to canCommit is replaced by the given changes.
+   *
+   * @return true if the transaction was committed, false if it has conflicts
+   */
+  public boolean commitWithChanges(Transaction tx, Collection<byte[]> changeIds)
+    throws TransactionNotInProgressException {
+    txMetricsCollector.rate("commitWithChanges");
+    Stopwatch timer = new Stopwatch().start();
+    if (!commit(tx, newChangeSet(changeIds))) {
+      return false;
+    }
+    txMetricsCollector.histogram("commitWithChanges.latency", (int) timer.elapsedMillis());
+    return true;
+  }
+
+  /**
+   * Commits a transaction with the given changes, or with the changes from canCommit if none are given.
+   */
+  private boolean commit(Transaction tx, @Nullable Set<ChangeId> changes) throws TransactionNotInProgressException {
+    if (tx.getType() == TransactionType.READ_ONLY) {
+      return changes == null || changes.isEmpty();
+    }
     Set<ChangeId> changeSet = null;
     boolean addToCommitted = true;
     long commitPointer;
+    ListenableFuture<Void> appended;
     // guard against changes to the transaction log while processing
     this.logReadLock.lock();
     try {
       synchronized (this) {
         ensureAvailable();
-        // we record commits at the first not-yet assigned transaction id to simplify clearing out change sets that
-        // are no longer visible by any in-progress transactions
-        commitPointer = lastWritePointer + 1;
-        if (inProgress.get(tx.getTransactionId()) == null) {
+        InProgressTx inProgressTx = inProgress.get(tx.getTransactionId());
+        if (inProgressTx == null) {
           // invalid transaction, either this has timed out and moved to invalid, or something else is wrong.
-          if (invalid.contains(tx.getTransactionId())) {
+          if (isInvalid(tx.getTransactionId())) {
             throw new TransactionNotInProgressException(
               String.format("canCommit() is called for transaction %d that is not in progress " +
                               "(it is known to be invalid)", tx.getTransactionId()));
@@ -864,6 +1378,9 @@ public class TransactionManager extends AbstractService {
         // NOTE: whether we succeed or not we don't need to keep changes in committing state: same tx cannot
         //       be attempted to commit twice
         changeSet = committingChangeSets.remove(tx.getTransactionId());
+        if (changes != null) {
+          changeSet = changes;
+        }
 
         if (changeSet != null) {
           // double-checking if there are conflicts: someone may have committed since canCommit check
@@ -874,13 +1391,21 @@ public class TransactionManager extends AbstractService {
           // no changes
           addToCommitted = false;
         }
+        // Transactions are started without holding this lock. The committed transaction therefore has to leave the
+        // in-progress state before the commit pointer is assigned: a transaction that still excludes it was started
+        // before that point, so its id is below the commit pointer and conflicts with this change set are detected.
+        removeInProgress(tx.getTransactionId(), inProgressTx.getCheckpointWritePointers(), tx.getWritePointer());
+        // we record commits at the first not-yet assigned transaction id to simplify clearing out change sets that
+        // are no longer visible by any in-progress transactions
+        commitPointer = inProgressState.get().getLastWritePointer() + 1;
         doCommit(tx.getTransactionId(), tx.getWritePointer(), changeSet, commitPointer, addToCommitted);
       }
-      appendToLog(TransactionEdit.createCommitted(tx.getTransactionId(), changeSet, commitPointer, addToCommitted));
+      appended = appendToLogAsync(TransactionEdit.createCommitted(tx.getTransactionId(), changeSet, commitPointer,
+                                                                  addToCommitted));
     } finally {
       this.logReadLock.unlock();
     }
-    txMetricsCollector.histogram("commit.latency", (int) timer.elapsedMillis());
+    awaitLog(appended);
     return true;
   }
 
@@ -896,46 +1421,68 @@ public class TransactionManager extends AbstractService {
       //       stored under one key
       Set<ChangeId> changeIds = committedChangeSets.get(commitPointer);
       if (changeIds != null) {
-        // NOTE: we modify the new set to prevent concurrent modification exception, as other threads (e.g. in
-        // canCommit) use it unguarded
-        changes.addAll(changeIds);
+        // NOTE: we create a new set, as the existing sets are used unguarded by other threads (e.g. in canCommit)
+        //       and by snapshots that are serialized outside of the lock
+        changes = union(changes, changeIds);
       }
       committedChangeSets.put(commitPointer, changes);
+      committedChangeIndex.add(changes, commitPointer);
     }
     // remove from in-progress set, so that it does not get excluded in the future
-    InProgressTx previous = inProgress.remove(transactionId);
+    InProgressTx previous = removeInProgressTx(transactionId);
     if (previous == null) {
       // tx was not in progress! perhaps it timed out and is invalid? try to remove it there.
-      if (invalid.rem(transactionId)) {
-        invalidArray = invalid.toLongArray();
+      if (isInvalid(transactionId)) {
+        removeInvalid(Collections.singleton(transactionId));
         LOG.info("Tx invalid list: removed committed tx {}", transactionId);
       }
+      // moving read pointer
+      moveReadPointerIfNeeded(writePointer);
+    } else {
+      // moving read pointer
+      removeInProgress(transactionId, previous.getCheckpointWritePointers(), writePointer);
     }
-    // moving read pointer
-    moveReadPointerIfNeeded(writePointer);
 
     // All committed change sets that are smaller than the earliest started transaction can be removed.
     // here we ignore transactions that have no timeout, they are long-running and don't participate in
     // conflict detection.
     // TODO: for efficiency, can we do this once per-log in replayLogs instead of once per edit?
-    committedChangeSets.headMap(TxUtils.getFirstShortInProgress(inProgress)).clear();
+    pruneCommittedChangeSets(inProgressState.get().getFirstShortInProgress());
+  }
+
+  /**
+   * Removes all committed change sets with a commit time before the given one, along with their index entries.
+   */
+  private void pruneCommittedChangeSets(long commitPointer) {
+    NavigableMap<Long, Set<ChangeId>> pruned = committedChangeSets.headMap(commitPointer, false);
+    for (Map.Entry<Long, Set<ChangeId>> changeSet : pruned.entrySet()) {
+      committedChangeIndex.remove(changeSet.getValue(), changeSet.getKey());
+    }
+    pruned.clear();
   }
 
   public void abort(Transaction tx) {
+    if (tx.getType() == TransactionType.READ_ONLY) {
+      // nothing to abort, a read-only transaction is not tracked
+      return;
+    }
     // guard against changes to the transaction log while processing
     txMetricsCollector.rate("abort");
     Stopwatch timer = new Stopwatch().start();
+    ListenableFuture<Void> appended;
     this.logReadLock.lock();
     try {
       synchronized (this) {
         ensureAvailable();
         doAbort(tx.getTransactionId(), tx.getCheckpointWritePointers(), tx.getType());
       }
-      appendToLog(TransactionEdit.createAborted(tx.getTransactionId(), tx.getType(), tx.getCheckpointWritePointers()));
-      txMetricsCollector.histogram("abort.latency", (int) timer.elapsedMillis());
+      appended = appendToLogAsync(TransactionEdit.createAborted(tx.getTransactionId(), tx.getType(),
+                                                                tx.getCheckpointWritePointers()));
     } finally {
       this.logReadLock.unlock();
     }
+    awaitLog(appended);
+    txMetricsCollector.histogram("abort.latency", (int) timer.elapsedMillis());
   }
 
   private void doAbort(long writePointer, long[] checkpointWritePointers, TransactionType type) {
@@ -950,25 +1497,24 @@ public class TransactionManager extends AbstractService {
     
     // makes tx visible (assumes that all operations were rolled back)
     // remove from in-progress set, so that it does not get excluded in the future
-    InProgressTx removed = inProgress.remove(writePointer);
+    InProgressTx removed = removeInProgressTx(writePointer);
     if (removed == null) {
       // tx was not in progress! perhaps it timed out and is invalid? try to remove it there.
-      if (invalid.rem(writePointer)) {
+      if (isInvalid(writePointer)) {
         // remove any invalidated checkpoint pointers
         // this will only be present if the parent write pointer was also invalidated
+        Set<Long> toRemove = Sets.newHashSet(writePointer);
         if (checkpointWritePointers != null) {
-          for (int i = 0; i < checkpointWritePointers.length; i++) {
-            invalid.rem(checkpointWritePointers[i]);
-          }
+          toRemove.addAll(Longs.asList(checkpointWritePointers));
         }
-        invalidArray = invalid.toLongArray();
+        removeInvalid(toRemove);
         LOG.info("Tx invalid list: removed aborted tx {}", writePointer);
         // removed a tx from excludes: must move read pointer
         moveReadPointerIfNeeded(writePointer);
       }
     } else {
       // removed a tx from excludes: must move read pointer
-      moveReadPointerIfNeeded(writePointer);
+      removeInProgress(writePointer, removed.getCheckpointWritePointers(), writePointer);
     }
   }
 
@@ -976,53 +1522,115 @@ public class TransactionManager extends AbstractService {
     // guard against changes to the transaction log while processing
     txMetricsCollector.rate("invalidate");
     Stopwatch timer = new Stopwatch().start();
+    boolean success;
+    ListenableFuture<Void> appended;
     this.logReadLock.lock();
     try {
-      boolean success;
       synchronized (this) {
         ensureAvailable();
         success = doInvalidate(tx);
       }
-      appendToLog(TransactionEdit.createInvalid(tx));
-      txMetricsCollector.histogram("invalidate.latency", (int) timer.elapsedMillis());
-      return success;
+      appended = appendToLogAsync(TransactionEdit.createInvalid(tx));
     } finally {
       this.logReadLock.unlock();
     }
+    awaitLog(appended);
+    txMetricsCollector.histogram("invalidate.latency", (int) timer.elapsedMillis());
+    return success;
   }
 
   private boolean doInvalidate(long writePointer) {
     Set<ChangeId> previousChangeSet = committingChangeSets.remove(writePointer);
     // remove from in-progress set, so that it does not get excluded in the future
-    InProgressTx previous = inProgress.remove(writePointer);
+    InProgressTx previous = removeInProgressTx(writePointer);
     // This check is to prevent from invalidating committed transactions
     if (previous != null || previousChangeSet != null) {
       // add tx to invalids
-      invalid.add(writePointer);
+      LongArrayList invalidated = LongArrayList.wrap(new long[] { writePointer });
       if (previous == null) {
         LOG.debug("Invalidating tx {} in committing change sets but not in-progress", writePointer);
       } else {
         // invalidate any checkpoint write pointers
         LongArrayList childWritePointers = previous.getCheckpointWritePointers();
         if (childWritePointers != null) {
-          for (int i = 0; i < childWritePointers.size(); i++) {
-            invalid.add(childWritePointers.get(i));
-          }
+          invalidated.addAll(childWritePointers);
         }
       }
       LOG.info("Tx invalid list: added tx {} because of invalidate", writePointer);
-      // todo: find a more efficient way to keep this sorted. Could it just be an array?
-      Collections.sort(invalid);
-      invalidArray = invalid.toLongArray();
-      if (previous != null && !previous.isLongRunning()) {
-        // tx was short-running: must move read pointer
-        moveReadPointerIfNeeded(writePointer);
+      // the invalid list must be updated before the transaction is removed from the in-progress state
+      addInvalid(invalidated);
+      if (previous != null) {
+        if (previous.isLongRunning()) {
+          removeInProgress(writePointer, previous.getCheckpointWritePointers());
+        } else {
+          // tx was short-running: must move read pointer
+          removeInProgress(writePointer, previous.getCheckpointWritePointers(), writePointer);
+        }
       }
       return true;
     }
     return false;
   }
 
+  /**
+   * Removes a transaction from the in-progress map and from the expiration index.
+   *
+   * @return the removed transaction, or null if it was not in progress
+   */
+  @Nullable
+  private InProgressTx removeInProgressTx(long transactionId) {
+    InProgressTx removed = inProgress.remove(transactionId);
+    if (removed != null) {
+      expirations.remove(new TxExpiration(removed.getExpiration(), transactionId));
+    }
+    return removed;
+  }
+
+  /**
+   * Adds transaction ids to the sorted invalid list. Only the added ids are sorted, they are then merged into the
+   * invalid list, which takes linear time in the size of the invalid list instead of sorting it again.
+   */
+  private void addInvalid(LongArrayList txIds) {
+    long[] added = txIds.toLongArray();
+    Arrays.sort(added);
+    long[] current = invalidArray;
+    long[] merged = new long[current.length + added.length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < current.length && j < added.length) {
+      merged[k++] = current[i] <= added[j] ? current[i++] : added[j++];
+    }
+    System.arraycopy(current, i, merged, k, current.length - i);
+    System.arraycopy(added, j, merged, k + current.length - i, added.length - j);
+    invalidArray = merged;
+  }
+
+  /**
+   * Removes transaction ids from the sorted invalid list.
+   *
+   * @return true if any of the ids was in the invalid list
+   */
+  private boolean removeInvalid(Set<Long> txIds) {
+    long[] current = invalidArray;
+    long[] remaining = new long[current.length];
+    int size = 0;
+    for (long txId : current) {
+      if (!txIds.contains(txId)) {
+        remaining[size++] = txId;
+      }
+    }
+    if (size == current.length) {
+      return false;
+    }
+    invalidArray = Arrays.copyOf(remaining, size);
+    return true;
+  }
+
+  private boolean isInvalid(long txId) {
+    return Arrays.binarySearch(invalidArray, txId) >= 0;
+  }
+
   /**
    * Removes the given transaction ids from the invalid list.
    * @param invalidTxIds transaction ids
@@ -1032,28 +1640,26 @@ public class TransactionManager extends AbstractService {
     // guard against changes to the transaction log while processing
     txMetricsCollector.rate("truncateInvalidTx");
     Stopwatch timer = new Stopwatch().start();
+    boolean success;
+    ListenableFuture<Void> appended;
     this.logReadLock.lock();
     try {
-      boolean success;
       synchronized (this) {
         ensureAvailable();
         success = doTruncateInvalidTx(invalidTxIds);
       }
-      appendToLog(TransactionEdit.createTruncateInvalidTx(invalidTxIds));
-      txMetricsCollector.histogram("truncateInvalidTx.latency", (int) timer.elapsedMillis());
-      return success;
+      appended = appendToLogAsync(TransactionEdit.createTruncateInvalidTx(invalidTxIds));
     } finally {
       this.logReadLock.unlock();
     }
+    awaitLog(appended);
+    txMetricsCollector.histogram("truncateInvalidTx.latency", (int) timer.elapsedMillis());
+    return success;
   }
 
   private boolean doTruncateInvalidTx(Set<Long> invalidTxIds) {
     LOG.info("Removing tx ids {} from invalid list", invalidTxIds);
-    boolean success = invalid.removeAll(invalidTxIds);
-    if (success) {
-      invalidArray = invalid.toLongArray();
-    }
-    return success;
+    return removeInvalid(invalidTxIds);
   }
 
   /**
@@ -1066,19 +1672,21 @@ public class TransactionManager extends AbstractService {
     // guard against changes to the transaction log while processing
     txMetricsCollector.rate("truncateInvalidTxBefore");
     Stopwatch timer = new Stopwatch().start();
+    boolean success;
+    ListenableFuture<Void> appended;
     this.logReadLock.lock();
     try {
-      boolean success;
       synchronized (this) {
         ensureAvailable();
         success = doTruncateInvalidTxBefore(time);
       }
-      appendToLog(TransactionEdit.createTruncateInvalidTxBefore(time));
-      txMetricsCollector.histogram("truncateInvalidTxBefore.latency", (int) timer.elapsedMillis());
-      return success;
+      appended = appendToLogAsync(TransactionEdit.createTruncateInvalidTxBefore(time));
     } finally {
       this.logReadLock.unlock();
     }
+    awaitLog(appended);
+    txMetricsCollector.histogram("truncateInvalidTxBefore.latency", (int) timer.elapsedMillis());
+    return success;
   }
   
   private boolean doTruncateInvalidTxBefore(long time) throws InvalidTruncateTimeException {
@@ -1091,7 +1699,7 @@ public class TransactionManager extends AbstractService {
     
     // Find all invalid transactions earlier than truncateWp
     Set<Long> toTruncate = Sets.newHashSet();
-    for (long wp : invalid) {
+    for (long wp : invalidArray) {
       // invalid list is sorted, hence can stop as soon as we reach a wp >= truncateWp
       if (wp >= truncateWp) {
         break;
@@ -1108,6 +1716,7 @@ public class TransactionManager extends AbstractService {
     Transaction checkpointedTx = null;
     long txId = originalTx.getTransactionId();
     long newWritePointer = 0;
+    ListenableFuture<Void> appended;
     // guard against changes to the transaction log while processing
     this.logReadLock.lock();
     try {
@@ -1116,7 +1725,7 @@ public class TransactionManager extends AbstractService {
         // check that the parent tx is in progress
         InProgressTx parentTx = inProgress.get(txId);
         if (parentTx == null) {
-          if (invalid.contains(txId)) {
+          if (isInvalid(txId)) {
             throw new TransactionNotInProgressException(
                 String.format("Transaction %d is not in progress because it was invalidated", txId));
           } else {
@@ -1124,8 +1733,14 @@ public class TransactionManager extends AbstractService {
                 String.format("Transaction %d is not in progress", txId));
           }
         }
-        newWritePointer = getNextWritePointer();
-        doCheckpoint(newWritePointer, txId);
+        // allocate the new write pointer and exclude it from new transactions in one step,
+        // as transactions may be started concurrently
+        InProgressState current;
+        do {
+          current = inProgressState.get();
+          newWritePointer = getNextWritePointer(current);
+        } while (!inProgressState.compareAndSet(current, current.addInProgress(newWritePointer, false)));
+        parentTx.addCheckpointWritePointer(newWritePointer);
         // create a new transaction with the same read snapshot, plus the additional checkpoint write pointer
         // the same read snapshot is maintained to
         checkpointedTx = new Transaction(originalTx, newWritePointer,
@@ -1133,10 +1748,11 @@ public class TransactionManager extends AbstractService {
       }
       // appending to WAL out of global lock for concurrent performance
       // we should still be able to arrive at the same state even if log entries are out of order
-      appendToLog(TransactionEdit.createCheckpoint(newWritePointer, txId));
+      appended = appendToLogAsync(TransactionEdit.createCheckpoint(newWritePointer, txId));
     } finally {
       this.logReadLock.unlock();
     }
+    awaitLog(appended);
     txMetricsCollector.histogram("checkpoint.latency", (int) timer.elapsedMillis());
 
     return checkpointedTx;
@@ -1145,19 +1761,19 @@ public class TransactionManager extends AbstractService {
   private void doCheckpoint(long newWritePointer, long parentWritePointer) {
     InProgressTx existingTx = inProgress.get(parentWritePointer);
     existingTx.addCheckpointWritePointer(newWritePointer);
-    advanceWritePointer(newWritePointer);
+    addInProgress(newWritePointer, false);
   }
   
   // hack for exposing important metric
   public int getExcludedListSize() {
-    return invalid.size() + inProgress.size();
+    return invalidArray.length + inProgress.size();
   }
 
   /**
    * @return the size of invalid list
    */
   public int getInvalidSize() {
-    return this.invalid.size();
+    return this.invalidArray.length;
   }
 
   int getCommittedSize() {
@@ -1165,91 +1781,71 @@ public class TransactionManager extends AbstractService {
   }
 
   private boolean hasConflicts(Transaction tx, Set<ChangeId> changeIds) {
-    if (changeIds.isEmpty()) {
-      return false;
-    }
-
-    for (Map.Entry<Long, Set<ChangeId>> changeSet : committedChangeSets.entrySet()) {
-      // If commit time is greater than tx read-pointer,
-      // basically not visible but committed means "tx committed after given tx was started"
-      if (changeSet.getKey() > tx.getTransactionId()) {
-        if (overlap(changeSet.getValue(), changeIds)) {
-          return true;
-        }
-      }
-    }
-    return false;
+    // If commit time is greater than tx read-pointer,
+    // basically not visible but committed means "tx committed after given tx was started"
+    return committedChangeIndex.hasCommittedAfter(changeIds, tx.getTransactionId());
   }
 
-  private boolean overlap(Set<ChangeId> a, Set<ChangeId> b) {
-    // iterate over the smaller set, and check for every element in the other set
-    if (a.size() > b.size()) {
-      for (ChangeId change : b) {
-        if (a.contains(change)) {
-          return true;
-        }
-      }
-    } else {
-      for (ChangeId change : a) {
-        if (b.contains(change)) {
-          return true;
-        }
-      }
-    }
-    return false;
-  }
 
   private void moveReadPointerIfNeeded(long committedWritePointer) {
-    if (committedWritePointer > readPointer) {
-      readPointer = committedWritePointer;
-    }
+    InProgressState current;
+    do {
+      current = inProgressState.get();
+    } while (!inProgressState.compareAndSet(current, current.moveReadPointer(committedWritePointer)));
   }
 
   /**
-   * Creates a new Transaction. This method only get called from start transaction, which is already
-   * synchronized.
+   * Creates a new Transaction against the given in-progress state. This method gets called from start transaction
+   * without holding the global lock, the transaction must only be handed out if that state is still current.
    */
-  private Transaction createTransaction(long writePointer, TransactionType type) {
-    // For holding the first in progress short transaction Id (with timeout >= 0).
-    long firstShortTx = Transaction.NO_TX_IN_PROGRESS;
-    LongArrayList inProgressIds = new LongArrayList(inProgress.size());
-    for (Map.Entry<Long, InProgressTx> entry : inProgress.entrySet()) {
-      long txId = entry.getKey();
-      inProgressIds.add(txId);
-      // add any checkpointed write pointers to the in-progress list
-      LongArrayList childIds = entry.getValue().getCheckpointWritePointers();
-      if (childIds != null) {
-        for (int i = 0; i < childIds.size(); i++) {
-          inProgressIds.add(childIds.get(i));
-        }
-      }
-      if (firstShortTx == Transaction.NO_TX_IN_PROGRESS && !entry.getValue().isLongRunning()) {
-        firstShortTx = txId;
-      }
-    }
+  private Transaction createTransaction(InProgressState current, long writePointer, TransactionType type) {
+    // the invalid list is read after the in-progress state: a transaction that is no longer part of that
+    // state because it was invalidated is then guaranteed to be in the invalid list
+    long[] invalids = invalidArray;
+    // both arrays are shared, not copied: the cost of a start does not depend on the number of in-progress txs
+    return new Transaction(current.getReadPointer(), writePointer, invalids, current.getInProgress(),
+                           current.getFirstShortInProgress(), type);
+  }
 
-    return new Transaction(readPointer, writePointer, invalidArray, inProgressIds.toLongArray(), firstShortTx, type);
+  /**
+   * Appends an edit to the current transaction log, without waiting for it to be synced. This is called while
+   * holding the log read lock, and the returned future must be passed to {@link #awaitLog(ListenableFuture)} after
+   * releasing it: this way a roll of the transaction log does not wait for the sync of pending edits.
+   */
+  private ListenableFuture<Void> appendToLogAsync(TransactionEdit edit) {
+    return recordAppend(currentLog.appendAsync(edit), 1);
   }
 
-  private void appendToLog(TransactionEdit edit) {
-    try {
-      Stopwatch timer = new Stopwatch().start();
-      currentLog.append(edit);
-      txMetricsCollector.rate("wal.append.count");
-      txMetricsCollector.histogram("wal.append.latency", (int) timer.elapsedMillis());
-    } catch (IOException ioe) {
-      abortService("Error appending to transaction log", ioe);
-    }
+  private ListenableFuture<Void> appendToLogAsync(List<TransactionEdit> edits) {
+    return recordAppend(currentLog.appendAsync(edits), edits.size());
   }
 
-  private void appendToLog(List<TransactionEdit> edits) {
+  private ListenableFuture<Void> recordAppend(ListenableFuture<Void> appended, final int count) {
+    final Stopwatch timer = new Stopwatch().start();
+    Futures.addCallback(appended, new FutureCallback<Void>() {
+      @Override
+      public void onSuccess(Void result) {
+        txMetricsCollector.rate("wal.append.count", count);
+        txMetricsCollector.histogram("wal.append.latency", (int) timer.elapsedMillis());
+        txMetricsCollector.histogram("wal.append.latency.us", (int) timer.elapsedTime(TimeUnit.MICROSECONDS));
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        // handled by awaitLog
+      }
+    });
+    return appended;
+  }
+
+  /**
+   * Waits until appended edits are synced to the transaction log, and aborts the service if that failed.
+   */
+  private void awaitLog(ListenableFuture<Void> appended) {
     try {
-      Stopwatch timer = new Stopwatch().start();
-      currentLog.append(edits);
-      txMetricsCollector.rate("wal.append.count", edits.size());
-      txMetricsCollector.histogram("wal.append.latency", (int) timer.elapsedMillis());
-    } catch (IOException ioe) {
-      abortService("Error appending to transaction log", ioe);
+      Uninterruptibles.getUninterruptibly(appended);
+    } catch (ExecutionException e) {
+      abortService("Error appending to transaction log", e.getCause());
     }
   }
 
@@ -1258,8 +1854,8 @@ public class TransactionManager extends AbstractService {
    * This hack is needed because current metrics system is not flexible when it comes to adding new metrics.
    */
   public void logStatistics() {
-    LOG.info("Transaction Statistics: write pointer = " + lastWritePointer +
-               ", invalid = " + invalid.size() +
+    LOG.info("Transaction Statistics: write pointer = " + inProgressState.get().getLastWritePointer() +
+               ", invalid = " + invalidArray.length +
                ", in progress = " + inProgress.size() +
                ", committing = " + committingChangeSets.size() +
                ", committed = " + committedChangeSets.size());
@@ -1305,6 +1901,208 @@ public class TransactionManager extends AbstractService {
     }
   }
 
+  /**
+   * Immutable view of the read pointer, the last assigned write pointer and the sorted versions that new transactions
+   * must exclude because they are still in progress (transaction ids plus their checkpoint write pointers). Every
+   * change creates a new instance, so that a transaction can be started with a single compareAndSet against the
+   * instance it read its snapshot from.
+   */
+  private static final class InProgressState {
+    private static final InProgressState EMPTY = new InProgressState(0L, 0L, new long[0], new long[0]);
+
+    private final long readPointer;
+    private final long lastWritePointer;
+    private final long[] inProgress;
+    private final long[] shortInProgress;
+
+    InProgressState(long readPointer, long lastWritePointer, long[] inProgress, long[] shortInProgress) {
+      this.readPointer = readPointer;
+      this.lastWritePointer = lastWritePointer;
+      this.inProgress = inProgress;
+      this.shortInProgress = shortInProgress;
+    }
+
+    long getReadPointer() {
+      return readPointer;
+    }
+
+    long getLastWritePointer() {
+      return lastWritePointer;
+    }
+
+    /**
+     * Returns the sorted in-progress versions. The returned array must not be modified.
+     */
+    long[] getInProgress() {
+      return inProgress;
+    }
+
+    /**
+     * Returns the sorted ids of the in-progress short transactions. The returned array must not be modified.
+     */
+    long[] getShortInProgress() {
+      return shortInProgress;
+    }
+
+    /**
+     * Returns the id of the oldest in-progress short transaction, or {@link Transaction#NO_TX_IN_PROGRESS} if none.
+     */
+    long getFirstShortInProgress() {
+      return shortInProgress.length == 0 ? Transaction.NO_TX_IN_PROGRESS : shortInProgress[0];
+    }
+
+    /**
+     * Returns a new state that also excludes the given write pointer, and has it as last write pointer
+     * if it is greater than the current one.
+     */
+    InProgressState addInProgress(long writePointer, boolean shortTx) {
+      long[] newInProgress = add(inProgress, writePointer);
+      long[] newShortInProgress = shortTx ? add(shortInProgress, writePointer) : shortInProgress;
+      if (newInProgress == inProgress && newShortInProgress == shortInProgress) {
+        return this;
+      }
+      return new InProgressState(readPointer, Math.max(lastWritePointer, writePointer), newInProgress,
+                                 newShortInProgress);
+    }
+
+    /**
+     * Returns a new state that also excludes the given number of consecutive write pointers, and has the last of
+     * them as last write pointer. The first write pointer must be greater than the current last write pointer.
+     */
+    InProgressState addInProgress(long firstWritePointer, int count, boolean shortTx) {
+      if (count == 1) {
+        return addInProgress(firstWritePointer, shortTx);
+      }
+      Preconditions.checkArgument(firstWritePointer > lastWritePointer, "Write pointer %s is not greater than %s",
+                                  firstWritePointer, lastWritePointer);
+      // all excluded versions are at most the last write pointer, the new ones are appended at the end
+      return new InProgressState(readPointer, firstWritePointer + count - 1,
+                                 append(inProgress, firstWritePointer, count),
+                                 shortTx ? append(shortInProgress, firstWritePointer, count) : shortInProgress);
+    }
+
+    /**
+     * Returns a new state that no longer excludes the given transaction and its checkpoint write pointers,
+     * with the read pointer moved to the given write pointer if it is greater than the current one.
+     */
+    InProgressState removeInProgress(long transactionId, @Nullable LongArrayList checkpointWritePointers,
+                                     long committedWritePointer) {
+      long[] newInProgress = remove(inProgress, transactionId);
+      if (checkpointWritePointers != null) {
+        for (int i = 0; i < checkpointWritePointers.size(); i++) {
+          newInProgress = remove(newInProgress, checkpointWritePointers.getLong(i));
+        }
+      }
+      long[] newShortInProgress = remove(shortInProgress, transactionId);
+      long newReadPointer = Math.max(readPointer, committedWritePointer);
+      if (newInProgress == inProgress && newShortInProgress == shortInProgress && newReadPointer == readPointer) {
+        return this;
+      }
+      return new InProgressState(newReadPointer, lastWritePointer, newInProgress, newShortInProgress);
+    }
+
+    /**
+     * Returns a state with the read pointer moved to the given write pointer, if it is greater than the current one.
+     * The committed write pointer has been handed out, hence the last write pointer is moved to it too, if needed:
+     * a checkpoint of the WAL does not contain the INPROGRESS edits of transactions that committed, see
+     * {@link TransactionLogCompactor}.
+     */
+    InProgressState moveReadPointer(long committedWritePointer) {
+      if (committedWritePointer <= readPointer) {
+        return this;
+      }
+      return new InProgressState(committedWritePointer, Math.max(lastWritePointer, committedWritePointer),
+                                 inProgress, shortInProgress);
+    }
+
+    private static long[] add(long[] ids, long id) {
+      int idx = Arrays.binarySearch(ids, id);
+      if (idx >= 0) {
+        return ids;
+      }
+      int insertAt = -(idx + 1);
+      long[] result = new long[ids.length + 1];
+      System.arraycopy(ids, 0, result, 0, insertAt);
+      result[insertAt] = id;
+      System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+      return result;
+    }
+
+    private static long[] append(long[] ids, long firstId, int count) {
+      long[] result = Arrays.copyOf(ids, ids.length + count);
+      for (int i = 0; i < count; i++) {
+        result[ids.length + i] = firstId + i;
+      }
+      return result;
+    }
+
+    private static long[] remove(long[] ids, long id) {
+      int idx = Arrays.binarySearch(ids, id);
+      if (idx < 0) {
+        return ids;
+      }
+      long[] result = new long[ids.length - 1];
+      System.arraycopy(ids, 0, result, 0, idx);
+      System.arraycopy(ids, idx + 1, result, idx, ids.length - idx - 1);
+      return result;
+    }
+  }
+
+  /**
+   * The expiration time of an in-progress transaction, ordered by expiration time and then by transaction id.
+   */
+  private static final class TxExpiration implements Comparable<TxExpiration> {
+    private final long expiration;
+    private final long transactionId;
+
+    TxExpiration(long expiration, long transactionId) {
+      this.expiration = expiration;
+      this.transactionId = transactionId;
+    }
+
+    long getExpiration() {
+      return expiration;
+    }
+
+    long getTransactionId() {
+      return transactionId;
+    }
+
+    @Override
+    public int compareTo(TxExpiration other) {
+      int cmp = Long.compare(expiration, other.expiration);
+      return cmp != 0 ? cmp : Long.compare(transactionId, other.transactionId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof TxExpiration)) {
+        return false;
+      }
+      TxExpiration other = (TxExpiration) o;
+      return expiration == other.expiration && transactionId == other.transactionId;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(expiration, transactionId);
+    }
+  }
+
+  /**
+   * Listens for the transaction visibility states written by the transaction manager.
+   */
+  public interface VisibilityStateListener {
+    /**
+     * Called after the visibility state with the given timestamp was written.  This is called from the snapshot
+     * thread, and must not block.
+     */
+    void visibilityStateWritten(long timestamp);
+  }
+
   /**
    * Represents some of the info on in-progress tx
    */
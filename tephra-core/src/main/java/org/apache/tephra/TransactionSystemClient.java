@@ -20,6 +20,7 @@ package org.apache.tephra;
 
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -42,6 +43,25 @@ public interface TransactionSystemClient {
    */
   Transaction startShort(int timeout);
 
+  /**
+   * Starts a number of new short transactions at once. The transactions share the same snapshot, none of them
+   * sees the writes of the others.
+   * @param count the number of transactions to start
+   * @param timeout the timeout for the transactions
+   * @return the started transactions, in the order of their transaction ids
+   */
+  List<Transaction> startShort(int count, int timeout);
+
+  /**
+   * Starts new read-only transaction. A read-only transaction reads from a snapshot of the current state, without
+   * being tracked by the transaction system. It does not need to be committed or aborted, and must not be used to
+   * write. A client of a transaction server that does not support read-only transactions starts a short transaction
+   * instead, which has to be committed or aborted like any other.
+   * @return instance of {@link Transaction} of type {@link TransactionType#READ_ONLY}, or of type
+   *     {@link TransactionType#SHORT} if the transaction system does not support read-only transactions
+   */
+  Transaction startReadOnly();
+
   /**
    * Starts new long transaction.
    * @return instance of {@link Transaction}
@@ -80,6 +100,17 @@ public interface TransactionSystemClient {
    */
   boolean commit(Transaction tx) throws TransactionNotInProgressException;
 
+  /**
+   * Checks the changes of a transaction for conflicts and makes the transaction visible if there are none, as one
+   * operation. This saves a call and an edit of the transaction log compared to {@link #canCommit} followed by
+   * {@link #commit(Transaction)}, but as there is no conflict check before the changes are persisted, they may have to
+   * be rolled back more often.
+   * @param tx transaction to make visible
+   * @param changeIds ids of changes made by transaction
+   * @return true if transaction was committed, false if it has conflicts
+   */
+  boolean commitWithChanges(Transaction tx, Collection<byte[]> changeIds) throws TransactionNotInProgressException;
+
   /**
    * Makes transaction visible. You should call it only when all changes of this tx are undone.
    * NOTE: it will not throw {@link TransactionNotInProgressException} if transaction has timed out.
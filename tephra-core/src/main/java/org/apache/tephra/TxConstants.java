@@ -22,6 +22,8 @@ import org.apache.tephra.snapshot.DefaultSnapshotCodec;
 import org.apache.tephra.snapshot.SnapshotCodecV2;
 import org.apache.tephra.snapshot.SnapshotCodecV3;
 import org.apache.tephra.snapshot.SnapshotCodecV4;
+import org.apache.tephra.snapshot.SnapshotCodecV5;
+import org.apache.tephra.snapshot.SnapshotCodecV6;
 
 import java.util.concurrent.TimeUnit;
 
@@ -157,6 +159,33 @@ public class TxConstants {
     public static final String CFG_TX_SNAPSHOT_RETAIN = "data.tx.snapshot.retain";
     /** Default value for number of most recent snapshots to retain. */
     public static final int DEFAULT_TX_SNAPSHOT_RETAIN = 10;
+    /**
+     * The frequency (in seconds) to write the transaction visibility state, without change sets, in addition to the
+     * periodic snapshots, or 0 to only write snapshots.  Coprocessors read the visibility state, and refresh it at
+     * this frequency instead of the snapshot frequency.
+     */
+    public static final String CFG_TX_VISIBILITY_STATE_INTERVAL = "data.tx.visibility.state.interval";
+    /** Default value for frequency of writing the transaction visibility state. */
+    public static final long DEFAULT_TX_VISIBILITY_STATE_INTERVAL = 0;
+    /**
+     * Whether the transaction service notifies coprocessors through ZooKeeper whenever it writes the transaction
+     * visibility state, so that they refresh it within seconds of it being written.  Coprocessors keep polling for
+     * the stored state, in case notifications are missed.  Must be set for both the transaction service and the
+     * coprocessors.
+     */
+    public static final String CFG_TX_VISIBILITY_STATE_NOTIFY = "data.tx.visibility.state.notify";
+    /** Default value for notifying coprocessors of new transaction visibility states. */
+    public static final boolean DEFAULT_TX_VISIBILITY_STATE_NOTIFY = false;
+    /**
+     * The width in bits of the hash fingerprints that the transaction manager keeps for change keys, instead of
+     * the full keys, or 0 to keep the full keys. Must be a multiple of 8 between 32 and 128. Different change keys
+     * with the same fingerprint may cause false conflicts, but a conflict is never missed. This should only be
+     * changed while no transactions are in progress: change sets recorded before the change may not be recognized.
+     * Snapshots of fingerprinted change sets can only be written by {@link SnapshotCodecV6}.
+     */
+    public static final String CFG_TX_CHANGE_FINGERPRINT_BITS = "data.tx.change.fingerprint.bits";
+    /** Default value for the width of change key fingerprints: full change keys are kept. */
+    public static final int DEFAULT_TX_CHANGE_FINGERPRINT_BITS = 0;
   }
 
   /**
@@ -214,6 +243,29 @@ public class TxConstants {
     public static final int DEFAULT_DATA_TX_THRIFT_MAX_READ_BUFFER
       = 16 * 1024 * 1024;
 
+    /**
+     * Whether transactions are sent over thrift with the invalid list in a compact encoding rather than as a plain
+     * list. This applies to the tx server and to tx clients. Servers and clients that do not know the encoding
+     * would see an empty invalid list, hence this must only be enabled once all of them have been upgraded.
+     */
+    public static final String CFG_DATA_TX_THRIFT_ENCODE_INVALIDS
+      = "data.tx.thrift.encode.invalids";
+
+    /** by default, the invalid list is sent as a plain list. */
+    public static final boolean DEFAULT_DATA_TX_THRIFT_ENCODE_INVALIDS
+      = false;
+
+    /**
+     * the maximum size in bytes of the chunks in which clients read snapshots from the tx server. This must be well
+     * below the maximum frame size of the clients' Thrift transport, which is about 16 MB.
+     */
+    public static final String CFG_DATA_TX_THRIFT_SNAPSHOT_CHUNK_SIZE
+      = "data.tx.thrift.snapshot.chunk.size";
+
+    /** default size of snapshot chunks */
+    public static final int DEFAULT_DATA_TX_THRIFT_SNAPSHOT_CHUNK_SIZE
+      = 1024 * 1024;
+
     // Configuration key names and defaults used by tx client.
 
     /** to specify the tx client socket timeout in ms. */
@@ -333,7 +385,15 @@ public class TxConstants {
      */
     public static final String CFG_TX_SNAPHOT_CODEC_CLASSES = "data.tx.snapshot.codecs";
     public static final Class[] DEFAULT_TX_SNAPHOT_CODEC_CLASSES = 
-      { DefaultSnapshotCodec.class, SnapshotCodecV2.class, SnapshotCodecV3.class, SnapshotCodecV4.class };
+      { DefaultSnapshotCodec.class, SnapshotCodecV2.class, SnapshotCodecV3.class, SnapshotCodecV4.class,
+        SnapshotCodecV5.class, SnapshotCodecV6.class };
+
+    /**
+     * Whether the blocks of a snapshot written by {@link SnapshotCodecV6} are compressed. Compression reduces the size
+     * of snapshots with large change sets, at the cost of the time to encode and decode them.
+     */
+    public static final String CFG_TX_SNAPSHOT_CODEC_COMPRESS = "data.tx.snapshot.codec.compress";
+    public static final boolean DEFAULT_TX_SNAPSHOT_CODEC_COMPRESS = false;
   }
 
   /**
@@ -345,7 +405,100 @@ public class TxConstants {
      */
     public static final String NUM_ENTRIES_APPENDED = "count";
     public static final String VERSION_KEY = "version";
-    public static final byte CURRENT_VERSION = 3;
+    public static final byte CURRENT_VERSION = 4;
+
+    /**
+     * The maximum number of edits that are written to the transaction log with one commit marker and one sync.
+     */
+    public static final String CFG_TX_LOG_BATCH_MAX_SIZE = "data.tx.log.batch.max.size";
+    /**
+     * The maximum time, in microseconds, that the log writer waits for more edits before it writes a batch that is
+     * not full. Zero means that a batch is written as soon as the previous one has been synced.
+     */
+    public static final String CFG_TX_LOG_BATCH_MAX_DELAY_US = "data.tx.log.batch.max.delay.us";
+    /**
+     * The time, in milliseconds, from the append of the oldest edit of a batch until all appends of the batch are
+     * completed, above which the batch is logged with the latency of each stage of writing it.
+     */
+    public static final String CFG_TX_LOG_SLOW_BATCH_THRESHOLD_MS = "data.tx.log.slow.batch.threshold.ms";
+
+    public static final int DEFAULT_TX_LOG_BATCH_MAX_SIZE = 1024;
+    public static final long DEFAULT_TX_LOG_BATCH_MAX_DELAY_US = 0;
+    public static final long DEFAULT_TX_LOG_SLOW_BATCH_THRESHOLD_MS = 1000;
+
+    /**
+     * When a transaction log in the local filesystem forces written batches to the storage device, one of
+     * {@code BATCH} (every batch), {@code INTERVAL} (at most once per sync interval) or {@code NONE} (leave it to
+     * the operating system).
+     */
+    public static final String CFG_TX_LOG_LOCAL_SYNC_POLICY = "data.tx.log.local.sync.policy";
+    /**
+     * The minimum time, in milliseconds, between two syncs of a transaction log in the local filesystem with
+     * the {@code INTERVAL} sync policy.
+     */
+    public static final String CFG_TX_LOG_LOCAL_SYNC_INTERVAL_MS = "data.tx.log.local.sync.interval.ms";
+    /**
+     * The number of bytes by which a transaction log in the local filesystem is extended when it is full. Zero
+     * disables preallocation.
+     */
+    public static final String CFG_TX_LOG_LOCAL_PREALLOCATE_BYTES = "data.tx.log.local.preallocate.bytes";
+
+    public static final String DEFAULT_TX_LOG_LOCAL_SYNC_POLICY = "BATCH";
+    public static final long DEFAULT_TX_LOG_LOCAL_SYNC_INTERVAL_MS = 1000;
+    public static final int DEFAULT_TX_LOG_LOCAL_PREALLOCATE_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * How a transaction log in HDFS makes written batches durable, one of {@code HFLUSH} (flush every batch to all
+     * datanodes), {@code HSYNC} (also force every batch to disk on the datanodes) or {@code WRITE_BEHIND} (flush every
+     * batch, and force batches to disk at most once per hsync interval).
+     */
+    public static final String CFG_TX_LOG_HDFS_SYNC_MODE = "data.tx.log.hdfs.sync.mode";
+    /**
+     * The minimum time, in milliseconds, between two hsyncs of a transaction log in HDFS with the
+     * {@code WRITE_BEHIND} sync mode.
+     */
+    public static final String CFG_TX_LOG_HDFS_HSYNC_INTERVAL_MS = "data.tx.log.hdfs.hsync.interval.ms";
+    /** The replication of transaction logs in HDFS, or 0 to use the default replication of the filesystem. */
+    public static final String CFG_TX_LOG_HDFS_REPLICATION = "data.tx.log.hdfs.replication";
+    /** The block size of transaction logs in HDFS, or 0 to use the default block size of the filesystem. */
+    public static final String CFG_TX_LOG_HDFS_BLOCK_SIZE = "data.tx.log.hdfs.block.size";
+    /**
+     * The size of the buffer used to write transaction logs to HDFS, or 0 to use {@code io.file.buffer.size}.
+     */
+    public static final String CFG_TX_LOG_HDFS_BUFFER_SIZE = "data.tx.log.hdfs.buffer.size";
+
+    public static final String DEFAULT_TX_LOG_HDFS_SYNC_MODE = "HFLUSH";
+    public static final long DEFAULT_TX_LOG_HDFS_HSYNC_INTERVAL_MS = 1000;
+
+    /**
+     * The number of files that every transaction log is striped across. Each stripe has its own writer that
+     * batches and syncs edits independently of the other stripes.
+     */
+    public static final String CFG_TX_LOG_STRIPES = "data.tx.log.stripes";
+    /**
+     * Comma-separated list of directories for the stripes of a transaction log, assigned to the stripes in
+     * round-robin order. Defaults to the snapshot directory.
+     */
+    public static final String CFG_TX_LOG_STRIPE_DIRS = "data.tx.log.stripe.dirs";
+
+    public static final int DEFAULT_TX_LOG_STRIPES = 1;
+
+    /**
+     * The number of transaction logs that are read and decoded ahead, in parallel, while the transaction manager
+     * replays the edits of the logs on recovery.
+     */
+    public static final String CFG_TX_LOG_REPLAY_THREADS = "data.tx.log.replay.threads";
+
+    public static final int DEFAULT_TX_LOG_REPLAY_THREADS = 4;
+
+    /**
+     * The interval in seconds at which the transaction log is rolled between snapshots, or 0 to only roll it with
+     * snapshots.  After every such roll, the closed logs since the last snapshot are compacted in the background
+     * into a checkpoint with the net effect of their edits, which is replayed on recovery in place of the logs.
+     */
+    public static final String CFG_TX_LOG_ROLL_INTERVAL = "data.tx.log.roll.interval";
+
+    public static final long DEFAULT_TX_LOG_ROLL_INTERVAL = 0;
   }
 
 }
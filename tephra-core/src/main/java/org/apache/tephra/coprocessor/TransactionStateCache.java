@@ -19,24 +19,38 @@
 package org.apache.tephra.coprocessor;
 
 import com.google.common.util.concurrent.AbstractIdleService;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.inject.Guice;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.tephra.TransactionManager;
 import org.apache.tephra.TxConstants;
+import org.apache.tephra.distributed.VisibilityStateNotifier;
 import org.apache.tephra.metrics.TxMetricsCollector;
 import org.apache.tephra.persist.HDFSTransactionStateStorage;
 import org.apache.tephra.persist.TransactionStateStorage;
 import org.apache.tephra.persist.TransactionVisibilityState;
+import org.apache.tephra.runtime.ConfigModule;
+import org.apache.tephra.runtime.ZKModule;
 import org.apache.tephra.snapshot.SnapshotCodecProvider;
 import org.apache.tephra.util.ConfigurationFactory;
+import org.apache.twill.common.Cancellable;
+import org.apache.twill.zookeeper.ZKClientService;
 
 import java.io.IOException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Periodically refreshes transaction state from the latest stored snapshot.  This is implemented as a singleton
- * to allow a single cache to be shared by all regions on a regionserver.
+ * Periodically refreshes transaction state from the latest stored snapshot, or the latest stored visibility state if
+ * the transaction manager writes it, see {@link TxConstants.Manager#CFG_TX_VISIBILITY_STATE_INTERVAL}.  If
+ * {@link TxConstants.Manager#CFG_TX_VISIBILITY_STATE_NOTIFY} is set, the state is also refreshed as soon as the
+ * transaction service notifies that a new visibility state was written.  This is implemented as a singleton to allow
+ * a single cache to be shared by all regions on a regionserver.
  */
 public class TransactionStateCache extends AbstractIdleService implements Configurable {
   private static final Log LOG = LogFactory.getLog(TransactionStateCache.class);
@@ -55,6 +69,22 @@ public class TransactionStateCache extends AbstractIdleService implements Config
   private long snapshotRefreshFrequency;
   private boolean initialized;
 
+  // notifications of new visibility states, if enabled
+  private ZKClientService zkClient;
+  private volatile Cancellable visibilityStateWatch;
+  // released to refresh the state before the next periodic check
+  private final Semaphore refreshRequests = new Semaphore(0);
+  private final TransactionManager.VisibilityStateListener visibilityStateListener =
+    new TransactionManager.VisibilityStateListener() {
+      @Override
+      public void visibilityStateWritten(long timestamp) {
+        TransactionVisibilityState state = latestState;
+        if (state == null || timestamp > state.getTimestamp()) {
+          refreshRequests.release();
+        }
+      }
+    };
+
   public TransactionStateCache() {
   }
 
@@ -78,6 +108,12 @@ public class TransactionStateCache extends AbstractIdleService implements Config
   protected void shutDown() throws Exception {
     this.refreshService.interrupt();
     this.storage.stop();
+    if (visibilityStateWatch != null) {
+      visibilityStateWatch.cancel();
+    }
+    if (zkClient != null) {
+      zkClient.stop();
+    }
   }
 
   /**
@@ -93,8 +129,16 @@ public class TransactionStateCache extends AbstractIdleService implements Config
         this.storage = new HDFSTransactionStateStorage(conf, new SnapshotCodecProvider(conf),
                                                        new TxMetricsCollector());
         this.storage.startAndWait();
-        this.snapshotRefreshFrequency = conf.getLong(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL,
-                                                     TxConstants.Manager.DEFAULT_TX_SNAPSHOT_INTERVAL) * 1000;
+        long visibilityStateInterval = conf.getLong(TxConstants.Manager.CFG_TX_VISIBILITY_STATE_INTERVAL,
+                                                    TxConstants.Manager.DEFAULT_TX_VISIBILITY_STATE_INTERVAL);
+        // the visibility state is written more often than snapshots, and is cheap to read
+        this.snapshotRefreshFrequency = (visibilityStateInterval > 0 ? visibilityStateInterval :
+          conf.getLong(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL,
+                       TxConstants.Manager.DEFAULT_TX_SNAPSHOT_INTERVAL)) * 1000;
+        if (zkClient == null && conf.getBoolean(TxConstants.Manager.CFG_TX_VISIBILITY_STATE_NOTIFY,
+                                                TxConstants.Manager.DEFAULT_TX_VISIBILITY_STATE_NOTIFY)) {
+          watchVisibilityState(conf);
+        }
         this.initialized = true;
       } else {
         LOG.info("Could not load configuration");
@@ -104,6 +148,30 @@ public class TransactionStateCache extends AbstractIdleService implements Config
     }
   }
 
+  /**
+   * Watches for notifications of new visibility states.  If this fails, the state is still refreshed periodically.
+   */
+  private void watchVisibilityState(Configuration conf) {
+    try {
+      zkClient = Guice.createInjector(new ConfigModule(conf), new ZKModule()).getInstance(ZKClientService.class);
+      // do not wait for ZooKeeper, the state is refreshed periodically until it is connected
+      Futures.addCallback(zkClient.start(), new FutureCallback<State>() {
+        @Override
+        public void onSuccess(State result) {
+          visibilityStateWatch = VisibilityStateNotifier.watch(zkClient, visibilityStateListener);
+          LOG.info("Watching for notifications of new transaction visibility states");
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+          LOG.info("Failed to watch for transaction visibility states due to: " + t.getMessage());
+        }
+      }, MoreExecutors.sameThreadExecutor());
+    } catch (Exception e) {
+      LOG.info("Failed to watch for transaction visibility states due to: " + e.getMessage());
+    }
+  }
+
   protected Configuration getSnapshotConfiguration() throws IOException {
     Configuration conf = new ConfigurationFactory().get(hConf);
     conf.unset(TxConstants.Persist.CFG_TX_SNAPHOT_CODEC_CLASSES);
@@ -120,8 +188,10 @@ public class TransactionStateCache extends AbstractIdleService implements Config
     this.refreshService = new Thread("tx-state-refresh") {
       @Override
       public void run() {
+        boolean notified = false;
         while (!isInterrupted()) {
-          if (latestState == null || System.currentTimeMillis() > (lastRefresh + snapshotRefreshFrequency)) {
+          if (notified || latestState == null ||
+            System.currentTimeMillis() > (lastRefresh + snapshotRefreshFrequency)) {
             try {
               refreshState();
             } catch (IOException ioe) {
@@ -129,7 +199,13 @@ public class TransactionStateCache extends AbstractIdleService implements Config
             }
           }
           try {
-            TimeUnit.SECONDS.sleep(CHECK_FREQUENCY);
+            long checkMillis = TimeUnit.SECONDS.toMillis(CHECK_FREQUENCY);
+            if (snapshotRefreshFrequency > 0) {
+              checkMillis = Math.min(checkMillis, snapshotRefreshFrequency);
+            }
+            // wake up early if notified of a new visibility state
+            notified = refreshRequests.tryAcquire(checkMillis, TimeUnit.MILLISECONDS);
+            refreshRequests.drainPermits();
           } catch (InterruptedException ie) {
             // reset status
             interrupt();
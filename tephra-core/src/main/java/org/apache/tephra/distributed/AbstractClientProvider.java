@@ -127,7 +127,9 @@ public abstract class AbstractClientProvider implements ThriftClientProvider {
       throw e;
     }
     // and create a thrift client
-    TransactionServiceThriftClient newClient = new TransactionServiceThriftClient(transport);
+    TransactionServiceThriftClient newClient = new TransactionServiceThriftClient(
+      transport, configuration.getBoolean(TxConstants.Service.CFG_DATA_TX_THRIFT_ENCODE_INVALIDS,
+                                          TxConstants.Service.DEFAULT_DATA_TX_THRIFT_ENCODE_INVALIDS));
 
     LOG.info("Connected to tx service at " +
                address + ":" + port);
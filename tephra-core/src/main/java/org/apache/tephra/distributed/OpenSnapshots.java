@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.distributed;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tephra.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Snapshots opened by clients of the transaction service to read them in chunks.  Each snapshot is encoded to a
+ * temporary file, so that neither the server nor the client holds the whole encoded snapshot in memory.  Snapshots
+ * that are not read for {@link #EXPIRE_MILLIS} are deleted, in case the client failed before closing them.  Expired
+ * snapshots are looked for whenever a snapshot is opened, read or closed.
+ */
+final class OpenSnapshots {
+  private static final Logger LOG = LoggerFactory.getLogger(OpenSnapshots.class);
+
+  static final long EXPIRE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+  private static final ByteBuffer EMPTY = ByteBuffer.wrap(new byte[0]);
+
+  private final int chunkSize;
+  private final long expireMillis;
+  // start at a random id, so that a client of a previous server does not read another snapshot with the same id
+  private final AtomicLong nextId = new AtomicLong(new Random().nextLong() & Long.MAX_VALUE);
+  private final ConcurrentMap<Long, OpenSnapshot> snapshots = new ConcurrentHashMap<>();
+
+  OpenSnapshots(int chunkSize) {
+    this(chunkSize, EXPIRE_MILLIS);
+  }
+
+  @VisibleForTesting
+  OpenSnapshots(int chunkSize, long expireMillis) {
+    this.chunkSize = chunkSize;
+    this.expireMillis = expireMillis;
+  }
+
+  /**
+   * Takes a snapshot of the transaction manager.
+   *
+   * @return the id of the snapshot, or {@code null} if the transaction manager could not take a snapshot
+   */
+  @Nullable
+  Long open(TransactionManager txManager) throws IOException {
+    expire();
+    File file = File.createTempFile("tx-snapshot-", ".tmp");
+    boolean opened = false;
+    try {
+      try (OutputStream out = new FileOutputStream(file)) {
+        if (!txManager.takeSnapshot(out)) {
+          return null;
+        }
+      }
+      long snapshotId = nextId.getAndIncrement();
+      snapshots.put(snapshotId, new OpenSnapshot(file));
+      opened = true;
+      LOG.debug("Opened snapshot {} of {} bytes", snapshotId, file.length());
+      return snapshotId;
+    } finally {
+      if (!opened && !file.delete()) {
+        LOG.warn("Failed to delete snapshot file {}", file);
+      }
+    }
+  }
+
+  /**
+   * Reads the chunk of a snapshot that starts at the given offset.
+   *
+   * @return the chunk, which is empty if the offset is at or after the end of the snapshot
+   * @throws IOException if the snapshot is not open, or if reading it fails
+   */
+  ByteBuffer read(long snapshotId, long offset) throws IOException {
+    OpenSnapshot snapshot = snapshots.get(snapshotId);
+    if (snapshot == null) {
+      throw new IOException("Snapshot " + snapshotId + " is not open, it may have expired");
+    }
+    if (offset < 0) {
+      throw new IOException("Invalid offset " + offset + " for snapshot " + snapshotId);
+    }
+    ByteBuffer chunk = snapshot.read(offset);
+    expire();
+    return chunk;
+  }
+
+  void close(long snapshotId) {
+    closeSnapshot(snapshotId);
+    expire();
+  }
+
+  void closeAll() {
+    for (Long snapshotId : snapshots.keySet()) {
+      closeSnapshot(snapshotId);
+    }
+  }
+
+  /**
+   * Returns the number of open snapshots.
+   */
+  int size() {
+    return snapshots.size();
+  }
+
+  private void closeSnapshot(long snapshotId) {
+    OpenSnapshot snapshot = snapshots.remove(snapshotId);
+    if (snapshot != null) {
+      snapshot.close();
+      LOG.debug("Closed snapshot {}", snapshotId);
+    }
+  }
+
+  private void expire() {
+    long expireBefore = System.currentTimeMillis() - expireMillis;
+    for (Map.Entry<Long, OpenSnapshot> entry : snapshots.entrySet()) {
+      // expiry may run concurrently for other requests, only the one that removes the snapshot closes it
+      if (entry.getValue().lastAccess < expireBefore && snapshots.remove(entry.getKey(), entry.getValue())) {
+        entry.getValue().close();
+        LOG.info("Expired snapshot {} that was not read since {}", entry.getKey(), entry.getValue().lastAccess);
+      }
+    }
+  }
+
+  private final class OpenSnapshot {
+    private final File file;
+    private final RandomAccessFile input;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    private OpenSnapshot(File file) throws IOException {
+      this.file = file;
+      this.input = new RandomAccessFile(file, "r");
+    }
+
+    private synchronized ByteBuffer read(long offset) throws IOException {
+      lastAccess = System.currentTimeMillis();
+      long length = input.length();
+      if (offset >= length) {
+        return EMPTY.duplicate();
+      }
+      byte[] chunk = new byte[(int) Math.min(chunkSize, length - offset)];
+      input.seek(offset);
+      input.readFully(chunk);
+      return ByteBuffer.wrap(chunk);
+    }
+
+    private synchronized void close() {
+      try {
+        input.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close snapshot file {}", file, e);
+      }
+      if (!file.delete()) {
+        LOG.warn("Failed to delete snapshot file {}", file);
+      }
+    }
+  }
+}
@@ -24,6 +24,9 @@ import org.apache.tephra.TransactionType;
 import org.apache.tephra.distributed.thrift.TTransaction;
 import org.apache.tephra.distributed.thrift.TTransactionType;
 import org.apache.tephra.distributed.thrift.TVisibilityLevel;
+import org.apache.tephra.util.SortedLongsCodec;
+
+import java.nio.ByteBuffer;
 
 /**
  * Utility methods to convert to thrift and back.
@@ -31,17 +34,42 @@ import org.apache.tephra.distributed.thrift.TVisibilityLevel;
 public final class TransactionConverterUtils {
   private static final long[] EMPTY_LONG_ARRAY = {};
 
+  // all transactions started from the same state share the same invalid array, hence it is only encoded once
+  private static volatile EncodedInvalids lastEncodedInvalids = new EncodedInvalids(EMPTY_LONG_ARRAY);
+
   public static TTransaction wrap(Transaction tx) {
-    return new TTransaction(tx.getTransactionId(), tx.getReadPointer(),
-                            Longs.asList(tx.getInvalids()), Longs.asList(tx.getInProgress()),
-                            tx.getFirstShortInProgress(), getTTransactionType(tx.getType()),
-                            tx.getWritePointer(), Longs.asList(tx.getCheckpointWritePointers()),
-                            getTVisibilityLevel(tx.getVisibilityLevel()));
+    return wrap(tx, false);
+  }
+
+  /**
+   * Converts a transaction to its thrift form.
+   *
+   * @param tx the transaction
+   * @param encodeInvalids whether to send the invalid list in the compact encoding of {@link SortedLongsCodec}
+   *                       instead of a plain list. Only set this if the receiving side knows that encoding.
+   */
+  public static TTransaction wrap(Transaction tx, boolean encodeInvalids) {
+    TTransaction thriftTx = new TTransaction(tx.getTransactionId(), tx.getReadPointer(),
+                                             encodeInvalids ? null : Longs.asList(tx.getInvalids()),
+                                             Longs.asList(tx.getInProgress()),
+                                             tx.getFirstShortInProgress(), getTTransactionType(tx.getType()),
+                                             tx.getWritePointer(), Longs.asList(tx.getCheckpointWritePointers()),
+                                             getTVisibilityLevel(tx.getVisibilityLevel()));
+    if (encodeInvalids) {
+      thriftTx.setInvalidsEncoded(ByteBuffer.wrap(encodeInvalids(tx.getInvalids())));
+    }
+    return thriftTx;
   }
 
   public static Transaction unwrap(TTransaction thriftTx) {
+    long[] invalids;
+    if (thriftTx.isSetInvalidsEncoded()) {
+      invalids = SortedLongsCodec.decode(thriftTx.bufferForInvalidsEncoded());
+    } else {
+      invalids = thriftTx.getInvalids() == null ? EMPTY_LONG_ARRAY : Longs.toArray(thriftTx.getInvalids());
+    }
     return new Transaction(thriftTx.getReadPointer(), thriftTx.getTransactionId(), thriftTx.getWritePointer(),
-                           thriftTx.getInvalids() == null ? EMPTY_LONG_ARRAY : Longs.toArray(thriftTx.getInvalids()),
+                           invalids,
                            thriftTx.getInProgress() == null ? EMPTY_LONG_ARRAY :
                                Longs.toArray(thriftTx.getInProgress()),
                            thriftTx.getFirstShort(), getTransactionType(thriftTx.getType()),
@@ -50,12 +78,55 @@ public final class TransactionConverterUtils {
                            getVisibilityLevel(thriftTx.getVisibilityLevel()));
   }
 
+  private static byte[] encodeInvalids(long[] invalids) {
+    EncodedInvalids encoded = lastEncodedInvalids;
+    if (encoded.invalids != invalids) {
+      encoded = new EncodedInvalids(invalids);
+      lastEncodedInvalids = encoded;
+    }
+    return encoded.bytes;
+  }
+
+  /**
+   * An invalid array together with its encoding.
+   */
+  private static final class EncodedInvalids {
+    private final long[] invalids;
+    private final byte[] bytes;
+
+    private EncodedInvalids(long[] invalids) {
+      this.invalids = invalids;
+      this.bytes = SortedLongsCodec.encode(invalids);
+    }
+  }
+
   private static TransactionType getTransactionType(TTransactionType tType) {
-    return tType == TTransactionType.SHORT ? TransactionType.SHORT : TransactionType.LONG;
+    // older clients may leave the type unset, default to LONG
+    if (tType == null) {
+      return TransactionType.LONG;
+    }
+    switch (tType) {
+      case SHORT:
+        return TransactionType.SHORT;
+      case READ_ONLY:
+        return TransactionType.READ_ONLY;
+      default:
+        return TransactionType.LONG;
+    }
   }
 
   private static TTransactionType getTTransactionType(TransactionType type) {
-    return type == TransactionType.SHORT ? TTransactionType.SHORT : TTransactionType.LONG;
+    if (type == null) {
+      return TTransactionType.LONG;
+    }
+    switch (type) {
+      case SHORT:
+        return TTransactionType.SHORT;
+      case READ_ONLY:
+        return TTransactionType.READ_ONLY;
+      default:
+        return TTransactionType.LONG;
+    }
   }
 
   private static Transaction.VisibilityLevel getVisibilityLevel(TVisibilityLevel tLevel) {
@@ -25,6 +25,7 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.tephra.TransactionManager;
+import org.apache.tephra.TxConstants;
 import org.apache.tephra.distributed.thrift.TTransactionServer;
 import org.apache.tephra.inmemory.InMemoryTransactionService;
 import org.apache.tephra.rpc.ThriftRPCServer;
@@ -50,6 +51,7 @@ public final class TransactionService extends InMemoryTransactionService {
   private static final Logger LOG = LoggerFactory.getLogger(TransactionService.class);
   private LeaderElection leaderElection;
   private final ZKClient zkClient;
+  private final boolean notifyVisibilityState;
 
   private ThriftRPCServer<TransactionServiceThriftHandler, TTransactionServer> server;
 
@@ -60,6 +62,8 @@ public final class TransactionService extends InMemoryTransactionService {
                             Provider<TransactionManager> txManagerProvider) {
     super(conf, discoveryService, txManagerProvider);
     this.zkClient = zkClient;
+    this.notifyVisibilityState = conf.getBoolean(TxConstants.Manager.CFG_TX_VISIBILITY_STATE_NOTIFY,
+                                                 TxConstants.Manager.DEFAULT_TX_VISIBILITY_STATE_NOTIFY);
   }
 
   @Override
@@ -89,6 +93,10 @@ public final class TransactionService extends InMemoryTransactionService {
             TransactionService.this.abort(failure);
           }
         }, MoreExecutors.sameThreadExecutor());
+        if (notifyVisibilityState) {
+          // let coprocessors know of every visibility state written, instead of waiting for them to poll
+          txManager.setVisibilityStateListener(new VisibilityStateNotifier(zkClient));
+        }
 
         server = ThriftRPCServer.builder(TTransactionServer.class)
           .setHost(address)
@@ -96,7 +104,7 @@ public final class TransactionService extends InMemoryTransactionService {
           .setWorkerThreads(threads)
           .setMaxReadBufferBytes(maxReadBufferBytes)
           .setIOThreads(ioThreads)
-          .build(new TransactionServiceThriftHandler(txManager));
+          .build(new TransactionServiceThriftHandler(txManager, encodeInvalids, snapshotChunkSize));
         try {
           server.startAndWait();
           doRegister();
@@ -36,14 +36,18 @@ import org.apache.tephra.runtime.TransactionClientModule;
 import org.apache.tephra.runtime.TransactionModules;
 import org.apache.tephra.runtime.ZKModule;
 import org.apache.tephra.util.ConfigurationFactory;
+import org.apache.thrift.TApplicationException;
 import org.apache.thrift.TException;
 import org.apache.twill.zookeeper.ZKClientService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -285,6 +289,72 @@ public class TransactionServiceClient implements TransactionSystemClient {
     }
   }
 
+  @Override
+  public List<Transaction> startShort(final int count, final int timeout) {
+    try {
+      List<Transaction> txs = execute(
+        new Operation<List<Transaction>>("startShortBatch") {
+          @Override
+          public List<Transaction> execute(TransactionServiceThriftClient client)
+            throws TException {
+            try {
+              return client.startShort(count, timeout);
+            } catch (TException e) {
+              if (TransactionServiceThriftClient.isUnknownMethod(e)) {
+                // the server does not support starting transactions in batches yet
+                return null;
+              }
+              throw e;
+            }
+          }
+        });
+      if (txs != null) {
+        return txs;
+      }
+      LOG.debug("Transaction server does not support startShortBatch, starting the transactions one at a time");
+      txs = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        txs.add(startShort(timeout));
+      }
+      return txs;
+    } catch (Exception e) {
+      throw Throwables.propagate(e);
+    }
+  }
+
+  /**
+   * Starts a read-only transaction, or a short transaction if the server does not support read-only transactions.
+   * {@link org.apache.tephra.TransactionContext} commits or aborts a short transaction with the server as usual.
+   */
+  @Override
+  public Transaction startReadOnly() {
+    try {
+      Transaction tx = execute(
+        new Operation<Transaction>("startReadOnly") {
+          @Override
+          public Transaction execute(TransactionServiceThriftClient client)
+            throws TException {
+            try {
+              return client.startReadOnly();
+            } catch (TException e) {
+              if (TransactionServiceThriftClient.isUnknownMethod(e)) {
+                // the server does not support read-only transactions yet
+                return null;
+              }
+              throw e;
+            }
+          }
+        });
+      if (tx != null) {
+        return tx;
+      }
+      LOG.debug("Transaction server does not support startReadOnly, starting a short transaction");
+      return startShort();
+    } catch (Exception e) {
+      throw Throwables.propagate(e);
+    }
+  }
+
   @Override
   public boolean canCommit(final Transaction tx, final Collection<byte[]> changeIds)
     throws TransactionNotInProgressException {
@@ -323,6 +393,38 @@ public class TransactionServiceClient implements TransactionSystemClient {
     }
   }
 
+  @Override
+  public boolean commitWithChanges(final Transaction tx, final Collection<byte[]> changeIds)
+    throws TransactionNotInProgressException {
+    try {
+      Boolean committed = this.execute(
+        new Operation<Boolean>("commitWithChanges") {
+          @Override
+          public Boolean execute(TransactionServiceThriftClient client)
+            throws Exception {
+            try {
+              return client.commitWithChanges(tx, changeIds);
+            } catch (TException e) {
+              if (TransactionServiceThriftClient.isUnknownMethod(e)) {
+                // the server does not support committing in a single call yet
+                return null;
+              }
+              throw e;
+            }
+          }
+        });
+      if (committed != null) {
+        return committed;
+      }
+      LOG.debug("Transaction server does not support commitWithChanges, committing with canCommit and commit");
+      return canCommit(tx, changeIds) && commit(tx);
+    } catch (TransactionNotInProgressException e) {
+      throw e;
+    } catch (Exception e) {
+      throw Throwables.propagate(e);
+    }
+  }
+
   @Override
   public void abort(final Transaction tx) {
     try {
@@ -377,6 +479,26 @@ public class TransactionServiceClient implements TransactionSystemClient {
   @Override
   public InputStream getSnapshotInputStream() throws TransactionCouldNotTakeSnapshotException {
     try {
+      Long snapshotId = this.execute(
+          new Operation<Long>("openSnapshot") {
+            @Override
+            public Long execute(TransactionServiceThriftClient client)
+                throws Exception {
+              try {
+                return client.openSnapshot();
+              } catch (TApplicationException e) {
+                if (e.getType() == TApplicationException.UNKNOWN_METHOD) {
+                  // the server does not support reading snapshots in chunks yet
+                  return null;
+                }
+                throw e;
+              }
+            }
+          });
+      if (snapshotId != null) {
+        return new SnapshotInputStream(snapshotId);
+      }
+      LOG.debug("Transaction server does not support reading snapshots in chunks, reading the whole snapshot");
       return this.execute(
           new Operation<InputStream>("takeSnapshot") {
             @Override
@@ -470,4 +592,110 @@ public class TransactionServiceClient implements TransactionSystemClient {
       throw Throwables.propagate(e);
     }
   }
+
+  /**
+   * Reads a snapshot opened on the tx server in chunks of bounded size, so that the snapshot is never in memory as a
+   * whole. Chunks are requested by offset, hence retrying a failed request does not skip any part of the snapshot.
+   * Closing the stream releases the snapshot on the server.
+   */
+  private final class SnapshotInputStream extends InputStream {
+    private final long snapshotId;
+    private byte[] chunk = new byte[0];
+    private int position;
+    // offset of the next chunk in the snapshot
+    private long offset;
+    private boolean finished;
+    private boolean closed;
+
+    private SnapshotInputStream(long snapshotId) {
+      this.snapshotId = snapshotId;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!fill()) {
+        return -1;
+      }
+      return chunk[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (!fill()) {
+        return -1;
+      }
+      int count = Math.min(len, chunk.length - position);
+      System.arraycopy(chunk, position, b, off, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+      return chunk.length - position;
+    }
+
+    /**
+     * Reads the next chunk if the current one is consumed.
+     *
+     * @return false at the end of the snapshot
+     */
+    private boolean fill() throws IOException {
+      if (closed) {
+        throw new IOException("Snapshot stream is closed");
+      }
+      while (position == chunk.length) {
+        if (finished) {
+          return false;
+        }
+        chunk = readChunk(offset);
+        position = 0;
+        offset += chunk.length;
+        finished = chunk.length == 0;
+      }
+      return true;
+    }
+
+    private byte[] readChunk(final long chunkOffset) throws IOException {
+      try {
+        return execute(
+          new Operation<byte[]>("getSnapshotChunk") {
+            @Override
+            public byte[] execute(TransactionServiceThriftClient client)
+              throws Exception {
+              return client.getSnapshotChunk(snapshotId, chunkOffset);
+            }
+          });
+      } catch (Exception e) {
+        throw new IOException("Failed to read snapshot " + snapshotId + " at offset " + chunkOffset, e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      chunk = new byte[0];
+      position = 0;
+      try {
+        execute(
+          new Operation<Boolean>("closeSnapshot") {
+            @Override
+            public Boolean execute(TransactionServiceThriftClient client)
+              throws Exception {
+              client.closeSnapshot(snapshotId);
+              return true;
+            }
+          });
+      } catch (Exception e) {
+        // the snapshot expires on the server eventually
+        LOG.warn("Failed to close snapshot {}", snapshotId, e);
+      }
+    }
+  }
 }
@@ -21,14 +21,19 @@ package org.apache.tephra.distributed;
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.apache.tephra.InvalidTruncateTimeException;
 import org.apache.tephra.Transaction;
 import org.apache.tephra.TransactionCouldNotTakeSnapshotException;
 import org.apache.tephra.TransactionNotInProgressException;
+import org.apache.tephra.TxConstants;
 import org.apache.tephra.distributed.thrift.TInvalidTruncateTimeException;
+import org.apache.tephra.distributed.thrift.TTransaction;
 import org.apache.tephra.distributed.thrift.TTransactionCouldNotTakeSnapshotException;
 import org.apache.tephra.distributed.thrift.TTransactionNotInProgressException;
 import org.apache.tephra.distributed.thrift.TTransactionServer;
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TBaseHelper;
 import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TProtocol;
@@ -38,6 +43,7 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -70,13 +76,29 @@ public class TransactionServiceThriftClient {
    */
   private final AtomicBoolean isValid = new AtomicBoolean(true);
 
+  /**
+   * Whether transactions are sent with the invalid list in the compact encoding.
+   */
+  private final boolean encodeInvalids;
+
   /**
    * Constructor from an existing, connected thrift transport.
    *
    * @param transport the thrift transport layer. It must already be connected
    */
   public TransactionServiceThriftClient(TTransport transport) {
+    this(transport, TxConstants.Service.DEFAULT_DATA_TX_THRIFT_ENCODE_INVALIDS);
+  }
+
+  /**
+   * Constructor from an existing, connected thrift transport.
+   *
+   * @param transport the thrift transport layer. It must already be connected
+   * @param encodeInvalids whether to send transactions with the invalid list in the compact encoding
+   */
+  public TransactionServiceThriftClient(TTransport transport, boolean encodeInvalids) {
     this.transport = transport;
+    this.encodeInvalids = encodeInvalids;
     // thrift protocol layer, we use binary because so does the service
     TProtocol protocol = new TBinaryProtocol(transport);
     // and create a thrift client
@@ -110,6 +132,17 @@ public class TransactionServiceThriftClient {
     }
   }
 
+  public Transaction startReadOnly() throws TException {
+    try {
+      return TransactionConverterUtils.unwrap(client.startReadOnly());
+    } catch (TException e) {
+      if (!isUnknownMethod(e)) {
+        isValid.set(false);
+      }
+      throw e;
+    }
+  }
+
   public Transaction startShort(int timeout) throws TException {
     try {
       return TransactionConverterUtils.unwrap(client.startShortTimeout(timeout));
@@ -119,10 +152,26 @@ public class TransactionServiceThriftClient {
     }
   }
 
+  public List<Transaction> startShort(int count, int timeout) throws TException {
+    try {
+      List<TTransaction> ttxs = client.startShortBatch(count, timeout);
+      List<Transaction> txs = Lists.newArrayListWithCapacity(ttxs.size());
+      for (TTransaction ttx : ttxs) {
+        txs.add(TransactionConverterUtils.unwrap(ttx));
+      }
+      return txs;
+    } catch (TException e) {
+      if (!isUnknownMethod(e)) {
+        isValid.set(false);
+      }
+      throw e;
+    }
+  }
+
   public boolean canCommit(Transaction tx, Collection<byte[]> changeIds)
     throws TException, TransactionNotInProgressException {
     try {
-      return client.canCommitTx(TransactionConverterUtils.wrap(tx),
+      return client.canCommitTx(TransactionConverterUtils.wrap(tx, encodeInvalids),
                                 ImmutableSet.copyOf(Iterables.transform(changeIds, BYTES_WRAPPER))).isValue();
     } catch (TTransactionNotInProgressException e) {
       throw new TransactionNotInProgressException(e.getMessage());
@@ -136,7 +185,7 @@ public class TransactionServiceThriftClient {
 
   public boolean commit(Transaction tx) throws TException, TransactionNotInProgressException {
     try {
-      return client.commitTx(TransactionConverterUtils.wrap(tx)).isValue();
+      return client.commitTx(TransactionConverterUtils.wrap(tx, encodeInvalids)).isValue();
     } catch (TTransactionNotInProgressException e) {
       throw new TransactionNotInProgressException(e.getMessage());
     } catch (TException e) {
@@ -145,9 +194,24 @@ public class TransactionServiceThriftClient {
     }
   }
 
+  public boolean commitWithChanges(Transaction tx, Collection<byte[]> changeIds)
+    throws TException, TransactionNotInProgressException {
+    try {
+      return client.commitWithChanges(TransactionConverterUtils.wrap(tx, encodeInvalids),
+                                      ImmutableSet.copyOf(Iterables.transform(changeIds, BYTES_WRAPPER))).isValue();
+    } catch (TTransactionNotInProgressException e) {
+      throw new TransactionNotInProgressException(e.getMessage());
+    } catch (TException e) {
+      if (!isUnknownMethod(e)) {
+        isValid.set(false);
+      }
+      throw e;
+    }
+  }
+
   public void abort(Transaction tx) throws TException {
     try {
-      client.abortTx(TransactionConverterUtils.wrap(tx));
+      client.abortTx(TransactionConverterUtils.wrap(tx, encodeInvalids));
     } catch (TException e) {
       isValid.set(false);
       throw e;
@@ -165,7 +229,7 @@ public class TransactionServiceThriftClient {
 
   public Transaction checkpoint(Transaction tx) throws TException {
     try {
-      return TransactionConverterUtils.unwrap(client.checkpoint(TransactionConverterUtils.wrap(tx)));
+      return TransactionConverterUtils.unwrap(client.checkpoint(TransactionConverterUtils.wrap(tx, encodeInvalids)));
     } catch (TException e) {
       isValid.set(false);
       throw e;
@@ -191,6 +255,52 @@ public class TransactionServiceThriftClient {
     }
   }
 
+  /**
+   * Opens a snapshot of the transaction state on the server, to read it with {@link #getSnapshotChunk(long, long)}.
+   * Servers that do not support reading snapshots in chunks fail with a {@link TApplicationException} of type
+   * {@link TApplicationException#UNKNOWN_METHOD}, which leaves the connection usable.
+   */
+  public long openSnapshot() throws TException, TransactionCouldNotTakeSnapshotException {
+    try {
+      return client.openSnapshot();
+    } catch (TTransactionCouldNotTakeSnapshotException e) {
+      throw new TransactionCouldNotTakeSnapshotException(e.getMessage());
+    } catch (TApplicationException e) {
+      if (e.getType() != TApplicationException.UNKNOWN_METHOD) {
+        isValid.set(false);
+      }
+      throw e;
+    } catch (TException e) {
+      isValid.set(false);
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the chunk of an open snapshot that starts at the given offset, which is empty at the end of the snapshot.
+   */
+  public byte[] getSnapshotChunk(long snapshotId, long offset)
+    throws TException, TransactionCouldNotTakeSnapshotException {
+    try {
+      // the chunk is copied only if it is not backed by an array of its own
+      return TBaseHelper.byteBufferToByteArray(client.getSnapshotChunk(snapshotId, offset));
+    } catch (TTransactionCouldNotTakeSnapshotException e) {
+      throw new TransactionCouldNotTakeSnapshotException(e.getMessage());
+    } catch (TException e) {
+      isValid.set(false);
+      throw e;
+    }
+  }
+
+  public void closeSnapshot(long snapshotId) throws TException {
+    try {
+      client.closeSnapshot(snapshotId);
+    } catch (TException e) {
+      isValid.set(false);
+      throw e;
+    }
+  }
+
   public String status() throws TException {
     try {
       return client.status();
@@ -238,6 +348,16 @@ public class TransactionServiceThriftClient {
     }
   }
 
+  /**
+   * Returns whether a call failed because the server does not know the method, as servers of an older version do
+   * for methods that were added later. The server reports that without breaking the protocol, hence the connection
+   * remains usable.
+   */
+  static boolean isUnknownMethod(TException e) {
+    return e instanceof TApplicationException
+      && ((TApplicationException) e).getType() == TApplicationException.UNKNOWN_METHOD;
+  }
+
   public boolean isValid() {
     return isValid.get();
   }
@@ -18,8 +18,10 @@
 
 package org.apache.tephra.distributed;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.tephra.InvalidTruncateTimeException;
+import org.apache.tephra.Transaction;
 import org.apache.tephra.TransactionManager;
 import org.apache.tephra.TransactionNotInProgressException;
 import org.apache.tephra.TxConstants;
@@ -35,6 +37,7 @@ import org.apache.thrift.TException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -56,24 +59,61 @@ import java.util.Set;
 public class TransactionServiceThriftHandler implements TTransactionServer.Iface, RPCServiceHandler {
 
   private final TransactionManager txManager;
+  private final boolean encodeInvalids;
+  private final OpenSnapshots openSnapshots;
 
   public TransactionServiceThriftHandler(TransactionManager txManager) {
+    this(txManager, TxConstants.Service.DEFAULT_DATA_TX_THRIFT_ENCODE_INVALIDS);
+  }
+
+  /**
+   * @param txManager the transaction manager
+   * @param encodeInvalids whether to return transactions with the invalid list in the compact encoding
+   */
+  public TransactionServiceThriftHandler(TransactionManager txManager, boolean encodeInvalids) {
+    this(txManager, encodeInvalids, TxConstants.Service.DEFAULT_DATA_TX_THRIFT_SNAPSHOT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param txManager the transaction manager
+   * @param encodeInvalids whether to return transactions with the invalid list in the compact encoding
+   * @param snapshotChunkSize the maximum size in bytes of the chunks returned by {@link #getSnapshotChunk}
+   */
+  public TransactionServiceThriftHandler(TransactionManager txManager, boolean encodeInvalids,
+                                         int snapshotChunkSize) {
     this.txManager = txManager;
+    this.encodeInvalids = encodeInvalids;
+    this.openSnapshots = new OpenSnapshots(snapshotChunkSize);
   }
 
   @Override
   public TTransaction startLong() throws TException {
-    return TransactionConverterUtils.wrap(txManager.startLong());
+    return TransactionConverterUtils.wrap(txManager.startLong(), encodeInvalids);
   }
 
   @Override
   public TTransaction startShort() throws TException {
-    return TransactionConverterUtils.wrap(txManager.startShort());
+    return TransactionConverterUtils.wrap(txManager.startShort(), encodeInvalids);
+  }
+
+  @Override
+  public TTransaction startReadOnly() throws TException {
+    return TransactionConverterUtils.wrap(txManager.startReadOnly(), encodeInvalids);
   }
 
   @Override
   public TTransaction startShortTimeout(int timeout) throws TException {
-    return TransactionConverterUtils.wrap(txManager.startShort(timeout));
+    return TransactionConverterUtils.wrap(txManager.startShort(timeout), encodeInvalids);
+  }
+
+  @Override
+  public List<TTransaction> startShortBatch(int count, int timeout) throws TException {
+    List<Transaction> txs = txManager.startShort(count, timeout);
+    List<TTransaction> ttxs = Lists.newArrayListWithCapacity(txs.size());
+    for (Transaction tx : txs) {
+      ttxs.add(TransactionConverterUtils.wrap(tx, encodeInvalids));
+    }
+    return ttxs;
   }
 
 
@@ -102,6 +142,21 @@ public class TransactionServiceThriftHandler implements TTransactionServer.Iface
     }
   }
 
+  @Override
+  public TBoolean commitWithChanges(TTransaction tx, Set<ByteBuffer> changes) throws TException {
+    List<byte[]> changeIds = Lists.newArrayListWithCapacity(changes.size());
+    for (ByteBuffer bb : changes) {
+      byte[] changeId = new byte[bb.remaining()];
+      bb.get(changeId);
+      changeIds.add(changeId);
+    }
+    try {
+      return new TBoolean(txManager.commitWithChanges(TransactionConverterUtils.unwrap(tx), changeIds));
+    } catch (TransactionNotInProgressException e) {
+      throw new TTransactionNotInProgressException(e.getMessage());
+    }
+  }
+
   @Override
   public void abortTx(TTransaction tx) throws TException {
     txManager.abort(TransactionConverterUtils.unwrap(tx));
@@ -131,6 +186,33 @@ public class TransactionServiceThriftHandler implements TTransactionServer.Iface
     }
   }
 
+  @Override
+  public long openSnapshot() throws TException {
+    try {
+      Long snapshotId = openSnapshots.open(txManager);
+      if (snapshotId == null) {
+        throw new TTransactionCouldNotTakeSnapshotException("Transaction manager could not get a snapshot.");
+      }
+      return snapshotId;
+    } catch (IOException e) {
+      throw new TTransactionCouldNotTakeSnapshotException(e.getMessage());
+    }
+  }
+
+  @Override
+  public ByteBuffer getSnapshotChunk(long snapshotId, long offset) throws TException {
+    try {
+      return openSnapshots.read(snapshotId, offset);
+    } catch (IOException e) {
+      throw new TTransactionCouldNotTakeSnapshotException(e.getMessage());
+    }
+  }
+
+  @Override
+  public void closeSnapshot(long snapshotId) throws TException {
+    openSnapshots.close(snapshotId);
+  }
+
   @Override
   public void resetState() throws TException {
     txManager.resetState();
@@ -164,7 +246,7 @@ public class TransactionServiceThriftHandler implements TTransactionServer.Iface
   public TTransaction checkpoint(TTransaction originalTx) throws TException {
     try {
       return TransactionConverterUtils.wrap(
-          txManager.checkpoint(TransactionConverterUtils.unwrap(originalTx)));
+          txManager.checkpoint(TransactionConverterUtils.unwrap(originalTx)), encodeInvalids);
     } catch (TransactionNotInProgressException e) {
       throw new TTransactionNotInProgressException(e.getMessage());
     }
@@ -179,6 +261,7 @@ public class TransactionServiceThriftHandler implements TTransactionServer.Iface
 
   @Override
   public void destroy() throws Exception {
+    openSnapshots.closeAll();
     txManager.stopAndWait();
   }
 }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.distributed;
+
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.tephra.TransactionManager;
+import org.apache.twill.common.Cancellable;
+import org.apache.twill.zookeeper.NodeData;
+import org.apache.twill.zookeeper.OperationFuture;
+import org.apache.twill.zookeeper.ZKClient;
+import org.apache.twill.zookeeper.ZKOperations;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes the timestamp of the latest transaction visibility state written by the transaction manager to a
+ * ZooKeeper node, so that coprocessors can watch the node and refresh the visibility state as soon as it changes,
+ * see {@link #watch(ZKClient, TransactionManager.VisibilityStateListener)}.  Only the timestamp is published, the
+ * visibility state itself is still read from the transaction state storage.
+ */
+public class VisibilityStateNotifier implements TransactionManager.VisibilityStateListener {
+  private static final Logger LOG = LoggerFactory.getLogger(VisibilityStateNotifier.class);
+
+  /** ZooKeeper node holding the timestamp of the latest visibility state. */
+  public static final String VISIBILITY_STATE_PATH = "/tx.service/visibility";
+
+  private final ZKClient zkClient;
+
+  public VisibilityStateNotifier(ZKClient zkClient) {
+    this.zkClient = zkClient;
+  }
+
+  @Override
+  public void visibilityStateWritten(final long timestamp) {
+    final byte[] data = Longs.toByteArray(timestamp);
+    Futures.addCallback(zkClient.setData(VISIBILITY_STATE_PATH, data), new FutureCallback<Stat>() {
+      @Override
+      public void onSuccess(Stat result) {
+        // nothing to do
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        if (t instanceof KeeperException.NoNodeException) {
+          create(timestamp, data);
+        } else {
+          LOG.warn("Failed to publish the transaction visibility state from {}", timestamp, t);
+        }
+      }
+    }, MoreExecutors.sameThreadExecutor());
+  }
+
+  private void create(final long timestamp, byte[] data) {
+    OperationFuture<String> future = zkClient.create(VISIBILITY_STATE_PATH, data, CreateMode.PERSISTENT, true);
+    Futures.addCallback(future, new FutureCallback<String>() {
+      @Override
+      public void onSuccess(String result) {
+        LOG.info("Created {} to publish transaction visibility states", VISIBILITY_STATE_PATH);
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        LOG.warn("Failed to publish the transaction visibility state from {}", timestamp, t);
+      }
+    }, MoreExecutors.sameThreadExecutor());
+  }
+
+  /**
+   * Watches the published visibility state timestamp, and calls the listener whenever it changes, including once
+   * for the current timestamp if it exists.  The listener is called from the ZooKeeper event thread.  The watch is
+   * kept across ZooKeeper session expiration if the client re-watches on expiration, as the one provided by
+   * {@link org.apache.tephra.runtime.ZKModule}.
+   *
+   * @return a {@link Cancellable} to cancel the watch
+   */
+  public static Cancellable watch(ZKClient zkClient, final TransactionManager.VisibilityStateListener listener) {
+    return ZKOperations.watchData(zkClient, VISIBILITY_STATE_PATH, new ZKOperations.DataCallback() {
+      @Override
+      public void updated(NodeData nodeData) {
+        byte[] data = nodeData == null ? null : nodeData.getData();
+        if (data != null && data.length == Longs.BYTES) {
+          listener.visibilityStateWritten(Longs.fromByteArray(data));
+        }
+      }
+    });
+  }
+}
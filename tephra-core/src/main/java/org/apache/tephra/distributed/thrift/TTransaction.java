@@ -31,6 +31,7 @@ import org.apache.thrift.scheme.SchemeFactory;
 import org.apache.thrift.scheme.StandardScheme;
 import org.apache.thrift.scheme.TupleScheme;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
@@ -52,6 +53,7 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
   private static final org.apache.thrift.protocol.TField WRITE_POINTER_FIELD_DESC = new org.apache.thrift.protocol.TField("writePointer", org.apache.thrift.protocol.TType.I64, (short)7);
   private static final org.apache.thrift.protocol.TField CHECKPOINT_WRITE_POINTERS_FIELD_DESC = new org.apache.thrift.protocol.TField("checkpointWritePointers", org.apache.thrift.protocol.TType.LIST, (short)8);
   private static final org.apache.thrift.protocol.TField VISIBILITY_LEVEL_FIELD_DESC = new org.apache.thrift.protocol.TField("visibilityLevel", org.apache.thrift.protocol.TType.I32, (short)9);
+  private static final org.apache.thrift.protocol.TField INVALIDS_ENCODED_FIELD_DESC = new org.apache.thrift.protocol.TField("invalidsEncoded", org.apache.thrift.protocol.TType.STRING, (short)10);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -76,6 +78,7 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
    * @see TVisibilityLevel
    */
   public TVisibilityLevel visibilityLevel; // required
+  public ByteBuffer invalidsEncoded; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -95,7 +98,8 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
      * 
      * @see TVisibilityLevel
      */
-    VISIBILITY_LEVEL((short)9, "visibilityLevel");
+    VISIBILITY_LEVEL((short)9, "visibilityLevel"),
+    INVALIDS_ENCODED((short)10, "invalidsEncoded");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -128,6 +132,8 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
           return CHECKPOINT_WRITE_POINTERS;
         case 9: // VISIBILITY_LEVEL
           return VISIBILITY_LEVEL;
+        case 10: // INVALIDS_ENCODED
+          return INVALIDS_ENCODED;
         default:
           return null;
       }
@@ -173,6 +179,7 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
   private static final int __FIRSTSHORT_ISSET_ID = 2;
   private static final int __WRITEPOINTER_ISSET_ID = 3;
   private byte __isset_bitfield = 0;
+  private _Fields optionals[] = {_Fields.INVALIDS_ENCODED};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -197,6 +204,8 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64))));
     tmpMap.put(_Fields.VISIBILITY_LEVEL, new org.apache.thrift.meta_data.FieldMetaData("visibilityLevel", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.EnumMetaData(org.apache.thrift.protocol.TType.ENUM, TVisibilityLevel.class)));
+    tmpMap.put(_Fields.INVALIDS_ENCODED, new org.apache.thrift.meta_data.FieldMetaData("invalidsEncoded", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING        , true)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TTransaction.class, metaDataMap);
   }
@@ -267,6 +276,10 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
     if (other.isSetVisibilityLevel()) {
       this.visibilityLevel = other.visibilityLevel;
     }
+    if (other.isSetInvalidsEncoded()) {
+      this.invalidsEncoded = org.apache.thrift.TBaseHelper.copyBinary(other.invalidsEncoded);
+;
+    }
   }
 
   public TTransaction deepCopy() {
@@ -288,6 +301,7 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
     this.writePointer = 0;
     this.checkpointWritePointers = null;
     this.visibilityLevel = null;
+    this.invalidsEncoded = null;
   }
 
   public long getTransactionId() {
@@ -563,6 +577,40 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
     }
   }
 
+  public byte[] getInvalidsEncoded() {
+    setInvalidsEncoded(org.apache.thrift.TBaseHelper.rightSize(invalidsEncoded));
+    return invalidsEncoded == null ? null : invalidsEncoded.array();
+  }
+
+  public ByteBuffer bufferForInvalidsEncoded() {
+    return invalidsEncoded;
+  }
+
+  public TTransaction setInvalidsEncoded(byte[] invalidsEncoded) {
+    setInvalidsEncoded(invalidsEncoded == null ? (ByteBuffer)null : ByteBuffer.wrap(invalidsEncoded));
+    return this;
+  }
+
+  public TTransaction setInvalidsEncoded(ByteBuffer invalidsEncoded) {
+    this.invalidsEncoded = invalidsEncoded;
+    return this;
+  }
+
+  public void unsetInvalidsEncoded() {
+    this.invalidsEncoded = null;
+  }
+
+  /** Returns true if field invalidsEncoded is set (has been assigned a value) and false otherwise */
+  public boolean isSetInvalidsEncoded() {
+    return this.invalidsEncoded != null;
+  }
+
+  public void setInvalidsEncodedIsSet(boolean value) {
+    if (!value) {
+      this.invalidsEncoded = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case TRANSACTION_ID:
@@ -637,6 +685,14 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       }
       break;
 
+    case INVALIDS_ENCODED:
+      if (value == null) {
+        unsetInvalidsEncoded();
+      } else {
+        setInvalidsEncoded((ByteBuffer)value);
+      }
+      break;
+
     }
   }
 
@@ -669,6 +725,9 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
     case VISIBILITY_LEVEL:
       return getVisibilityLevel();
 
+    case INVALIDS_ENCODED:
+      return getInvalidsEncoded();
+
     }
     throw new IllegalStateException();
   }
@@ -698,6 +757,8 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       return isSetCheckpointWritePointers();
     case VISIBILITY_LEVEL:
       return isSetVisibilityLevel();
+    case INVALIDS_ENCODED:
+      return isSetInvalidsEncoded();
     }
     throw new IllegalStateException();
   }
@@ -796,6 +857,15 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
         return false;
     }
 
+    boolean this_present_invalidsEncoded = true && this.isSetInvalidsEncoded();
+    boolean that_present_invalidsEncoded = true && that.isSetInvalidsEncoded();
+    if (this_present_invalidsEncoded || that_present_invalidsEncoded) {
+      if (!(this_present_invalidsEncoded && that_present_invalidsEncoded))
+        return false;
+      if (!this.invalidsEncoded.equals(that.invalidsEncoded))
+        return false;
+    }
+
     return true;
   }
 
@@ -902,6 +972,16 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetInvalidsEncoded()).compareTo(typedOther.isSetInvalidsEncoded());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetInvalidsEncoded()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.invalidsEncoded, typedOther.invalidsEncoded);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -977,6 +1057,16 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       sb.append(this.visibilityLevel);
     }
     first = false;
+    if (isSetInvalidsEncoded()) {
+      if (!first) sb.append(", ");
+      sb.append("invalidsEncoded:");
+      if (this.invalidsEncoded == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.invalidsEncoded, sb);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -1124,6 +1214,14 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 10: // INVALIDS_ENCODED
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.invalidsEncoded = iprot.readBinary();
+              struct.setInvalidsEncodedIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -1197,6 +1295,13 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
         oprot.writeI32(struct.visibilityLevel.getValue());
         oprot.writeFieldEnd();
       }
+      if (struct.invalidsEncoded != null) {
+        if (struct.isSetInvalidsEncoded()) {
+          oprot.writeFieldBegin(INVALIDS_ENCODED_FIELD_DESC);
+          oprot.writeBinary(struct.invalidsEncoded);
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -1242,7 +1347,10 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       if (struct.isSetVisibilityLevel()) {
         optionals.set(8);
       }
-      oprot.writeBitSet(optionals, 9);
+      if (struct.isSetInvalidsEncoded()) {
+        optionals.set(9);
+      }
+      oprot.writeBitSet(optionals, 10);
       if (struct.isSetTransactionId()) {
         oprot.writeI64(struct.transactionId);
       }
@@ -1288,12 +1396,15 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
       if (struct.isSetVisibilityLevel()) {
         oprot.writeI32(struct.visibilityLevel.getValue());
       }
+      if (struct.isSetInvalidsEncoded()) {
+        oprot.writeBinary(struct.invalidsEncoded);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TTransaction struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(9);
+      BitSet incoming = iprot.readBitSet(10);
       if (incoming.get(0)) {
         struct.transactionId = iprot.readI64();
         struct.setTransactionIdIsSet(true);
@@ -1357,6 +1468,10 @@ public class TTransaction implements org.apache.thrift.TBase<TTransaction, TTran
         struct.visibilityLevel = TVisibilityLevel.findByValue(iprot.readI32());
         struct.setVisibilityLevelIsSet(true);
       }
+      if (incoming.get(9)) {
+        struct.invalidsEncoded = iprot.readBinary();
+        struct.setInvalidsEncodedIsSet(true);
+      }
     }
   }
 
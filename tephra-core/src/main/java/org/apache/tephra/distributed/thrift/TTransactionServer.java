@@ -34,12 +34,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -51,12 +53,18 @@ public class TTransactionServer {
 
     public TTransaction startShort() throws org.apache.thrift.TException;
 
+    public TTransaction startReadOnly() throws org.apache.thrift.TException;
+
     public TTransaction startShortTimeout(int timeout) throws org.apache.thrift.TException;
 
+    public List<TTransaction> startShortBatch(int count, int timeout) throws org.apache.thrift.TException;
+
     public TBoolean canCommitTx(TTransaction tx, Set<ByteBuffer> changes) throws TTransactionNotInProgressException, org.apache.thrift.TException;
 
     public TBoolean commitTx(TTransaction tx) throws TTransactionNotInProgressException, org.apache.thrift.TException;
 
+    public TBoolean commitWithChanges(TTransaction tx, Set<ByteBuffer> changes) throws TTransactionNotInProgressException, org.apache.thrift.TException;
+
     public void abortTx(TTransaction tx) throws org.apache.thrift.TException;
 
     public boolean invalidateTx(long tx) throws org.apache.thrift.TException;
@@ -75,6 +83,12 @@ public class TTransactionServer {
 
     public TTransaction checkpoint(TTransaction tx) throws TTransactionNotInProgressException, org.apache.thrift.TException;
 
+    public long openSnapshot() throws TTransactionCouldNotTakeSnapshotException, org.apache.thrift.TException;
+
+    public ByteBuffer getSnapshotChunk(long snapshotId, long offset) throws TTransactionCouldNotTakeSnapshotException, org.apache.thrift.TException;
+
+    public void closeSnapshot(long snapshotId) throws org.apache.thrift.TException;
+
   }
 
   public interface AsyncIface {
@@ -83,12 +97,18 @@ public class TTransactionServer {
 
     public void startShort(org.apache.thrift.async.AsyncMethodCallback<AsyncClient.startShort_call> resultHandler) throws org.apache.thrift.TException;
 
+    public void startReadOnly(org.apache.thrift.async.AsyncMethodCallback<AsyncClient.startReadOnly_call> resultHandler) throws org.apache.thrift.TException;
+
     public void startShortTimeout(int timeout, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.startShortTimeout_call> resultHandler) throws org.apache.thrift.TException;
 
+    public void startShortBatch(int count, int timeout, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.startShortBatch_call> resultHandler) throws org.apache.thrift.TException;
+
     public void canCommitTx(TTransaction tx, Set<ByteBuffer> changes, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.canCommitTx_call> resultHandler) throws org.apache.thrift.TException;
 
     public void commitTx(TTransaction tx, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.commitTx_call> resultHandler) throws org.apache.thrift.TException;
 
+    public void commitWithChanges(TTransaction tx, Set<ByteBuffer> changes, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.commitWithChanges_call> resultHandler) throws org.apache.thrift.TException;
+
     public void abortTx(TTransaction tx, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.abortTx_call> resultHandler) throws org.apache.thrift.TException;
 
     public void invalidateTx(long tx, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.invalidateTx_call> resultHandler) throws org.apache.thrift.TException;
@@ -107,6 +127,12 @@ public class TTransactionServer {
 
     public void checkpoint(TTransaction tx, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.checkpoint_call> resultHandler) throws org.apache.thrift.TException;
 
+    public void openSnapshot(org.apache.thrift.async.AsyncMethodCallback<AsyncClient.openSnapshot_call> resultHandler) throws org.apache.thrift.TException;
+
+    public void getSnapshotChunk(long snapshotId, long offset, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.getSnapshotChunk_call> resultHandler) throws org.apache.thrift.TException;
+
+    public void closeSnapshot(long snapshotId, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.closeSnapshot_call> resultHandler) throws org.apache.thrift.TException;
+
   }
 
   public static class Client extends org.apache.thrift.TServiceClient implements Iface {
@@ -173,6 +199,28 @@ public class TTransactionServer {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "startShort failed: unknown result");
     }
 
+    public TTransaction startReadOnly() throws org.apache.thrift.TException
+    {
+      send_startReadOnly();
+      return recv_startReadOnly();
+    }
+
+    public void send_startReadOnly() throws org.apache.thrift.TException
+    {
+      startReadOnly_args args = new startReadOnly_args();
+      sendBase("startReadOnly", args);
+    }
+
+    public TTransaction recv_startReadOnly() throws org.apache.thrift.TException
+    {
+      startReadOnly_result result = new startReadOnly_result();
+      receiveBase(result, "startReadOnly");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "startReadOnly failed: unknown result");
+    }
+
     public TTransaction startShortTimeout(int timeout) throws org.apache.thrift.TException
     {
       send_startShortTimeout(timeout);
@@ -196,6 +244,30 @@ public class TTransactionServer {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "startShortTimeout failed: unknown result");
     }
 
+    public List<TTransaction> startShortBatch(int count, int timeout) throws org.apache.thrift.TException
+    {
+      send_startShortBatch(count, timeout);
+      return recv_startShortBatch();
+    }
+
+    public void send_startShortBatch(int count, int timeout) throws org.apache.thrift.TException
+    {
+      startShortBatch_args args = new startShortBatch_args();
+      args.setCount(count);
+      args.setTimeout(timeout);
+      sendBase("startShortBatch", args);
+    }
+
+    public List<TTransaction> recv_startShortBatch() throws org.apache.thrift.TException
+    {
+      startShortBatch_result result = new startShortBatch_result();
+      receiveBase(result, "startShortBatch");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "startShortBatch failed: unknown result");
+    }
+
     public TBoolean canCommitTx(TTransaction tx, Set<ByteBuffer> changes) throws TTransactionNotInProgressException, org.apache.thrift.TException
     {
       send_canCommitTx(tx, changes);
@@ -249,6 +321,33 @@ public class TTransactionServer {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "commitTx failed: unknown result");
     }
 
+    public TBoolean commitWithChanges(TTransaction tx, Set<ByteBuffer> changes) throws TTransactionNotInProgressException, org.apache.thrift.TException
+    {
+      send_commitWithChanges(tx, changes);
+      return recv_commitWithChanges();
+    }
+
+    public void send_commitWithChanges(TTransaction tx, Set<ByteBuffer> changes) throws org.apache.thrift.TException
+    {
+      commitWithChanges_args args = new commitWithChanges_args();
+      args.setTx(tx);
+      args.setChanges(changes);
+      sendBase("commitWithChanges", args);
+    }
+
+    public TBoolean recv_commitWithChanges() throws TTransactionNotInProgressException, org.apache.thrift.TException
+    {
+      commitWithChanges_result result = new commitWithChanges_result();
+      receiveBase(result, "commitWithChanges");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.e != null) {
+        throw result.e;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "commitWithChanges failed: unknown result");
+    }
+
     public void abortTx(TTransaction tx) throws org.apache.thrift.TException
     {
       send_abortTx(tx);
@@ -455,6 +554,78 @@ public class TTransactionServer {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "checkpoint failed: unknown result");
     }
 
+    public long openSnapshot() throws TTransactionCouldNotTakeSnapshotException, org.apache.thrift.TException
+    {
+      send_openSnapshot();
+      return recv_openSnapshot();
+    }
+
+    public void send_openSnapshot() throws org.apache.thrift.TException
+    {
+      openSnapshot_args args = new openSnapshot_args();
+      sendBase("openSnapshot", args);
+    }
+
+    public long recv_openSnapshot() throws TTransactionCouldNotTakeSnapshotException, org.apache.thrift.TException
+    {
+      openSnapshot_result result = new openSnapshot_result();
+      receiveBase(result, "openSnapshot");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.e != null) {
+        throw result.e;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "openSnapshot failed: unknown result");
+    }
+
+    public ByteBuffer getSnapshotChunk(long snapshotId, long offset) throws TTransactionCouldNotTakeSnapshotException, org.apache.thrift.TException
+    {
+      send_getSnapshotChunk(snapshotId, offset);
+      return recv_getSnapshotChunk();
+    }
+
+    public void send_getSnapshotChunk(long snapshotId, long offset) throws org.apache.thrift.TException
+    {
+      getSnapshotChunk_args args = new getSnapshotChunk_args();
+      args.setSnapshotId(snapshotId);
+      args.setOffset(offset);
+      sendBase("getSnapshotChunk", args);
+    }
+
+    public ByteBuffer recv_getSnapshotChunk() throws TTransactionCouldNotTakeSnapshotException, org.apache.thrift.TException
+    {
+      getSnapshotChunk_result result = new getSnapshotChunk_result();
+      receiveBase(result, "getSnapshotChunk");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.e != null) {
+        throw result.e;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "getSnapshotChunk failed: unknown result");
+    }
+
+    public void closeSnapshot(long snapshotId) throws org.apache.thrift.TException
+    {
+      send_closeSnapshot(snapshotId);
+      recv_closeSnapshot();
+    }
+
+    public void send_closeSnapshot(long snapshotId) throws org.apache.thrift.TException
+    {
+      closeSnapshot_args args = new closeSnapshot_args();
+      args.setSnapshotId(snapshotId);
+      sendBase("closeSnapshot", args);
+    }
+
+    public void recv_closeSnapshot() throws org.apache.thrift.TException
+    {
+      closeSnapshot_result result = new closeSnapshot_result();
+      receiveBase(result, "closeSnapshot");
+      return;
+    }
+
   }
   public static class AsyncClient extends org.apache.thrift.async.TAsyncClient implements AsyncIface {
     public static class Factory implements org.apache.thrift.async.TAsyncClientFactory<AsyncClient> {
@@ -531,6 +702,35 @@ public class TTransactionServer {
       }
     }
 
+    public void startReadOnly(org.apache.thrift.async.AsyncMethodCallback<startReadOnly_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      startReadOnly_call method_call = new startReadOnly_call(resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class startReadOnly_call extends org.apache.thrift.async.TAsyncMethodCall {
+      public startReadOnly_call(org.apache.thrift.async.AsyncMethodCallback<startReadOnly_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("startReadOnly", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        startReadOnly_args args = new startReadOnly_args();
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public TTransaction getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_startReadOnly();
+      }
+    }
+
     public void startShortTimeout(int timeout, org.apache.thrift.async.AsyncMethodCallback<startShortTimeout_call> resultHandler) throws org.apache.thrift.TException {
       checkReady();
       startShortTimeout_call method_call = new startShortTimeout_call(timeout, resultHandler, this, ___protocolFactory, ___transport);
@@ -563,6 +763,41 @@ public class TTransactionServer {
       }
     }
 
+    public void startShortBatch(int count, int timeout, org.apache.thrift.async.AsyncMethodCallback<startShortBatch_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      startShortBatch_call method_call = new startShortBatch_call(count, timeout, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class startShortBatch_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private int count;
+      private int timeout;
+      public startShortBatch_call(int count, int timeout, org.apache.thrift.async.AsyncMethodCallback<startShortBatch_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.count = count;
+        this.timeout = timeout;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("startShortBatch", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        startShortBatch_args args = new startShortBatch_args();
+        args.setCount(count);
+        args.setTimeout(timeout);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public List<TTransaction> getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_startShortBatch();
+      }
+    }
+
     public void canCommitTx(TTransaction tx, Set<ByteBuffer> changes, org.apache.thrift.async.AsyncMethodCallback<canCommitTx_call> resultHandler) throws org.apache.thrift.TException {
       checkReady();
       canCommitTx_call method_call = new canCommitTx_call(tx, changes, resultHandler, this, ___protocolFactory, ___transport);
@@ -630,6 +865,41 @@ public class TTransactionServer {
       }
     }
 
+    public void commitWithChanges(TTransaction tx, Set<ByteBuffer> changes, org.apache.thrift.async.AsyncMethodCallback<commitWithChanges_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      commitWithChanges_call method_call = new commitWithChanges_call(tx, changes, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class commitWithChanges_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private TTransaction tx;
+      private Set<ByteBuffer> changes;
+      public commitWithChanges_call(TTransaction tx, Set<ByteBuffer> changes, org.apache.thrift.async.AsyncMethodCallback<commitWithChanges_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.tx = tx;
+        this.changes = changes;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("commitWithChanges", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        commitWithChanges_args args = new commitWithChanges_args();
+        args.setTx(tx);
+        args.setChanges(changes);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public TBoolean getResult() throws TTransactionNotInProgressException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_commitWithChanges();
+      }
+    }
+
     public void abortTx(TTransaction tx, org.apache.thrift.async.AsyncMethodCallback<abortTx_call> resultHandler) throws org.apache.thrift.TException {
       checkReady();
       abortTx_call method_call = new abortTx_call(tx, resultHandler, this, ___protocolFactory, ___transport);
@@ -906,6 +1176,102 @@ public class TTransactionServer {
       }
     }
 
+    public void openSnapshot(org.apache.thrift.async.AsyncMethodCallback<openSnapshot_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      openSnapshot_call method_call = new openSnapshot_call(resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class openSnapshot_call extends org.apache.thrift.async.TAsyncMethodCall {
+      public openSnapshot_call(org.apache.thrift.async.AsyncMethodCallback<openSnapshot_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("openSnapshot", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        openSnapshot_args args = new openSnapshot_args();
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public long getResult() throws TTransactionCouldNotTakeSnapshotException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_openSnapshot();
+      }
+    }
+
+    public void getSnapshotChunk(long snapshotId, long offset, org.apache.thrift.async.AsyncMethodCallback<getSnapshotChunk_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      getSnapshotChunk_call method_call = new getSnapshotChunk_call(snapshotId, offset, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class getSnapshotChunk_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private long snapshotId;
+      private long offset;
+      public getSnapshotChunk_call(long snapshotId, long offset, org.apache.thrift.async.AsyncMethodCallback<getSnapshotChunk_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.snapshotId = snapshotId;
+        this.offset = offset;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("getSnapshotChunk", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        getSnapshotChunk_args args = new getSnapshotChunk_args();
+        args.setSnapshotId(snapshotId);
+        args.setOffset(offset);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public ByteBuffer getResult() throws TTransactionCouldNotTakeSnapshotException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_getSnapshotChunk();
+      }
+    }
+
+    public void closeSnapshot(long snapshotId, org.apache.thrift.async.AsyncMethodCallback<closeSnapshot_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      closeSnapshot_call method_call = new closeSnapshot_call(snapshotId, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class closeSnapshot_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private long snapshotId;
+      public closeSnapshot_call(long snapshotId, org.apache.thrift.async.AsyncMethodCallback<closeSnapshot_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.snapshotId = snapshotId;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("closeSnapshot", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        closeSnapshot_args args = new closeSnapshot_args();
+        args.setSnapshotId(snapshotId);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public void getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        (new Client(prot)).recv_closeSnapshot();
+      }
+    }
+
   }
 
   public static class Processor<I extends Iface> extends org.apache.thrift.TBaseProcessor<I> implements org.apache.thrift.TProcessor {
@@ -921,9 +1287,12 @@ public class TTransactionServer {
     private static <I extends Iface> Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> getProcessMap(Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
       processMap.put("startLong", new startLong());
       processMap.put("startShort", new startShort());
+      processMap.put("startReadOnly", new startReadOnly());
       processMap.put("startShortTimeout", new startShortTimeout());
+      processMap.put("startShortBatch", new startShortBatch());
       processMap.put("canCommitTx", new canCommitTx());
       processMap.put("commitTx", new commitTx());
+      processMap.put("commitWithChanges", new commitWithChanges());
       processMap.put("abortTx", new abortTx());
       processMap.put("invalidateTx", new invalidateTx());
       processMap.put("getSnapshot", new getSnapshot());
@@ -933,6 +1302,9 @@ public class TTransactionServer {
       processMap.put("truncateInvalidTxBefore", new truncateInvalidTxBefore());
       processMap.put("invalidTxSize", new invalidTxSize());
       processMap.put("checkpoint", new checkpoint());
+      processMap.put("openSnapshot", new openSnapshot());
+      processMap.put("getSnapshotChunk", new getSnapshotChunk());
+      processMap.put("closeSnapshot", new closeSnapshot());
       return processMap;
     }
 
@@ -976,6 +1348,26 @@ public class TTransactionServer {
       }
     }
 
+    public static class startReadOnly<I extends Iface> extends org.apache.thrift.ProcessFunction<I, startReadOnly_args> {
+      public startReadOnly() {
+        super("startReadOnly");
+      }
+
+      public startReadOnly_args getEmptyArgsInstance() {
+        return new startReadOnly_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public startReadOnly_result getResult(I iface, startReadOnly_args args) throws org.apache.thrift.TException {
+        startReadOnly_result result = new startReadOnly_result();
+        result.success = iface.startReadOnly();
+        return result;
+      }
+    }
+
     public static class startShortTimeout<I extends Iface> extends org.apache.thrift.ProcessFunction<I, startShortTimeout_args> {
       public startShortTimeout() {
         super("startShortTimeout");
@@ -996,25 +1388,45 @@ public class TTransactionServer {
       }
     }
 
-    public static class canCommitTx<I extends Iface> extends org.apache.thrift.ProcessFunction<I, canCommitTx_args> {
-      public canCommitTx() {
-        super("canCommitTx");
+    public static class startShortBatch<I extends Iface> extends org.apache.thrift.ProcessFunction<I, startShortBatch_args> {
+      public startShortBatch() {
+        super("startShortBatch");
       }
 
-      public canCommitTx_args getEmptyArgsInstance() {
-        return new canCommitTx_args();
+      public startShortBatch_args getEmptyArgsInstance() {
+        return new startShortBatch_args();
       }
 
       protected boolean isOneway() {
         return false;
       }
 
-      public canCommitTx_result getResult(I iface, canCommitTx_args args) throws org.apache.thrift.TException {
-        canCommitTx_result result = new canCommitTx_result();
-        try {
-          result.success = iface.canCommitTx(args.tx, args.changes);
-        } catch (TTransactionNotInProgressException e) {
-          result.e = e;
+      public startShortBatch_result getResult(I iface, startShortBatch_args args) throws org.apache.thrift.TException {
+        startShortBatch_result result = new startShortBatch_result();
+        result.success = iface.startShortBatch(args.count, args.timeout);
+        return result;
+      }
+    }
+
+    public static class canCommitTx<I extends Iface> extends org.apache.thrift.ProcessFunction<I, canCommitTx_args> {
+      public canCommitTx() {
+        super("canCommitTx");
+      }
+
+      public canCommitTx_args getEmptyArgsInstance() {
+        return new canCommitTx_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public canCommitTx_result getResult(I iface, canCommitTx_args args) throws org.apache.thrift.TException {
+        canCommitTx_result result = new canCommitTx_result();
+        try {
+          result.success = iface.canCommitTx(args.tx, args.changes);
+        } catch (TTransactionNotInProgressException e) {
+          result.e = e;
         }
         return result;
       }
@@ -1044,6 +1456,30 @@ public class TTransactionServer {
       }
     }
 
+    public static class commitWithChanges<I extends Iface> extends org.apache.thrift.ProcessFunction<I, commitWithChanges_args> {
+      public commitWithChanges() {
+        super("commitWithChanges");
+      }
+
+      public commitWithChanges_args getEmptyArgsInstance() {
+        return new commitWithChanges_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public commitWithChanges_result getResult(I iface, commitWithChanges_args args) throws org.apache.thrift.TException {
+        commitWithChanges_result result = new commitWithChanges_result();
+        try {
+          result.success = iface.commitWithChanges(args.tx, args.changes);
+        } catch (TTransactionNotInProgressException e) {
+          result.e = e;
+        }
+        return result;
+      }
+    }
+
     public static class abortTx<I extends Iface> extends org.apache.thrift.ProcessFunction<I, abortTx_args> {
       public abortTx() {
         super("abortTx");
@@ -1238,6 +1674,75 @@ public class TTransactionServer {
       }
     }
 
+    public static class openSnapshot<I extends Iface> extends org.apache.thrift.ProcessFunction<I, openSnapshot_args> {
+      public openSnapshot() {
+        super("openSnapshot");
+      }
+
+      public openSnapshot_args getEmptyArgsInstance() {
+        return new openSnapshot_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public openSnapshot_result getResult(I iface, openSnapshot_args args) throws org.apache.thrift.TException {
+        openSnapshot_result result = new openSnapshot_result();
+        try {
+          result.success = iface.openSnapshot();
+          result.setSuccessIsSet(true);
+        } catch (TTransactionCouldNotTakeSnapshotException e) {
+          result.e = e;
+        }
+        return result;
+      }
+    }
+
+    public static class getSnapshotChunk<I extends Iface> extends org.apache.thrift.ProcessFunction<I, getSnapshotChunk_args> {
+      public getSnapshotChunk() {
+        super("getSnapshotChunk");
+      }
+
+      public getSnapshotChunk_args getEmptyArgsInstance() {
+        return new getSnapshotChunk_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public getSnapshotChunk_result getResult(I iface, getSnapshotChunk_args args) throws org.apache.thrift.TException {
+        getSnapshotChunk_result result = new getSnapshotChunk_result();
+        try {
+          result.success = iface.getSnapshotChunk(args.snapshotId, args.offset);
+        } catch (TTransactionCouldNotTakeSnapshotException e) {
+          result.e = e;
+        }
+        return result;
+      }
+    }
+
+    public static class closeSnapshot<I extends Iface> extends org.apache.thrift.ProcessFunction<I, closeSnapshot_args> {
+      public closeSnapshot() {
+        super("closeSnapshot");
+      }
+
+      public closeSnapshot_args getEmptyArgsInstance() {
+        return new closeSnapshot_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public closeSnapshot_result getResult(I iface, closeSnapshot_args args) throws org.apache.thrift.TException {
+        closeSnapshot_result result = new closeSnapshot_result();
+        iface.closeSnapshot(args.snapshotId);
+        return result;
+      }
+    }
+
   }
 
   public static class startLong_args implements org.apache.thrift.TBase<startLong_args, startLong_args._Fields>, java.io.Serializable, Cloneable   {
@@ -2450,22 +2955,20 @@ public class TTransactionServer {
 
   }
 
-  public static class startShortTimeout_args implements org.apache.thrift.TBase<startShortTimeout_args, startShortTimeout_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("startShortTimeout_args");
+  public static class startReadOnly_args implements org.apache.thrift.TBase<startReadOnly_args, startReadOnly_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("startReadOnly_args");
 
-    private static final org.apache.thrift.protocol.TField TIMEOUT_FIELD_DESC = new org.apache.thrift.protocol.TField("timeout", org.apache.thrift.protocol.TType.I32, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new startShortTimeout_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new startShortTimeout_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new startReadOnly_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new startReadOnly_argsTupleSchemeFactory());
     }
 
-    public int timeout; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      TIMEOUT((short)1, "timeout");
+;
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -2480,8 +2983,6 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // TIMEOUT
-            return TIMEOUT;
           default:
             return null;
         }
@@ -2520,89 +3021,37 @@ public class TTransactionServer {
         return _fieldName;
       }
     }
-
-    // isset id assignments
-    private static final int __TIMEOUT_ISSET_ID = 0;
-    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.TIMEOUT, new org.apache.thrift.meta_data.FieldMetaData("timeout", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startShortTimeout_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startReadOnly_args.class, metaDataMap);
     }
 
-    public startShortTimeout_args() {
-    }
-
-    public startShortTimeout_args(
-      int timeout)
-    {
-      this();
-      this.timeout = timeout;
-      setTimeoutIsSet(true);
+    public startReadOnly_args() {
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public startShortTimeout_args(startShortTimeout_args other) {
-      __isset_bitfield = other.__isset_bitfield;
-      this.timeout = other.timeout;
+    public startReadOnly_args(startReadOnly_args other) {
     }
 
-    public startShortTimeout_args deepCopy() {
-      return new startShortTimeout_args(this);
+    public startReadOnly_args deepCopy() {
+      return new startReadOnly_args(this);
     }
 
     @Override
     public void clear() {
-      setTimeoutIsSet(false);
-      this.timeout = 0;
-    }
-
-    public int getTimeout() {
-      return this.timeout;
-    }
-
-    public startShortTimeout_args setTimeout(int timeout) {
-      this.timeout = timeout;
-      setTimeoutIsSet(true);
-      return this;
-    }
-
-    public void unsetTimeout() {
-      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __TIMEOUT_ISSET_ID);
-    }
-
-    /** Returns true if field timeout is set (has been assigned a value) and false otherwise */
-    public boolean isSetTimeout() {
-      return EncodingUtils.testBit(__isset_bitfield, __TIMEOUT_ISSET_ID);
-    }
-
-    public void setTimeoutIsSet(boolean value) {
-      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __TIMEOUT_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
-      case TIMEOUT:
-        if (value == null) {
-          unsetTimeout();
-        } else {
-          setTimeout((Integer)value);
-        }
-        break;
-
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case TIMEOUT:
-        return Integer.valueOf(getTimeout());
-
       }
       throw new IllegalStateException();
     }
@@ -2614,8 +3063,6 @@ public class TTransactionServer {
       }
 
       switch (field) {
-      case TIMEOUT:
-        return isSetTimeout();
       }
       throw new IllegalStateException();
     }
@@ -2624,24 +3071,15 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof startShortTimeout_args)
-        return this.equals((startShortTimeout_args)that);
+      if (that instanceof startReadOnly_args)
+        return this.equals((startReadOnly_args)that);
       return false;
     }
 
-    public boolean equals(startShortTimeout_args that) {
+    public boolean equals(startReadOnly_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_timeout = true;
-      boolean that_present_timeout = true;
-      if (this_present_timeout || that_present_timeout) {
-        if (!(this_present_timeout && that_present_timeout))
-          return false;
-        if (this.timeout != that.timeout)
-          return false;
-      }
-
       return true;
     }
 
@@ -2650,24 +3088,14 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(startShortTimeout_args other) {
+    public int compareTo(startReadOnly_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      startShortTimeout_args typedOther = (startShortTimeout_args)other;
+      startReadOnly_args typedOther = (startReadOnly_args)other;
 
-      lastComparison = Boolean.valueOf(isSetTimeout()).compareTo(typedOther.isSetTimeout());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetTimeout()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.timeout, typedOther.timeout);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
       return 0;
     }
 
@@ -2685,12 +3113,9 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("startShortTimeout_args(");
+      StringBuilder sb = new StringBuilder("startReadOnly_args(");
       boolean first = true;
 
-      sb.append("timeout:");
-      sb.append(this.timeout);
-      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -2710,23 +3135,21 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class startShortTimeout_argsStandardSchemeFactory implements SchemeFactory {
-      public startShortTimeout_argsStandardScheme getScheme() {
-        return new startShortTimeout_argsStandardScheme();
+    private static class startReadOnly_argsStandardSchemeFactory implements SchemeFactory {
+      public startReadOnly_argsStandardScheme getScheme() {
+        return new startReadOnly_argsStandardScheme();
       }
     }
 
-    private static class startShortTimeout_argsStandardScheme extends StandardScheme<startShortTimeout_args> {
+    private static class startReadOnly_argsStandardScheme extends StandardScheme<startReadOnly_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, startShortTimeout_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, startReadOnly_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -2736,14 +3159,6 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
-            case 1: // TIMEOUT
-              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
-                struct.timeout = iprot.readI32();
-                struct.setTimeoutIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -2755,62 +3170,46 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, startShortTimeout_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, startReadOnly_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        oprot.writeFieldBegin(TIMEOUT_FIELD_DESC);
-        oprot.writeI32(struct.timeout);
-        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class startShortTimeout_argsTupleSchemeFactory implements SchemeFactory {
-      public startShortTimeout_argsTupleScheme getScheme() {
-        return new startShortTimeout_argsTupleScheme();
+    private static class startReadOnly_argsTupleSchemeFactory implements SchemeFactory {
+      public startReadOnly_argsTupleScheme getScheme() {
+        return new startReadOnly_argsTupleScheme();
       }
     }
 
-    private static class startShortTimeout_argsTupleScheme extends TupleScheme<startShortTimeout_args> {
+    private static class startReadOnly_argsTupleScheme extends TupleScheme<startReadOnly_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, startShortTimeout_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, startReadOnly_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
-        BitSet optionals = new BitSet();
-        if (struct.isSetTimeout()) {
-          optionals.set(0);
-        }
-        oprot.writeBitSet(optionals, 1);
-        if (struct.isSetTimeout()) {
-          oprot.writeI32(struct.timeout);
-        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, startShortTimeout_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, startReadOnly_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(1);
-        if (incoming.get(0)) {
-          struct.timeout = iprot.readI32();
-          struct.setTimeoutIsSet(true);
-        }
       }
     }
 
   }
 
-  public static class startShortTimeout_result implements org.apache.thrift.TBase<startShortTimeout_result, startShortTimeout_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("startShortTimeout_result");
+  public static class startReadOnly_result implements org.apache.thrift.TBase<startReadOnly_result, startReadOnly_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("startReadOnly_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new startShortTimeout_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new startShortTimeout_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new startReadOnly_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new startReadOnly_resultTupleSchemeFactory());
     }
 
     public TTransaction success; // required
@@ -2880,13 +3279,13 @@ public class TTransactionServer {
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startShortTimeout_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startReadOnly_result.class, metaDataMap);
     }
 
-    public startShortTimeout_result() {
+    public startReadOnly_result() {
     }
 
-    public startShortTimeout_result(
+    public startReadOnly_result(
       TTransaction success)
     {
       this();
@@ -2896,14 +3295,14 @@ public class TTransactionServer {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public startShortTimeout_result(startShortTimeout_result other) {
+    public startReadOnly_result(startReadOnly_result other) {
       if (other.isSetSuccess()) {
         this.success = new TTransaction(other.success);
       }
     }
 
-    public startShortTimeout_result deepCopy() {
-      return new startShortTimeout_result(this);
+    public startReadOnly_result deepCopy() {
+      return new startReadOnly_result(this);
     }
 
     @Override
@@ -2915,7 +3314,7 @@ public class TTransactionServer {
       return this.success;
     }
 
-    public startShortTimeout_result setSuccess(TTransaction success) {
+    public startReadOnly_result setSuccess(TTransaction success) {
       this.success = success;
       return this;
     }
@@ -2974,12 +3373,12 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof startShortTimeout_result)
-        return this.equals((startShortTimeout_result)that);
+      if (that instanceof startReadOnly_result)
+        return this.equals((startReadOnly_result)that);
       return false;
     }
 
-    public boolean equals(startShortTimeout_result that) {
+    public boolean equals(startReadOnly_result that) {
       if (that == null)
         return false;
 
@@ -3000,13 +3399,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(startShortTimeout_result other) {
+    public int compareTo(startReadOnly_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      startShortTimeout_result typedOther = (startShortTimeout_result)other;
+      startReadOnly_result typedOther = (startReadOnly_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -3035,7 +3434,7 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("startShortTimeout_result(");
+      StringBuilder sb = new StringBuilder("startReadOnly_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -3073,15 +3472,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class startShortTimeout_resultStandardSchemeFactory implements SchemeFactory {
-      public startShortTimeout_resultStandardScheme getScheme() {
-        return new startShortTimeout_resultStandardScheme();
+    private static class startReadOnly_resultStandardSchemeFactory implements SchemeFactory {
+      public startReadOnly_resultStandardScheme getScheme() {
+        return new startReadOnly_resultStandardScheme();
       }
     }
 
-    private static class startShortTimeout_resultStandardScheme extends StandardScheme<startShortTimeout_result> {
+    private static class startReadOnly_resultStandardScheme extends StandardScheme<startReadOnly_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, startShortTimeout_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, startReadOnly_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -3111,7 +3510,7 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, startShortTimeout_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, startReadOnly_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -3126,16 +3525,16 @@ public class TTransactionServer {
 
     }
 
-    private static class startShortTimeout_resultTupleSchemeFactory implements SchemeFactory {
-      public startShortTimeout_resultTupleScheme getScheme() {
-        return new startShortTimeout_resultTupleScheme();
+    private static class startReadOnly_resultTupleSchemeFactory implements SchemeFactory {
+      public startReadOnly_resultTupleScheme getScheme() {
+        return new startReadOnly_resultTupleScheme();
       }
     }
 
-    private static class startShortTimeout_resultTupleScheme extends TupleScheme<startShortTimeout_result> {
+    private static class startReadOnly_resultTupleScheme extends TupleScheme<startReadOnly_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, startShortTimeout_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, startReadOnly_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -3148,7 +3547,7 @@ public class TTransactionServer {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, startShortTimeout_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, startReadOnly_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
@@ -3161,25 +3560,22 @@ public class TTransactionServer {
 
   }
 
-  public static class canCommitTx_args implements org.apache.thrift.TBase<canCommitTx_args, canCommitTx_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("canCommitTx_args");
+  public static class startShortTimeout_args implements org.apache.thrift.TBase<startShortTimeout_args, startShortTimeout_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("startShortTimeout_args");
 
-    private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.STRUCT, (short)1);
-    private static final org.apache.thrift.protocol.TField CHANGES_FIELD_DESC = new org.apache.thrift.protocol.TField("changes", org.apache.thrift.protocol.TType.SET, (short)2);
+    private static final org.apache.thrift.protocol.TField TIMEOUT_FIELD_DESC = new org.apache.thrift.protocol.TField("timeout", org.apache.thrift.protocol.TType.I32, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new canCommitTx_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new canCommitTx_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new startShortTimeout_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new startShortTimeout_argsTupleSchemeFactory());
     }
 
-    public TTransaction tx; // required
-    public Set<ByteBuffer> changes; // required
+    public int timeout; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      TX((short)1, "tx"),
-      CHANGES((short)2, "changes");
+      TIMEOUT((short)1, "timeout");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -3194,10 +3590,8 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // TX
-            return TX;
-          case 2: // CHANGES
-            return CHANGES;
+          case 1: // TIMEOUT
+            return TIMEOUT;
           default:
             return null;
         }
@@ -3238,136 +3632,76 @@ public class TTransactionServer {
     }
 
     // isset id assignments
+    private static final int __TIMEOUT_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.TX, new org.apache.thrift.meta_data.FieldMetaData("tx", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
-      tmpMap.put(_Fields.CHANGES, new org.apache.thrift.meta_data.FieldMetaData("changes", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
-              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING              , true))));
+      tmpMap.put(_Fields.TIMEOUT, new org.apache.thrift.meta_data.FieldMetaData("timeout", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(canCommitTx_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startShortTimeout_args.class, metaDataMap);
     }
 
-    public canCommitTx_args() {
+    public startShortTimeout_args() {
     }
 
-    public canCommitTx_args(
-      TTransaction tx,
-      Set<ByteBuffer> changes)
+    public startShortTimeout_args(
+      int timeout)
     {
       this();
-      this.tx = tx;
-      this.changes = changes;
+      this.timeout = timeout;
+      setTimeoutIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public canCommitTx_args(canCommitTx_args other) {
-      if (other.isSetTx()) {
-        this.tx = new TTransaction(other.tx);
-      }
-      if (other.isSetChanges()) {
-        Set<ByteBuffer> __this__changes = new HashSet<ByteBuffer>();
-        for (ByteBuffer other_element : other.changes) {
-          ByteBuffer temp_binary_element = org.apache.thrift.TBaseHelper.copyBinary(other_element);
-;
-          __this__changes.add(temp_binary_element);
-        }
-        this.changes = __this__changes;
-      }
+    public startShortTimeout_args(startShortTimeout_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.timeout = other.timeout;
     }
 
-    public canCommitTx_args deepCopy() {
-      return new canCommitTx_args(this);
+    public startShortTimeout_args deepCopy() {
+      return new startShortTimeout_args(this);
     }
 
     @Override
     public void clear() {
-      this.tx = null;
-      this.changes = null;
-    }
-
-    public TTransaction getTx() {
-      return this.tx;
-    }
-
-    public canCommitTx_args setTx(TTransaction tx) {
-      this.tx = tx;
-      return this;
-    }
-
-    public void unsetTx() {
-      this.tx = null;
-    }
-
-    /** Returns true if field tx is set (has been assigned a value) and false otherwise */
-    public boolean isSetTx() {
-      return this.tx != null;
-    }
-
-    public void setTxIsSet(boolean value) {
-      if (!value) {
-        this.tx = null;
-      }
-    }
-
-    public int getChangesSize() {
-      return (this.changes == null) ? 0 : this.changes.size();
-    }
-
-    public java.util.Iterator<ByteBuffer> getChangesIterator() {
-      return (this.changes == null) ? null : this.changes.iterator();
-    }
-
-    public void addToChanges(ByteBuffer elem) {
-      if (this.changes == null) {
-        this.changes = new HashSet<ByteBuffer>();
-      }
-      this.changes.add(elem);
+      setTimeoutIsSet(false);
+      this.timeout = 0;
     }
 
-    public Set<ByteBuffer> getChanges() {
-      return this.changes;
+    public int getTimeout() {
+      return this.timeout;
     }
 
-    public canCommitTx_args setChanges(Set<ByteBuffer> changes) {
-      this.changes = changes;
+    public startShortTimeout_args setTimeout(int timeout) {
+      this.timeout = timeout;
+      setTimeoutIsSet(true);
       return this;
     }
 
-    public void unsetChanges() {
-      this.changes = null;
+    public void unsetTimeout() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __TIMEOUT_ISSET_ID);
     }
 
-    /** Returns true if field changes is set (has been assigned a value) and false otherwise */
-    public boolean isSetChanges() {
-      return this.changes != null;
+    /** Returns true if field timeout is set (has been assigned a value) and false otherwise */
+    public boolean isSetTimeout() {
+      return EncodingUtils.testBit(__isset_bitfield, __TIMEOUT_ISSET_ID);
     }
 
-    public void setChangesIsSet(boolean value) {
-      if (!value) {
-        this.changes = null;
-      }
+    public void setTimeoutIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __TIMEOUT_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
-      case TX:
-        if (value == null) {
-          unsetTx();
-        } else {
-          setTx((TTransaction)value);
-        }
-        break;
-
-      case CHANGES:
+      case TIMEOUT:
         if (value == null) {
-          unsetChanges();
+          unsetTimeout();
         } else {
-          setChanges((Set<ByteBuffer>)value);
+          setTimeout((Integer)value);
         }
         break;
 
@@ -3376,11 +3710,8 @@ public class TTransactionServer {
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case TX:
-        return getTx();
-
-      case CHANGES:
-        return getChanges();
+      case TIMEOUT:
+        return Integer.valueOf(getTimeout());
 
       }
       throw new IllegalStateException();
@@ -3393,10 +3724,8 @@ public class TTransactionServer {
       }
 
       switch (field) {
-      case TX:
-        return isSetTx();
-      case CHANGES:
-        return isSetChanges();
+      case TIMEOUT:
+        return isSetTimeout();
       }
       throw new IllegalStateException();
     }
@@ -3405,30 +3734,21 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof canCommitTx_args)
-        return this.equals((canCommitTx_args)that);
+      if (that instanceof startShortTimeout_args)
+        return this.equals((startShortTimeout_args)that);
       return false;
     }
 
-    public boolean equals(canCommitTx_args that) {
+    public boolean equals(startShortTimeout_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_tx = true && this.isSetTx();
-      boolean that_present_tx = true && that.isSetTx();
-      if (this_present_tx || that_present_tx) {
-        if (!(this_present_tx && that_present_tx))
-          return false;
-        if (!this.tx.equals(that.tx))
-          return false;
-      }
-
-      boolean this_present_changes = true && this.isSetChanges();
-      boolean that_present_changes = true && that.isSetChanges();
-      if (this_present_changes || that_present_changes) {
-        if (!(this_present_changes && that_present_changes))
+      boolean this_present_timeout = true;
+      boolean that_present_timeout = true;
+      if (this_present_timeout || that_present_timeout) {
+        if (!(this_present_timeout && that_present_timeout))
           return false;
-        if (!this.changes.equals(that.changes))
+        if (this.timeout != that.timeout)
           return false;
       }
 
@@ -3440,30 +3760,20 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(canCommitTx_args other) {
+    public int compareTo(startShortTimeout_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      canCommitTx_args typedOther = (canCommitTx_args)other;
+      startShortTimeout_args typedOther = (startShortTimeout_args)other;
 
-      lastComparison = Boolean.valueOf(isSetTx()).compareTo(typedOther.isSetTx());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetTx()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.tx, typedOther.tx);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = Boolean.valueOf(isSetChanges()).compareTo(typedOther.isSetChanges());
+      lastComparison = Boolean.valueOf(isSetTimeout()).compareTo(typedOther.isSetTimeout());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetChanges()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.changes, typedOther.changes);
+      if (isSetTimeout()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.timeout, typedOther.timeout);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -3485,23 +3795,11 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("canCommitTx_args(");
+      StringBuilder sb = new StringBuilder("startShortTimeout_args(");
       boolean first = true;
 
-      sb.append("tx:");
-      if (this.tx == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.tx);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("changes:");
-      if (this.changes == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.changes);
-      }
+      sb.append("timeout:");
+      sb.append(this.timeout);
       first = false;
       sb.append(")");
       return sb.toString();
@@ -3510,9 +3808,6 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (tx != null) {
-        tx.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -3525,21 +3820,23 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class canCommitTx_argsStandardSchemeFactory implements SchemeFactory {
-      public canCommitTx_argsStandardScheme getScheme() {
-        return new canCommitTx_argsStandardScheme();
+    private static class startShortTimeout_argsStandardSchemeFactory implements SchemeFactory {
+      public startShortTimeout_argsStandardScheme getScheme() {
+        return new startShortTimeout_argsStandardScheme();
       }
     }
 
-    private static class canCommitTx_argsStandardScheme extends StandardScheme<canCommitTx_args> {
+    private static class startShortTimeout_argsStandardScheme extends StandardScheme<startShortTimeout_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, canCommitTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, startShortTimeout_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -3549,29 +3846,10 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
-            case 1: // TX
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.tx = new TTransaction();
-                struct.tx.read(iprot);
-                struct.setTxIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 2: // CHANGES
-              if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
-                {
-                  org.apache.thrift.protocol.TSet _set24 = iprot.readSetBegin();
-                  struct.changes = new HashSet<ByteBuffer>(2*_set24.size);
-                  for (int _i25 = 0; _i25 < _set24.size; ++_i25)
-                  {
-                    ByteBuffer _elem26; // required
-                    _elem26 = iprot.readBinary();
-                    struct.changes.add(_elem26);
-                  }
-                  iprot.readSetEnd();
-                }
-                struct.setChangesIsSet(true);
+            case 1: // TIMEOUT
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.timeout = iprot.readI32();
+                struct.setTimeoutIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -3587,112 +3865,69 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, canCommitTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, startShortTimeout_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.tx != null) {
-          oprot.writeFieldBegin(TX_FIELD_DESC);
-          struct.tx.write(oprot);
-          oprot.writeFieldEnd();
-        }
-        if (struct.changes != null) {
-          oprot.writeFieldBegin(CHANGES_FIELD_DESC);
-          {
-            oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.changes.size()));
-            for (ByteBuffer _iter27 : struct.changes)
-            {
-              oprot.writeBinary(_iter27);
-            }
-            oprot.writeSetEnd();
-          }
-          oprot.writeFieldEnd();
-        }
+        oprot.writeFieldBegin(TIMEOUT_FIELD_DESC);
+        oprot.writeI32(struct.timeout);
+        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class canCommitTx_argsTupleSchemeFactory implements SchemeFactory {
-      public canCommitTx_argsTupleScheme getScheme() {
-        return new canCommitTx_argsTupleScheme();
+    private static class startShortTimeout_argsTupleSchemeFactory implements SchemeFactory {
+      public startShortTimeout_argsTupleScheme getScheme() {
+        return new startShortTimeout_argsTupleScheme();
       }
     }
 
-    private static class canCommitTx_argsTupleScheme extends TupleScheme<canCommitTx_args> {
+    private static class startShortTimeout_argsTupleScheme extends TupleScheme<startShortTimeout_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, canCommitTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, startShortTimeout_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
-        if (struct.isSetTx()) {
+        if (struct.isSetTimeout()) {
           optionals.set(0);
         }
-        if (struct.isSetChanges()) {
-          optionals.set(1);
-        }
-        oprot.writeBitSet(optionals, 2);
-        if (struct.isSetTx()) {
-          struct.tx.write(oprot);
-        }
-        if (struct.isSetChanges()) {
-          {
-            oprot.writeI32(struct.changes.size());
-            for (ByteBuffer _iter28 : struct.changes)
-            {
-              oprot.writeBinary(_iter28);
-            }
-          }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetTimeout()) {
+          oprot.writeI32(struct.timeout);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, canCommitTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, startShortTimeout_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(2);
+        BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.tx = new TTransaction();
-          struct.tx.read(iprot);
-          struct.setTxIsSet(true);
-        }
-        if (incoming.get(1)) {
-          {
-            org.apache.thrift.protocol.TSet _set29 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
-            struct.changes = new HashSet<ByteBuffer>(2*_set29.size);
-            for (int _i30 = 0; _i30 < _set29.size; ++_i30)
-            {
-              ByteBuffer _elem31; // required
-              _elem31 = iprot.readBinary();
-              struct.changes.add(_elem31);
-            }
-          }
-          struct.setChangesIsSet(true);
+          struct.timeout = iprot.readI32();
+          struct.setTimeoutIsSet(true);
         }
       }
     }
 
   }
 
-  public static class canCommitTx_result implements org.apache.thrift.TBase<canCommitTx_result, canCommitTx_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("canCommitTx_result");
+  public static class startShortTimeout_result implements org.apache.thrift.TBase<startShortTimeout_result, startShortTimeout_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("startShortTimeout_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
-    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new canCommitTx_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new canCommitTx_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new startShortTimeout_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new startShortTimeout_resultTupleSchemeFactory());
     }
 
-    public TBoolean success; // required
-    public TTransactionNotInProgressException e; // required
+    public TTransaction success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      SUCCESS((short)0, "success"),
-      E((short)1, "e");
+      SUCCESS((short)0, "success");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -3709,8 +3944,6 @@ public class TTransactionServer {
         switch(fieldId) {
           case 0: // SUCCESS
             return SUCCESS;
-          case 1: // E
-            return E;
           default:
             return null;
         }
@@ -3755,52 +3988,44 @@ public class TTransactionServer {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBoolean.class)));
-      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(canCommitTx_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startShortTimeout_result.class, metaDataMap);
     }
 
-    public canCommitTx_result() {
+    public startShortTimeout_result() {
     }
 
-    public canCommitTx_result(
-      TBoolean success,
-      TTransactionNotInProgressException e)
+    public startShortTimeout_result(
+      TTransaction success)
     {
       this();
       this.success = success;
-      this.e = e;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public canCommitTx_result(canCommitTx_result other) {
+    public startShortTimeout_result(startShortTimeout_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TBoolean(other.success);
-      }
-      if (other.isSetE()) {
-        this.e = new TTransactionNotInProgressException(other.e);
+        this.success = new TTransaction(other.success);
       }
     }
 
-    public canCommitTx_result deepCopy() {
-      return new canCommitTx_result(this);
+    public startShortTimeout_result deepCopy() {
+      return new startShortTimeout_result(this);
     }
 
     @Override
     public void clear() {
       this.success = null;
-      this.e = null;
     }
 
-    public TBoolean getSuccess() {
+    public TTransaction getSuccess() {
       return this.success;
     }
 
-    public canCommitTx_result setSuccess(TBoolean success) {
+    public startShortTimeout_result setSuccess(TTransaction success) {
       this.success = success;
       return this;
     }
@@ -3820,45 +4045,13 @@ public class TTransactionServer {
       }
     }
 
-    public TTransactionNotInProgressException getE() {
-      return this.e;
-    }
-
-    public canCommitTx_result setE(TTransactionNotInProgressException e) {
-      this.e = e;
-      return this;
-    }
-
-    public void unsetE() {
-      this.e = null;
-    }
-
-    /** Returns true if field e is set (has been assigned a value) and false otherwise */
-    public boolean isSetE() {
-      return this.e != null;
-    }
-
-    public void setEIsSet(boolean value) {
-      if (!value) {
-        this.e = null;
-      }
-    }
-
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
       case SUCCESS:
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TBoolean)value);
-        }
-        break;
-
-      case E:
-        if (value == null) {
-          unsetE();
-        } else {
-          setE((TTransactionNotInProgressException)value);
+          setSuccess((TTransaction)value);
         }
         break;
 
@@ -3870,9 +4063,6 @@ public class TTransactionServer {
       case SUCCESS:
         return getSuccess();
 
-      case E:
-        return getE();
-
       }
       throw new IllegalStateException();
     }
@@ -3886,8 +4076,6 @@ public class TTransactionServer {
       switch (field) {
       case SUCCESS:
         return isSetSuccess();
-      case E:
-        return isSetE();
       }
       throw new IllegalStateException();
     }
@@ -3896,12 +4084,12 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof canCommitTx_result)
-        return this.equals((canCommitTx_result)that);
+      if (that instanceof startShortTimeout_result)
+        return this.equals((startShortTimeout_result)that);
       return false;
     }
 
-    public boolean equals(canCommitTx_result that) {
+    public boolean equals(startShortTimeout_result that) {
       if (that == null)
         return false;
 
@@ -3914,15 +4102,6 @@ public class TTransactionServer {
           return false;
       }
 
-      boolean this_present_e = true && this.isSetE();
-      boolean that_present_e = true && that.isSetE();
-      if (this_present_e || that_present_e) {
-        if (!(this_present_e && that_present_e))
-          return false;
-        if (!this.e.equals(that.e))
-          return false;
-      }
-
       return true;
     }
 
@@ -3931,13 +4110,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(canCommitTx_result other) {
+    public int compareTo(startShortTimeout_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      canCommitTx_result typedOther = (canCommitTx_result)other;
+      startShortTimeout_result typedOther = (startShortTimeout_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -3949,16 +4128,6 @@ public class TTransactionServer {
           return lastComparison;
         }
       }
-      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetE()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
       return 0;
     }
 
@@ -3976,7 +4145,7 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("canCommitTx_result(");
+      StringBuilder sb = new StringBuilder("startShortTimeout_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -3986,14 +4155,6 @@ public class TTransactionServer {
         sb.append(this.success);
       }
       first = false;
-      if (!first) sb.append(", ");
-      sb.append("e:");
-      if (this.e == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.e);
-      }
-      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -4022,15 +4183,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class canCommitTx_resultStandardSchemeFactory implements SchemeFactory {
-      public canCommitTx_resultStandardScheme getScheme() {
-        return new canCommitTx_resultStandardScheme();
+    private static class startShortTimeout_resultStandardSchemeFactory implements SchemeFactory {
+      public startShortTimeout_resultStandardScheme getScheme() {
+        return new startShortTimeout_resultStandardScheme();
       }
     }
 
-    private static class canCommitTx_resultStandardScheme extends StandardScheme<canCommitTx_result> {
+    private static class startShortTimeout_resultStandardScheme extends StandardScheme<startShortTimeout_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, canCommitTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, startShortTimeout_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -4042,22 +4203,13 @@ public class TTransactionServer {
           switch (schemeField.id) {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TBoolean();
+                struct.success = new TTransaction();
                 struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
-            case 1: // E
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.e = new TTransactionNotInProgressException();
-                struct.e.read(iprot);
-                struct.setEIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -4069,7 +4221,7 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, canCommitTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, startShortTimeout_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -4078,79 +4230,66 @@ public class TTransactionServer {
           struct.success.write(oprot);
           oprot.writeFieldEnd();
         }
-        if (struct.e != null) {
-          oprot.writeFieldBegin(E_FIELD_DESC);
-          struct.e.write(oprot);
-          oprot.writeFieldEnd();
-        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class canCommitTx_resultTupleSchemeFactory implements SchemeFactory {
-      public canCommitTx_resultTupleScheme getScheme() {
-        return new canCommitTx_resultTupleScheme();
+    private static class startShortTimeout_resultTupleSchemeFactory implements SchemeFactory {
+      public startShortTimeout_resultTupleScheme getScheme() {
+        return new startShortTimeout_resultTupleScheme();
       }
     }
 
-    private static class canCommitTx_resultTupleScheme extends TupleScheme<canCommitTx_result> {
+    private static class startShortTimeout_resultTupleScheme extends TupleScheme<startShortTimeout_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, canCommitTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, startShortTimeout_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
           optionals.set(0);
         }
-        if (struct.isSetE()) {
-          optionals.set(1);
-        }
-        oprot.writeBitSet(optionals, 2);
+        oprot.writeBitSet(optionals, 1);
         if (struct.isSetSuccess()) {
           struct.success.write(oprot);
         }
-        if (struct.isSetE()) {
-          struct.e.write(oprot);
-        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, canCommitTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, startShortTimeout_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(2);
+        BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new TBoolean();
+          struct.success = new TTransaction();
           struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
-        if (incoming.get(1)) {
-          struct.e = new TTransactionNotInProgressException();
-          struct.e.read(iprot);
-          struct.setEIsSet(true);
-        }
       }
     }
 
   }
 
-  public static class commitTx_args implements org.apache.thrift.TBase<commitTx_args, commitTx_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("commitTx_args");
+  public static class startShortBatch_args implements org.apache.thrift.TBase<startShortBatch_args, startShortBatch_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("startShortBatch_args");
 
-    private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField COUNT_FIELD_DESC = new org.apache.thrift.protocol.TField("count", org.apache.thrift.protocol.TType.I32, (short)1);
+    private static final org.apache.thrift.protocol.TField TIMEOUT_FIELD_DESC = new org.apache.thrift.protocol.TField("timeout", org.apache.thrift.protocol.TType.I32, (short)2);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new commitTx_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new commitTx_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new startShortBatch_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new startShortBatch_argsTupleSchemeFactory());
     }
 
-    public TTransaction tx; // required
+    public int count; // required
+    public int timeout; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      TX((short)1, "tx");
+      COUNT((short)1, "count"),
+      TIMEOUT((short)2, "timeout");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -4165,8 +4304,10 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // TX
-            return TX;
+          case 1: // COUNT
+            return COUNT;
+          case 2: // TIMEOUT
+            return TIMEOUT;
           default:
             return null;
         }
@@ -4207,74 +4348,116 @@ public class TTransactionServer {
     }
 
     // isset id assignments
+    private static final int __COUNT_ISSET_ID = 0;
+    private static final int __TIMEOUT_ISSET_ID = 1;
+    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.TX, new org.apache.thrift.meta_data.FieldMetaData("tx", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
+      tmpMap.put(_Fields.COUNT, new org.apache.thrift.meta_data.FieldMetaData("count", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.TIMEOUT, new org.apache.thrift.meta_data.FieldMetaData("timeout", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(commitTx_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startShortBatch_args.class, metaDataMap);
     }
 
-    public commitTx_args() {
+    public startShortBatch_args() {
     }
 
-    public commitTx_args(
-      TTransaction tx)
+    public startShortBatch_args(
+      int count,
+      int timeout)
     {
       this();
-      this.tx = tx;
+      this.count = count;
+      setCountIsSet(true);
+      this.timeout = timeout;
+      setTimeoutIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public commitTx_args(commitTx_args other) {
-      if (other.isSetTx()) {
-        this.tx = new TTransaction(other.tx);
-      }
+    public startShortBatch_args(startShortBatch_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.count = other.count;
+      this.timeout = other.timeout;
     }
 
-    public commitTx_args deepCopy() {
-      return new commitTx_args(this);
+    public startShortBatch_args deepCopy() {
+      return new startShortBatch_args(this);
     }
 
     @Override
     public void clear() {
-      this.tx = null;
+      setCountIsSet(false);
+      this.count = 0;
+      setTimeoutIsSet(false);
+      this.timeout = 0;
     }
 
-    public TTransaction getTx() {
-      return this.tx;
+    public int getCount() {
+      return this.count;
     }
 
-    public commitTx_args setTx(TTransaction tx) {
-      this.tx = tx;
+    public startShortBatch_args setCount(int count) {
+      this.count = count;
+      setCountIsSet(true);
       return this;
     }
 
-    public void unsetTx() {
-      this.tx = null;
+    public void unsetCount() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __COUNT_ISSET_ID);
     }
 
-    /** Returns true if field tx is set (has been assigned a value) and false otherwise */
-    public boolean isSetTx() {
-      return this.tx != null;
+    /** Returns true if field count is set (has been assigned a value) and false otherwise */
+    public boolean isSetCount() {
+      return EncodingUtils.testBit(__isset_bitfield, __COUNT_ISSET_ID);
     }
 
-    public void setTxIsSet(boolean value) {
-      if (!value) {
-        this.tx = null;
-      }
+    public void setCountIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __COUNT_ISSET_ID, value);
+    }
+
+    public int getTimeout() {
+      return this.timeout;
+    }
+
+    public startShortBatch_args setTimeout(int timeout) {
+      this.timeout = timeout;
+      setTimeoutIsSet(true);
+      return this;
+    }
+
+    public void unsetTimeout() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __TIMEOUT_ISSET_ID);
+    }
+
+    /** Returns true if field timeout is set (has been assigned a value) and false otherwise */
+    public boolean isSetTimeout() {
+      return EncodingUtils.testBit(__isset_bitfield, __TIMEOUT_ISSET_ID);
+    }
+
+    public void setTimeoutIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __TIMEOUT_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
-      case TX:
+      case COUNT:
         if (value == null) {
-          unsetTx();
+          unsetCount();
         } else {
-          setTx((TTransaction)value);
+          setCount((Integer)value);
+        }
+        break;
+
+      case TIMEOUT:
+        if (value == null) {
+          unsetTimeout();
+        } else {
+          setTimeout((Integer)value);
         }
         break;
 
@@ -4283,8 +4466,11 @@ public class TTransactionServer {
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case TX:
-        return getTx();
+      case COUNT:
+        return Integer.valueOf(getCount());
+
+      case TIMEOUT:
+        return Integer.valueOf(getTimeout());
 
       }
       throw new IllegalStateException();
@@ -4297,8 +4483,10 @@ public class TTransactionServer {
       }
 
       switch (field) {
-      case TX:
-        return isSetTx();
+      case COUNT:
+        return isSetCount();
+      case TIMEOUT:
+        return isSetTimeout();
       }
       throw new IllegalStateException();
     }
@@ -4307,21 +4495,30 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof commitTx_args)
-        return this.equals((commitTx_args)that);
+      if (that instanceof startShortBatch_args)
+        return this.equals((startShortBatch_args)that);
       return false;
     }
 
-    public boolean equals(commitTx_args that) {
+    public boolean equals(startShortBatch_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_tx = true && this.isSetTx();
-      boolean that_present_tx = true && that.isSetTx();
-      if (this_present_tx || that_present_tx) {
-        if (!(this_present_tx && that_present_tx))
+      boolean this_present_count = true;
+      boolean that_present_count = true;
+      if (this_present_count || that_present_count) {
+        if (!(this_present_count && that_present_count))
           return false;
-        if (!this.tx.equals(that.tx))
+        if (this.count != that.count)
+          return false;
+      }
+
+      boolean this_present_timeout = true;
+      boolean that_present_timeout = true;
+      if (this_present_timeout || that_present_timeout) {
+        if (!(this_present_timeout && that_present_timeout))
+          return false;
+        if (this.timeout != that.timeout)
           return false;
       }
 
@@ -4333,20 +4530,30 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(commitTx_args other) {
+    public int compareTo(startShortBatch_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      commitTx_args typedOther = (commitTx_args)other;
+      startShortBatch_args typedOther = (startShortBatch_args)other;
 
-      lastComparison = Boolean.valueOf(isSetTx()).compareTo(typedOther.isSetTx());
+      lastComparison = Boolean.valueOf(isSetCount()).compareTo(typedOther.isSetCount());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetTx()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.tx, typedOther.tx);
+      if (isSetCount()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.count, typedOther.count);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetTimeout()).compareTo(typedOther.isSetTimeout());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTimeout()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.timeout, typedOther.timeout);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -4368,15 +4575,15 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("commitTx_args(");
+      StringBuilder sb = new StringBuilder("startShortBatch_args(");
       boolean first = true;
 
-      sb.append("tx:");
-      if (this.tx == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.tx);
-      }
+      sb.append("count:");
+      sb.append(this.count);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("timeout:");
+      sb.append(this.timeout);
       first = false;
       sb.append(")");
       return sb.toString();
@@ -4385,9 +4592,6 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (tx != null) {
-        tx.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -4400,21 +4604,23 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class commitTx_argsStandardSchemeFactory implements SchemeFactory {
-      public commitTx_argsStandardScheme getScheme() {
-        return new commitTx_argsStandardScheme();
+    private static class startShortBatch_argsStandardSchemeFactory implements SchemeFactory {
+      public startShortBatch_argsStandardScheme getScheme() {
+        return new startShortBatch_argsStandardScheme();
       }
     }
 
-    private static class commitTx_argsStandardScheme extends StandardScheme<commitTx_args> {
+    private static class startShortBatch_argsStandardScheme extends StandardScheme<startShortBatch_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, commitTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, startShortBatch_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -4424,11 +4630,18 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
-            case 1: // TX
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.tx = new TTransaction();
-                struct.tx.read(iprot);
-                struct.setTxIsSet(true);
+            case 1: // COUNT
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.count = iprot.readI32();
+                struct.setCountIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // TIMEOUT
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.timeout = iprot.readI32();
+                struct.setTimeoutIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -4444,75 +4657,82 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, commitTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, startShortBatch_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.tx != null) {
-          oprot.writeFieldBegin(TX_FIELD_DESC);
-          struct.tx.write(oprot);
-          oprot.writeFieldEnd();
-        }
+        oprot.writeFieldBegin(COUNT_FIELD_DESC);
+        oprot.writeI32(struct.count);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(TIMEOUT_FIELD_DESC);
+        oprot.writeI32(struct.timeout);
+        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class commitTx_argsTupleSchemeFactory implements SchemeFactory {
-      public commitTx_argsTupleScheme getScheme() {
-        return new commitTx_argsTupleScheme();
+    private static class startShortBatch_argsTupleSchemeFactory implements SchemeFactory {
+      public startShortBatch_argsTupleScheme getScheme() {
+        return new startShortBatch_argsTupleScheme();
       }
     }
 
-    private static class commitTx_argsTupleScheme extends TupleScheme<commitTx_args> {
+    private static class startShortBatch_argsTupleScheme extends TupleScheme<startShortBatch_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, commitTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, startShortBatch_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
-        if (struct.isSetTx()) {
+        if (struct.isSetCount()) {
           optionals.set(0);
         }
-        oprot.writeBitSet(optionals, 1);
-        if (struct.isSetTx()) {
-          struct.tx.write(oprot);
+        if (struct.isSetTimeout()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetCount()) {
+          oprot.writeI32(struct.count);
+        }
+        if (struct.isSetTimeout()) {
+          oprot.writeI32(struct.timeout);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, commitTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, startShortBatch_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(1);
+        BitSet incoming = iprot.readBitSet(2);
         if (incoming.get(0)) {
-          struct.tx = new TTransaction();
-          struct.tx.read(iprot);
-          struct.setTxIsSet(true);
+          struct.count = iprot.readI32();
+          struct.setCountIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.timeout = iprot.readI32();
+          struct.setTimeoutIsSet(true);
         }
       }
     }
 
   }
 
-  public static class commitTx_result implements org.apache.thrift.TBase<commitTx_result, commitTx_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("commitTx_result");
+  public static class startShortBatch_result implements org.apache.thrift.TBase<startShortBatch_result, startShortBatch_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("startShortBatch_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
-    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new commitTx_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new commitTx_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new startShortBatch_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new startShortBatch_resultTupleSchemeFactory());
     }
 
-    public TBoolean success; // required
-    public TTransactionNotInProgressException e; // required
+    public List<TTransaction> success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      SUCCESS((short)0, "success"),
-      E((short)1, "e");
+      SUCCESS((short)0, "success");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -4529,8 +4749,6 @@ public class TTransactionServer {
         switch(fieldId) {
           case 0: // SUCCESS
             return SUCCESS;
-          case 1: // E
-            return E;
           default:
             return null;
         }
@@ -4575,52 +4793,64 @@ public class TTransactionServer {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBoolean.class)));
-      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class))));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(commitTx_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(startShortBatch_result.class, metaDataMap);
     }
 
-    public commitTx_result() {
+    public startShortBatch_result() {
     }
 
-    public commitTx_result(
-      TBoolean success,
-      TTransactionNotInProgressException e)
+    public startShortBatch_result(
+      List<TTransaction> success)
     {
       this();
       this.success = success;
-      this.e = e;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public commitTx_result(commitTx_result other) {
+    public startShortBatch_result(startShortBatch_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TBoolean(other.success);
-      }
-      if (other.isSetE()) {
-        this.e = new TTransactionNotInProgressException(other.e);
+        List<TTransaction> __this__success = new ArrayList<TTransaction>();
+        for (TTransaction other_element : other.success) {
+          __this__success.add(new TTransaction(other_element));
+        }
+        this.success = __this__success;
       }
     }
 
-    public commitTx_result deepCopy() {
-      return new commitTx_result(this);
+    public startShortBatch_result deepCopy() {
+      return new startShortBatch_result(this);
     }
 
     @Override
     public void clear() {
       this.success = null;
-      this.e = null;
     }
 
-    public TBoolean getSuccess() {
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public java.util.Iterator<TTransaction> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(TTransaction elem) {
+      if (this.success == null) {
+        this.success = new ArrayList<TTransaction>();
+      }
+      this.success.add(elem);
+    }
+
+    public List<TTransaction> getSuccess() {
       return this.success;
     }
 
-    public commitTx_result setSuccess(TBoolean success) {
+    public startShortBatch_result setSuccess(List<TTransaction> success) {
       this.success = success;
       return this;
     }
@@ -4640,58 +4870,23 @@ public class TTransactionServer {
       }
     }
 
-    public TTransactionNotInProgressException getE() {
-      return this.e;
-    }
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((List<TTransaction>)value);
+        }
+        break;
 
-    public commitTx_result setE(TTransactionNotInProgressException e) {
-      this.e = e;
-      return this;
+      }
     }
 
-    public void unsetE() {
-      this.e = null;
-    }
-
-    /** Returns true if field e is set (has been assigned a value) and false otherwise */
-    public boolean isSetE() {
-      return this.e != null;
-    }
-
-    public void setEIsSet(boolean value) {
-      if (!value) {
-        this.e = null;
-      }
-    }
-
-    public void setFieldValue(_Fields field, Object value) {
-      switch (field) {
-      case SUCCESS:
-        if (value == null) {
-          unsetSuccess();
-        } else {
-          setSuccess((TBoolean)value);
-        }
-        break;
-
-      case E:
-        if (value == null) {
-          unsetE();
-        } else {
-          setE((TTransactionNotInProgressException)value);
-        }
-        break;
-
-      }
-    }
-
-    public Object getFieldValue(_Fields field) {
-      switch (field) {
-      case SUCCESS:
-        return getSuccess();
-
-      case E:
-        return getE();
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
 
       }
       throw new IllegalStateException();
@@ -4706,8 +4901,6 @@ public class TTransactionServer {
       switch (field) {
       case SUCCESS:
         return isSetSuccess();
-      case E:
-        return isSetE();
       }
       throw new IllegalStateException();
     }
@@ -4716,12 +4909,12 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof commitTx_result)
-        return this.equals((commitTx_result)that);
+      if (that instanceof startShortBatch_result)
+        return this.equals((startShortBatch_result)that);
       return false;
     }
 
-    public boolean equals(commitTx_result that) {
+    public boolean equals(startShortBatch_result that) {
       if (that == null)
         return false;
 
@@ -4734,15 +4927,6 @@ public class TTransactionServer {
           return false;
       }
 
-      boolean this_present_e = true && this.isSetE();
-      boolean that_present_e = true && that.isSetE();
-      if (this_present_e || that_present_e) {
-        if (!(this_present_e && that_present_e))
-          return false;
-        if (!this.e.equals(that.e))
-          return false;
-      }
-
       return true;
     }
 
@@ -4751,13 +4935,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(commitTx_result other) {
+    public int compareTo(startShortBatch_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      commitTx_result typedOther = (commitTx_result)other;
+      startShortBatch_result typedOther = (startShortBatch_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -4769,16 +4953,6 @@ public class TTransactionServer {
           return lastComparison;
         }
       }
-      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetE()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
       return 0;
     }
 
@@ -4796,7 +4970,7 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("commitTx_result(");
+      StringBuilder sb = new StringBuilder("startShortBatch_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -4806,14 +4980,6 @@ public class TTransactionServer {
         sb.append(this.success);
       }
       first = false;
-      if (!first) sb.append(", ");
-      sb.append("e:");
-      if (this.e == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.e);
-      }
-      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -4821,9 +4987,6 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (success != null) {
-        success.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -4842,15 +5005,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class commitTx_resultStandardSchemeFactory implements SchemeFactory {
-      public commitTx_resultStandardScheme getScheme() {
-        return new commitTx_resultStandardScheme();
+    private static class startShortBatch_resultStandardSchemeFactory implements SchemeFactory {
+      public startShortBatch_resultStandardScheme getScheme() {
+        return new startShortBatch_resultStandardScheme();
       }
     }
 
-    private static class commitTx_resultStandardScheme extends StandardScheme<commitTx_result> {
+    private static class startShortBatch_resultStandardScheme extends StandardScheme<startShortBatch_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, commitTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, startShortBatch_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -4861,23 +5024,24 @@ public class TTransactionServer {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TBoolean();
-                struct.success.read(iprot);
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list38 = iprot.readListBegin();
+                  struct.success = new ArrayList<TTransaction>(_list38.size);
+                  for (int _i39 = 0; _i39 < _list38.size; ++_i39)
+                  {
+                    TTransaction _elem40; // required
+                    _elem40 = new TTransaction();
+                    _elem40.read(iprot);
+                    struct.success.add(_elem40);
+                  }
+                  iprot.readListEnd();
+                }
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
-            case 1: // E
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.e = new TTransactionNotInProgressException();
-                struct.e.read(iprot);
-                struct.setEIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -4889,18 +5053,20 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, commitTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, startShortBatch_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
         if (struct.success != null) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          struct.success.write(oprot);
-          oprot.writeFieldEnd();
-        }
-        if (struct.e != null) {
-          oprot.writeFieldBegin(E_FIELD_DESC);
-          struct.e.write(oprot);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.success.size()));
+            for (TTransaction _iter41 : struct.success)
+            {
+              _iter41.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -4909,68 +5075,75 @@ public class TTransactionServer {
 
     }
 
-    private static class commitTx_resultTupleSchemeFactory implements SchemeFactory {
-      public commitTx_resultTupleScheme getScheme() {
-        return new commitTx_resultTupleScheme();
+    private static class startShortBatch_resultTupleSchemeFactory implements SchemeFactory {
+      public startShortBatch_resultTupleScheme getScheme() {
+        return new startShortBatch_resultTupleScheme();
       }
     }
 
-    private static class commitTx_resultTupleScheme extends TupleScheme<commitTx_result> {
+    private static class startShortBatch_resultTupleScheme extends TupleScheme<startShortBatch_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, commitTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, startShortBatch_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
           optionals.set(0);
         }
-        if (struct.isSetE()) {
-          optionals.set(1);
-        }
-        oprot.writeBitSet(optionals, 2);
+        oprot.writeBitSet(optionals, 1);
         if (struct.isSetSuccess()) {
-          struct.success.write(oprot);
-        }
-        if (struct.isSetE()) {
-          struct.e.write(oprot);
+          {
+            oprot.writeI32(struct.success.size());
+            for (TTransaction _iter42 : struct.success)
+            {
+              _iter42.write(oprot);
+            }
+          }
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, commitTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, startShortBatch_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(2);
+        BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new TBoolean();
-          struct.success.read(iprot);
+          {
+            org.apache.thrift.protocol.TList _list43 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.success = new ArrayList<TTransaction>(_list43.size);
+            for (int _i44 = 0; _i44 < _list43.size; ++_i44)
+            {
+              TTransaction _elem45; // required
+              _elem45 = new TTransaction();
+              _elem45.read(iprot);
+              struct.success.add(_elem45);
+            }
+          }
           struct.setSuccessIsSet(true);
         }
-        if (incoming.get(1)) {
-          struct.e = new TTransactionNotInProgressException();
-          struct.e.read(iprot);
-          struct.setEIsSet(true);
-        }
       }
     }
 
   }
 
-  public static class abortTx_args implements org.apache.thrift.TBase<abortTx_args, abortTx_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("abortTx_args");
+  public static class canCommitTx_args implements org.apache.thrift.TBase<canCommitTx_args, canCommitTx_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("canCommitTx_args");
 
     private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField CHANGES_FIELD_DESC = new org.apache.thrift.protocol.TField("changes", org.apache.thrift.protocol.TType.SET, (short)2);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new abortTx_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new abortTx_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new canCommitTx_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new canCommitTx_argsTupleSchemeFactory());
     }
 
     public TTransaction tx; // required
+    public Set<ByteBuffer> changes; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      TX((short)1, "tx");
+      TX((short)1, "tx"),
+      CHANGES((short)2, "changes");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -4987,6 +5160,8 @@ public class TTransactionServer {
         switch(fieldId) {
           case 1: // TX
             return TX;
+          case 2: // CHANGES
+            return CHANGES;
           default:
             return null;
         }
@@ -5032,43 +5207,58 @@ public class TTransactionServer {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.TX, new org.apache.thrift.meta_data.FieldMetaData("tx", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
+      tmpMap.put(_Fields.CHANGES, new org.apache.thrift.meta_data.FieldMetaData("changes", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING              , true))));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(abortTx_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(canCommitTx_args.class, metaDataMap);
     }
 
-    public abortTx_args() {
+    public canCommitTx_args() {
     }
 
-    public abortTx_args(
-      TTransaction tx)
+    public canCommitTx_args(
+      TTransaction tx,
+      Set<ByteBuffer> changes)
     {
       this();
       this.tx = tx;
+      this.changes = changes;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public abortTx_args(abortTx_args other) {
+    public canCommitTx_args(canCommitTx_args other) {
       if (other.isSetTx()) {
         this.tx = new TTransaction(other.tx);
       }
+      if (other.isSetChanges()) {
+        Set<ByteBuffer> __this__changes = new HashSet<ByteBuffer>();
+        for (ByteBuffer other_element : other.changes) {
+          ByteBuffer temp_binary_element = org.apache.thrift.TBaseHelper.copyBinary(other_element);
+;
+          __this__changes.add(temp_binary_element);
+        }
+        this.changes = __this__changes;
+      }
     }
 
-    public abortTx_args deepCopy() {
-      return new abortTx_args(this);
+    public canCommitTx_args deepCopy() {
+      return new canCommitTx_args(this);
     }
 
     @Override
     public void clear() {
       this.tx = null;
+      this.changes = null;
     }
 
     public TTransaction getTx() {
       return this.tx;
     }
 
-    public abortTx_args setTx(TTransaction tx) {
+    public canCommitTx_args setTx(TTransaction tx) {
       this.tx = tx;
       return this;
     }
@@ -5088,6 +5278,45 @@ public class TTransactionServer {
       }
     }
 
+    public int getChangesSize() {
+      return (this.changes == null) ? 0 : this.changes.size();
+    }
+
+    public java.util.Iterator<ByteBuffer> getChangesIterator() {
+      return (this.changes == null) ? null : this.changes.iterator();
+    }
+
+    public void addToChanges(ByteBuffer elem) {
+      if (this.changes == null) {
+        this.changes = new HashSet<ByteBuffer>();
+      }
+      this.changes.add(elem);
+    }
+
+    public Set<ByteBuffer> getChanges() {
+      return this.changes;
+    }
+
+    public canCommitTx_args setChanges(Set<ByteBuffer> changes) {
+      this.changes = changes;
+      return this;
+    }
+
+    public void unsetChanges() {
+      this.changes = null;
+    }
+
+    /** Returns true if field changes is set (has been assigned a value) and false otherwise */
+    public boolean isSetChanges() {
+      return this.changes != null;
+    }
+
+    public void setChangesIsSet(boolean value) {
+      if (!value) {
+        this.changes = null;
+      }
+    }
+
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
       case TX:
@@ -5098,6 +5327,14 @@ public class TTransactionServer {
         }
         break;
 
+      case CHANGES:
+        if (value == null) {
+          unsetChanges();
+        } else {
+          setChanges((Set<ByteBuffer>)value);
+        }
+        break;
+
       }
     }
 
@@ -5106,6 +5343,9 @@ public class TTransactionServer {
       case TX:
         return getTx();
 
+      case CHANGES:
+        return getChanges();
+
       }
       throw new IllegalStateException();
     }
@@ -5119,6 +5359,8 @@ public class TTransactionServer {
       switch (field) {
       case TX:
         return isSetTx();
+      case CHANGES:
+        return isSetChanges();
       }
       throw new IllegalStateException();
     }
@@ -5127,12 +5369,12 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof abortTx_args)
-        return this.equals((abortTx_args)that);
+      if (that instanceof canCommitTx_args)
+        return this.equals((canCommitTx_args)that);
       return false;
     }
 
-    public boolean equals(abortTx_args that) {
+    public boolean equals(canCommitTx_args that) {
       if (that == null)
         return false;
 
@@ -5145,6 +5387,15 @@ public class TTransactionServer {
           return false;
       }
 
+      boolean this_present_changes = true && this.isSetChanges();
+      boolean that_present_changes = true && that.isSetChanges();
+      if (this_present_changes || that_present_changes) {
+        if (!(this_present_changes && that_present_changes))
+          return false;
+        if (!this.changes.equals(that.changes))
+          return false;
+      }
+
       return true;
     }
 
@@ -5153,13 +5404,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(abortTx_args other) {
+    public int compareTo(canCommitTx_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      abortTx_args typedOther = (abortTx_args)other;
+      canCommitTx_args typedOther = (canCommitTx_args)other;
 
       lastComparison = Boolean.valueOf(isSetTx()).compareTo(typedOther.isSetTx());
       if (lastComparison != 0) {
@@ -5171,6 +5422,16 @@ public class TTransactionServer {
           return lastComparison;
         }
       }
+      lastComparison = Boolean.valueOf(isSetChanges()).compareTo(typedOther.isSetChanges());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetChanges()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.changes, typedOther.changes);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -5188,7 +5449,7 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("abortTx_args(");
+      StringBuilder sb = new StringBuilder("canCommitTx_args(");
       boolean first = true;
 
       sb.append("tx:");
@@ -5198,6 +5459,14 @@ public class TTransactionServer {
         sb.append(this.tx);
       }
       first = false;
+      if (!first) sb.append(", ");
+      sb.append("changes:");
+      if (this.changes == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.changes);
+      }
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -5226,15 +5495,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class abortTx_argsStandardSchemeFactory implements SchemeFactory {
-      public abortTx_argsStandardScheme getScheme() {
-        return new abortTx_argsStandardScheme();
+    private static class canCommitTx_argsStandardSchemeFactory implements SchemeFactory {
+      public canCommitTx_argsStandardScheme getScheme() {
+        return new canCommitTx_argsStandardScheme();
       }
     }
 
-    private static class abortTx_argsStandardScheme extends StandardScheme<abortTx_args> {
+    private static class canCommitTx_argsStandardScheme extends StandardScheme<canCommitTx_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, abortTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, canCommitTx_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -5253,6 +5522,24 @@ public class TTransactionServer {
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
+            case 2: // CHANGES
+              if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
+                {
+                  org.apache.thrift.protocol.TSet _set24 = iprot.readSetBegin();
+                  struct.changes = new HashSet<ByteBuffer>(2*_set24.size);
+                  for (int _i25 = 0; _i25 < _set24.size; ++_i25)
+                  {
+                    ByteBuffer _elem26; // required
+                    _elem26 = iprot.readBinary();
+                    struct.changes.add(_elem26);
+                  }
+                  iprot.readSetEnd();
+                }
+                struct.setChangesIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -5264,7 +5551,7 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, abortTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, canCommitTx_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -5273,61 +5560,103 @@ public class TTransactionServer {
           struct.tx.write(oprot);
           oprot.writeFieldEnd();
         }
+        if (struct.changes != null) {
+          oprot.writeFieldBegin(CHANGES_FIELD_DESC);
+          {
+            oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.changes.size()));
+            for (ByteBuffer _iter27 : struct.changes)
+            {
+              oprot.writeBinary(_iter27);
+            }
+            oprot.writeSetEnd();
+          }
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class abortTx_argsTupleSchemeFactory implements SchemeFactory {
-      public abortTx_argsTupleScheme getScheme() {
-        return new abortTx_argsTupleScheme();
+    private static class canCommitTx_argsTupleSchemeFactory implements SchemeFactory {
+      public canCommitTx_argsTupleScheme getScheme() {
+        return new canCommitTx_argsTupleScheme();
       }
     }
 
-    private static class abortTx_argsTupleScheme extends TupleScheme<abortTx_args> {
+    private static class canCommitTx_argsTupleScheme extends TupleScheme<canCommitTx_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, abortTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, canCommitTx_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetTx()) {
           optionals.set(0);
         }
-        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetChanges()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
         if (struct.isSetTx()) {
           struct.tx.write(oprot);
         }
+        if (struct.isSetChanges()) {
+          {
+            oprot.writeI32(struct.changes.size());
+            for (ByteBuffer _iter28 : struct.changes)
+            {
+              oprot.writeBinary(_iter28);
+            }
+          }
+        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, abortTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, canCommitTx_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(1);
+        BitSet incoming = iprot.readBitSet(2);
         if (incoming.get(0)) {
           struct.tx = new TTransaction();
           struct.tx.read(iprot);
           struct.setTxIsSet(true);
         }
+        if (incoming.get(1)) {
+          {
+            org.apache.thrift.protocol.TSet _set29 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+            struct.changes = new HashSet<ByteBuffer>(2*_set29.size);
+            for (int _i30 = 0; _i30 < _set29.size; ++_i30)
+            {
+              ByteBuffer _elem31; // required
+              _elem31 = iprot.readBinary();
+              struct.changes.add(_elem31);
+            }
+          }
+          struct.setChangesIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class abortTx_result implements org.apache.thrift.TBase<abortTx_result, abortTx_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("abortTx_result");
+  public static class canCommitTx_result implements org.apache.thrift.TBase<canCommitTx_result, canCommitTx_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("canCommitTx_result");
 
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new abortTx_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new abortTx_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new canCommitTx_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new canCommitTx_resultTupleSchemeFactory());
     }
 
+    public TBoolean success; // required
+    public TTransactionNotInProgressException e; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+      SUCCESS((short)0, "success"),
+      E((short)1, "e");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -5342,6 +5671,10 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // E
+            return E;
           default:
             return null;
         }
@@ -5380,37 +5713,130 @@ public class TTransactionServer {
         return _fieldName;
       }
     }
+
+    // isset id assignments
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBoolean.class)));
+      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(abortTx_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(canCommitTx_result.class, metaDataMap);
     }
 
-    public abortTx_result() {
+    public canCommitTx_result() {
+    }
+
+    public canCommitTx_result(
+      TBoolean success,
+      TTransactionNotInProgressException e)
+    {
+      this();
+      this.success = success;
+      this.e = e;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public abortTx_result(abortTx_result other) {
+    public canCommitTx_result(canCommitTx_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new TBoolean(other.success);
+      }
+      if (other.isSetE()) {
+        this.e = new TTransactionNotInProgressException(other.e);
+      }
     }
 
-    public abortTx_result deepCopy() {
-      return new abortTx_result(this);
+    public canCommitTx_result deepCopy() {
+      return new canCommitTx_result(this);
     }
 
     @Override
     public void clear() {
+      this.success = null;
+      this.e = null;
+    }
+
+    public TBoolean getSuccess() {
+      return this.success;
+    }
+
+    public canCommitTx_result setSuccess(TBoolean success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public TTransactionNotInProgressException getE() {
+      return this.e;
+    }
+
+    public canCommitTx_result setE(TTransactionNotInProgressException e) {
+      this.e = e;
+      return this;
+    }
+
+    public void unsetE() {
+      this.e = null;
+    }
+
+    /** Returns true if field e is set (has been assigned a value) and false otherwise */
+    public boolean isSetE() {
+      return this.e != null;
+    }
+
+    public void setEIsSet(boolean value) {
+      if (!value) {
+        this.e = null;
+      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((TBoolean)value);
+        }
+        break;
+
+      case E:
+        if (value == null) {
+          unsetE();
+        } else {
+          setE((TTransactionNotInProgressException)value);
+        }
+        break;
+
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case E:
+        return getE();
+
       }
       throw new IllegalStateException();
     }
@@ -5422,6 +5848,10 @@ public class TTransactionServer {
       }
 
       switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case E:
+        return isSetE();
       }
       throw new IllegalStateException();
     }
@@ -5430,15 +5860,33 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof abortTx_result)
-        return this.equals((abortTx_result)that);
+      if (that instanceof canCommitTx_result)
+        return this.equals((canCommitTx_result)that);
       return false;
     }
 
-    public boolean equals(abortTx_result that) {
+    public boolean equals(canCommitTx_result that) {
       if (that == null)
         return false;
 
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e = true && this.isSetE();
+      boolean that_present_e = true && that.isSetE();
+      if (this_present_e || that_present_e) {
+        if (!(this_present_e && that_present_e))
+          return false;
+        if (!this.e.equals(that.e))
+          return false;
+      }
+
       return true;
     }
 
@@ -5447,14 +5895,34 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(abortTx_result other) {
+    public int compareTo(canCommitTx_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      abortTx_result typedOther = (abortTx_result)other;
+      canCommitTx_result typedOther = (canCommitTx_result)other;
 
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -5472,9 +5940,24 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("abortTx_result(");
+      StringBuilder sb = new StringBuilder("canCommitTx_result(");
       boolean first = true;
 
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e:");
+      if (this.e == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e);
+      }
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -5482,6 +5965,9 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -5500,15 +5986,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class abortTx_resultStandardSchemeFactory implements SchemeFactory {
-      public abortTx_resultStandardScheme getScheme() {
-        return new abortTx_resultStandardScheme();
+    private static class canCommitTx_resultStandardSchemeFactory implements SchemeFactory {
+      public canCommitTx_resultStandardScheme getScheme() {
+        return new canCommitTx_resultStandardScheme();
       }
     }
 
-    private static class abortTx_resultStandardScheme extends StandardScheme<abortTx_result> {
+    private static class canCommitTx_resultStandardScheme extends StandardScheme<canCommitTx_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, abortTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, canCommitTx_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -5518,6 +6004,24 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new TBoolean();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 1: // E
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e = new TTransactionNotInProgressException();
+                struct.e.read(iprot);
+                struct.setEIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -5529,49 +6033,84 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, abortTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, canCommitTx_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.e != null) {
+          oprot.writeFieldBegin(E_FIELD_DESC);
+          struct.e.write(oprot);
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class abortTx_resultTupleSchemeFactory implements SchemeFactory {
-      public abortTx_resultTupleScheme getScheme() {
-        return new abortTx_resultTupleScheme();
+    private static class canCommitTx_resultTupleSchemeFactory implements SchemeFactory {
+      public canCommitTx_resultTupleScheme getScheme() {
+        return new canCommitTx_resultTupleScheme();
       }
     }
 
-    private static class abortTx_resultTupleScheme extends TupleScheme<abortTx_result> {
+    private static class canCommitTx_resultTupleScheme extends TupleScheme<canCommitTx_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, abortTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, canCommitTx_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        if (struct.isSetE()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+        if (struct.isSetE()) {
+          struct.e.write(oprot);
+        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, abortTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, canCommitTx_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.success = new TBoolean();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.e = new TTransactionNotInProgressException();
+          struct.e.read(iprot);
+          struct.setEIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class invalidateTx_args implements org.apache.thrift.TBase<invalidateTx_args, invalidateTx_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("invalidateTx_args");
+  public static class commitTx_args implements org.apache.thrift.TBase<commitTx_args, commitTx_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("commitTx_args");
 
-    private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.I64, (short)1);
+    private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new invalidateTx_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new invalidateTx_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new commitTx_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new commitTx_argsTupleSchemeFactory());
     }
 
-    public long tx; // required
+    public TTransaction tx; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -5632,67 +6171,65 @@ public class TTransactionServer {
     }
 
     // isset id assignments
-    private static final int __TX_ISSET_ID = 0;
-    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.TX, new org.apache.thrift.meta_data.FieldMetaData("tx", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(invalidateTx_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(commitTx_args.class, metaDataMap);
     }
 
-    public invalidateTx_args() {
+    public commitTx_args() {
     }
 
-    public invalidateTx_args(
-      long tx)
+    public commitTx_args(
+      TTransaction tx)
     {
       this();
       this.tx = tx;
-      setTxIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public invalidateTx_args(invalidateTx_args other) {
-      __isset_bitfield = other.__isset_bitfield;
-      this.tx = other.tx;
+    public commitTx_args(commitTx_args other) {
+      if (other.isSetTx()) {
+        this.tx = new TTransaction(other.tx);
+      }
     }
 
-    public invalidateTx_args deepCopy() {
-      return new invalidateTx_args(this);
+    public commitTx_args deepCopy() {
+      return new commitTx_args(this);
     }
 
     @Override
     public void clear() {
-      setTxIsSet(false);
-      this.tx = 0;
+      this.tx = null;
     }
 
-    public long getTx() {
+    public TTransaction getTx() {
       return this.tx;
     }
 
-    public invalidateTx_args setTx(long tx) {
+    public commitTx_args setTx(TTransaction tx) {
       this.tx = tx;
-      setTxIsSet(true);
       return this;
     }
 
     public void unsetTx() {
-      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __TX_ISSET_ID);
+      this.tx = null;
     }
 
     /** Returns true if field tx is set (has been assigned a value) and false otherwise */
     public boolean isSetTx() {
-      return EncodingUtils.testBit(__isset_bitfield, __TX_ISSET_ID);
+      return this.tx != null;
     }
 
     public void setTxIsSet(boolean value) {
-      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __TX_ISSET_ID, value);
+      if (!value) {
+        this.tx = null;
+      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
@@ -5701,7 +6238,7 @@ public class TTransactionServer {
         if (value == null) {
           unsetTx();
         } else {
-          setTx((Long)value);
+          setTx((TTransaction)value);
         }
         break;
 
@@ -5711,7 +6248,7 @@ public class TTransactionServer {
     public Object getFieldValue(_Fields field) {
       switch (field) {
       case TX:
-        return Long.valueOf(getTx());
+        return getTx();
 
       }
       throw new IllegalStateException();
@@ -5734,21 +6271,21 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof invalidateTx_args)
-        return this.equals((invalidateTx_args)that);
+      if (that instanceof commitTx_args)
+        return this.equals((commitTx_args)that);
       return false;
     }
 
-    public boolean equals(invalidateTx_args that) {
+    public boolean equals(commitTx_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_tx = true;
-      boolean that_present_tx = true;
+      boolean this_present_tx = true && this.isSetTx();
+      boolean that_present_tx = true && that.isSetTx();
       if (this_present_tx || that_present_tx) {
         if (!(this_present_tx && that_present_tx))
           return false;
-        if (this.tx != that.tx)
+        if (!this.tx.equals(that.tx))
           return false;
       }
 
@@ -5760,13 +6297,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(invalidateTx_args other) {
+    public int compareTo(commitTx_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      invalidateTx_args typedOther = (invalidateTx_args)other;
+      commitTx_args typedOther = (commitTx_args)other;
 
       lastComparison = Boolean.valueOf(isSetTx()).compareTo(typedOther.isSetTx());
       if (lastComparison != 0) {
@@ -5795,11 +6332,15 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("invalidateTx_args(");
+      StringBuilder sb = new StringBuilder("commitTx_args(");
       boolean first = true;
 
       sb.append("tx:");
-      sb.append(this.tx);
+      if (this.tx == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.tx);
+      }
       first = false;
       sb.append(")");
       return sb.toString();
@@ -5808,6 +6349,9 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
+      if (tx != null) {
+        tx.validate();
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -5820,23 +6364,21 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class invalidateTx_argsStandardSchemeFactory implements SchemeFactory {
-      public invalidateTx_argsStandardScheme getScheme() {
-        return new invalidateTx_argsStandardScheme();
+    private static class commitTx_argsStandardSchemeFactory implements SchemeFactory {
+      public commitTx_argsStandardScheme getScheme() {
+        return new commitTx_argsStandardScheme();
       }
     }
 
-    private static class invalidateTx_argsStandardScheme extends StandardScheme<invalidateTx_args> {
+    private static class commitTx_argsStandardScheme extends StandardScheme<commitTx_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, invalidateTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, commitTx_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -5847,8 +6389,9 @@ public class TTransactionServer {
           }
           switch (schemeField.id) {
             case 1: // TX
-              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
-                struct.tx = iprot.readI64();
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.tx = new TTransaction();
+                struct.tx.read(iprot);
                 struct.setTxIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
@@ -5865,29 +6408,31 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, invalidateTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, commitTx_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        oprot.writeFieldBegin(TX_FIELD_DESC);
-        oprot.writeI64(struct.tx);
-        oprot.writeFieldEnd();
+        if (struct.tx != null) {
+          oprot.writeFieldBegin(TX_FIELD_DESC);
+          struct.tx.write(oprot);
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class invalidateTx_argsTupleSchemeFactory implements SchemeFactory {
-      public invalidateTx_argsTupleScheme getScheme() {
-        return new invalidateTx_argsTupleScheme();
+    private static class commitTx_argsTupleSchemeFactory implements SchemeFactory {
+      public commitTx_argsTupleScheme getScheme() {
+        return new commitTx_argsTupleScheme();
       }
     }
 
-    private static class invalidateTx_argsTupleScheme extends TupleScheme<invalidateTx_args> {
+    private static class commitTx_argsTupleScheme extends TupleScheme<commitTx_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, invalidateTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, commitTx_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetTx()) {
@@ -5895,16 +6440,17 @@ public class TTransactionServer {
         }
         oprot.writeBitSet(optionals, 1);
         if (struct.isSetTx()) {
-          oprot.writeI64(struct.tx);
+          struct.tx.write(oprot);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, invalidateTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, commitTx_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.tx = iprot.readI64();
+          struct.tx = new TTransaction();
+          struct.tx.read(iprot);
           struct.setTxIsSet(true);
         }
       }
@@ -5912,22 +6458,25 @@ public class TTransactionServer {
 
   }
 
-  public static class invalidateTx_result implements org.apache.thrift.TBase<invalidateTx_result, invalidateTx_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("invalidateTx_result");
+  public static class commitTx_result implements org.apache.thrift.TBase<commitTx_result, commitTx_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("commitTx_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.BOOL, (short)0);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new invalidateTx_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new invalidateTx_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new commitTx_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new commitTx_resultTupleSchemeFactory());
     }
 
-    public boolean success; // required
+    public TBoolean success; // required
+    public TTransactionNotInProgressException e; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      SUCCESS((short)0, "success");
+      SUCCESS((short)0, "success"),
+      E((short)1, "e");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -5944,6 +6493,8 @@ public class TTransactionServer {
         switch(fieldId) {
           case 0: // SUCCESS
             return SUCCESS;
+          case 1: // E
+            return E;
           default:
             return null;
         }
@@ -5984,67 +6535,97 @@ public class TTransactionServer {
     }
 
     // isset id assignments
-    private static final int __SUCCESS_ISSET_ID = 0;
-    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBoolean.class)));
+      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(invalidateTx_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(commitTx_result.class, metaDataMap);
     }
 
-    public invalidateTx_result() {
+    public commitTx_result() {
     }
 
-    public invalidateTx_result(
-      boolean success)
+    public commitTx_result(
+      TBoolean success,
+      TTransactionNotInProgressException e)
     {
       this();
       this.success = success;
-      setSuccessIsSet(true);
+      this.e = e;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public invalidateTx_result(invalidateTx_result other) {
-      __isset_bitfield = other.__isset_bitfield;
-      this.success = other.success;
+    public commitTx_result(commitTx_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new TBoolean(other.success);
+      }
+      if (other.isSetE()) {
+        this.e = new TTransactionNotInProgressException(other.e);
+      }
     }
 
-    public invalidateTx_result deepCopy() {
-      return new invalidateTx_result(this);
+    public commitTx_result deepCopy() {
+      return new commitTx_result(this);
     }
 
     @Override
     public void clear() {
-      setSuccessIsSet(false);
-      this.success = false;
+      this.success = null;
+      this.e = null;
     }
 
-    public boolean isSuccess() {
+    public TBoolean getSuccess() {
       return this.success;
     }
 
-    public invalidateTx_result setSuccess(boolean success) {
+    public commitTx_result setSuccess(TBoolean success) {
       this.success = success;
-      setSuccessIsSet(true);
       return this;
     }
 
     public void unsetSuccess() {
-      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+      this.success = null;
     }
 
     /** Returns true if field success is set (has been assigned a value) and false otherwise */
     public boolean isSetSuccess() {
-      return EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+      return this.success != null;
     }
 
     public void setSuccessIsSet(boolean value) {
-      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public TTransactionNotInProgressException getE() {
+      return this.e;
+    }
+
+    public commitTx_result setE(TTransactionNotInProgressException e) {
+      this.e = e;
+      return this;
+    }
+
+    public void unsetE() {
+      this.e = null;
+    }
+
+    /** Returns true if field e is set (has been assigned a value) and false otherwise */
+    public boolean isSetE() {
+      return this.e != null;
+    }
+
+    public void setEIsSet(boolean value) {
+      if (!value) {
+        this.e = null;
+      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
@@ -6053,7 +6634,15 @@ public class TTransactionServer {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((Boolean)value);
+          setSuccess((TBoolean)value);
+        }
+        break;
+
+      case E:
+        if (value == null) {
+          unsetE();
+        } else {
+          setE((TTransactionNotInProgressException)value);
         }
         break;
 
@@ -6063,7 +6652,10 @@ public class TTransactionServer {
     public Object getFieldValue(_Fields field) {
       switch (field) {
       case SUCCESS:
-        return Boolean.valueOf(isSuccess());
+        return getSuccess();
+
+      case E:
+        return getE();
 
       }
       throw new IllegalStateException();
@@ -6078,6 +6670,8 @@ public class TTransactionServer {
       switch (field) {
       case SUCCESS:
         return isSetSuccess();
+      case E:
+        return isSetE();
       }
       throw new IllegalStateException();
     }
@@ -6086,21 +6680,30 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof invalidateTx_result)
-        return this.equals((invalidateTx_result)that);
+      if (that instanceof commitTx_result)
+        return this.equals((commitTx_result)that);
       return false;
     }
 
-    public boolean equals(invalidateTx_result that) {
+    public boolean equals(commitTx_result that) {
       if (that == null)
         return false;
 
-      boolean this_present_success = true;
-      boolean that_present_success = true;
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
       if (this_present_success || that_present_success) {
         if (!(this_present_success && that_present_success))
           return false;
-        if (this.success != that.success)
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e = true && this.isSetE();
+      boolean that_present_e = true && that.isSetE();
+      if (this_present_e || that_present_e) {
+        if (!(this_present_e && that_present_e))
+          return false;
+        if (!this.e.equals(that.e))
           return false;
       }
 
@@ -6112,13 +6715,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(invalidateTx_result other) {
+    public int compareTo(commitTx_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      invalidateTx_result typedOther = (invalidateTx_result)other;
+      commitTx_result typedOther = (commitTx_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -6130,6 +6733,16 @@ public class TTransactionServer {
           return lastComparison;
         }
       }
+      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -6147,11 +6760,23 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("invalidateTx_result(");
+      StringBuilder sb = new StringBuilder("commitTx_result(");
       boolean first = true;
 
       sb.append("success:");
-      sb.append(this.success);
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e:");
+      if (this.e == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e);
+      }
       first = false;
       sb.append(")");
       return sb.toString();
@@ -6160,6 +6785,9 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -6172,23 +6800,21 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class invalidateTx_resultStandardSchemeFactory implements SchemeFactory {
-      public invalidateTx_resultStandardScheme getScheme() {
-        return new invalidateTx_resultStandardScheme();
+    private static class commitTx_resultStandardSchemeFactory implements SchemeFactory {
+      public commitTx_resultStandardScheme getScheme() {
+        return new commitTx_resultStandardScheme();
       }
     }
 
-    private static class invalidateTx_resultStandardScheme extends StandardScheme<invalidateTx_result> {
+    private static class commitTx_resultStandardScheme extends StandardScheme<commitTx_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, invalidateTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, commitTx_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -6199,13 +6825,23 @@ public class TTransactionServer {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
-                struct.success = iprot.readBool();
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new TBoolean();
+                struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
+            case 1: // E
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e = new TTransactionNotInProgressException();
+                struct.e.read(iprot);
+                struct.setEIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -6217,13 +6853,18 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, invalidateTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, commitTx_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.isSetSuccess()) {
+        if (struct.success != null) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          oprot.writeBool(struct.success);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.e != null) {
+          oprot.writeFieldBegin(E_FIELD_DESC);
+          struct.e.write(oprot);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -6232,54 +6873,71 @@ public class TTransactionServer {
 
     }
 
-    private static class invalidateTx_resultTupleSchemeFactory implements SchemeFactory {
-      public invalidateTx_resultTupleScheme getScheme() {
-        return new invalidateTx_resultTupleScheme();
+    private static class commitTx_resultTupleSchemeFactory implements SchemeFactory {
+      public commitTx_resultTupleScheme getScheme() {
+        return new commitTx_resultTupleScheme();
       }
     }
 
-    private static class invalidateTx_resultTupleScheme extends TupleScheme<invalidateTx_result> {
+    private static class commitTx_resultTupleScheme extends TupleScheme<commitTx_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, invalidateTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, commitTx_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
           optionals.set(0);
         }
-        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetE()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
         if (struct.isSetSuccess()) {
-          oprot.writeBool(struct.success);
+          struct.success.write(oprot);
+        }
+        if (struct.isSetE()) {
+          struct.e.write(oprot);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, invalidateTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, commitTx_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(1);
+        BitSet incoming = iprot.readBitSet(2);
         if (incoming.get(0)) {
-          struct.success = iprot.readBool();
+          struct.success = new TBoolean();
+          struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
+        if (incoming.get(1)) {
+          struct.e = new TTransactionNotInProgressException();
+          struct.e.read(iprot);
+          struct.setEIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class getSnapshot_args implements org.apache.thrift.TBase<getSnapshot_args, getSnapshot_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getSnapshot_args");
+  public static class commitWithChanges_args implements org.apache.thrift.TBase<commitWithChanges_args, commitWithChanges_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("commitWithChanges_args");
 
+    private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField CHANGES_FIELD_DESC = new org.apache.thrift.protocol.TField("changes", org.apache.thrift.protocol.TType.SET, (short)2);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new getSnapshot_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new getSnapshot_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new commitWithChanges_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new commitWithChanges_argsTupleSchemeFactory());
     }
 
+    public TTransaction tx; // required
+    public Set<ByteBuffer> changes; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+      TX((short)1, "tx"),
+      CHANGES((short)2, "changes");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -6294,6 +6952,10 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
+          case 1: // TX
+            return TX;
+          case 2: // CHANGES
+            return CHANGES;
           default:
             return null;
         }
@@ -6332,37 +6994,4192 @@ public class TTransactionServer {
         return _fieldName;
       }
     }
+
+    // isset id assignments
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.TX, new org.apache.thrift.meta_data.FieldMetaData("tx", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
+      tmpMap.put(_Fields.CHANGES, new org.apache.thrift.meta_data.FieldMetaData("changes", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING              , true))));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getSnapshot_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(commitWithChanges_args.class, metaDataMap);
     }
 
-    public getSnapshot_args() {
+    public commitWithChanges_args() {
+    }
+
+    public commitWithChanges_args(
+      TTransaction tx,
+      Set<ByteBuffer> changes)
+    {
+      this();
+      this.tx = tx;
+      this.changes = changes;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public getSnapshot_args(getSnapshot_args other) {
+    public commitWithChanges_args(commitWithChanges_args other) {
+      if (other.isSetTx()) {
+        this.tx = new TTransaction(other.tx);
+      }
+      if (other.isSetChanges()) {
+        Set<ByteBuffer> __this__changes = new HashSet<ByteBuffer>();
+        for (ByteBuffer other_element : other.changes) {
+          ByteBuffer temp_binary_element = org.apache.thrift.TBaseHelper.copyBinary(other_element);
+;
+          __this__changes.add(temp_binary_element);
+        }
+        this.changes = __this__changes;
+      }
+    }
+
+    public commitWithChanges_args deepCopy() {
+      return new commitWithChanges_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.tx = null;
+      this.changes = null;
+    }
+
+    public TTransaction getTx() {
+      return this.tx;
+    }
+
+    public commitWithChanges_args setTx(TTransaction tx) {
+      this.tx = tx;
+      return this;
+    }
+
+    public void unsetTx() {
+      this.tx = null;
+    }
+
+    /** Returns true if field tx is set (has been assigned a value) and false otherwise */
+    public boolean isSetTx() {
+      return this.tx != null;
+    }
+
+    public void setTxIsSet(boolean value) {
+      if (!value) {
+        this.tx = null;
+      }
+    }
+
+    public int getChangesSize() {
+      return (this.changes == null) ? 0 : this.changes.size();
+    }
+
+    public java.util.Iterator<ByteBuffer> getChangesIterator() {
+      return (this.changes == null) ? null : this.changes.iterator();
+    }
+
+    public void addToChanges(ByteBuffer elem) {
+      if (this.changes == null) {
+        this.changes = new HashSet<ByteBuffer>();
+      }
+      this.changes.add(elem);
+    }
+
+    public Set<ByteBuffer> getChanges() {
+      return this.changes;
+    }
+
+    public commitWithChanges_args setChanges(Set<ByteBuffer> changes) {
+      this.changes = changes;
+      return this;
+    }
+
+    public void unsetChanges() {
+      this.changes = null;
+    }
+
+    /** Returns true if field changes is set (has been assigned a value) and false otherwise */
+    public boolean isSetChanges() {
+      return this.changes != null;
+    }
+
+    public void setChangesIsSet(boolean value) {
+      if (!value) {
+        this.changes = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case TX:
+        if (value == null) {
+          unsetTx();
+        } else {
+          setTx((TTransaction)value);
+        }
+        break;
+
+      case CHANGES:
+        if (value == null) {
+          unsetChanges();
+        } else {
+          setChanges((Set<ByteBuffer>)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case TX:
+        return getTx();
+
+      case CHANGES:
+        return getChanges();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case TX:
+        return isSetTx();
+      case CHANGES:
+        return isSetChanges();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof commitWithChanges_args)
+        return this.equals((commitWithChanges_args)that);
+      return false;
+    }
+
+    public boolean equals(commitWithChanges_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_tx = true && this.isSetTx();
+      boolean that_present_tx = true && that.isSetTx();
+      if (this_present_tx || that_present_tx) {
+        if (!(this_present_tx && that_present_tx))
+          return false;
+        if (!this.tx.equals(that.tx))
+          return false;
+      }
+
+      boolean this_present_changes = true && this.isSetChanges();
+      boolean that_present_changes = true && that.isSetChanges();
+      if (this_present_changes || that_present_changes) {
+        if (!(this_present_changes && that_present_changes))
+          return false;
+        if (!this.changes.equals(that.changes))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(commitWithChanges_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      commitWithChanges_args typedOther = (commitWithChanges_args)other;
+
+      lastComparison = Boolean.valueOf(isSetTx()).compareTo(typedOther.isSetTx());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTx()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.tx, typedOther.tx);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetChanges()).compareTo(typedOther.isSetChanges());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetChanges()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.changes, typedOther.changes);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("commitWithChanges_args(");
+      boolean first = true;
+
+      sb.append("tx:");
+      if (this.tx == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.tx);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("changes:");
+      if (this.changes == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.changes);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (tx != null) {
+        tx.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class commitWithChanges_argsStandardSchemeFactory implements SchemeFactory {
+      public commitWithChanges_argsStandardScheme getScheme() {
+        return new commitWithChanges_argsStandardScheme();
+      }
+    }
+
+    private static class commitWithChanges_argsStandardScheme extends StandardScheme<commitWithChanges_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, commitWithChanges_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // TX
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.tx = new TTransaction();
+                struct.tx.read(iprot);
+                struct.setTxIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // CHANGES
+              if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
+                {
+                  org.apache.thrift.protocol.TSet _set24 = iprot.readSetBegin();
+                  struct.changes = new HashSet<ByteBuffer>(2*_set24.size);
+                  for (int _i25 = 0; _i25 < _set24.size; ++_i25)
+                  {
+                    ByteBuffer _elem26; // required
+                    _elem26 = iprot.readBinary();
+                    struct.changes.add(_elem26);
+                  }
+                  iprot.readSetEnd();
+                }
+                struct.setChangesIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, commitWithChanges_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.tx != null) {
+          oprot.writeFieldBegin(TX_FIELD_DESC);
+          struct.tx.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.changes != null) {
+          oprot.writeFieldBegin(CHANGES_FIELD_DESC);
+          {
+            oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.changes.size()));
+            for (ByteBuffer _iter27 : struct.changes)
+            {
+              oprot.writeBinary(_iter27);
+            }
+            oprot.writeSetEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class commitWithChanges_argsTupleSchemeFactory implements SchemeFactory {
+      public commitWithChanges_argsTupleScheme getScheme() {
+        return new commitWithChanges_argsTupleScheme();
+      }
+    }
+
+    private static class commitWithChanges_argsTupleScheme extends TupleScheme<commitWithChanges_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, commitWithChanges_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetTx()) {
+          optionals.set(0);
+        }
+        if (struct.isSetChanges()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetTx()) {
+          struct.tx.write(oprot);
+        }
+        if (struct.isSetChanges()) {
+          {
+            oprot.writeI32(struct.changes.size());
+            for (ByteBuffer _iter28 : struct.changes)
+            {
+              oprot.writeBinary(_iter28);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, commitWithChanges_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.tx = new TTransaction();
+          struct.tx.read(iprot);
+          struct.setTxIsSet(true);
+        }
+        if (incoming.get(1)) {
+          {
+            org.apache.thrift.protocol.TSet _set29 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+            struct.changes = new HashSet<ByteBuffer>(2*_set29.size);
+            for (int _i30 = 0; _i30 < _set29.size; ++_i30)
+            {
+              ByteBuffer _elem31; // required
+              _elem31 = iprot.readBinary();
+              struct.changes.add(_elem31);
+            }
+          }
+          struct.setChangesIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class commitWithChanges_result implements org.apache.thrift.TBase<commitWithChanges_result, commitWithChanges_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("commitWithChanges_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new commitWithChanges_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new commitWithChanges_resultTupleSchemeFactory());
+    }
+
+    public TBoolean success; // required
+    public TTransactionNotInProgressException e; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      E((short)1, "e");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // E
+            return E;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBoolean.class)));
+      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(commitWithChanges_result.class, metaDataMap);
+    }
+
+    public commitWithChanges_result() {
+    }
+
+    public commitWithChanges_result(
+      TBoolean success,
+      TTransactionNotInProgressException e)
+    {
+      this();
+      this.success = success;
+      this.e = e;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public commitWithChanges_result(commitWithChanges_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new TBoolean(other.success);
+      }
+      if (other.isSetE()) {
+        this.e = new TTransactionNotInProgressException(other.e);
+      }
+    }
+
+    public commitWithChanges_result deepCopy() {
+      return new commitWithChanges_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.e = null;
+    }
+
+    public TBoolean getSuccess() {
+      return this.success;
+    }
+
+    public commitWithChanges_result setSuccess(TBoolean success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public TTransactionNotInProgressException getE() {
+      return this.e;
+    }
+
+    public commitWithChanges_result setE(TTransactionNotInProgressException e) {
+      this.e = e;
+      return this;
+    }
+
+    public void unsetE() {
+      this.e = null;
+    }
+
+    /** Returns true if field e is set (has been assigned a value) and false otherwise */
+    public boolean isSetE() {
+      return this.e != null;
+    }
+
+    public void setEIsSet(boolean value) {
+      if (!value) {
+        this.e = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((TBoolean)value);
+        }
+        break;
+
+      case E:
+        if (value == null) {
+          unsetE();
+        } else {
+          setE((TTransactionNotInProgressException)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case E:
+        return getE();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case E:
+        return isSetE();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof commitWithChanges_result)
+        return this.equals((commitWithChanges_result)that);
+      return false;
+    }
+
+    public boolean equals(commitWithChanges_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e = true && this.isSetE();
+      boolean that_present_e = true && that.isSetE();
+      if (this_present_e || that_present_e) {
+        if (!(this_present_e && that_present_e))
+          return false;
+        if (!this.e.equals(that.e))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(commitWithChanges_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      commitWithChanges_result typedOther = (commitWithChanges_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("commitWithChanges_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e:");
+      if (this.e == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class commitWithChanges_resultStandardSchemeFactory implements SchemeFactory {
+      public commitWithChanges_resultStandardScheme getScheme() {
+        return new commitWithChanges_resultStandardScheme();
+      }
+    }
+
+    private static class commitWithChanges_resultStandardScheme extends StandardScheme<commitWithChanges_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, commitWithChanges_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new TBoolean();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 1: // E
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e = new TTransactionNotInProgressException();
+                struct.e.read(iprot);
+                struct.setEIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, commitWithChanges_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.e != null) {
+          oprot.writeFieldBegin(E_FIELD_DESC);
+          struct.e.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class commitWithChanges_resultTupleSchemeFactory implements SchemeFactory {
+      public commitWithChanges_resultTupleScheme getScheme() {
+        return new commitWithChanges_resultTupleScheme();
+      }
+    }
+
+    private static class commitWithChanges_resultTupleScheme extends TupleScheme<commitWithChanges_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, commitWithChanges_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        if (struct.isSetE()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+        if (struct.isSetE()) {
+          struct.e.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, commitWithChanges_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.success = new TBoolean();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.e = new TTransactionNotInProgressException();
+          struct.e.read(iprot);
+          struct.setEIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class abortTx_args implements org.apache.thrift.TBase<abortTx_args, abortTx_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("abortTx_args");
+
+    private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new abortTx_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new abortTx_argsTupleSchemeFactory());
+    }
+
+    public TTransaction tx; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      TX((short)1, "tx");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // TX
+            return TX;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.TX, new org.apache.thrift.meta_data.FieldMetaData("tx", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(abortTx_args.class, metaDataMap);
+    }
+
+    public abortTx_args() {
+    }
+
+    public abortTx_args(
+      TTransaction tx)
+    {
+      this();
+      this.tx = tx;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public abortTx_args(abortTx_args other) {
+      if (other.isSetTx()) {
+        this.tx = new TTransaction(other.tx);
+      }
+    }
+
+    public abortTx_args deepCopy() {
+      return new abortTx_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.tx = null;
+    }
+
+    public TTransaction getTx() {
+      return this.tx;
+    }
+
+    public abortTx_args setTx(TTransaction tx) {
+      this.tx = tx;
+      return this;
+    }
+
+    public void unsetTx() {
+      this.tx = null;
+    }
+
+    /** Returns true if field tx is set (has been assigned a value) and false otherwise */
+    public boolean isSetTx() {
+      return this.tx != null;
+    }
+
+    public void setTxIsSet(boolean value) {
+      if (!value) {
+        this.tx = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case TX:
+        if (value == null) {
+          unsetTx();
+        } else {
+          setTx((TTransaction)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case TX:
+        return getTx();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case TX:
+        return isSetTx();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof abortTx_args)
+        return this.equals((abortTx_args)that);
+      return false;
+    }
+
+    public boolean equals(abortTx_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_tx = true && this.isSetTx();
+      boolean that_present_tx = true && that.isSetTx();
+      if (this_present_tx || that_present_tx) {
+        if (!(this_present_tx && that_present_tx))
+          return false;
+        if (!this.tx.equals(that.tx))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(abortTx_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      abortTx_args typedOther = (abortTx_args)other;
+
+      lastComparison = Boolean.valueOf(isSetTx()).compareTo(typedOther.isSetTx());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTx()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.tx, typedOther.tx);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("abortTx_args(");
+      boolean first = true;
+
+      sb.append("tx:");
+      if (this.tx == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.tx);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (tx != null) {
+        tx.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class abortTx_argsStandardSchemeFactory implements SchemeFactory {
+      public abortTx_argsStandardScheme getScheme() {
+        return new abortTx_argsStandardScheme();
+      }
+    }
+
+    private static class abortTx_argsStandardScheme extends StandardScheme<abortTx_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, abortTx_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // TX
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.tx = new TTransaction();
+                struct.tx.read(iprot);
+                struct.setTxIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, abortTx_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.tx != null) {
+          oprot.writeFieldBegin(TX_FIELD_DESC);
+          struct.tx.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class abortTx_argsTupleSchemeFactory implements SchemeFactory {
+      public abortTx_argsTupleScheme getScheme() {
+        return new abortTx_argsTupleScheme();
+      }
+    }
+
+    private static class abortTx_argsTupleScheme extends TupleScheme<abortTx_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, abortTx_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetTx()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetTx()) {
+          struct.tx.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, abortTx_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.tx = new TTransaction();
+          struct.tx.read(iprot);
+          struct.setTxIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class abortTx_result implements org.apache.thrift.TBase<abortTx_result, abortTx_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("abortTx_result");
+
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new abortTx_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new abortTx_resultTupleSchemeFactory());
+    }
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(abortTx_result.class, metaDataMap);
+    }
+
+    public abortTx_result() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public abortTx_result(abortTx_result other) {
+    }
+
+    public abortTx_result deepCopy() {
+      return new abortTx_result(this);
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof abortTx_result)
+        return this.equals((abortTx_result)that);
+      return false;
+    }
+
+    public boolean equals(abortTx_result that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(abortTx_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      abortTx_result typedOther = (abortTx_result)other;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("abortTx_result(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class abortTx_resultStandardSchemeFactory implements SchemeFactory {
+      public abortTx_resultStandardScheme getScheme() {
+        return new abortTx_resultStandardScheme();
+      }
+    }
+
+    private static class abortTx_resultStandardScheme extends StandardScheme<abortTx_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, abortTx_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, abortTx_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class abortTx_resultTupleSchemeFactory implements SchemeFactory {
+      public abortTx_resultTupleScheme getScheme() {
+        return new abortTx_resultTupleScheme();
+      }
+    }
+
+    private static class abortTx_resultTupleScheme extends TupleScheme<abortTx_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, abortTx_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, abortTx_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+      }
+    }
+
+  }
+
+  public static class invalidateTx_args implements org.apache.thrift.TBase<invalidateTx_args, invalidateTx_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("invalidateTx_args");
+
+    private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.I64, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new invalidateTx_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new invalidateTx_argsTupleSchemeFactory());
+    }
+
+    public long tx; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      TX((short)1, "tx");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // TX
+            return TX;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __TX_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.TX, new org.apache.thrift.meta_data.FieldMetaData("tx", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(invalidateTx_args.class, metaDataMap);
+    }
+
+    public invalidateTx_args() {
+    }
+
+    public invalidateTx_args(
+      long tx)
+    {
+      this();
+      this.tx = tx;
+      setTxIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public invalidateTx_args(invalidateTx_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.tx = other.tx;
+    }
+
+    public invalidateTx_args deepCopy() {
+      return new invalidateTx_args(this);
+    }
+
+    @Override
+    public void clear() {
+      setTxIsSet(false);
+      this.tx = 0;
+    }
+
+    public long getTx() {
+      return this.tx;
+    }
+
+    public invalidateTx_args setTx(long tx) {
+      this.tx = tx;
+      setTxIsSet(true);
+      return this;
+    }
+
+    public void unsetTx() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __TX_ISSET_ID);
+    }
+
+    /** Returns true if field tx is set (has been assigned a value) and false otherwise */
+    public boolean isSetTx() {
+      return EncodingUtils.testBit(__isset_bitfield, __TX_ISSET_ID);
+    }
+
+    public void setTxIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __TX_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case TX:
+        if (value == null) {
+          unsetTx();
+        } else {
+          setTx((Long)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case TX:
+        return Long.valueOf(getTx());
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case TX:
+        return isSetTx();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof invalidateTx_args)
+        return this.equals((invalidateTx_args)that);
+      return false;
+    }
+
+    public boolean equals(invalidateTx_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_tx = true;
+      boolean that_present_tx = true;
+      if (this_present_tx || that_present_tx) {
+        if (!(this_present_tx && that_present_tx))
+          return false;
+        if (this.tx != that.tx)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(invalidateTx_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      invalidateTx_args typedOther = (invalidateTx_args)other;
+
+      lastComparison = Boolean.valueOf(isSetTx()).compareTo(typedOther.isSetTx());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTx()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.tx, typedOther.tx);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("invalidateTx_args(");
+      boolean first = true;
+
+      sb.append("tx:");
+      sb.append(this.tx);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class invalidateTx_argsStandardSchemeFactory implements SchemeFactory {
+      public invalidateTx_argsStandardScheme getScheme() {
+        return new invalidateTx_argsStandardScheme();
+      }
+    }
+
+    private static class invalidateTx_argsStandardScheme extends StandardScheme<invalidateTx_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, invalidateTx_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // TX
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.tx = iprot.readI64();
+                struct.setTxIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, invalidateTx_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(TX_FIELD_DESC);
+        oprot.writeI64(struct.tx);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class invalidateTx_argsTupleSchemeFactory implements SchemeFactory {
+      public invalidateTx_argsTupleScheme getScheme() {
+        return new invalidateTx_argsTupleScheme();
+      }
+    }
+
+    private static class invalidateTx_argsTupleScheme extends TupleScheme<invalidateTx_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, invalidateTx_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetTx()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetTx()) {
+          oprot.writeI64(struct.tx);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, invalidateTx_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.tx = iprot.readI64();
+          struct.setTxIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class invalidateTx_result implements org.apache.thrift.TBase<invalidateTx_result, invalidateTx_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("invalidateTx_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.BOOL, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new invalidateTx_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new invalidateTx_resultTupleSchemeFactory());
+    }
+
+    public boolean success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __SUCCESS_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(invalidateTx_result.class, metaDataMap);
+    }
+
+    public invalidateTx_result() {
+    }
+
+    public invalidateTx_result(
+      boolean success)
+    {
+      this();
+      this.success = success;
+      setSuccessIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public invalidateTx_result(invalidateTx_result other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.success = other.success;
+    }
+
+    public invalidateTx_result deepCopy() {
+      return new invalidateTx_result(this);
+    }
+
+    @Override
+    public void clear() {
+      setSuccessIsSet(false);
+      this.success = false;
+    }
+
+    public boolean isSuccess() {
+      return this.success;
+    }
+
+    public invalidateTx_result setSuccess(boolean success) {
+      this.success = success;
+      setSuccessIsSet(true);
+      return this;
+    }
+
+    public void unsetSuccess() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((Boolean)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return Boolean.valueOf(isSuccess());
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof invalidateTx_result)
+        return this.equals((invalidateTx_result)that);
+      return false;
+    }
+
+    public boolean equals(invalidateTx_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true;
+      boolean that_present_success = true;
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (this.success != that.success)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(invalidateTx_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      invalidateTx_result typedOther = (invalidateTx_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("invalidateTx_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      sb.append(this.success);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class invalidateTx_resultStandardSchemeFactory implements SchemeFactory {
+      public invalidateTx_resultStandardScheme getScheme() {
+        return new invalidateTx_resultStandardScheme();
+      }
+    }
+
+    private static class invalidateTx_resultStandardScheme extends StandardScheme<invalidateTx_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, invalidateTx_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+                struct.success = iprot.readBool();
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, invalidateTx_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.isSetSuccess()) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          oprot.writeBool(struct.success);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class invalidateTx_resultTupleSchemeFactory implements SchemeFactory {
+      public invalidateTx_resultTupleScheme getScheme() {
+        return new invalidateTx_resultTupleScheme();
+      }
+    }
+
+    private static class invalidateTx_resultTupleScheme extends TupleScheme<invalidateTx_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, invalidateTx_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          oprot.writeBool(struct.success);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, invalidateTx_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = iprot.readBool();
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class getSnapshot_args implements org.apache.thrift.TBase<getSnapshot_args, getSnapshot_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getSnapshot_args");
+
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new getSnapshot_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getSnapshot_argsTupleSchemeFactory());
+    }
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getSnapshot_args.class, metaDataMap);
+    }
+
+    public getSnapshot_args() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public getSnapshot_args(getSnapshot_args other) {
+    }
+
+    public getSnapshot_args deepCopy() {
+      return new getSnapshot_args(this);
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof getSnapshot_args)
+        return this.equals((getSnapshot_args)that);
+      return false;
+    }
+
+    public boolean equals(getSnapshot_args that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(getSnapshot_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      getSnapshot_args typedOther = (getSnapshot_args)other;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("getSnapshot_args(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class getSnapshot_argsStandardSchemeFactory implements SchemeFactory {
+      public getSnapshot_argsStandardScheme getScheme() {
+        return new getSnapshot_argsStandardScheme();
+      }
+    }
+
+    private static class getSnapshot_argsStandardScheme extends StandardScheme<getSnapshot_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getSnapshot_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getSnapshot_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class getSnapshot_argsTupleSchemeFactory implements SchemeFactory {
+      public getSnapshot_argsTupleScheme getScheme() {
+        return new getSnapshot_argsTupleScheme();
+      }
+    }
+
+    private static class getSnapshot_argsTupleScheme extends TupleScheme<getSnapshot_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, getSnapshot_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, getSnapshot_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+      }
+    }
+
+  }
+
+  public static class getSnapshot_result implements org.apache.thrift.TBase<getSnapshot_result, getSnapshot_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getSnapshot_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new getSnapshot_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getSnapshot_resultTupleSchemeFactory());
+    }
+
+    public ByteBuffer success; // required
+    public TTransactionCouldNotTakeSnapshotException e; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      E((short)1, "e");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // E
+            return E;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getSnapshot_result.class, metaDataMap);
+    }
+
+    public getSnapshot_result() {
+    }
+
+    public getSnapshot_result(
+      ByteBuffer success,
+      TTransactionCouldNotTakeSnapshotException e)
+    {
+      this();
+      this.success = success;
+      this.e = e;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public getSnapshot_result(getSnapshot_result other) {
+      if (other.isSetSuccess()) {
+        this.success = org.apache.thrift.TBaseHelper.copyBinary(other.success);
+;
+      }
+      if (other.isSetE()) {
+        this.e = new TTransactionCouldNotTakeSnapshotException(other.e);
+      }
+    }
+
+    public getSnapshot_result deepCopy() {
+      return new getSnapshot_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.e = null;
+    }
+
+    public byte[] getSuccess() {
+      setSuccess(org.apache.thrift.TBaseHelper.rightSize(success));
+      return success == null ? null : success.array();
+    }
+
+    public ByteBuffer bufferForSuccess() {
+      return success;
+    }
+
+    public getSnapshot_result setSuccess(byte[] success) {
+      setSuccess(success == null ? (ByteBuffer)null : ByteBuffer.wrap(success));
+      return this;
+    }
+
+    public getSnapshot_result setSuccess(ByteBuffer success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public TTransactionCouldNotTakeSnapshotException getE() {
+      return this.e;
+    }
+
+    public getSnapshot_result setE(TTransactionCouldNotTakeSnapshotException e) {
+      this.e = e;
+      return this;
+    }
+
+    public void unsetE() {
+      this.e = null;
+    }
+
+    /** Returns true if field e is set (has been assigned a value) and false otherwise */
+    public boolean isSetE() {
+      return this.e != null;
+    }
+
+    public void setEIsSet(boolean value) {
+      if (!value) {
+        this.e = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((ByteBuffer)value);
+        }
+        break;
+
+      case E:
+        if (value == null) {
+          unsetE();
+        } else {
+          setE((TTransactionCouldNotTakeSnapshotException)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case E:
+        return getE();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case E:
+        return isSetE();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof getSnapshot_result)
+        return this.equals((getSnapshot_result)that);
+      return false;
+    }
+
+    public boolean equals(getSnapshot_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e = true && this.isSetE();
+      boolean that_present_e = true && that.isSetE();
+      if (this_present_e || that_present_e) {
+        if (!(this_present_e && that_present_e))
+          return false;
+        if (!this.e.equals(that.e))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(getSnapshot_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      getSnapshot_result typedOther = (getSnapshot_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("getSnapshot_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.success, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e:");
+      if (this.e == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class getSnapshot_resultStandardSchemeFactory implements SchemeFactory {
+      public getSnapshot_resultStandardScheme getScheme() {
+        return new getSnapshot_resultStandardScheme();
+      }
+    }
+
+    private static class getSnapshot_resultStandardScheme extends StandardScheme<getSnapshot_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getSnapshot_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.success = iprot.readBinary();
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 1: // E
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e = new TTransactionCouldNotTakeSnapshotException();
+                struct.e.read(iprot);
+                struct.setEIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getSnapshot_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          oprot.writeBinary(struct.success);
+          oprot.writeFieldEnd();
+        }
+        if (struct.e != null) {
+          oprot.writeFieldBegin(E_FIELD_DESC);
+          struct.e.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class getSnapshot_resultTupleSchemeFactory implements SchemeFactory {
+      public getSnapshot_resultTupleScheme getScheme() {
+        return new getSnapshot_resultTupleScheme();
+      }
+    }
+
+    private static class getSnapshot_resultTupleScheme extends TupleScheme<getSnapshot_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, getSnapshot_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        if (struct.isSetE()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetSuccess()) {
+          oprot.writeBinary(struct.success);
+        }
+        if (struct.isSetE()) {
+          struct.e.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, getSnapshot_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.success = iprot.readBinary();
+          struct.setSuccessIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.e = new TTransactionCouldNotTakeSnapshotException();
+          struct.e.read(iprot);
+          struct.setEIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class resetState_args implements org.apache.thrift.TBase<resetState_args, resetState_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("resetState_args");
+
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new resetState_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new resetState_argsTupleSchemeFactory());
+    }
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(resetState_args.class, metaDataMap);
+    }
+
+    public resetState_args() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public resetState_args(resetState_args other) {
+    }
+
+    public resetState_args deepCopy() {
+      return new resetState_args(this);
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof resetState_args)
+        return this.equals((resetState_args)that);
+      return false;
+    }
+
+    public boolean equals(resetState_args that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(resetState_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      resetState_args typedOther = (resetState_args)other;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("resetState_args(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class resetState_argsStandardSchemeFactory implements SchemeFactory {
+      public resetState_argsStandardScheme getScheme() {
+        return new resetState_argsStandardScheme();
+      }
+    }
+
+    private static class resetState_argsStandardScheme extends StandardScheme<resetState_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, resetState_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, resetState_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class resetState_argsTupleSchemeFactory implements SchemeFactory {
+      public resetState_argsTupleScheme getScheme() {
+        return new resetState_argsTupleScheme();
+      }
+    }
+
+    private static class resetState_argsTupleScheme extends TupleScheme<resetState_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, resetState_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, resetState_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+      }
+    }
+
+  }
+
+  public static class resetState_result implements org.apache.thrift.TBase<resetState_result, resetState_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("resetState_result");
+
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new resetState_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new resetState_resultTupleSchemeFactory());
+    }
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(resetState_result.class, metaDataMap);
+    }
+
+    public resetState_result() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public resetState_result(resetState_result other) {
+    }
+
+    public resetState_result deepCopy() {
+      return new resetState_result(this);
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof resetState_result)
+        return this.equals((resetState_result)that);
+      return false;
+    }
+
+    public boolean equals(resetState_result that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(resetState_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      resetState_result typedOther = (resetState_result)other;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("resetState_result(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class resetState_resultStandardSchemeFactory implements SchemeFactory {
+      public resetState_resultStandardScheme getScheme() {
+        return new resetState_resultStandardScheme();
+      }
+    }
+
+    private static class resetState_resultStandardScheme extends StandardScheme<resetState_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, resetState_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, resetState_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class resetState_resultTupleSchemeFactory implements SchemeFactory {
+      public resetState_resultTupleScheme getScheme() {
+        return new resetState_resultTupleScheme();
+      }
+    }
+
+    private static class resetState_resultTupleScheme extends TupleScheme<resetState_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, resetState_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, resetState_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+      }
+    }
+
+  }
+
+  public static class status_args implements org.apache.thrift.TBase<status_args, status_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("status_args");
+
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new status_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new status_argsTupleSchemeFactory());
+    }
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(status_args.class, metaDataMap);
+    }
+
+    public status_args() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public status_args(status_args other) {
+    }
+
+    public status_args deepCopy() {
+      return new status_args(this);
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof status_args)
+        return this.equals((status_args)that);
+      return false;
+    }
+
+    public boolean equals(status_args that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(status_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      status_args typedOther = (status_args)other;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("status_args(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class status_argsStandardSchemeFactory implements SchemeFactory {
+      public status_argsStandardScheme getScheme() {
+        return new status_argsStandardScheme();
+      }
+    }
+
+    private static class status_argsStandardScheme extends StandardScheme<status_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, status_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, status_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class status_argsTupleSchemeFactory implements SchemeFactory {
+      public status_argsTupleScheme getScheme() {
+        return new status_argsTupleScheme();
+      }
+    }
+
+    private static class status_argsTupleScheme extends TupleScheme<status_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, status_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, status_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+      }
+    }
+
+  }
+
+  public static class status_result implements org.apache.thrift.TBase<status_result, status_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("status_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new status_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new status_resultTupleSchemeFactory());
+    }
+
+    public String success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(status_result.class, metaDataMap);
+    }
+
+    public status_result() {
+    }
+
+    public status_result(
+      String success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public status_result(status_result other) {
+      if (other.isSetSuccess()) {
+        this.success = other.success;
+      }
+    }
+
+    public status_result deepCopy() {
+      return new status_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public String getSuccess() {
+      return this.success;
+    }
+
+    public status_result setSuccess(String success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((String)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof status_result)
+        return this.equals((status_result)that);
+      return false;
+    }
+
+    public boolean equals(status_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(status_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      status_result typedOther = (status_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("status_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class status_resultStandardSchemeFactory implements SchemeFactory {
+      public status_resultStandardScheme getScheme() {
+        return new status_resultStandardScheme();
+      }
+    }
+
+    private static class status_resultStandardScheme extends StandardScheme<status_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, status_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.success = iprot.readString();
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, status_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          oprot.writeString(struct.success);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class status_resultTupleSchemeFactory implements SchemeFactory {
+      public status_resultTupleScheme getScheme() {
+        return new status_resultTupleScheme();
+      }
+    }
+
+    private static class status_resultTupleScheme extends TupleScheme<status_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, status_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          oprot.writeString(struct.success);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, status_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = iprot.readString();
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class truncateInvalidTx_args implements org.apache.thrift.TBase<truncateInvalidTx_args, truncateInvalidTx_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("truncateInvalidTx_args");
+
+    private static final org.apache.thrift.protocol.TField TXNS_FIELD_DESC = new org.apache.thrift.protocol.TField("txns", org.apache.thrift.protocol.TType.SET, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new truncateInvalidTx_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new truncateInvalidTx_argsTupleSchemeFactory());
+    }
+
+    public Set<Long> txns; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      TXNS((short)1, "txns");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // TXNS
+            return TXNS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.TXNS, new org.apache.thrift.meta_data.FieldMetaData("txns", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(truncateInvalidTx_args.class, metaDataMap);
+    }
+
+    public truncateInvalidTx_args() {
+    }
+
+    public truncateInvalidTx_args(
+      Set<Long> txns)
+    {
+      this();
+      this.txns = txns;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public truncateInvalidTx_args(truncateInvalidTx_args other) {
+      if (other.isSetTxns()) {
+        Set<Long> __this__txns = new HashSet<Long>();
+        for (Long other_element : other.txns) {
+          __this__txns.add(other_element);
+        }
+        this.txns = __this__txns;
+      }
+    }
+
+    public truncateInvalidTx_args deepCopy() {
+      return new truncateInvalidTx_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.txns = null;
+    }
+
+    public int getTxnsSize() {
+      return (this.txns == null) ? 0 : this.txns.size();
+    }
+
+    public java.util.Iterator<Long> getTxnsIterator() {
+      return (this.txns == null) ? null : this.txns.iterator();
+    }
+
+    public void addToTxns(long elem) {
+      if (this.txns == null) {
+        this.txns = new HashSet<Long>();
+      }
+      this.txns.add(elem);
+    }
+
+    public Set<Long> getTxns() {
+      return this.txns;
     }
 
-    public getSnapshot_args deepCopy() {
-      return new getSnapshot_args(this);
+    public truncateInvalidTx_args setTxns(Set<Long> txns) {
+      this.txns = txns;
+      return this;
     }
 
-    @Override
-    public void clear() {
+    public void unsetTxns() {
+      this.txns = null;
+    }
+
+    /** Returns true if field txns is set (has been assigned a value) and false otherwise */
+    public boolean isSetTxns() {
+      return this.txns != null;
+    }
+
+    public void setTxnsIsSet(boolean value) {
+      if (!value) {
+        this.txns = null;
+      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
+      case TXNS:
+        if (value == null) {
+          unsetTxns();
+        } else {
+          setTxns((Set<Long>)value);
+        }
+        break;
+
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
+      case TXNS:
+        return getTxns();
+
       }
       throw new IllegalStateException();
     }
@@ -6374,6 +11191,8 @@ public class TTransactionServer {
       }
 
       switch (field) {
+      case TXNS:
+        return isSetTxns();
       }
       throw new IllegalStateException();
     }
@@ -6382,15 +11201,24 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof getSnapshot_args)
-        return this.equals((getSnapshot_args)that);
+      if (that instanceof truncateInvalidTx_args)
+        return this.equals((truncateInvalidTx_args)that);
       return false;
     }
 
-    public boolean equals(getSnapshot_args that) {
+    public boolean equals(truncateInvalidTx_args that) {
       if (that == null)
         return false;
 
+      boolean this_present_txns = true && this.isSetTxns();
+      boolean that_present_txns = true && that.isSetTxns();
+      if (this_present_txns || that_present_txns) {
+        if (!(this_present_txns && that_present_txns))
+          return false;
+        if (!this.txns.equals(that.txns))
+          return false;
+      }
+
       return true;
     }
 
@@ -6399,14 +11227,24 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(getSnapshot_args other) {
+    public int compareTo(truncateInvalidTx_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      getSnapshot_args typedOther = (getSnapshot_args)other;
+      truncateInvalidTx_args typedOther = (truncateInvalidTx_args)other;
 
+      lastComparison = Boolean.valueOf(isSetTxns()).compareTo(typedOther.isSetTxns());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTxns()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.txns, typedOther.txns);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -6424,9 +11262,16 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("getSnapshot_args(");
+      StringBuilder sb = new StringBuilder("truncateInvalidTx_args(");
       boolean first = true;
 
+      sb.append("txns:");
+      if (this.txns == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.txns);
+      }
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -6452,15 +11297,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class getSnapshot_argsStandardSchemeFactory implements SchemeFactory {
-      public getSnapshot_argsStandardScheme getScheme() {
-        return new getSnapshot_argsStandardScheme();
+    private static class truncateInvalidTx_argsStandardSchemeFactory implements SchemeFactory {
+      public truncateInvalidTx_argsStandardScheme getScheme() {
+        return new truncateInvalidTx_argsStandardScheme();
       }
     }
 
-    private static class getSnapshot_argsStandardScheme extends StandardScheme<getSnapshot_args> {
+    private static class truncateInvalidTx_argsStandardScheme extends StandardScheme<truncateInvalidTx_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, getSnapshot_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, truncateInvalidTx_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -6470,6 +11315,24 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
+            case 1: // TXNS
+              if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
+                {
+                  org.apache.thrift.protocol.TSet _set32 = iprot.readSetBegin();
+                  struct.txns = new HashSet<Long>(2*_set32.size);
+                  for (int _i33 = 0; _i33 < _set32.size; ++_i33)
+                  {
+                    long _elem34; // required
+                    _elem34 = iprot.readI64();
+                    struct.txns.add(_elem34);
+                  }
+                  iprot.readSetEnd();
+                }
+                struct.setTxnsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -6481,56 +11344,93 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, getSnapshot_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, truncateInvalidTx_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.txns != null) {
+          oprot.writeFieldBegin(TXNS_FIELD_DESC);
+          {
+            oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.I64, struct.txns.size()));
+            for (long _iter35 : struct.txns)
+            {
+              oprot.writeI64(_iter35);
+            }
+            oprot.writeSetEnd();
+          }
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class getSnapshot_argsTupleSchemeFactory implements SchemeFactory {
-      public getSnapshot_argsTupleScheme getScheme() {
-        return new getSnapshot_argsTupleScheme();
+    private static class truncateInvalidTx_argsTupleSchemeFactory implements SchemeFactory {
+      public truncateInvalidTx_argsTupleScheme getScheme() {
+        return new truncateInvalidTx_argsTupleScheme();
       }
     }
 
-    private static class getSnapshot_argsTupleScheme extends TupleScheme<getSnapshot_args> {
+    private static class truncateInvalidTx_argsTupleScheme extends TupleScheme<truncateInvalidTx_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, getSnapshot_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTx_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetTxns()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetTxns()) {
+          {
+            oprot.writeI32(struct.txns.size());
+            for (long _iter36 : struct.txns)
+            {
+              oprot.writeI64(_iter36);
+            }
+          }
+        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, getSnapshot_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTx_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TSet _set37 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.I64, iprot.readI32());
+            struct.txns = new HashSet<Long>(2*_set37.size);
+            for (int _i38 = 0; _i38 < _set37.size; ++_i38)
+            {
+              long _elem39; // required
+              _elem39 = iprot.readI64();
+              struct.txns.add(_elem39);
+            }
+          }
+          struct.setTxnsIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class getSnapshot_result implements org.apache.thrift.TBase<getSnapshot_result, getSnapshot_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getSnapshot_result");
+  public static class truncateInvalidTx_result implements org.apache.thrift.TBase<truncateInvalidTx_result, truncateInvalidTx_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("truncateInvalidTx_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
-    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new getSnapshot_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new getSnapshot_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new truncateInvalidTx_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new truncateInvalidTx_resultTupleSchemeFactory());
     }
 
-    public ByteBuffer success; // required
-    public TTransactionCouldNotTakeSnapshotException e; // required
+    public TBoolean success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      SUCCESS((short)0, "success"),
-      E((short)1, "e");
+      SUCCESS((short)0, "success");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -6547,8 +11447,6 @@ public class TTransactionServer {
         switch(fieldId) {
           case 0: // SUCCESS
             return SUCCESS;
-          case 1: // E
-            return E;
           default:
             return null;
         }
@@ -6593,63 +11491,44 @@ public class TTransactionServer {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
-      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBoolean.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getSnapshot_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(truncateInvalidTx_result.class, metaDataMap);
     }
 
-    public getSnapshot_result() {
+    public truncateInvalidTx_result() {
     }
 
-    public getSnapshot_result(
-      ByteBuffer success,
-      TTransactionCouldNotTakeSnapshotException e)
+    public truncateInvalidTx_result(
+      TBoolean success)
     {
       this();
       this.success = success;
-      this.e = e;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public getSnapshot_result(getSnapshot_result other) {
+    public truncateInvalidTx_result(truncateInvalidTx_result other) {
       if (other.isSetSuccess()) {
-        this.success = org.apache.thrift.TBaseHelper.copyBinary(other.success);
-;
-      }
-      if (other.isSetE()) {
-        this.e = new TTransactionCouldNotTakeSnapshotException(other.e);
+        this.success = new TBoolean(other.success);
       }
     }
 
-    public getSnapshot_result deepCopy() {
-      return new getSnapshot_result(this);
+    public truncateInvalidTx_result deepCopy() {
+      return new truncateInvalidTx_result(this);
     }
 
     @Override
     public void clear() {
       this.success = null;
-      this.e = null;
-    }
-
-    public byte[] getSuccess() {
-      setSuccess(org.apache.thrift.TBaseHelper.rightSize(success));
-      return success == null ? null : success.array();
-    }
-
-    public ByteBuffer bufferForSuccess() {
-      return success;
     }
 
-    public getSnapshot_result setSuccess(byte[] success) {
-      setSuccess(success == null ? (ByteBuffer)null : ByteBuffer.wrap(success));
-      return this;
+    public TBoolean getSuccess() {
+      return this.success;
     }
 
-    public getSnapshot_result setSuccess(ByteBuffer success) {
+    public truncateInvalidTx_result setSuccess(TBoolean success) {
       this.success = success;
       return this;
     }
@@ -6669,45 +11548,13 @@ public class TTransactionServer {
       }
     }
 
-    public TTransactionCouldNotTakeSnapshotException getE() {
-      return this.e;
-    }
-
-    public getSnapshot_result setE(TTransactionCouldNotTakeSnapshotException e) {
-      this.e = e;
-      return this;
-    }
-
-    public void unsetE() {
-      this.e = null;
-    }
-
-    /** Returns true if field e is set (has been assigned a value) and false otherwise */
-    public boolean isSetE() {
-      return this.e != null;
-    }
-
-    public void setEIsSet(boolean value) {
-      if (!value) {
-        this.e = null;
-      }
-    }
-
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
       case SUCCESS:
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((ByteBuffer)value);
-        }
-        break;
-
-      case E:
-        if (value == null) {
-          unsetE();
-        } else {
-          setE((TTransactionCouldNotTakeSnapshotException)value);
+          setSuccess((TBoolean)value);
         }
         break;
 
@@ -6716,11 +11563,8 @@ public class TTransactionServer {
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case SUCCESS:
-        return getSuccess();
-
-      case E:
-        return getE();
+      case SUCCESS:
+        return getSuccess();
 
       }
       throw new IllegalStateException();
@@ -6735,8 +11579,6 @@ public class TTransactionServer {
       switch (field) {
       case SUCCESS:
         return isSetSuccess();
-      case E:
-        return isSetE();
       }
       throw new IllegalStateException();
     }
@@ -6745,12 +11587,12 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof getSnapshot_result)
-        return this.equals((getSnapshot_result)that);
+      if (that instanceof truncateInvalidTx_result)
+        return this.equals((truncateInvalidTx_result)that);
       return false;
     }
 
-    public boolean equals(getSnapshot_result that) {
+    public boolean equals(truncateInvalidTx_result that) {
       if (that == null)
         return false;
 
@@ -6763,15 +11605,6 @@ public class TTransactionServer {
           return false;
       }
 
-      boolean this_present_e = true && this.isSetE();
-      boolean that_present_e = true && that.isSetE();
-      if (this_present_e || that_present_e) {
-        if (!(this_present_e && that_present_e))
-          return false;
-        if (!this.e.equals(that.e))
-          return false;
-      }
-
       return true;
     }
 
@@ -6780,13 +11613,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(getSnapshot_result other) {
+    public int compareTo(truncateInvalidTx_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      getSnapshot_result typedOther = (getSnapshot_result)other;
+      truncateInvalidTx_result typedOther = (truncateInvalidTx_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -6798,16 +11631,6 @@ public class TTransactionServer {
           return lastComparison;
         }
       }
-      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetE()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
       return 0;
     }
 
@@ -6825,22 +11648,14 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("getSnapshot_result(");
+      StringBuilder sb = new StringBuilder("truncateInvalidTx_result(");
       boolean first = true;
 
       sb.append("success:");
       if (this.success == null) {
         sb.append("null");
       } else {
-        org.apache.thrift.TBaseHelper.toString(this.success, sb);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("e:");
-      if (this.e == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.e);
+        sb.append(this.success);
       }
       first = false;
       sb.append(")");
@@ -6850,6 +11665,9 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -6868,15 +11686,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class getSnapshot_resultStandardSchemeFactory implements SchemeFactory {
-      public getSnapshot_resultStandardScheme getScheme() {
-        return new getSnapshot_resultStandardScheme();
+    private static class truncateInvalidTx_resultStandardSchemeFactory implements SchemeFactory {
+      public truncateInvalidTx_resultStandardScheme getScheme() {
+        return new truncateInvalidTx_resultStandardScheme();
       }
     }
 
-    private static class getSnapshot_resultStandardScheme extends StandardScheme<getSnapshot_result> {
+    private static class truncateInvalidTx_resultStandardScheme extends StandardScheme<truncateInvalidTx_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, getSnapshot_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, truncateInvalidTx_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -6887,18 +11705,10 @@ public class TTransactionServer {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
-                struct.success = iprot.readBinary();
-                struct.setSuccessIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 1: // E
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.e = new TTransactionCouldNotTakeSnapshotException();
-                struct.e.read(iprot);
-                struct.setEIsSet(true);
+                struct.success = new TBoolean();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -6914,18 +11724,13 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, getSnapshot_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, truncateInvalidTx_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
         if (struct.success != null) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          oprot.writeBinary(struct.success);
-          oprot.writeFieldEnd();
-        }
-        if (struct.e != null) {
-          oprot.writeFieldBegin(E_FIELD_DESC);
-          struct.e.write(oprot);
+          struct.success.write(oprot);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -6934,65 +11739,57 @@ public class TTransactionServer {
 
     }
 
-    private static class getSnapshot_resultTupleSchemeFactory implements SchemeFactory {
-      public getSnapshot_resultTupleScheme getScheme() {
-        return new getSnapshot_resultTupleScheme();
+    private static class truncateInvalidTx_resultTupleSchemeFactory implements SchemeFactory {
+      public truncateInvalidTx_resultTupleScheme getScheme() {
+        return new truncateInvalidTx_resultTupleScheme();
       }
     }
 
-    private static class getSnapshot_resultTupleScheme extends TupleScheme<getSnapshot_result> {
+    private static class truncateInvalidTx_resultTupleScheme extends TupleScheme<truncateInvalidTx_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, getSnapshot_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTx_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
           optionals.set(0);
         }
-        if (struct.isSetE()) {
-          optionals.set(1);
-        }
-        oprot.writeBitSet(optionals, 2);
+        oprot.writeBitSet(optionals, 1);
         if (struct.isSetSuccess()) {
-          oprot.writeBinary(struct.success);
-        }
-        if (struct.isSetE()) {
-          struct.e.write(oprot);
+          struct.success.write(oprot);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, getSnapshot_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTx_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(2);
+        BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = iprot.readBinary();
+          struct.success = new TBoolean();
+          struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
-        if (incoming.get(1)) {
-          struct.e = new TTransactionCouldNotTakeSnapshotException();
-          struct.e.read(iprot);
-          struct.setEIsSet(true);
-        }
       }
     }
 
   }
 
-  public static class resetState_args implements org.apache.thrift.TBase<resetState_args, resetState_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("resetState_args");
+  public static class truncateInvalidTxBefore_args implements org.apache.thrift.TBase<truncateInvalidTxBefore_args, truncateInvalidTxBefore_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("truncateInvalidTxBefore_args");
 
+    private static final org.apache.thrift.protocol.TField TIME_FIELD_DESC = new org.apache.thrift.protocol.TField("time", org.apache.thrift.protocol.TType.I64, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new resetState_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new resetState_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new truncateInvalidTxBefore_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new truncateInvalidTxBefore_argsTupleSchemeFactory());
     }
 
+    public long time; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+      TIME((short)1, "time");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -7007,6 +11804,8 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
+          case 1: // TIME
+            return TIME;
           default:
             return null;
         }
@@ -7045,37 +11844,89 @@ public class TTransactionServer {
         return _fieldName;
       }
     }
+
+    // isset id assignments
+    private static final int __TIME_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.TIME, new org.apache.thrift.meta_data.FieldMetaData("time", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(resetState_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(truncateInvalidTxBefore_args.class, metaDataMap);
     }
 
-    public resetState_args() {
+    public truncateInvalidTxBefore_args() {
+    }
+
+    public truncateInvalidTxBefore_args(
+      long time)
+    {
+      this();
+      this.time = time;
+      setTimeIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public resetState_args(resetState_args other) {
+    public truncateInvalidTxBefore_args(truncateInvalidTxBefore_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.time = other.time;
     }
 
-    public resetState_args deepCopy() {
-      return new resetState_args(this);
+    public truncateInvalidTxBefore_args deepCopy() {
+      return new truncateInvalidTxBefore_args(this);
     }
 
     @Override
     public void clear() {
+      setTimeIsSet(false);
+      this.time = 0;
+    }
+
+    public long getTime() {
+      return this.time;
+    }
+
+    public truncateInvalidTxBefore_args setTime(long time) {
+      this.time = time;
+      setTimeIsSet(true);
+      return this;
+    }
+
+    public void unsetTime() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __TIME_ISSET_ID);
+    }
+
+    /** Returns true if field time is set (has been assigned a value) and false otherwise */
+    public boolean isSetTime() {
+      return EncodingUtils.testBit(__isset_bitfield, __TIME_ISSET_ID);
+    }
+
+    public void setTimeIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __TIME_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
+      case TIME:
+        if (value == null) {
+          unsetTime();
+        } else {
+          setTime((Long)value);
+        }
+        break;
+
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
+      case TIME:
+        return Long.valueOf(getTime());
+
       }
       throw new IllegalStateException();
     }
@@ -7087,6 +11938,8 @@ public class TTransactionServer {
       }
 
       switch (field) {
+      case TIME:
+        return isSetTime();
       }
       throw new IllegalStateException();
     }
@@ -7095,15 +11948,24 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof resetState_args)
-        return this.equals((resetState_args)that);
+      if (that instanceof truncateInvalidTxBefore_args)
+        return this.equals((truncateInvalidTxBefore_args)that);
       return false;
     }
 
-    public boolean equals(resetState_args that) {
+    public boolean equals(truncateInvalidTxBefore_args that) {
       if (that == null)
         return false;
 
+      boolean this_present_time = true;
+      boolean that_present_time = true;
+      if (this_present_time || that_present_time) {
+        if (!(this_present_time && that_present_time))
+          return false;
+        if (this.time != that.time)
+          return false;
+      }
+
       return true;
     }
 
@@ -7112,14 +11974,24 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(resetState_args other) {
+    public int compareTo(truncateInvalidTxBefore_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      resetState_args typedOther = (resetState_args)other;
+      truncateInvalidTxBefore_args typedOther = (truncateInvalidTxBefore_args)other;
 
+      lastComparison = Boolean.valueOf(isSetTime()).compareTo(typedOther.isSetTime());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTime()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.time, typedOther.time);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -7137,9 +12009,12 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("resetState_args(");
+      StringBuilder sb = new StringBuilder("truncateInvalidTxBefore_args(");
       boolean first = true;
 
+      sb.append("time:");
+      sb.append(this.time);
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -7159,21 +12034,23 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class resetState_argsStandardSchemeFactory implements SchemeFactory {
-      public resetState_argsStandardScheme getScheme() {
-        return new resetState_argsStandardScheme();
+    private static class truncateInvalidTxBefore_argsStandardSchemeFactory implements SchemeFactory {
+      public truncateInvalidTxBefore_argsStandardScheme getScheme() {
+        return new truncateInvalidTxBefore_argsStandardScheme();
       }
     }
 
-    private static class resetState_argsStandardScheme extends StandardScheme<resetState_args> {
+    private static class truncateInvalidTxBefore_argsStandardScheme extends StandardScheme<truncateInvalidTxBefore_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, resetState_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, truncateInvalidTxBefore_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -7183,6 +12060,14 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
+            case 1: // TIME
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.time = iprot.readI64();
+                struct.setTimeIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -7194,51 +12079,72 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, resetState_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, truncateInvalidTxBefore_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(TIME_FIELD_DESC);
+        oprot.writeI64(struct.time);
+        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class resetState_argsTupleSchemeFactory implements SchemeFactory {
-      public resetState_argsTupleScheme getScheme() {
-        return new resetState_argsTupleScheme();
+    private static class truncateInvalidTxBefore_argsTupleSchemeFactory implements SchemeFactory {
+      public truncateInvalidTxBefore_argsTupleScheme getScheme() {
+        return new truncateInvalidTxBefore_argsTupleScheme();
       }
     }
 
-    private static class resetState_argsTupleScheme extends TupleScheme<resetState_args> {
+    private static class truncateInvalidTxBefore_argsTupleScheme extends TupleScheme<truncateInvalidTxBefore_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, resetState_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTxBefore_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetTime()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetTime()) {
+          oprot.writeI64(struct.time);
+        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, resetState_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTxBefore_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.time = iprot.readI64();
+          struct.setTimeIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class resetState_result implements org.apache.thrift.TBase<resetState_result, resetState_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("resetState_result");
+  public static class truncateInvalidTxBefore_result implements org.apache.thrift.TBase<truncateInvalidTxBefore_result, truncateInvalidTxBefore_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("truncateInvalidTxBefore_result");
 
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new resetState_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new resetState_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new truncateInvalidTxBefore_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new truncateInvalidTxBefore_resultTupleSchemeFactory());
     }
 
+    public TBoolean success; // required
+    public TInvalidTruncateTimeException e; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+      SUCCESS((short)0, "success"),
+      E((short)1, "e");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -7253,6 +12159,10 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // E
+            return E;
           default:
             return null;
         }
@@ -7291,37 +12201,130 @@ public class TTransactionServer {
         return _fieldName;
       }
     }
+
+    // isset id assignments
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBoolean.class)));
+      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(resetState_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(truncateInvalidTxBefore_result.class, metaDataMap);
     }
 
-    public resetState_result() {
+    public truncateInvalidTxBefore_result() {
+    }
+
+    public truncateInvalidTxBefore_result(
+      TBoolean success,
+      TInvalidTruncateTimeException e)
+    {
+      this();
+      this.success = success;
+      this.e = e;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public resetState_result(resetState_result other) {
+    public truncateInvalidTxBefore_result(truncateInvalidTxBefore_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new TBoolean(other.success);
+      }
+      if (other.isSetE()) {
+        this.e = new TInvalidTruncateTimeException(other.e);
+      }
     }
 
-    public resetState_result deepCopy() {
-      return new resetState_result(this);
+    public truncateInvalidTxBefore_result deepCopy() {
+      return new truncateInvalidTxBefore_result(this);
     }
 
     @Override
     public void clear() {
+      this.success = null;
+      this.e = null;
+    }
+
+    public TBoolean getSuccess() {
+      return this.success;
+    }
+
+    public truncateInvalidTxBefore_result setSuccess(TBoolean success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public TInvalidTruncateTimeException getE() {
+      return this.e;
+    }
+
+    public truncateInvalidTxBefore_result setE(TInvalidTruncateTimeException e) {
+      this.e = e;
+      return this;
+    }
+
+    public void unsetE() {
+      this.e = null;
+    }
+
+    /** Returns true if field e is set (has been assigned a value) and false otherwise */
+    public boolean isSetE() {
+      return this.e != null;
+    }
+
+    public void setEIsSet(boolean value) {
+      if (!value) {
+        this.e = null;
+      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((TBoolean)value);
+        }
+        break;
+
+      case E:
+        if (value == null) {
+          unsetE();
+        } else {
+          setE((TInvalidTruncateTimeException)value);
+        }
+        break;
+
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case E:
+        return getE();
+
       }
       throw new IllegalStateException();
     }
@@ -7333,6 +12336,10 @@ public class TTransactionServer {
       }
 
       switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case E:
+        return isSetE();
       }
       throw new IllegalStateException();
     }
@@ -7341,15 +12348,33 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof resetState_result)
-        return this.equals((resetState_result)that);
+      if (that instanceof truncateInvalidTxBefore_result)
+        return this.equals((truncateInvalidTxBefore_result)that);
       return false;
     }
 
-    public boolean equals(resetState_result that) {
+    public boolean equals(truncateInvalidTxBefore_result that) {
       if (that == null)
         return false;
 
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e = true && this.isSetE();
+      boolean that_present_e = true && that.isSetE();
+      if (this_present_e || that_present_e) {
+        if (!(this_present_e && that_present_e))
+          return false;
+        if (!this.e.equals(that.e))
+          return false;
+      }
+
       return true;
     }
 
@@ -7358,14 +12383,34 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(resetState_result other) {
+    public int compareTo(truncateInvalidTxBefore_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      resetState_result typedOther = (resetState_result)other;
+      truncateInvalidTxBefore_result typedOther = (truncateInvalidTxBefore_result)other;
 
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -7383,9 +12428,24 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("resetState_result(");
+      StringBuilder sb = new StringBuilder("truncateInvalidTxBefore_result(");
       boolean first = true;
 
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e:");
+      if (this.e == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e);
+      }
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -7393,6 +12453,9 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -7411,15 +12474,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class resetState_resultStandardSchemeFactory implements SchemeFactory {
-      public resetState_resultStandardScheme getScheme() {
-        return new resetState_resultStandardScheme();
+    private static class truncateInvalidTxBefore_resultStandardSchemeFactory implements SchemeFactory {
+      public truncateInvalidTxBefore_resultStandardScheme getScheme() {
+        return new truncateInvalidTxBefore_resultStandardScheme();
       }
     }
 
-    private static class resetState_resultStandardScheme extends StandardScheme<resetState_result> {
+    private static class truncateInvalidTxBefore_resultStandardScheme extends StandardScheme<truncateInvalidTxBefore_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, resetState_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, truncateInvalidTxBefore_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -7429,6 +12492,24 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new TBoolean();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 1: // E
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e = new TInvalidTruncateTimeException();
+                struct.e.read(iprot);
+                struct.setEIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -7440,45 +12521,80 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, resetState_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, truncateInvalidTxBefore_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.e != null) {
+          oprot.writeFieldBegin(E_FIELD_DESC);
+          struct.e.write(oprot);
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class resetState_resultTupleSchemeFactory implements SchemeFactory {
-      public resetState_resultTupleScheme getScheme() {
-        return new resetState_resultTupleScheme();
+    private static class truncateInvalidTxBefore_resultTupleSchemeFactory implements SchemeFactory {
+      public truncateInvalidTxBefore_resultTupleScheme getScheme() {
+        return new truncateInvalidTxBefore_resultTupleScheme();
       }
     }
 
-    private static class resetState_resultTupleScheme extends TupleScheme<resetState_result> {
+    private static class truncateInvalidTxBefore_resultTupleScheme extends TupleScheme<truncateInvalidTxBefore_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, resetState_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTxBefore_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        if (struct.isSetE()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+        if (struct.isSetE()) {
+          struct.e.write(oprot);
+        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, resetState_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTxBefore_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.success = new TBoolean();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.e = new TInvalidTruncateTimeException();
+          struct.e.read(iprot);
+          struct.setEIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class status_args implements org.apache.thrift.TBase<status_args, status_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("status_args");
+  public static class invalidTxSize_args implements org.apache.thrift.TBase<invalidTxSize_args, invalidTxSize_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("invalidTxSize_args");
 
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new status_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new status_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new invalidTxSize_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new invalidTxSize_argsTupleSchemeFactory());
     }
 
 
@@ -7541,20 +12657,20 @@ public class TTransactionServer {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(status_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(invalidTxSize_args.class, metaDataMap);
     }
 
-    public status_args() {
+    public invalidTxSize_args() {
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public status_args(status_args other) {
+    public invalidTxSize_args(invalidTxSize_args other) {
     }
 
-    public status_args deepCopy() {
-      return new status_args(this);
+    public invalidTxSize_args deepCopy() {
+      return new invalidTxSize_args(this);
     }
 
     @Override
@@ -7587,12 +12703,12 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof status_args)
-        return this.equals((status_args)that);
+      if (that instanceof invalidTxSize_args)
+        return this.equals((invalidTxSize_args)that);
       return false;
     }
 
-    public boolean equals(status_args that) {
+    public boolean equals(invalidTxSize_args that) {
       if (that == null)
         return false;
 
@@ -7604,13 +12720,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(status_args other) {
+    public int compareTo(invalidTxSize_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      status_args typedOther = (status_args)other;
+      invalidTxSize_args typedOther = (invalidTxSize_args)other;
 
       return 0;
     }
@@ -7629,7 +12745,7 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("status_args(");
+      StringBuilder sb = new StringBuilder("invalidTxSize_args(");
       boolean first = true;
 
       sb.append(")");
@@ -7657,15 +12773,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class status_argsStandardSchemeFactory implements SchemeFactory {
-      public status_argsStandardScheme getScheme() {
-        return new status_argsStandardScheme();
+    private static class invalidTxSize_argsStandardSchemeFactory implements SchemeFactory {
+      public invalidTxSize_argsStandardScheme getScheme() {
+        return new invalidTxSize_argsStandardScheme();
       }
     }
 
-    private static class status_argsStandardScheme extends StandardScheme<status_args> {
+    private static class invalidTxSize_argsStandardScheme extends StandardScheme<invalidTxSize_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, status_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, invalidTxSize_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -7686,7 +12802,7 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, status_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, invalidTxSize_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -7696,39 +12812,39 @@ public class TTransactionServer {
 
     }
 
-    private static class status_argsTupleSchemeFactory implements SchemeFactory {
-      public status_argsTupleScheme getScheme() {
-        return new status_argsTupleScheme();
+    private static class invalidTxSize_argsTupleSchemeFactory implements SchemeFactory {
+      public invalidTxSize_argsTupleScheme getScheme() {
+        return new invalidTxSize_argsTupleScheme();
       }
     }
 
-    private static class status_argsTupleScheme extends TupleScheme<status_args> {
+    private static class invalidTxSize_argsTupleScheme extends TupleScheme<invalidTxSize_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, status_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, invalidTxSize_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, status_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, invalidTxSize_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
       }
     }
 
   }
 
-  public static class status_result implements org.apache.thrift.TBase<status_result, status_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("status_result");
+  public static class invalidTxSize_result implements org.apache.thrift.TBase<invalidTxSize_result, invalidTxSize_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("invalidTxSize_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.I32, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new status_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new status_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new invalidTxSize_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new invalidTxSize_resultTupleSchemeFactory());
     }
 
-    public String success; // required
+    public int success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -7789,65 +12905,67 @@ public class TTransactionServer {
     }
 
     // isset id assignments
+    private static final int __SUCCESS_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(status_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(invalidTxSize_result.class, metaDataMap);
     }
 
-    public status_result() {
+    public invalidTxSize_result() {
     }
 
-    public status_result(
-      String success)
+    public invalidTxSize_result(
+      int success)
     {
       this();
       this.success = success;
+      setSuccessIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public status_result(status_result other) {
-      if (other.isSetSuccess()) {
-        this.success = other.success;
-      }
+    public invalidTxSize_result(invalidTxSize_result other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.success = other.success;
     }
 
-    public status_result deepCopy() {
-      return new status_result(this);
+    public invalidTxSize_result deepCopy() {
+      return new invalidTxSize_result(this);
     }
 
     @Override
     public void clear() {
-      this.success = null;
+      setSuccessIsSet(false);
+      this.success = 0;
     }
 
-    public String getSuccess() {
+    public int getSuccess() {
       return this.success;
     }
 
-    public status_result setSuccess(String success) {
+    public invalidTxSize_result setSuccess(int success) {
       this.success = success;
+      setSuccessIsSet(true);
       return this;
     }
 
     public void unsetSuccess() {
-      this.success = null;
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
     }
 
     /** Returns true if field success is set (has been assigned a value) and false otherwise */
     public boolean isSetSuccess() {
-      return this.success != null;
+      return EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
     }
 
     public void setSuccessIsSet(boolean value) {
-      if (!value) {
-        this.success = null;
-      }
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, Object value) {
@@ -7856,7 +12974,7 @@ public class TTransactionServer {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((String)value);
+          setSuccess((Integer)value);
         }
         break;
 
@@ -7866,7 +12984,7 @@ public class TTransactionServer {
     public Object getFieldValue(_Fields field) {
       switch (field) {
       case SUCCESS:
-        return getSuccess();
+        return Integer.valueOf(getSuccess());
 
       }
       throw new IllegalStateException();
@@ -7889,21 +13007,21 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof status_result)
-        return this.equals((status_result)that);
+      if (that instanceof invalidTxSize_result)
+        return this.equals((invalidTxSize_result)that);
       return false;
     }
 
-    public boolean equals(status_result that) {
+    public boolean equals(invalidTxSize_result that) {
       if (that == null)
         return false;
 
-      boolean this_present_success = true && this.isSetSuccess();
-      boolean that_present_success = true && that.isSetSuccess();
+      boolean this_present_success = true;
+      boolean that_present_success = true;
       if (this_present_success || that_present_success) {
         if (!(this_present_success && that_present_success))
           return false;
-        if (!this.success.equals(that.success))
+        if (this.success != that.success)
           return false;
       }
 
@@ -7915,13 +13033,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(status_result other) {
+    public int compareTo(invalidTxSize_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      status_result typedOther = (status_result)other;
+      invalidTxSize_result typedOther = (invalidTxSize_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -7950,15 +13068,11 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("status_result(");
+      StringBuilder sb = new StringBuilder("invalidTxSize_result(");
       boolean first = true;
 
       sb.append("success:");
-      if (this.success == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.success);
-      }
+      sb.append(this.success);
       first = false;
       sb.append(")");
       return sb.toString();
@@ -7979,21 +13093,23 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class status_resultStandardSchemeFactory implements SchemeFactory {
-      public status_resultStandardScheme getScheme() {
-        return new status_resultStandardScheme();
+    private static class invalidTxSize_resultStandardSchemeFactory implements SchemeFactory {
+      public invalidTxSize_resultStandardScheme getScheme() {
+        return new invalidTxSize_resultStandardScheme();
       }
     }
 
-    private static class status_resultStandardScheme extends StandardScheme<status_result> {
+    private static class invalidTxSize_resultStandardScheme extends StandardScheme<invalidTxSize_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, status_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, invalidTxSize_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -8004,8 +13120,8 @@ public class TTransactionServer {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
-                struct.success = iprot.readString();
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.success = iprot.readI32();
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
@@ -8022,13 +13138,13 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, status_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, invalidTxSize_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.success != null) {
+        if (struct.isSetSuccess()) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          oprot.writeString(struct.success);
+          oprot.writeI32(struct.success);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -8037,16 +13153,16 @@ public class TTransactionServer {
 
     }
 
-    private static class status_resultTupleSchemeFactory implements SchemeFactory {
-      public status_resultTupleScheme getScheme() {
-        return new status_resultTupleScheme();
+    private static class invalidTxSize_resultTupleSchemeFactory implements SchemeFactory {
+      public invalidTxSize_resultTupleScheme getScheme() {
+        return new invalidTxSize_resultTupleScheme();
       }
     }
 
-    private static class status_resultTupleScheme extends TupleScheme<status_result> {
+    private static class invalidTxSize_resultTupleScheme extends TupleScheme<invalidTxSize_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, status_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, invalidTxSize_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -8054,16 +13170,16 @@ public class TTransactionServer {
         }
         oprot.writeBitSet(optionals, 1);
         if (struct.isSetSuccess()) {
-          oprot.writeString(struct.success);
+          oprot.writeI32(struct.success);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, status_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, invalidTxSize_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = iprot.readString();
+          struct.success = iprot.readI32();
           struct.setSuccessIsSet(true);
         }
       }
@@ -8071,22 +13187,22 @@ public class TTransactionServer {
 
   }
 
-  public static class truncateInvalidTx_args implements org.apache.thrift.TBase<truncateInvalidTx_args, truncateInvalidTx_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("truncateInvalidTx_args");
+  public static class checkpoint_args implements org.apache.thrift.TBase<checkpoint_args, checkpoint_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("checkpoint_args");
 
-    private static final org.apache.thrift.protocol.TField TXNS_FIELD_DESC = new org.apache.thrift.protocol.TField("txns", org.apache.thrift.protocol.TType.SET, (short)1);
+    private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new truncateInvalidTx_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new truncateInvalidTx_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new checkpoint_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new checkpoint_argsTupleSchemeFactory());
     }
 
-    public Set<Long> txns; // required
+    public TTransaction tx; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      TXNS((short)1, "txns");
+      TX((short)1, "tx");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -8101,8 +13217,8 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // TXNS
-            return TXNS;
+          case 1: // TX
+            return TX;
           default:
             return null;
         }
@@ -8146,91 +13262,71 @@ public class TTransactionServer {
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.TXNS, new org.apache.thrift.meta_data.FieldMetaData("txns", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
-              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64))));
+      tmpMap.put(_Fields.TX, new org.apache.thrift.meta_data.FieldMetaData("tx", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(truncateInvalidTx_args.class, metaDataMap);
-    }
-
-    public truncateInvalidTx_args() {
-    }
-
-    public truncateInvalidTx_args(
-      Set<Long> txns)
-    {
-      this();
-      this.txns = txns;
-    }
-
-    /**
-     * Performs a deep copy on <i>other</i>.
-     */
-    public truncateInvalidTx_args(truncateInvalidTx_args other) {
-      if (other.isSetTxns()) {
-        Set<Long> __this__txns = new HashSet<Long>();
-        for (Long other_element : other.txns) {
-          __this__txns.add(other_element);
-        }
-        this.txns = __this__txns;
-      }
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(checkpoint_args.class, metaDataMap);
     }
 
-    public truncateInvalidTx_args deepCopy() {
-      return new truncateInvalidTx_args(this);
+    public checkpoint_args() {
     }
 
-    @Override
-    public void clear() {
-      this.txns = null;
+    public checkpoint_args(
+      TTransaction tx)
+    {
+      this();
+      this.tx = tx;
     }
 
-    public int getTxnsSize() {
-      return (this.txns == null) ? 0 : this.txns.size();
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public checkpoint_args(checkpoint_args other) {
+      if (other.isSetTx()) {
+        this.tx = new TTransaction(other.tx);
+      }
     }
 
-    public java.util.Iterator<Long> getTxnsIterator() {
-      return (this.txns == null) ? null : this.txns.iterator();
+    public checkpoint_args deepCopy() {
+      return new checkpoint_args(this);
     }
 
-    public void addToTxns(long elem) {
-      if (this.txns == null) {
-        this.txns = new HashSet<Long>();
-      }
-      this.txns.add(elem);
+    @Override
+    public void clear() {
+      this.tx = null;
     }
 
-    public Set<Long> getTxns() {
-      return this.txns;
+    public TTransaction getTx() {
+      return this.tx;
     }
 
-    public truncateInvalidTx_args setTxns(Set<Long> txns) {
-      this.txns = txns;
+    public checkpoint_args setTx(TTransaction tx) {
+      this.tx = tx;
       return this;
     }
 
-    public void unsetTxns() {
-      this.txns = null;
+    public void unsetTx() {
+      this.tx = null;
     }
 
-    /** Returns true if field txns is set (has been assigned a value) and false otherwise */
-    public boolean isSetTxns() {
-      return this.txns != null;
+    /** Returns true if field tx is set (has been assigned a value) and false otherwise */
+    public boolean isSetTx() {
+      return this.tx != null;
     }
 
-    public void setTxnsIsSet(boolean value) {
+    public void setTxIsSet(boolean value) {
       if (!value) {
-        this.txns = null;
+        this.tx = null;
       }
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
-      case TXNS:
+      case TX:
         if (value == null) {
-          unsetTxns();
+          unsetTx();
         } else {
-          setTxns((Set<Long>)value);
+          setTx((TTransaction)value);
         }
         break;
 
@@ -8239,8 +13335,8 @@ public class TTransactionServer {
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case TXNS:
-        return getTxns();
+      case TX:
+        return getTx();
 
       }
       throw new IllegalStateException();
@@ -8253,8 +13349,8 @@ public class TTransactionServer {
       }
 
       switch (field) {
-      case TXNS:
-        return isSetTxns();
+      case TX:
+        return isSetTx();
       }
       throw new IllegalStateException();
     }
@@ -8263,21 +13359,21 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof truncateInvalidTx_args)
-        return this.equals((truncateInvalidTx_args)that);
+      if (that instanceof checkpoint_args)
+        return this.equals((checkpoint_args)that);
       return false;
     }
 
-    public boolean equals(truncateInvalidTx_args that) {
+    public boolean equals(checkpoint_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_txns = true && this.isSetTxns();
-      boolean that_present_txns = true && that.isSetTxns();
-      if (this_present_txns || that_present_txns) {
-        if (!(this_present_txns && that_present_txns))
+      boolean this_present_tx = true && this.isSetTx();
+      boolean that_present_tx = true && that.isSetTx();
+      if (this_present_tx || that_present_tx) {
+        if (!(this_present_tx && that_present_tx))
           return false;
-        if (!this.txns.equals(that.txns))
+        if (!this.tx.equals(that.tx))
           return false;
       }
 
@@ -8289,20 +13385,20 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(truncateInvalidTx_args other) {
+    public int compareTo(checkpoint_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      truncateInvalidTx_args typedOther = (truncateInvalidTx_args)other;
+      checkpoint_args typedOther = (checkpoint_args)other;
 
-      lastComparison = Boolean.valueOf(isSetTxns()).compareTo(typedOther.isSetTxns());
+      lastComparison = Boolean.valueOf(isSetTx()).compareTo(typedOther.isSetTx());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetTxns()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.txns, typedOther.txns);
+      if (isSetTx()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.tx, typedOther.tx);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -8324,14 +13420,14 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("truncateInvalidTx_args(");
+      StringBuilder sb = new StringBuilder("checkpoint_args(");
       boolean first = true;
 
-      sb.append("txns:");
-      if (this.txns == null) {
+      sb.append("tx:");
+      if (this.tx == null) {
         sb.append("null");
       } else {
-        sb.append(this.txns);
+        sb.append(this.tx);
       }
       first = false;
       sb.append(")");
@@ -8341,6 +13437,9 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
+      if (tx != null) {
+        tx.validate();
+      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -8359,15 +13458,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class truncateInvalidTx_argsStandardSchemeFactory implements SchemeFactory {
-      public truncateInvalidTx_argsStandardScheme getScheme() {
-        return new truncateInvalidTx_argsStandardScheme();
+    private static class checkpoint_argsStandardSchemeFactory implements SchemeFactory {
+      public checkpoint_argsStandardScheme getScheme() {
+        return new checkpoint_argsStandardScheme();
       }
     }
 
-    private static class truncateInvalidTx_argsStandardScheme extends StandardScheme<truncateInvalidTx_args> {
+    private static class checkpoint_argsStandardScheme extends StandardScheme<checkpoint_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, truncateInvalidTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, checkpoint_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -8377,20 +13476,11 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
-            case 1: // TXNS
-              if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
-                {
-                  org.apache.thrift.protocol.TSet _set32 = iprot.readSetBegin();
-                  struct.txns = new HashSet<Long>(2*_set32.size);
-                  for (int _i33 = 0; _i33 < _set32.size; ++_i33)
-                  {
-                    long _elem34; // required
-                    _elem34 = iprot.readI64();
-                    struct.txns.add(_elem34);
-                  }
-                  iprot.readSetEnd();
-                }
-                struct.setTxnsIsSet(true);
+            case 1: // TX
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.tx = new TTransaction();
+                struct.tx.read(iprot);
+                struct.setTxIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -8406,20 +13496,13 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, truncateInvalidTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, checkpoint_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.txns != null) {
-          oprot.writeFieldBegin(TXNS_FIELD_DESC);
-          {
-            oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.I64, struct.txns.size()));
-            for (long _iter35 : struct.txns)
-            {
-              oprot.writeI64(_iter35);
-            }
-            oprot.writeSetEnd();
-          }
+        if (struct.tx != null) {
+          oprot.writeFieldBegin(TX_FIELD_DESC);
+          struct.tx.write(oprot);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -8428,71 +13511,60 @@ public class TTransactionServer {
 
     }
 
-    private static class truncateInvalidTx_argsTupleSchemeFactory implements SchemeFactory {
-      public truncateInvalidTx_argsTupleScheme getScheme() {
-        return new truncateInvalidTx_argsTupleScheme();
+    private static class checkpoint_argsTupleSchemeFactory implements SchemeFactory {
+      public checkpoint_argsTupleScheme getScheme() {
+        return new checkpoint_argsTupleScheme();
       }
     }
 
-    private static class truncateInvalidTx_argsTupleScheme extends TupleScheme<truncateInvalidTx_args> {
+    private static class checkpoint_argsTupleScheme extends TupleScheme<checkpoint_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTx_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, checkpoint_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
-        if (struct.isSetTxns()) {
+        if (struct.isSetTx()) {
           optionals.set(0);
         }
         oprot.writeBitSet(optionals, 1);
-        if (struct.isSetTxns()) {
-          {
-            oprot.writeI32(struct.txns.size());
-            for (long _iter36 : struct.txns)
-            {
-              oprot.writeI64(_iter36);
-            }
-          }
+        if (struct.isSetTx()) {
+          struct.tx.write(oprot);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTx_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, checkpoint_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          {
-            org.apache.thrift.protocol.TSet _set37 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.I64, iprot.readI32());
-            struct.txns = new HashSet<Long>(2*_set37.size);
-            for (int _i38 = 0; _i38 < _set37.size; ++_i38)
-            {
-              long _elem39; // required
-              _elem39 = iprot.readI64();
-              struct.txns.add(_elem39);
-            }
-          }
-          struct.setTxnsIsSet(true);
+          struct.tx = new TTransaction();
+          struct.tx.read(iprot);
+          struct.setTxIsSet(true);
         }
       }
     }
 
   }
 
-  public static class truncateInvalidTx_result implements org.apache.thrift.TBase<truncateInvalidTx_result, truncateInvalidTx_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("truncateInvalidTx_result");
+  public static class checkpoint_result implements org.apache.thrift.TBase<checkpoint_result, checkpoint_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("checkpoint_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new truncateInvalidTx_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new truncateInvalidTx_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new checkpoint_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new checkpoint_resultTupleSchemeFactory());
     }
 
-    public TBoolean success; // required
+    public TTransaction success; // required
+    public TTransactionNotInProgressException e; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      SUCCESS((short)0, "success");
+      SUCCESS((short)0, "success"),
+      E((short)1, "e");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -8509,6 +13581,8 @@ public class TTransactionServer {
         switch(fieldId) {
           case 0: // SUCCESS
             return SUCCESS;
+          case 1: // E
+            return E;
           default:
             return null;
         }
@@ -8553,44 +13627,52 @@ public class TTransactionServer {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBoolean.class)));
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
+      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(truncateInvalidTx_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(checkpoint_result.class, metaDataMap);
     }
 
-    public truncateInvalidTx_result() {
+    public checkpoint_result() {
     }
 
-    public truncateInvalidTx_result(
-      TBoolean success)
+    public checkpoint_result(
+      TTransaction success,
+      TTransactionNotInProgressException e)
     {
       this();
       this.success = success;
+      this.e = e;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public truncateInvalidTx_result(truncateInvalidTx_result other) {
+    public checkpoint_result(checkpoint_result other) {
       if (other.isSetSuccess()) {
-        this.success = new TBoolean(other.success);
+        this.success = new TTransaction(other.success);
+      }
+      if (other.isSetE()) {
+        this.e = new TTransactionNotInProgressException(other.e);
       }
     }
 
-    public truncateInvalidTx_result deepCopy() {
-      return new truncateInvalidTx_result(this);
+    public checkpoint_result deepCopy() {
+      return new checkpoint_result(this);
     }
 
     @Override
     public void clear() {
       this.success = null;
+      this.e = null;
     }
 
-    public TBoolean getSuccess() {
+    public TTransaction getSuccess() {
       return this.success;
     }
 
-    public truncateInvalidTx_result setSuccess(TBoolean success) {
+    public checkpoint_result setSuccess(TTransaction success) {
       this.success = success;
       return this;
     }
@@ -8606,7 +13688,31 @@ public class TTransactionServer {
 
     public void setSuccessIsSet(boolean value) {
       if (!value) {
-        this.success = null;
+        this.success = null;
+      }
+    }
+
+    public TTransactionNotInProgressException getE() {
+      return this.e;
+    }
+
+    public checkpoint_result setE(TTransactionNotInProgressException e) {
+      this.e = e;
+      return this;
+    }
+
+    public void unsetE() {
+      this.e = null;
+    }
+
+    /** Returns true if field e is set (has been assigned a value) and false otherwise */
+    public boolean isSetE() {
+      return this.e != null;
+    }
+
+    public void setEIsSet(boolean value) {
+      if (!value) {
+        this.e = null;
       }
     }
 
@@ -8616,7 +13722,15 @@ public class TTransactionServer {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TBoolean)value);
+          setSuccess((TTransaction)value);
+        }
+        break;
+
+      case E:
+        if (value == null) {
+          unsetE();
+        } else {
+          setE((TTransactionNotInProgressException)value);
         }
         break;
 
@@ -8628,6 +13742,9 @@ public class TTransactionServer {
       case SUCCESS:
         return getSuccess();
 
+      case E:
+        return getE();
+
       }
       throw new IllegalStateException();
     }
@@ -8641,6 +13758,8 @@ public class TTransactionServer {
       switch (field) {
       case SUCCESS:
         return isSetSuccess();
+      case E:
+        return isSetE();
       }
       throw new IllegalStateException();
     }
@@ -8649,12 +13768,12 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof truncateInvalidTx_result)
-        return this.equals((truncateInvalidTx_result)that);
+      if (that instanceof checkpoint_result)
+        return this.equals((checkpoint_result)that);
       return false;
     }
 
-    public boolean equals(truncateInvalidTx_result that) {
+    public boolean equals(checkpoint_result that) {
       if (that == null)
         return false;
 
@@ -8667,6 +13786,15 @@ public class TTransactionServer {
           return false;
       }
 
+      boolean this_present_e = true && this.isSetE();
+      boolean that_present_e = true && that.isSetE();
+      if (this_present_e || that_present_e) {
+        if (!(this_present_e && that_present_e))
+          return false;
+        if (!this.e.equals(that.e))
+          return false;
+      }
+
       return true;
     }
 
@@ -8675,13 +13803,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(truncateInvalidTx_result other) {
+    public int compareTo(checkpoint_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      truncateInvalidTx_result typedOther = (truncateInvalidTx_result)other;
+      checkpoint_result typedOther = (checkpoint_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -8693,6 +13821,16 @@ public class TTransactionServer {
           return lastComparison;
         }
       }
+      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -8710,7 +13848,7 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("truncateInvalidTx_result(");
+      StringBuilder sb = new StringBuilder("checkpoint_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -8720,6 +13858,14 @@ public class TTransactionServer {
         sb.append(this.success);
       }
       first = false;
+      if (!first) sb.append(", ");
+      sb.append("e:");
+      if (this.e == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e);
+      }
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -8748,15 +13894,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class truncateInvalidTx_resultStandardSchemeFactory implements SchemeFactory {
-      public truncateInvalidTx_resultStandardScheme getScheme() {
-        return new truncateInvalidTx_resultStandardScheme();
+    private static class checkpoint_resultStandardSchemeFactory implements SchemeFactory {
+      public checkpoint_resultStandardScheme getScheme() {
+        return new checkpoint_resultStandardScheme();
       }
     }
 
-    private static class truncateInvalidTx_resultStandardScheme extends StandardScheme<truncateInvalidTx_result> {
+    private static class checkpoint_resultStandardScheme extends StandardScheme<checkpoint_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, truncateInvalidTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, checkpoint_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -8768,13 +13914,22 @@ public class TTransactionServer {
           switch (schemeField.id) {
             case 0: // SUCCESS
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TBoolean();
+                struct.success = new TTransaction();
                 struct.success.read(iprot);
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
+            case 1: // E
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e = new TTransactionNotInProgressException();
+                struct.e.read(iprot);
+                struct.setEIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -8786,7 +13941,7 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, truncateInvalidTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, checkpoint_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -8795,63 +13950,77 @@ public class TTransactionServer {
           struct.success.write(oprot);
           oprot.writeFieldEnd();
         }
+        if (struct.e != null) {
+          oprot.writeFieldBegin(E_FIELD_DESC);
+          struct.e.write(oprot);
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class truncateInvalidTx_resultTupleSchemeFactory implements SchemeFactory {
-      public truncateInvalidTx_resultTupleScheme getScheme() {
-        return new truncateInvalidTx_resultTupleScheme();
+    private static class checkpoint_resultTupleSchemeFactory implements SchemeFactory {
+      public checkpoint_resultTupleScheme getScheme() {
+        return new checkpoint_resultTupleScheme();
       }
     }
 
-    private static class truncateInvalidTx_resultTupleScheme extends TupleScheme<truncateInvalidTx_result> {
+    private static class checkpoint_resultTupleScheme extends TupleScheme<checkpoint_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTx_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, checkpoint_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
           optionals.set(0);
         }
-        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetE()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
         if (struct.isSetSuccess()) {
           struct.success.write(oprot);
         }
+        if (struct.isSetE()) {
+          struct.e.write(oprot);
+        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTx_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, checkpoint_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(1);
+        BitSet incoming = iprot.readBitSet(2);
         if (incoming.get(0)) {
-          struct.success = new TBoolean();
+          struct.success = new TTransaction();
           struct.success.read(iprot);
           struct.setSuccessIsSet(true);
         }
+        if (incoming.get(1)) {
+          struct.e = new TTransactionNotInProgressException();
+          struct.e.read(iprot);
+          struct.setEIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class truncateInvalidTxBefore_args implements org.apache.thrift.TBase<truncateInvalidTxBefore_args, truncateInvalidTxBefore_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("truncateInvalidTxBefore_args");
+  public static class openSnapshot_args implements org.apache.thrift.TBase<openSnapshot_args, openSnapshot_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("openSnapshot_args");
 
-    private static final org.apache.thrift.protocol.TField TIME_FIELD_DESC = new org.apache.thrift.protocol.TField("time", org.apache.thrift.protocol.TType.I64, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new truncateInvalidTxBefore_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new truncateInvalidTxBefore_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new openSnapshot_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new openSnapshot_argsTupleSchemeFactory());
     }
 
-    public long time; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      TIME((short)1, "time");
+;
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -8866,8 +14035,6 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // TIME
-            return TIME;
           default:
             return null;
         }
@@ -8906,89 +14073,37 @@ public class TTransactionServer {
         return _fieldName;
       }
     }
-
-    // isset id assignments
-    private static final int __TIME_ISSET_ID = 0;
-    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.TIME, new org.apache.thrift.meta_data.FieldMetaData("time", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(truncateInvalidTxBefore_args.class, metaDataMap);
-    }
-
-    public truncateInvalidTxBefore_args() {
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(openSnapshot_args.class, metaDataMap);
     }
 
-    public truncateInvalidTxBefore_args(
-      long time)
-    {
-      this();
-      this.time = time;
-      setTimeIsSet(true);
+    public openSnapshot_args() {
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public truncateInvalidTxBefore_args(truncateInvalidTxBefore_args other) {
-      __isset_bitfield = other.__isset_bitfield;
-      this.time = other.time;
+    public openSnapshot_args(openSnapshot_args other) {
     }
 
-    public truncateInvalidTxBefore_args deepCopy() {
-      return new truncateInvalidTxBefore_args(this);
+    public openSnapshot_args deepCopy() {
+      return new openSnapshot_args(this);
     }
 
     @Override
     public void clear() {
-      setTimeIsSet(false);
-      this.time = 0;
-    }
-
-    public long getTime() {
-      return this.time;
-    }
-
-    public truncateInvalidTxBefore_args setTime(long time) {
-      this.time = time;
-      setTimeIsSet(true);
-      return this;
-    }
-
-    public void unsetTime() {
-      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __TIME_ISSET_ID);
-    }
-
-    /** Returns true if field time is set (has been assigned a value) and false otherwise */
-    public boolean isSetTime() {
-      return EncodingUtils.testBit(__isset_bitfield, __TIME_ISSET_ID);
-    }
-
-    public void setTimeIsSet(boolean value) {
-      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __TIME_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
-      case TIME:
-        if (value == null) {
-          unsetTime();
-        } else {
-          setTime((Long)value);
-        }
-        break;
-
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case TIME:
-        return Long.valueOf(getTime());
-
       }
       throw new IllegalStateException();
     }
@@ -9000,8 +14115,6 @@ public class TTransactionServer {
       }
 
       switch (field) {
-      case TIME:
-        return isSetTime();
       }
       throw new IllegalStateException();
     }
@@ -9010,24 +14123,15 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof truncateInvalidTxBefore_args)
-        return this.equals((truncateInvalidTxBefore_args)that);
+      if (that instanceof openSnapshot_args)
+        return this.equals((openSnapshot_args)that);
       return false;
     }
 
-    public boolean equals(truncateInvalidTxBefore_args that) {
+    public boolean equals(openSnapshot_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_time = true;
-      boolean that_present_time = true;
-      if (this_present_time || that_present_time) {
-        if (!(this_present_time && that_present_time))
-          return false;
-        if (this.time != that.time)
-          return false;
-      }
-
       return true;
     }
 
@@ -9036,24 +14140,14 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(truncateInvalidTxBefore_args other) {
+    public int compareTo(openSnapshot_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      truncateInvalidTxBefore_args typedOther = (truncateInvalidTxBefore_args)other;
+      openSnapshot_args typedOther = (openSnapshot_args)other;
 
-      lastComparison = Boolean.valueOf(isSetTime()).compareTo(typedOther.isSetTime());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetTime()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.time, typedOther.time);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
       return 0;
     }
 
@@ -9071,12 +14165,9 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("truncateInvalidTxBefore_args(");
+      StringBuilder sb = new StringBuilder("openSnapshot_args(");
       boolean first = true;
 
-      sb.append("time:");
-      sb.append(this.time);
-      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -9096,23 +14187,21 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class truncateInvalidTxBefore_argsStandardSchemeFactory implements SchemeFactory {
-      public truncateInvalidTxBefore_argsStandardScheme getScheme() {
-        return new truncateInvalidTxBefore_argsStandardScheme();
+    private static class openSnapshot_argsStandardSchemeFactory implements SchemeFactory {
+      public openSnapshot_argsStandardScheme getScheme() {
+        return new openSnapshot_argsStandardScheme();
       }
     }
 
-    private static class truncateInvalidTxBefore_argsStandardScheme extends StandardScheme<truncateInvalidTxBefore_args> {
+    private static class openSnapshot_argsStandardScheme extends StandardScheme<openSnapshot_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, truncateInvalidTxBefore_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, openSnapshot_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -9122,14 +14211,6 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
-            case 1: // TIME
-              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
-                struct.time = iprot.readI64();
-                struct.setTimeIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -9141,67 +14222,51 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, truncateInvalidTxBefore_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, openSnapshot_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        oprot.writeFieldBegin(TIME_FIELD_DESC);
-        oprot.writeI64(struct.time);
-        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class truncateInvalidTxBefore_argsTupleSchemeFactory implements SchemeFactory {
-      public truncateInvalidTxBefore_argsTupleScheme getScheme() {
-        return new truncateInvalidTxBefore_argsTupleScheme();
+    private static class openSnapshot_argsTupleSchemeFactory implements SchemeFactory {
+      public openSnapshot_argsTupleScheme getScheme() {
+        return new openSnapshot_argsTupleScheme();
       }
     }
 
-    private static class truncateInvalidTxBefore_argsTupleScheme extends TupleScheme<truncateInvalidTxBefore_args> {
+    private static class openSnapshot_argsTupleScheme extends TupleScheme<openSnapshot_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTxBefore_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, openSnapshot_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
-        BitSet optionals = new BitSet();
-        if (struct.isSetTime()) {
-          optionals.set(0);
-        }
-        oprot.writeBitSet(optionals, 1);
-        if (struct.isSetTime()) {
-          oprot.writeI64(struct.time);
-        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTxBefore_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, openSnapshot_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(1);
-        if (incoming.get(0)) {
-          struct.time = iprot.readI64();
-          struct.setTimeIsSet(true);
-        }
       }
     }
 
   }
 
-  public static class truncateInvalidTxBefore_result implements org.apache.thrift.TBase<truncateInvalidTxBefore_result, truncateInvalidTxBefore_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("truncateInvalidTxBefore_result");
+  public static class openSnapshot_result implements org.apache.thrift.TBase<openSnapshot_result, openSnapshot_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("openSnapshot_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.I64, (short)0);
     private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new truncateInvalidTxBefore_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new truncateInvalidTxBefore_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new openSnapshot_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new openSnapshot_resultTupleSchemeFactory());
     }
 
-    public TBoolean success; // required
-    public TInvalidTruncateTimeException e; // required
+    public long success; // required
+    public TTransactionCouldNotTakeSnapshotException e; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -9265,80 +14330,82 @@ public class TTransactionServer {
     }
 
     // isset id assignments
+    private static final int __SUCCESS_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TBoolean.class)));
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
       tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(truncateInvalidTxBefore_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(openSnapshot_result.class, metaDataMap);
     }
 
-    public truncateInvalidTxBefore_result() {
+    public openSnapshot_result() {
     }
 
-    public truncateInvalidTxBefore_result(
-      TBoolean success,
-      TInvalidTruncateTimeException e)
+    public openSnapshot_result(
+      long success,
+      TTransactionCouldNotTakeSnapshotException e)
     {
       this();
       this.success = success;
+      setSuccessIsSet(true);
       this.e = e;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public truncateInvalidTxBefore_result(truncateInvalidTxBefore_result other) {
-      if (other.isSetSuccess()) {
-        this.success = new TBoolean(other.success);
-      }
+    public openSnapshot_result(openSnapshot_result other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.success = other.success;
       if (other.isSetE()) {
-        this.e = new TInvalidTruncateTimeException(other.e);
+        this.e = new TTransactionCouldNotTakeSnapshotException(other.e);
       }
     }
 
-    public truncateInvalidTxBefore_result deepCopy() {
-      return new truncateInvalidTxBefore_result(this);
+    public openSnapshot_result deepCopy() {
+      return new openSnapshot_result(this);
     }
 
     @Override
     public void clear() {
-      this.success = null;
+      setSuccessIsSet(false);
+      this.success = 0;
       this.e = null;
     }
 
-    public TBoolean getSuccess() {
+    public long getSuccess() {
       return this.success;
     }
 
-    public truncateInvalidTxBefore_result setSuccess(TBoolean success) {
+    public openSnapshot_result setSuccess(long success) {
       this.success = success;
+      setSuccessIsSet(true);
       return this;
     }
 
     public void unsetSuccess() {
-      this.success = null;
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
     }
 
     /** Returns true if field success is set (has been assigned a value) and false otherwise */
     public boolean isSetSuccess() {
-      return this.success != null;
+      return EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
     }
 
     public void setSuccessIsSet(boolean value) {
-      if (!value) {
-        this.success = null;
-      }
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
     }
 
-    public TInvalidTruncateTimeException getE() {
+    public TTransactionCouldNotTakeSnapshotException getE() {
       return this.e;
     }
 
-    public truncateInvalidTxBefore_result setE(TInvalidTruncateTimeException e) {
+    public openSnapshot_result setE(TTransactionCouldNotTakeSnapshotException e) {
       this.e = e;
       return this;
     }
@@ -9364,7 +14431,7 @@ public class TTransactionServer {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((TBoolean)value);
+          setSuccess((Long)value);
         }
         break;
 
@@ -9372,7 +14439,7 @@ public class TTransactionServer {
         if (value == null) {
           unsetE();
         } else {
-          setE((TInvalidTruncateTimeException)value);
+          setE((TTransactionCouldNotTakeSnapshotException)value);
         }
         break;
 
@@ -9382,7 +14449,7 @@ public class TTransactionServer {
     public Object getFieldValue(_Fields field) {
       switch (field) {
       case SUCCESS:
-        return getSuccess();
+        return Long.valueOf(getSuccess());
 
       case E:
         return getE();
@@ -9410,21 +14477,21 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof truncateInvalidTxBefore_result)
-        return this.equals((truncateInvalidTxBefore_result)that);
+      if (that instanceof openSnapshot_result)
+        return this.equals((openSnapshot_result)that);
       return false;
     }
 
-    public boolean equals(truncateInvalidTxBefore_result that) {
+    public boolean equals(openSnapshot_result that) {
       if (that == null)
         return false;
 
-      boolean this_present_success = true && this.isSetSuccess();
-      boolean that_present_success = true && that.isSetSuccess();
+      boolean this_present_success = true;
+      boolean that_present_success = true;
       if (this_present_success || that_present_success) {
         if (!(this_present_success && that_present_success))
           return false;
-        if (!this.success.equals(that.success))
+        if (this.success != that.success)
           return false;
       }
 
@@ -9445,13 +14512,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(truncateInvalidTxBefore_result other) {
+    public int compareTo(openSnapshot_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      truncateInvalidTxBefore_result typedOther = (truncateInvalidTxBefore_result)other;
+      openSnapshot_result typedOther = (openSnapshot_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -9490,15 +14557,11 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("truncateInvalidTxBefore_result(");
+      StringBuilder sb = new StringBuilder("openSnapshot_result(");
       boolean first = true;
 
       sb.append("success:");
-      if (this.success == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.success);
-      }
+      sb.append(this.success);
       first = false;
       if (!first) sb.append(", ");
       sb.append("e:");
@@ -9515,9 +14578,6 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (success != null) {
-        success.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -9530,21 +14590,23 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class truncateInvalidTxBefore_resultStandardSchemeFactory implements SchemeFactory {
-      public truncateInvalidTxBefore_resultStandardScheme getScheme() {
-        return new truncateInvalidTxBefore_resultStandardScheme();
+    private static class openSnapshot_resultStandardSchemeFactory implements SchemeFactory {
+      public openSnapshot_resultStandardScheme getScheme() {
+        return new openSnapshot_resultStandardScheme();
       }
     }
 
-    private static class truncateInvalidTxBefore_resultStandardScheme extends StandardScheme<truncateInvalidTxBefore_result> {
+    private static class openSnapshot_resultStandardScheme extends StandardScheme<openSnapshot_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, truncateInvalidTxBefore_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, openSnapshot_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -9555,9 +14617,8 @@ public class TTransactionServer {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TBoolean();
-                struct.success.read(iprot);
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.success = iprot.readI64();
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
@@ -9565,7 +14626,7 @@ public class TTransactionServer {
               break;
             case 1: // E
               if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.e = new TInvalidTruncateTimeException();
+                struct.e = new TTransactionCouldNotTakeSnapshotException();
                 struct.e.read(iprot);
                 struct.setEIsSet(true);
               } else { 
@@ -9583,13 +14644,13 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, truncateInvalidTxBefore_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, openSnapshot_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.success != null) {
+        if (struct.isSetSuccess()) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          struct.success.write(oprot);
+          oprot.writeI64(struct.success);
           oprot.writeFieldEnd();
         }
         if (struct.e != null) {
@@ -9603,16 +14664,16 @@ public class TTransactionServer {
 
     }
 
-    private static class truncateInvalidTxBefore_resultTupleSchemeFactory implements SchemeFactory {
-      public truncateInvalidTxBefore_resultTupleScheme getScheme() {
-        return new truncateInvalidTxBefore_resultTupleScheme();
+    private static class openSnapshot_resultTupleSchemeFactory implements SchemeFactory {
+      public openSnapshot_resultTupleScheme getScheme() {
+        return new openSnapshot_resultTupleScheme();
       }
     }
 
-    private static class truncateInvalidTxBefore_resultTupleScheme extends TupleScheme<truncateInvalidTxBefore_result> {
+    private static class openSnapshot_resultTupleScheme extends TupleScheme<openSnapshot_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTxBefore_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, openSnapshot_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -9623,7 +14684,7 @@ public class TTransactionServer {
         }
         oprot.writeBitSet(optionals, 2);
         if (struct.isSetSuccess()) {
-          struct.success.write(oprot);
+          oprot.writeI64(struct.success);
         }
         if (struct.isSetE()) {
           struct.e.write(oprot);
@@ -9631,16 +14692,15 @@ public class TTransactionServer {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, truncateInvalidTxBefore_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, openSnapshot_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(2);
         if (incoming.get(0)) {
-          struct.success = new TBoolean();
-          struct.success.read(iprot);
+          struct.success = iprot.readI64();
           struct.setSuccessIsSet(true);
         }
         if (incoming.get(1)) {
-          struct.e = new TInvalidTruncateTimeException();
+          struct.e = new TTransactionCouldNotTakeSnapshotException();
           struct.e.read(iprot);
           struct.setEIsSet(true);
         }
@@ -9649,20 +14709,25 @@ public class TTransactionServer {
 
   }
 
-  public static class invalidTxSize_args implements org.apache.thrift.TBase<invalidTxSize_args, invalidTxSize_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("invalidTxSize_args");
+  public static class getSnapshotChunk_args implements org.apache.thrift.TBase<getSnapshotChunk_args, getSnapshotChunk_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getSnapshotChunk_args");
 
+    private static final org.apache.thrift.protocol.TField SNAPSHOT_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("snapshotId", org.apache.thrift.protocol.TType.I64, (short)1);
+    private static final org.apache.thrift.protocol.TField OFFSET_FIELD_DESC = new org.apache.thrift.protocol.TField("offset", org.apache.thrift.protocol.TType.I64, (short)2);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new invalidTxSize_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new invalidTxSize_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new getSnapshotChunk_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getSnapshotChunk_argsTupleSchemeFactory());
     }
 
+    public long snapshotId; // required
+    public long offset; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+      SNAPSHOT_ID((short)1, "snapshotId"),
+      OFFSET((short)2, "offset");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -9677,6 +14742,10 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
+          case 1: // SNAPSHOT_ID
+            return SNAPSHOT_ID;
+          case 2: // OFFSET
+            return OFFSET;
           default:
             return null;
         }
@@ -9715,37 +14784,132 @@ public class TTransactionServer {
         return _fieldName;
       }
     }
+
+    // isset id assignments
+    private static final int __SNAPSHOTID_ISSET_ID = 0;
+    private static final int __OFFSET_ISSET_ID = 1;
+    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SNAPSHOT_ID, new org.apache.thrift.meta_data.FieldMetaData("snapshotId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.OFFSET, new org.apache.thrift.meta_data.FieldMetaData("offset", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(invalidTxSize_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getSnapshotChunk_args.class, metaDataMap);
     }
 
-    public invalidTxSize_args() {
+    public getSnapshotChunk_args() {
+    }
+
+    public getSnapshotChunk_args(
+      long snapshotId,
+      long offset)
+    {
+      this();
+      this.snapshotId = snapshotId;
+      setSnapshotIdIsSet(true);
+      this.offset = offset;
+      setOffsetIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public invalidTxSize_args(invalidTxSize_args other) {
+    public getSnapshotChunk_args(getSnapshotChunk_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.snapshotId = other.snapshotId;
+      this.offset = other.offset;
     }
 
-    public invalidTxSize_args deepCopy() {
-      return new invalidTxSize_args(this);
+    public getSnapshotChunk_args deepCopy() {
+      return new getSnapshotChunk_args(this);
     }
 
     @Override
     public void clear() {
+      setSnapshotIdIsSet(false);
+      this.snapshotId = 0;
+      setOffsetIsSet(false);
+      this.offset = 0;
+    }
+
+    public long getSnapshotId() {
+      return this.snapshotId;
+    }
+
+    public getSnapshotChunk_args setSnapshotId(long snapshotId) {
+      this.snapshotId = snapshotId;
+      setSnapshotIdIsSet(true);
+      return this;
+    }
+
+    public void unsetSnapshotId() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SNAPSHOTID_ISSET_ID);
+    }
+
+    /** Returns true if field snapshotId is set (has been assigned a value) and false otherwise */
+    public boolean isSetSnapshotId() {
+      return EncodingUtils.testBit(__isset_bitfield, __SNAPSHOTID_ISSET_ID);
+    }
+
+    public void setSnapshotIdIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SNAPSHOTID_ISSET_ID, value);
+    }
+
+    public long getOffset() {
+      return this.offset;
+    }
+
+    public getSnapshotChunk_args setOffset(long offset) {
+      this.offset = offset;
+      setOffsetIsSet(true);
+      return this;
+    }
+
+    public void unsetOffset() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __OFFSET_ISSET_ID);
+    }
+
+    /** Returns true if field offset is set (has been assigned a value) and false otherwise */
+    public boolean isSetOffset() {
+      return EncodingUtils.testBit(__isset_bitfield, __OFFSET_ISSET_ID);
+    }
+
+    public void setOffsetIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __OFFSET_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
+      case SNAPSHOT_ID:
+        if (value == null) {
+          unsetSnapshotId();
+        } else {
+          setSnapshotId((Long)value);
+        }
+        break;
+
+      case OFFSET:
+        if (value == null) {
+          unsetOffset();
+        } else {
+          setOffset((Long)value);
+        }
+        break;
+
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
+      case SNAPSHOT_ID:
+        return Long.valueOf(getSnapshotId());
+
+      case OFFSET:
+        return Long.valueOf(getOffset());
+
       }
       throw new IllegalStateException();
     }
@@ -9757,6 +14921,10 @@ public class TTransactionServer {
       }
 
       switch (field) {
+      case SNAPSHOT_ID:
+        return isSetSnapshotId();
+      case OFFSET:
+        return isSetOffset();
       }
       throw new IllegalStateException();
     }
@@ -9765,15 +14933,33 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof invalidTxSize_args)
-        return this.equals((invalidTxSize_args)that);
+      if (that instanceof getSnapshotChunk_args)
+        return this.equals((getSnapshotChunk_args)that);
       return false;
     }
 
-    public boolean equals(invalidTxSize_args that) {
+    public boolean equals(getSnapshotChunk_args that) {
       if (that == null)
         return false;
 
+      boolean this_present_snapshotId = true;
+      boolean that_present_snapshotId = true;
+      if (this_present_snapshotId || that_present_snapshotId) {
+        if (!(this_present_snapshotId && that_present_snapshotId))
+          return false;
+        if (this.snapshotId != that.snapshotId)
+          return false;
+      }
+
+      boolean this_present_offset = true;
+      boolean that_present_offset = true;
+      if (this_present_offset || that_present_offset) {
+        if (!(this_present_offset && that_present_offset))
+          return false;
+        if (this.offset != that.offset)
+          return false;
+      }
+
       return true;
     }
 
@@ -9782,14 +14968,34 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(invalidTxSize_args other) {
+    public int compareTo(getSnapshotChunk_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      invalidTxSize_args typedOther = (invalidTxSize_args)other;
+      getSnapshotChunk_args typedOther = (getSnapshotChunk_args)other;
 
+      lastComparison = Boolean.valueOf(isSetSnapshotId()).compareTo(typedOther.isSetSnapshotId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSnapshotId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.snapshotId, typedOther.snapshotId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetOffset()).compareTo(typedOther.isSetOffset());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetOffset()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.offset, typedOther.offset);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -9807,9 +15013,16 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("invalidTxSize_args(");
+      StringBuilder sb = new StringBuilder("getSnapshotChunk_args(");
       boolean first = true;
 
+      sb.append("snapshotId:");
+      sb.append(this.snapshotId);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("offset:");
+      sb.append(this.offset);
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -9829,21 +15042,23 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class invalidTxSize_argsStandardSchemeFactory implements SchemeFactory {
-      public invalidTxSize_argsStandardScheme getScheme() {
-        return new invalidTxSize_argsStandardScheme();
+    private static class getSnapshotChunk_argsStandardSchemeFactory implements SchemeFactory {
+      public getSnapshotChunk_argsStandardScheme getScheme() {
+        return new getSnapshotChunk_argsStandardScheme();
       }
     }
 
-    private static class invalidTxSize_argsStandardScheme extends StandardScheme<invalidTxSize_args> {
+    private static class getSnapshotChunk_argsStandardScheme extends StandardScheme<getSnapshotChunk_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, invalidTxSize_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getSnapshotChunk_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -9853,6 +15068,22 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
+            case 1: // SNAPSHOT_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.snapshotId = iprot.readI64();
+                struct.setSnapshotIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // OFFSET
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.offset = iprot.readI64();
+                struct.setOffsetIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -9864,53 +15095,85 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, invalidTxSize_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getSnapshotChunk_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(SNAPSHOT_ID_FIELD_DESC);
+        oprot.writeI64(struct.snapshotId);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(OFFSET_FIELD_DESC);
+        oprot.writeI64(struct.offset);
+        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class invalidTxSize_argsTupleSchemeFactory implements SchemeFactory {
-      public invalidTxSize_argsTupleScheme getScheme() {
-        return new invalidTxSize_argsTupleScheme();
+    private static class getSnapshotChunk_argsTupleSchemeFactory implements SchemeFactory {
+      public getSnapshotChunk_argsTupleScheme getScheme() {
+        return new getSnapshotChunk_argsTupleScheme();
       }
     }
 
-    private static class invalidTxSize_argsTupleScheme extends TupleScheme<invalidTxSize_args> {
+    private static class getSnapshotChunk_argsTupleScheme extends TupleScheme<getSnapshotChunk_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, invalidTxSize_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, getSnapshotChunk_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSnapshotId()) {
+          optionals.set(0);
+        }
+        if (struct.isSetOffset()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetSnapshotId()) {
+          oprot.writeI64(struct.snapshotId);
+        }
+        if (struct.isSetOffset()) {
+          oprot.writeI64(struct.offset);
+        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, invalidTxSize_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, getSnapshotChunk_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.snapshotId = iprot.readI64();
+          struct.setSnapshotIdIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.offset = iprot.readI64();
+          struct.setOffsetIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class invalidTxSize_result implements org.apache.thrift.TBase<invalidTxSize_result, invalidTxSize_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("invalidTxSize_result");
+  public static class getSnapshotChunk_result implements org.apache.thrift.TBase<getSnapshotChunk_result, getSnapshotChunk_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getSnapshotChunk_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.I32, (short)0);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new invalidTxSize_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new invalidTxSize_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new getSnapshotChunk_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getSnapshotChunk_resultTupleSchemeFactory());
     }
 
-    public int success; // required
+    public ByteBuffer success; // required
+    public TTransactionCouldNotTakeSnapshotException e; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      SUCCESS((short)0, "success");
+      SUCCESS((short)0, "success"),
+      E((short)1, "e");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -9927,6 +15190,8 @@ public class TTransactionServer {
         switch(fieldId) {
           case 0: // SUCCESS
             return SUCCESS;
+          case 1: // E
+            return E;
           default:
             return null;
         }
@@ -9967,67 +15232,108 @@ public class TTransactionServer {
     }
 
     // isset id assignments
-    private static final int __SUCCESS_ISSET_ID = 0;
-    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(invalidTxSize_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getSnapshotChunk_result.class, metaDataMap);
     }
 
-    public invalidTxSize_result() {
+    public getSnapshotChunk_result() {
     }
 
-    public invalidTxSize_result(
-      int success)
+    public getSnapshotChunk_result(
+      ByteBuffer success,
+      TTransactionCouldNotTakeSnapshotException e)
     {
       this();
       this.success = success;
-      setSuccessIsSet(true);
+      this.e = e;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public invalidTxSize_result(invalidTxSize_result other) {
-      __isset_bitfield = other.__isset_bitfield;
-      this.success = other.success;
+    public getSnapshotChunk_result(getSnapshotChunk_result other) {
+      if (other.isSetSuccess()) {
+        this.success = org.apache.thrift.TBaseHelper.copyBinary(other.success);
+;
+      }
+      if (other.isSetE()) {
+        this.e = new TTransactionCouldNotTakeSnapshotException(other.e);
+      }
     }
 
-    public invalidTxSize_result deepCopy() {
-      return new invalidTxSize_result(this);
+    public getSnapshotChunk_result deepCopy() {
+      return new getSnapshotChunk_result(this);
     }
 
     @Override
     public void clear() {
-      setSuccessIsSet(false);
-      this.success = 0;
+      this.success = null;
+      this.e = null;
     }
 
-    public int getSuccess() {
-      return this.success;
+    public byte[] getSuccess() {
+      setSuccess(org.apache.thrift.TBaseHelper.rightSize(success));
+      return success == null ? null : success.array();
     }
 
-    public invalidTxSize_result setSuccess(int success) {
+    public ByteBuffer bufferForSuccess() {
+      return success;
+    }
+
+    public getSnapshotChunk_result setSuccess(byte[] success) {
+      setSuccess(success == null ? (ByteBuffer)null : ByteBuffer.wrap(success));
+      return this;
+    }
+
+    public getSnapshotChunk_result setSuccess(ByteBuffer success) {
       this.success = success;
-      setSuccessIsSet(true);
       return this;
     }
 
     public void unsetSuccess() {
-      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+      this.success = null;
     }
 
     /** Returns true if field success is set (has been assigned a value) and false otherwise */
     public boolean isSetSuccess() {
-      return EncodingUtils.testBit(__isset_bitfield, __SUCCESS_ISSET_ID);
+      return this.success != null;
     }
 
     public void setSuccessIsSet(boolean value) {
-      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SUCCESS_ISSET_ID, value);
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public TTransactionCouldNotTakeSnapshotException getE() {
+      return this.e;
+    }
+
+    public getSnapshotChunk_result setE(TTransactionCouldNotTakeSnapshotException e) {
+      this.e = e;
+      return this;
+    }
+
+    public void unsetE() {
+      this.e = null;
+    }
+
+    /** Returns true if field e is set (has been assigned a value) and false otherwise */
+    public boolean isSetE() {
+      return this.e != null;
+    }
+
+    public void setEIsSet(boolean value) {
+      if (!value) {
+        this.e = null;
+      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
@@ -10036,7 +15342,15 @@ public class TTransactionServer {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((Integer)value);
+          setSuccess((ByteBuffer)value);
+        }
+        break;
+
+      case E:
+        if (value == null) {
+          unsetE();
+        } else {
+          setE((TTransactionCouldNotTakeSnapshotException)value);
         }
         break;
 
@@ -10046,7 +15360,10 @@ public class TTransactionServer {
     public Object getFieldValue(_Fields field) {
       switch (field) {
       case SUCCESS:
-        return Integer.valueOf(getSuccess());
+        return getSuccess();
+
+      case E:
+        return getE();
 
       }
       throw new IllegalStateException();
@@ -10061,6 +15378,8 @@ public class TTransactionServer {
       switch (field) {
       case SUCCESS:
         return isSetSuccess();
+      case E:
+        return isSetE();
       }
       throw new IllegalStateException();
     }
@@ -10069,21 +15388,30 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof invalidTxSize_result)
-        return this.equals((invalidTxSize_result)that);
+      if (that instanceof getSnapshotChunk_result)
+        return this.equals((getSnapshotChunk_result)that);
       return false;
     }
 
-    public boolean equals(invalidTxSize_result that) {
+    public boolean equals(getSnapshotChunk_result that) {
       if (that == null)
         return false;
 
-      boolean this_present_success = true;
-      boolean that_present_success = true;
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
       if (this_present_success || that_present_success) {
         if (!(this_present_success && that_present_success))
           return false;
-        if (this.success != that.success)
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e = true && this.isSetE();
+      boolean that_present_e = true && that.isSetE();
+      if (this_present_e || that_present_e) {
+        if (!(this_present_e && that_present_e))
+          return false;
+        if (!this.e.equals(that.e))
           return false;
       }
 
@@ -10095,13 +15423,13 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(invalidTxSize_result other) {
+    public int compareTo(getSnapshotChunk_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      invalidTxSize_result typedOther = (invalidTxSize_result)other;
+      getSnapshotChunk_result typedOther = (getSnapshotChunk_result)other;
 
       lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
       if (lastComparison != 0) {
@@ -10113,6 +15441,16 @@ public class TTransactionServer {
           return lastComparison;
         }
       }
+      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -10130,11 +15468,23 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("invalidTxSize_result(");
+      StringBuilder sb = new StringBuilder("getSnapshotChunk_result(");
       boolean first = true;
 
       sb.append("success:");
-      sb.append(this.success);
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.success, sb);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e:");
+      if (this.e == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e);
+      }
       first = false;
       sb.append(")");
       return sb.toString();
@@ -10155,23 +15505,21 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class invalidTxSize_resultStandardSchemeFactory implements SchemeFactory {
-      public invalidTxSize_resultStandardScheme getScheme() {
-        return new invalidTxSize_resultStandardScheme();
+    private static class getSnapshotChunk_resultStandardSchemeFactory implements SchemeFactory {
+      public getSnapshotChunk_resultStandardScheme getScheme() {
+        return new getSnapshotChunk_resultStandardScheme();
       }
     }
 
-    private static class invalidTxSize_resultStandardScheme extends StandardScheme<invalidTxSize_result> {
+    private static class getSnapshotChunk_resultStandardScheme extends StandardScheme<getSnapshotChunk_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, invalidTxSize_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getSnapshotChunk_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -10182,13 +15530,22 @@ public class TTransactionServer {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
-                struct.success = iprot.readI32();
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.success = iprot.readBinary();
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
+            case 1: // E
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e = new TTransactionCouldNotTakeSnapshotException();
+                struct.e.read(iprot);
+                struct.setEIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -10200,13 +15557,18 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, invalidTxSize_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getSnapshotChunk_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.isSetSuccess()) {
+        if (struct.success != null) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          oprot.writeI32(struct.success);
+          oprot.writeBinary(struct.success);
+          oprot.writeFieldEnd();
+        }
+        if (struct.e != null) {
+          oprot.writeFieldBegin(E_FIELD_DESC);
+          struct.e.write(oprot);
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -10215,56 +15577,67 @@ public class TTransactionServer {
 
     }
 
-    private static class invalidTxSize_resultTupleSchemeFactory implements SchemeFactory {
-      public invalidTxSize_resultTupleScheme getScheme() {
-        return new invalidTxSize_resultTupleScheme();
+    private static class getSnapshotChunk_resultTupleSchemeFactory implements SchemeFactory {
+      public getSnapshotChunk_resultTupleScheme getScheme() {
+        return new getSnapshotChunk_resultTupleScheme();
       }
     }
 
-    private static class invalidTxSize_resultTupleScheme extends TupleScheme<invalidTxSize_result> {
+    private static class getSnapshotChunk_resultTupleScheme extends TupleScheme<getSnapshotChunk_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, invalidTxSize_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, getSnapshotChunk_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
           optionals.set(0);
         }
-        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetE()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
         if (struct.isSetSuccess()) {
-          oprot.writeI32(struct.success);
+          oprot.writeBinary(struct.success);
+        }
+        if (struct.isSetE()) {
+          struct.e.write(oprot);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, invalidTxSize_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, getSnapshotChunk_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(1);
+        BitSet incoming = iprot.readBitSet(2);
         if (incoming.get(0)) {
-          struct.success = iprot.readI32();
+          struct.success = iprot.readBinary();
           struct.setSuccessIsSet(true);
         }
+        if (incoming.get(1)) {
+          struct.e = new TTransactionCouldNotTakeSnapshotException();
+          struct.e.read(iprot);
+          struct.setEIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class checkpoint_args implements org.apache.thrift.TBase<checkpoint_args, checkpoint_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("checkpoint_args");
+  public static class closeSnapshot_args implements org.apache.thrift.TBase<closeSnapshot_args, closeSnapshot_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("closeSnapshot_args");
 
-    private static final org.apache.thrift.protocol.TField TX_FIELD_DESC = new org.apache.thrift.protocol.TField("tx", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.thrift.protocol.TField SNAPSHOT_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("snapshotId", org.apache.thrift.protocol.TType.I64, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new checkpoint_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new checkpoint_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new closeSnapshot_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new closeSnapshot_argsTupleSchemeFactory());
     }
 
-    public TTransaction tx; // required
+    public long snapshotId; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      TX((short)1, "tx");
+      SNAPSHOT_ID((short)1, "snapshotId");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -10279,8 +15652,8 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // TX
-            return TX;
+          case 1: // SNAPSHOT_ID
+            return SNAPSHOT_ID;
           default:
             return null;
         }
@@ -10321,74 +15694,76 @@ public class TTransactionServer {
     }
 
     // isset id assignments
+    private static final int __SNAPSHOTID_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.TX, new org.apache.thrift.meta_data.FieldMetaData("tx", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
+      tmpMap.put(_Fields.SNAPSHOT_ID, new org.apache.thrift.meta_data.FieldMetaData("snapshotId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(checkpoint_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(closeSnapshot_args.class, metaDataMap);
     }
 
-    public checkpoint_args() {
+    public closeSnapshot_args() {
     }
 
-    public checkpoint_args(
-      TTransaction tx)
+    public closeSnapshot_args(
+      long snapshotId)
     {
       this();
-      this.tx = tx;
+      this.snapshotId = snapshotId;
+      setSnapshotIdIsSet(true);
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public checkpoint_args(checkpoint_args other) {
-      if (other.isSetTx()) {
-        this.tx = new TTransaction(other.tx);
-      }
+    public closeSnapshot_args(closeSnapshot_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.snapshotId = other.snapshotId;
     }
 
-    public checkpoint_args deepCopy() {
-      return new checkpoint_args(this);
+    public closeSnapshot_args deepCopy() {
+      return new closeSnapshot_args(this);
     }
 
     @Override
     public void clear() {
-      this.tx = null;
+      setSnapshotIdIsSet(false);
+      this.snapshotId = 0;
     }
 
-    public TTransaction getTx() {
-      return this.tx;
+    public long getSnapshotId() {
+      return this.snapshotId;
     }
 
-    public checkpoint_args setTx(TTransaction tx) {
-      this.tx = tx;
+    public closeSnapshot_args setSnapshotId(long snapshotId) {
+      this.snapshotId = snapshotId;
+      setSnapshotIdIsSet(true);
       return this;
     }
 
-    public void unsetTx() {
-      this.tx = null;
+    public void unsetSnapshotId() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __SNAPSHOTID_ISSET_ID);
     }
 
-    /** Returns true if field tx is set (has been assigned a value) and false otherwise */
-    public boolean isSetTx() {
-      return this.tx != null;
+    /** Returns true if field snapshotId is set (has been assigned a value) and false otherwise */
+    public boolean isSetSnapshotId() {
+      return EncodingUtils.testBit(__isset_bitfield, __SNAPSHOTID_ISSET_ID);
     }
 
-    public void setTxIsSet(boolean value) {
-      if (!value) {
-        this.tx = null;
-      }
+    public void setSnapshotIdIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __SNAPSHOTID_ISSET_ID, value);
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
-      case TX:
+      case SNAPSHOT_ID:
         if (value == null) {
-          unsetTx();
+          unsetSnapshotId();
         } else {
-          setTx((TTransaction)value);
+          setSnapshotId((Long)value);
         }
         break;
 
@@ -10397,8 +15772,8 @@ public class TTransactionServer {
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case TX:
-        return getTx();
+      case SNAPSHOT_ID:
+        return Long.valueOf(getSnapshotId());
 
       }
       throw new IllegalStateException();
@@ -10411,8 +15786,8 @@ public class TTransactionServer {
       }
 
       switch (field) {
-      case TX:
-        return isSetTx();
+      case SNAPSHOT_ID:
+        return isSetSnapshotId();
       }
       throw new IllegalStateException();
     }
@@ -10421,21 +15796,21 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof checkpoint_args)
-        return this.equals((checkpoint_args)that);
+      if (that instanceof closeSnapshot_args)
+        return this.equals((closeSnapshot_args)that);
       return false;
     }
 
-    public boolean equals(checkpoint_args that) {
+    public boolean equals(closeSnapshot_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_tx = true && this.isSetTx();
-      boolean that_present_tx = true && that.isSetTx();
-      if (this_present_tx || that_present_tx) {
-        if (!(this_present_tx && that_present_tx))
+      boolean this_present_snapshotId = true;
+      boolean that_present_snapshotId = true;
+      if (this_present_snapshotId || that_present_snapshotId) {
+        if (!(this_present_snapshotId && that_present_snapshotId))
           return false;
-        if (!this.tx.equals(that.tx))
+        if (this.snapshotId != that.snapshotId)
           return false;
       }
 
@@ -10447,20 +15822,20 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(checkpoint_args other) {
+    public int compareTo(closeSnapshot_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      checkpoint_args typedOther = (checkpoint_args)other;
+      closeSnapshot_args typedOther = (closeSnapshot_args)other;
 
-      lastComparison = Boolean.valueOf(isSetTx()).compareTo(typedOther.isSetTx());
+      lastComparison = Boolean.valueOf(isSetSnapshotId()).compareTo(typedOther.isSetSnapshotId());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetTx()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.tx, typedOther.tx);
+      if (isSetSnapshotId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.snapshotId, typedOther.snapshotId);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -10482,15 +15857,11 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("checkpoint_args(");
+      StringBuilder sb = new StringBuilder("closeSnapshot_args(");
       boolean first = true;
 
-      sb.append("tx:");
-      if (this.tx == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.tx);
-      }
+      sb.append("snapshotId:");
+      sb.append(this.snapshotId);
       first = false;
       sb.append(")");
       return sb.toString();
@@ -10499,9 +15870,6 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (tx != null) {
-        tx.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -10514,21 +15882,23 @@ public class TTransactionServer {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te);
       }
     }
 
-    private static class checkpoint_argsStandardSchemeFactory implements SchemeFactory {
-      public checkpoint_argsStandardScheme getScheme() {
-        return new checkpoint_argsStandardScheme();
+    private static class closeSnapshot_argsStandardSchemeFactory implements SchemeFactory {
+      public closeSnapshot_argsStandardScheme getScheme() {
+        return new closeSnapshot_argsStandardScheme();
       }
     }
 
-    private static class checkpoint_argsStandardScheme extends StandardScheme<checkpoint_args> {
+    private static class closeSnapshot_argsStandardScheme extends StandardScheme<closeSnapshot_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, checkpoint_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, closeSnapshot_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -10538,11 +15908,10 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
-            case 1: // TX
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.tx = new TTransaction();
-                struct.tx.read(iprot);
-                struct.setTxIsSet(true);
+            case 1: // SNAPSHOT_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.snapshotId = iprot.readI64();
+                struct.setSnapshotIdIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -10558,75 +15927,67 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, checkpoint_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, closeSnapshot_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.tx != null) {
-          oprot.writeFieldBegin(TX_FIELD_DESC);
-          struct.tx.write(oprot);
-          oprot.writeFieldEnd();
-        }
+        oprot.writeFieldBegin(SNAPSHOT_ID_FIELD_DESC);
+        oprot.writeI64(struct.snapshotId);
+        oprot.writeFieldEnd();
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class checkpoint_argsTupleSchemeFactory implements SchemeFactory {
-      public checkpoint_argsTupleScheme getScheme() {
-        return new checkpoint_argsTupleScheme();
+    private static class closeSnapshot_argsTupleSchemeFactory implements SchemeFactory {
+      public closeSnapshot_argsTupleScheme getScheme() {
+        return new closeSnapshot_argsTupleScheme();
       }
     }
 
-    private static class checkpoint_argsTupleScheme extends TupleScheme<checkpoint_args> {
+    private static class closeSnapshot_argsTupleScheme extends TupleScheme<closeSnapshot_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, checkpoint_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, closeSnapshot_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
-        if (struct.isSetTx()) {
+        if (struct.isSetSnapshotId()) {
           optionals.set(0);
         }
         oprot.writeBitSet(optionals, 1);
-        if (struct.isSetTx()) {
-          struct.tx.write(oprot);
+        if (struct.isSetSnapshotId()) {
+          oprot.writeI64(struct.snapshotId);
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, checkpoint_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, closeSnapshot_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.tx = new TTransaction();
-          struct.tx.read(iprot);
-          struct.setTxIsSet(true);
+          struct.snapshotId = iprot.readI64();
+          struct.setSnapshotIdIsSet(true);
         }
       }
     }
 
   }
 
-  public static class checkpoint_result implements org.apache.thrift.TBase<checkpoint_result, checkpoint_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("checkpoint_result");
+  public static class closeSnapshot_result implements org.apache.thrift.TBase<closeSnapshot_result, closeSnapshot_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("closeSnapshot_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
-    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new checkpoint_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new checkpoint_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new closeSnapshot_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new closeSnapshot_resultTupleSchemeFactory());
     }
 
-    public TTransaction success; // required
-    public TTransactionNotInProgressException e; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      SUCCESS((short)0, "success"),
-      E((short)1, "e");
+;
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -10641,10 +16002,6 @@ public class TTransactionServer {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 0: // SUCCESS
-            return SUCCESS;
-          case 1: // E
-            return E;
           default:
             return null;
         }
@@ -10683,130 +16040,37 @@ public class TTransactionServer {
         return _fieldName;
       }
     }
-
-    // isset id assignments
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TTransaction.class)));
-      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(checkpoint_result.class, metaDataMap);
-    }
-
-    public checkpoint_result() {
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(closeSnapshot_result.class, metaDataMap);
     }
 
-    public checkpoint_result(
-      TTransaction success,
-      TTransactionNotInProgressException e)
-    {
-      this();
-      this.success = success;
-      this.e = e;
+    public closeSnapshot_result() {
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public checkpoint_result(checkpoint_result other) {
-      if (other.isSetSuccess()) {
-        this.success = new TTransaction(other.success);
-      }
-      if (other.isSetE()) {
-        this.e = new TTransactionNotInProgressException(other.e);
-      }
+    public closeSnapshot_result(closeSnapshot_result other) {
     }
 
-    public checkpoint_result deepCopy() {
-      return new checkpoint_result(this);
+    public closeSnapshot_result deepCopy() {
+      return new closeSnapshot_result(this);
     }
 
     @Override
     public void clear() {
-      this.success = null;
-      this.e = null;
-    }
-
-    public TTransaction getSuccess() {
-      return this.success;
-    }
-
-    public checkpoint_result setSuccess(TTransaction success) {
-      this.success = success;
-      return this;
-    }
-
-    public void unsetSuccess() {
-      this.success = null;
-    }
-
-    /** Returns true if field success is set (has been assigned a value) and false otherwise */
-    public boolean isSetSuccess() {
-      return this.success != null;
-    }
-
-    public void setSuccessIsSet(boolean value) {
-      if (!value) {
-        this.success = null;
-      }
-    }
-
-    public TTransactionNotInProgressException getE() {
-      return this.e;
-    }
-
-    public checkpoint_result setE(TTransactionNotInProgressException e) {
-      this.e = e;
-      return this;
-    }
-
-    public void unsetE() {
-      this.e = null;
-    }
-
-    /** Returns true if field e is set (has been assigned a value) and false otherwise */
-    public boolean isSetE() {
-      return this.e != null;
-    }
-
-    public void setEIsSet(boolean value) {
-      if (!value) {
-        this.e = null;
-      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
-      case SUCCESS:
-        if (value == null) {
-          unsetSuccess();
-        } else {
-          setSuccess((TTransaction)value);
-        }
-        break;
-
-      case E:
-        if (value == null) {
-          unsetE();
-        } else {
-          setE((TTransactionNotInProgressException)value);
-        }
-        break;
-
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case SUCCESS:
-        return getSuccess();
-
-      case E:
-        return getE();
-
       }
       throw new IllegalStateException();
     }
@@ -10818,10 +16082,6 @@ public class TTransactionServer {
       }
 
       switch (field) {
-      case SUCCESS:
-        return isSetSuccess();
-      case E:
-        return isSetE();
       }
       throw new IllegalStateException();
     }
@@ -10830,33 +16090,15 @@ public class TTransactionServer {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof checkpoint_result)
-        return this.equals((checkpoint_result)that);
+      if (that instanceof closeSnapshot_result)
+        return this.equals((closeSnapshot_result)that);
       return false;
     }
 
-    public boolean equals(checkpoint_result that) {
+    public boolean equals(closeSnapshot_result that) {
       if (that == null)
         return false;
 
-      boolean this_present_success = true && this.isSetSuccess();
-      boolean that_present_success = true && that.isSetSuccess();
-      if (this_present_success || that_present_success) {
-        if (!(this_present_success && that_present_success))
-          return false;
-        if (!this.success.equals(that.success))
-          return false;
-      }
-
-      boolean this_present_e = true && this.isSetE();
-      boolean that_present_e = true && that.isSetE();
-      if (this_present_e || that_present_e) {
-        if (!(this_present_e && that_present_e))
-          return false;
-        if (!this.e.equals(that.e))
-          return false;
-      }
-
       return true;
     }
 
@@ -10865,34 +16107,14 @@ public class TTransactionServer {
       return 0;
     }
 
-    public int compareTo(checkpoint_result other) {
+    public int compareTo(closeSnapshot_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      checkpoint_result typedOther = (checkpoint_result)other;
+      closeSnapshot_result typedOther = (closeSnapshot_result)other;
 
-      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetSuccess()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = Boolean.valueOf(isSetE()).compareTo(typedOther.isSetE());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetE()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, typedOther.e);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
       return 0;
     }
 
@@ -10910,24 +16132,9 @@ public class TTransactionServer {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("checkpoint_result(");
+      StringBuilder sb = new StringBuilder("closeSnapshot_result(");
       boolean first = true;
 
-      sb.append("success:");
-      if (this.success == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.success);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("e:");
-      if (this.e == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.e);
-      }
-      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -10935,9 +16142,6 @@ public class TTransactionServer {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (success != null) {
-        success.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -10956,15 +16160,15 @@ public class TTransactionServer {
       }
     }
 
-    private static class checkpoint_resultStandardSchemeFactory implements SchemeFactory {
-      public checkpoint_resultStandardScheme getScheme() {
-        return new checkpoint_resultStandardScheme();
+    private static class closeSnapshot_resultStandardSchemeFactory implements SchemeFactory {
+      public closeSnapshot_resultStandardScheme getScheme() {
+        return new closeSnapshot_resultStandardScheme();
       }
     }
 
-    private static class checkpoint_resultStandardScheme extends StandardScheme<checkpoint_result> {
+    private static class closeSnapshot_resultStandardScheme extends StandardScheme<closeSnapshot_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, checkpoint_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, closeSnapshot_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -10974,24 +16178,6 @@ public class TTransactionServer {
             break;
           }
           switch (schemeField.id) {
-            case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new TTransaction();
-                struct.success.read(iprot);
-                struct.setSuccessIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 1: // E
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.e = new TTransactionNotInProgressException();
-                struct.e.read(iprot);
-                struct.setEIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -11003,67 +16189,32 @@ public class TTransactionServer {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, checkpoint_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, closeSnapshot_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.success != null) {
-          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          struct.success.write(oprot);
-          oprot.writeFieldEnd();
-        }
-        if (struct.e != null) {
-          oprot.writeFieldBegin(E_FIELD_DESC);
-          struct.e.write(oprot);
-          oprot.writeFieldEnd();
-        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class checkpoint_resultTupleSchemeFactory implements SchemeFactory {
-      public checkpoint_resultTupleScheme getScheme() {
-        return new checkpoint_resultTupleScheme();
+    private static class closeSnapshot_resultTupleSchemeFactory implements SchemeFactory {
+      public closeSnapshot_resultTupleScheme getScheme() {
+        return new closeSnapshot_resultTupleScheme();
       }
     }
 
-    private static class checkpoint_resultTupleScheme extends TupleScheme<checkpoint_result> {
+    private static class closeSnapshot_resultTupleScheme extends TupleScheme<closeSnapshot_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, checkpoint_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, closeSnapshot_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
-        BitSet optionals = new BitSet();
-        if (struct.isSetSuccess()) {
-          optionals.set(0);
-        }
-        if (struct.isSetE()) {
-          optionals.set(1);
-        }
-        oprot.writeBitSet(optionals, 2);
-        if (struct.isSetSuccess()) {
-          struct.success.write(oprot);
-        }
-        if (struct.isSetE()) {
-          struct.e.write(oprot);
-        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, checkpoint_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, closeSnapshot_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(2);
-        if (incoming.get(0)) {
-          struct.success = new TTransaction();
-          struct.success.read(iprot);
-          struct.setSuccessIsSet(true);
-        }
-        if (incoming.get(1)) {
-          struct.e = new TTransactionNotInProgressException();
-          struct.e.read(iprot);
-          struct.setEIsSet(true);
-        }
       }
     }
 
@@ -53,6 +53,8 @@ public class InMemoryTransactionService extends AbstractService {
   protected final int threads;
   protected final int ioThreads;
   protected final int maxReadBufferBytes;
+  protected final boolean encodeInvalids;
+  protected final int snapshotChunkSize;
 
   @Inject
   public InMemoryTransactionService(Configuration conf,
@@ -75,13 +77,19 @@ public class InMemoryTransactionService extends AbstractService {
 
     maxReadBufferBytes = conf.getInt(TxConstants.Service.CFG_DATA_TX_THRIFT_MAX_READ_BUFFER,
                                      TxConstants.Service.DEFAULT_DATA_TX_THRIFT_MAX_READ_BUFFER);
+    encodeInvalids = conf.getBoolean(TxConstants.Service.CFG_DATA_TX_THRIFT_ENCODE_INVALIDS,
+                                     TxConstants.Service.DEFAULT_DATA_TX_THRIFT_ENCODE_INVALIDS);
+    snapshotChunkSize = conf.getInt(TxConstants.Service.CFG_DATA_TX_THRIFT_SNAPSHOT_CHUNK_SIZE,
+                                    TxConstants.Service.DEFAULT_DATA_TX_THRIFT_SNAPSHOT_CHUNK_SIZE);
 
     LOG.info("Configuring TransactionService" +
                ", address: " + address +
                ", port: " + port +
                ", threads: " + threads +
                ", io threads: " + ioThreads +
-               ", max read buffer (bytes): " + maxReadBufferBytes);
+               ", max read buffer (bytes): " + maxReadBufferBytes +
+               ", encode invalids: " + encodeInvalids +
+               ", snapshot chunk size (bytes): " + snapshotChunkSize);
   }
 
   protected void undoRegister() {
@@ -34,6 +34,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -65,6 +66,16 @@ public class InMemoryTxSystemClient implements TransactionSystemClient {
     return txManager.startShort(timeout);
   }
 
+  @Override
+  public List<Transaction> startShort(int count, int timeout) {
+    return txManager.startShort(count, timeout);
+  }
+
+  @Override
+  public Transaction startReadOnly() {
+    return txManager.startReadOnly();
+  }
+
   @Override
   public boolean canCommit(Transaction tx, Collection<byte[]> changeIds) throws TransactionNotInProgressException {
     return changeIds.isEmpty() || txManager.canCommit(tx, changeIds);
@@ -75,6 +86,12 @@ public class InMemoryTxSystemClient implements TransactionSystemClient {
     return txManager.commit(tx);
   }
 
+  @Override
+  public boolean commitWithChanges(Transaction tx, Collection<byte[]> changeIds)
+    throws TransactionNotInProgressException {
+    return txManager.commitWithChanges(tx, changeIds);
+  }
+
   @Override
   public void abort(Transaction tx) {
     txManager.abort(tx);
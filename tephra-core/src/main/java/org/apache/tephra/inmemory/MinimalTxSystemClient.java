@@ -27,7 +27,9 @@ import org.apache.tephra.TransactionType;
 import org.apache.tephra.TxConstants;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -50,6 +52,22 @@ public class MinimalTxSystemClient implements TransactionSystemClient {
     return startShort();
   }
 
+  @Override
+  public List<Transaction> startShort(int count, int timeout) {
+    List<Transaction> txs = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      txs.add(startShort());
+    }
+    return txs;
+  }
+
+  @Override
+  public Transaction startReadOnly() {
+    Transaction tx = startShort();
+    return new Transaction(tx.getReadPointer(), Transaction.READ_ONLY_WRITE_POINTER, tx.getInvalids(),
+                           tx.getInProgress(), tx.getFirstShortInProgress(), TransactionType.READ_ONLY);
+  }
+
   @Override
   public Transaction startLong() {
     return startShort();
@@ -65,6 +83,11 @@ public class MinimalTxSystemClient implements TransactionSystemClient {
     return true;
   }
 
+  @Override
+  public boolean commitWithChanges(Transaction tx, Collection<byte[]> changeIds) {
+    return true;
+  }
+
   @Override
   public void abort(Transaction tx) {
     // do nothing
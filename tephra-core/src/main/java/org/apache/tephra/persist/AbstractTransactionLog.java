@@ -19,9 +19,16 @@
 package org.apache.tephra.persist;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.Writable;
+import org.apache.tephra.TxConstants;
 import org.apache.tephra.metrics.MetricsCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,13 +36,35 @@ import org.slf4j.LoggerFactory;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Common implementation of a transaction log, backed by file reader and writer based storage.  Classes extending
  * this class, must also implement {@link TransactionLogWriter} and {@link TransactionLogReader}.
+ *
+ * <p>Appended edits are placed into a pre-allocated ring buffer. A dedicated writer thread drains the ring buffer
+ * in batches: it writes one commit marker and all edits of a batch, syncs the log once, and then wakes up all
+ * appenders of that batch. While a batch is being synced, new edits accumulate in the ring buffer for the next
+ * batch, so that a slow sync does not make appenders line up for syncs of their own. The size of a batch is limited
+ * by {@link TxConstants.TransactionLog#CFG_TX_LOG_BATCH_MAX_SIZE}. With
+ * {@link TxConstants.TransactionLog#CFG_TX_LOG_BATCH_MAX_DELAY_US}, the writer waits for a batch to fill up
+ * before it writes it, trading latency for fewer syncs.</p>
+ *
+ * <p>The writer thread reports the latency of every stage of a batch, in microseconds, as histograms:
+ * {@code wal.queue.wait.us} (the time the oldest edit of the batch waited in the ring buffer),
+ * {@code wal.commit.marker.us}, {@code wal.serialize.us} (appending and flushing the edits), {@code wal.sync.us} and
+ * {@code wal.wakeup.us} (completing the appends of the batch). The size of a batch is reported as
+ * {@code wal.sync.size} (edits) and {@code wal.batch.appends} (appends). A batch that takes longer than
+ * {@link TxConstants.TransactionLog#CFG_TX_LOG_SLOW_BATCH_THRESHOLD_MS} in total is logged with the latency of
+ * every stage.</p>
  */
 public abstract class AbstractTransactionLog implements TransactionLog {
   /** Time limit, in milliseconds, of an append to the transaction log before we log it as "slow". */
@@ -43,18 +72,81 @@ public abstract class AbstractTransactionLog implements TransactionLog {
 
   private static final Logger LOG = LoggerFactory.getLogger(AbstractTransactionLog.class);
 
-  private final AtomicLong logSequence = new AtomicLong();
   private final MetricsCollector metricsCollector;
+  private final int maxBatchSize;
+  private final long maxBatchDelayNanos;
+  private final long slowBatchThresholdNanos;
   protected long timestamp;
   private volatile boolean initialized;
   private volatile boolean closed;
-  private AtomicLong syncedUpTo = new AtomicLong();
-  private List<Entry> pendingWrites = Lists.newLinkedList();
   private TransactionLogWriter writer;
+  private Thread writerThread;
+  // if set, the sequence numbers written to the log are taken from this counter, see shareSequences()
+  private AtomicLong sharedSequences;
+
+  // guards all of the following fields
+  private final Lock lock = new ReentrantLock();
+  // signalled when edits are added to the ring buffer, or when the log is closed
+  private final Condition notEmpty = lock.newCondition();
+  // signalled when a batch has been synced, or when writing a batch failed
+  private final Condition synced = lock.newCondition();
+  // the ring buffer, the entry with sequence number n is stored in ring[n & ringMask]
+  private final Entry[] ring;
+  // the futures of the appends, each stored in the slot of the last edit of the append
+  private final SettableFuture<Void>[] futures;
+  // the time at which each edit in the ring buffer was appended
+  private final long[] appendNanos;
+  private final int ringMask;
+  // the sequence number of the next appended edit
+  private long nextSequence;
+  // all edits with a lower sequence number are synced, and their slots in the ring buffer can be reused
+  private long syncedUpTo;
+  // the error that the writer thread failed with, no edits can be appended after that
+  private IOException failure;
 
   public AbstractTransactionLog(long timestamp, MetricsCollector metricsCollector) {
+    this(timestamp, metricsCollector, TxConstants.TransactionLog.DEFAULT_TX_LOG_BATCH_MAX_SIZE,
+         TxConstants.TransactionLog.DEFAULT_TX_LOG_BATCH_MAX_DELAY_US,
+         TxConstants.TransactionLog.DEFAULT_TX_LOG_SLOW_BATCH_THRESHOLD_MS);
+  }
+
+  /**
+   * @param conf configuration for the maximum batch size and delay, and the threshold for logging slow batches
+   */
+  public AbstractTransactionLog(long timestamp, MetricsCollector metricsCollector, Configuration conf) {
+    this(timestamp, metricsCollector,
+         conf.getInt(TxConstants.TransactionLog.CFG_TX_LOG_BATCH_MAX_SIZE,
+                     TxConstants.TransactionLog.DEFAULT_TX_LOG_BATCH_MAX_SIZE),
+         conf.getLong(TxConstants.TransactionLog.CFG_TX_LOG_BATCH_MAX_DELAY_US,
+                      TxConstants.TransactionLog.DEFAULT_TX_LOG_BATCH_MAX_DELAY_US),
+         conf.getLong(TxConstants.TransactionLog.CFG_TX_LOG_SLOW_BATCH_THRESHOLD_MS,
+                      TxConstants.TransactionLog.DEFAULT_TX_LOG_SLOW_BATCH_THRESHOLD_MS));
+  }
+
+  private AbstractTransactionLog(long timestamp, MetricsCollector metricsCollector,
+                                 int maxBatchSize, long maxBatchDelayMicros, long slowBatchThresholdMillis) {
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("Maximum batch size must be positive, but is " + maxBatchSize);
+    }
     this.timestamp = timestamp;
     this.metricsCollector = metricsCollector;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxBatchDelayMicros));
+    this.slowBatchThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowBatchThresholdMillis);
+    // room for at least four batches, so that appenders can fill the next batches while one is being synced
+    int capacity = Integer.highestOneBit(Math.max(maxBatchSize, 16) - 1) << 3;
+    this.ring = new Entry[capacity];
+    this.futures = newFutures(capacity);
+    this.appendNanos = new long[capacity];
+    for (int i = 0; i < capacity; i++) {
+      ring[i] = new Entry(new LongWritable(), null);
+    }
+    this.ringMask = capacity - 1;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static SettableFuture<Void>[] newFutures(int capacity) {
+    return (SettableFuture<Void>[]) new SettableFuture[capacity];
   }
 
   /**
@@ -62,12 +154,42 @@ public abstract class AbstractTransactionLog implements TransactionLog {
    * also call {@link HDFSTransactionLog#close()}.
    * @throws java.io.IOException If an error is encountered initializing the file writer.
    */
-  public synchronized void init() throws IOException {
-    if (initialized) {
-      return;
+  @Override
+  public void init() throws IOException {
+    lock.lock();
+    try {
+      if (initialized) {
+        return;
+      }
+      this.writer = createWriter();
+      this.writerThread = new Thread("tx-log-writer-" + getName()) {
+        @Override
+        public void run() {
+          writeBatches();
+        }
+      };
+      writerThread.setDaemon(true);
+      writerThread.start();
+      this.initialized = true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Makes this log take the sequence numbers of the edits it writes from the given counter, which is shared by all
+   * stripes of a {@link StripedTransactionLog}. Every batch takes a contiguous range of numbers right before it is
+   * written, hence an edit that is appended after another edit was synced has a higher sequence number, no matter
+   * which stripes the two edits were written to. Must be called before the log is initialized.
+   */
+  void shareSequences(AtomicLong sequences) {
+    lock.lock();
+    try {
+      Preconditions.checkState(!initialized, "Log %s is already initialized", getName());
+      this.sharedSequences = sequences;
+    } finally {
+      lock.unlock();
     }
-    this.writer = createWriter();
-    this.initialized = true;
   }
 
   /**
@@ -85,18 +207,18 @@ public abstract class AbstractTransactionLog implements TransactionLog {
 
   @Override
   public void append(TransactionEdit edit) throws IOException {
-    long startTime = System.nanoTime();
-    synchronized (this) {
-      ensureAvailable();
-
-      Entry entry = new Entry(new LongWritable(logSequence.getAndIncrement()), edit);
+    append(Collections.singletonList(edit));
+  }
 
-      // add to pending edits
-      append(entry);
+  @Override
+  public void append(List<TransactionEdit> edits) throws IOException {
+    long startTime = System.nanoTime();
+    try {
+      Uninterruptibles.getUninterruptibly(appendAsync(edits));
+    } catch (ExecutionException e) {
+      Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+      throw Throwables.propagate(e.getCause());
     }
-
-    // wait for sync to complete
-    sync();
     long durationMillis = (System.nanoTime() - startTime) / 1000000L;
     if (durationMillis > SLOW_APPEND_THRESHOLD) {
       LOG.info("Slow append to log " + getName() + ", took " + durationMillis + " msec.");
@@ -104,103 +226,232 @@ public abstract class AbstractTransactionLog implements TransactionLog {
   }
 
   @Override
-  public void append(List<TransactionEdit> edits) throws IOException {
-    long startTime = System.nanoTime();
-    synchronized (this) {
-      ensureAvailable();
+  public ListenableFuture<Void> appendAsync(TransactionEdit edit) {
+    return appendAsync(Collections.singletonList(edit));
+  }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This only blocks if the ring buffer is full, until the writer thread has synced enough edits to make room
+   * for the given edits. The returned future is completed by the writer thread.</p>
+   */
+  @Override
+  public ListenableFuture<Void> appendAsync(List<TransactionEdit> edits) {
+    if (edits.isEmpty()) {
+      return Futures.immediateFuture(null);
+    }
+    SettableFuture<Void> future = SettableFuture.create();
+    long now = System.nanoTime();
+    lock.lock();
+    try {
+      ensureAvailable();
       for (TransactionEdit edit : edits) {
-        Entry entry = new Entry(new LongWritable(logSequence.getAndIncrement()), edit);
-
-        // add to pending edits
-        append(entry);
+        // wait for a free slot, a list of edits larger than the ring buffer is written in multiple batches
+        while (nextSequence - syncedUpTo > ringMask) {
+          notEmpty.signal();
+          synced.awaitUninterruptibly();
+          if (closed) {
+            throw new IOException("Log " + getName() + " was closed while appending!");
+          }
+          checkFailure();
+        }
+        int slot = (int) nextSequence & ringMask;
+        ring[slot].key.set(nextSequence);
+        ring[slot].edit = edit;
+        appendNanos[slot] = now;
+        nextSequence++;
       }
+      // completed once the last of the edits is synced
+      futures[(int) (nextSequence - 1) & ringMask] = future;
+      notEmpty.signal();
+    } catch (IOException e) {
+      return Futures.immediateFailedFuture(e);
+    } finally {
+      lock.unlock();
     }
-
-    // wait for sync to complete
-    sync();
-    long durationMillis = (System.nanoTime() - startTime) / 1000000L;
-    if (durationMillis > SLOW_APPEND_THRESHOLD) {
-      LOG.info("Slow append to log " + getName() + ", took " + durationMillis + " msec.");
-    }
+    return future;
   }
 
+  // must be called while holding the lock
   private void ensureAvailable() throws IOException {
     if (closed) {
       throw new IOException("Log " + getName() + " is already closed, cannot append!");
     }
+    checkFailure();
     if (!initialized) {
       init();
     }
   }
 
-  /*
-   * Appends new writes to the pendingWrites. It is better to keep it in
-   * our own queue rather than writing it to the HDFS output stream because
-   * HDFSOutputStream.writeChunk is not lightweight at all.
-   */
-  private void append(Entry e) throws IOException {
-    pendingWrites.add(e);
-  }
-
-  // Returns all currently pending writes. New writes
-  // will accumulate in a new list.
-  private List<Entry> getPendingWrites() {
-    synchronized (this) {
-      List<Entry> save = this.pendingWrites;
-      this.pendingWrites = new LinkedList<>();
-      return save;
+  // must be called while holding the lock
+  private void checkFailure() throws IOException {
+    if (failure != null) {
+      throw new IOException("Failed to write to log " + getName(), failure);
     }
   }
 
-  private void sync() throws IOException {
-    // writes out pending entries to the HLog
-    TransactionLogWriter tmpWriter = null;
-    long latestSeq = 0;
-    int entryCount = 0;
-    synchronized (this) {
-      if (closed) {
-        return;
+  /**
+   * Run by the writer thread: repeatedly takes the edits from the ring buffer, writes and syncs them, until the log
+   * is closed and all edits have been written, or until writing fails.
+   */
+  private void writeBatches() {
+    while (true) {
+      long first;
+      long last;
+      long queueNanos;
+      lock.lock();
+      try {
+        while (nextSequence == syncedUpTo && !closed) {
+          notEmpty.awaitUninterruptibly();
+        }
+        if (nextSequence == syncedUpTo) {
+          // closed, and all edits have been written
+          return;
+        }
+        // optionally wait for more edits to fill up the batch
+        long remainingNanos = maxBatchDelayNanos;
+        while (remainingNanos > 0 && nextSequence - syncedUpTo < maxBatchSize && !closed) {
+          try {
+            remainingNanos = notEmpty.awaitNanos(remainingNanos);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+        }
+        first = syncedUpTo;
+        last = Math.min(nextSequence, first + maxBatchSize);
+        queueNanos = System.nanoTime() - appendNanos[(int) first & ringMask];
+      } finally {
+        lock.unlock();
       }
-      // prevent writer being dereferenced
-      tmpWriter = writer;
 
-      List<Entry> currentPending = getPendingWrites();
-      if (!currentPending.isEmpty()) {
-        tmpWriter.commitMarker(currentPending.size());
+      // the slots of this batch are not reused until it has been synced, hence they can be read without the lock
+      if (sharedSequences != null) {
+        long key = sharedSequences.getAndAdd(last - first);
+        for (long sequence = first; sequence < last; sequence++) {
+          ring[(int) sequence & ringMask].key.set(key++);
+        }
+      }
+      IOException error = null;
+      long commitMarkerNanos = 0;
+      long serializeNanos = 0;
+      long syncNanos = 0;
+      try {
+        long start = System.nanoTime();
+        writer.commitMarker((int) (last - first));
+        long markerWritten = System.nanoTime();
+        for (long sequence = first; sequence < last; sequence++) {
+          writer.append(ring[(int) sequence & ringMask]);
+        }
+        writer.flush();
+        long flushed = System.nanoTime();
+        writer.sync();
+        commitMarkerNanos = markerWritten - start;
+        serializeNanos = flushed - markerWritten;
+        syncNanos = System.nanoTime() - flushed;
+      } catch (IOException e) {
+        LOG.error("Failed to write to log " + getName(), e);
+        error = e;
+      } catch (RuntimeException e) {
+        LOG.error("Failed to write to log " + getName(), e);
+        error = new IOException(e);
       }
 
-      // write out all accumulated entries to log.
-      for (Entry e : currentPending) {
-        tmpWriter.append(e);
-        entryCount++;
-        latestSeq = Math.max(latestSeq, e.getKey().get());
+      long wakeupStart = System.nanoTime();
+      List<SettableFuture<Void>> completed = new ArrayList<>();
+      lock.lock();
+      try {
+        if (error != null) {
+          failure = error;
+          // none of the outstanding edits will be written
+          takeFutures(first, nextSequence, completed);
+          synced.signalAll();
+        } else {
+          for (long sequence = first; sequence < last; sequence++) {
+            ring[(int) sequence & ringMask].edit = null;
+          }
+          takeFutures(first, last, completed);
+          syncedUpTo = last;
+          synced.signalAll();
+        }
+      } finally {
+        lock.unlock();
       }
+      // complete the futures without holding the lock, as they run the callbacks of the appenders
+      for (SettableFuture<Void> future : completed) {
+        if (error != null) {
+          future.setException(error);
+        } else {
+          future.set(null);
+        }
+      }
+      if (error != null) {
+        return;
+      }
+      recordBatch((int) (last - first), completed.size(), queueNanos, commitMarkerNanos, serializeNanos, syncNanos,
+                  System.nanoTime() - wakeupStart);
+    }
+  }
+
+  /**
+   * Reports the size of a batch and the latency of its stages, and logs the batch if it was slow.
+   */
+  private void recordBatch(int edits, int appends, long queueNanos, long commitMarkerNanos, long serializeNanos,
+                           long syncNanos, long wakeupNanos) {
+    metricsCollector.histogram("wal.sync.size", edits);
+    metricsCollector.histogram("wal.batch.appends", appends);
+    metricsCollector.histogram("wal.queue.wait.us", toMicros(queueNanos));
+    metricsCollector.histogram("wal.commit.marker.us", toMicros(commitMarkerNanos));
+    metricsCollector.histogram("wal.serialize.us", toMicros(serializeNanos));
+    metricsCollector.histogram("wal.sync.us", toMicros(syncNanos));
+    metricsCollector.histogram("wal.wakeup.us", toMicros(wakeupNanos));
+    long totalNanos = queueNanos + commitMarkerNanos + serializeNanos + syncNanos + wakeupNanos;
+    if (totalNanos > slowBatchThresholdNanos) {
+      LOG.warn("Slow batch of {} edits from {} appends to log {}, took {} us: queue wait {} us, commit marker {} us, " +
+                 "serialize {} us, sync {} us, wake-up {} us", edits, appends, getName(), toMicros(totalNanos),
+               toMicros(queueNanos), toMicros(commitMarkerNanos), toMicros(serializeNanos), toMicros(syncNanos),
+               toMicros(wakeupNanos));
     }
+  }
+
+  private static int toMicros(long nanos) {
+    return (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(nanos));
+  }
 
-    long lastSynced = syncedUpTo.get();
-    // someone else might have already synced our edits, avoid double syncing
-    if (lastSynced < latestSeq) {
-      tmpWriter.sync();
-      metricsCollector.histogram("wal.sync.size", entryCount);
-      syncedUpTo.compareAndSet(lastSynced, latestSeq);
+  // must be called while holding the lock
+  private void takeFutures(long first, long last, List<SettableFuture<Void>> taken) {
+    for (long sequence = first; sequence < last; sequence++) {
+      int slot = (int) sequence & ringMask;
+      if (futures[slot] != null) {
+        taken.add(futures[slot]);
+        futures[slot] = null;
+      }
     }
   }
 
   @Override
-  public synchronized void close() throws IOException {
-    if (closed) {
-      return;
+  public void close() throws IOException {
+    Thread thread;
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      // no more appends, the writer thread writes all outstanding edits and then exits
+      closed = true;
+      notEmpty.signal();
+      thread = writerThread;
+    } finally {
+      lock.unlock();
     }
-    // perform a final sync if any outstanding writes
-    if (!pendingWrites.isEmpty()) {
-      sync();
+    if (thread != null) {
+      Uninterruptibles.joinUninterruptibly(thread);
     }
     // NOTE: writer is lazy-inited, so it can be null
     if (writer != null) {
       this.writer.close();
     }
-    this.closed = true;
   }
 
   public boolean isClosed() {
@@ -18,17 +18,24 @@
 
 package org.apache.tephra.persist;
 
+import com.google.common.primitives.Longs;
 import com.google.common.util.concurrent.AbstractIdleService;
 import org.apache.tephra.snapshot.SnapshotCodecProvider;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Common base class for all transaction storage implementations. This implement logic to prefix a snapshot
  * with a version when encoding, and to select the correct codec for decoding based on this version prefix.
  */
 public abstract class AbstractTransactionStateStorage extends AbstractIdleService implements TransactionStateStorage {
+  private static final String CHECKPOINT_FILE_PREFIX = "txcheckpoint.";
+  // number of edits appended to a checkpoint at a time
+  private static final int CHECKPOINT_BATCH_SIZE = 1024;
 
   protected final SnapshotCodecProvider codecProvider;
 
@@ -40,4 +47,112 @@ public abstract class AbstractTransactionStateStorage extends AbstractIdleServic
   public void writeSnapshot(OutputStream out, TransactionSnapshot snapshot) throws IOException {
     codecProvider.encode(out, snapshot);
   }
+
+  /**
+   * Encodes a visibility state, as a snapshot without change sets.
+   */
+  protected void encodeVisibilityState(OutputStream out, TransactionVisibilityState state) throws IOException {
+    codecProvider.encode(out, new TransactionSnapshot(state.getTimestamp(), state.getReadPointer(),
+                                                      state.getWritePointer(), state.getInvalid(),
+                                                      state.getInProgress()));
+  }
+
+  /**
+   * Appends the given edits to a checkpoint, and closes it.
+   * @return The number of edits written.
+   */
+  protected static int writeCheckpointEdits(TransactionLog checkpoint, TransactionLogReader edits)
+    throws IOException {
+    int count = 0;
+    try {
+      // create the checkpoint file even if there are no edits
+      checkpoint.init();
+      List<TransactionEdit> batch = new ArrayList<>(CHECKPOINT_BATCH_SIZE);
+      TransactionEdit edit;
+      while ((edit = edits.next()) != null) {
+        batch.add(edit);
+        if (batch.size() == CHECKPOINT_BATCH_SIZE) {
+          checkpoint.append(batch);
+          count += batch.size();
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) {
+        checkpoint.append(batch);
+        count += batch.size();
+      }
+    } finally {
+      checkpoint.close();
+    }
+    return count;
+  }
+
+  /**
+   * Represents the filename of a checkpoint, "txcheckpoint.&lt;first timestamp&gt;.&lt;last timestamp&gt;", where
+   * the timestamps are those of the first and the last log that are replaced by the checkpoint.  Checkpoints are
+   * ordered by their first and then their last timestamp, hence a checkpoint follows the checkpoints of a subset of
+   * its logs.
+   */
+  protected static final class CheckpointFilename implements Comparable<CheckpointFilename> {
+    private final String name;
+    private final long firstTimestamp;
+    private final long lastTimestamp;
+
+    public CheckpointFilename(long firstTimestamp, long lastTimestamp) {
+      this(CHECKPOINT_FILE_PREFIX + firstTimestamp + "." + lastTimestamp, firstTimestamp, lastTimestamp);
+    }
+
+    private CheckpointFilename(String name, long firstTimestamp, long lastTimestamp) {
+      this.name = name;
+      this.firstTimestamp = firstTimestamp;
+      this.lastTimestamp = lastTimestamp;
+    }
+
+    /**
+     * Returns the parsed filename, or {@code null} if the given name is not the name of a checkpoint.
+     */
+    @Nullable
+    public static CheckpointFilename parse(String name) {
+      if (!name.startsWith(CHECKPOINT_FILE_PREFIX)) {
+        return null;
+      }
+      String[] parts = name.split("\\.");
+      if (parts.length != 3) {
+        return null;
+      }
+      try {
+        return new CheckpointFilename(name, Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getFirstTimestamp() {
+      return firstTimestamp;
+    }
+
+    public long getLastTimestamp() {
+      return lastTimestamp;
+    }
+
+    /**
+     * Returns whether all logs replaced by the given checkpoint are also replaced by this checkpoint.
+     */
+    public boolean covers(CheckpointFilename other) {
+      return firstTimestamp <= other.firstTimestamp && other.lastTimestamp <= lastTimestamp;
+    }
+
+    @Override
+    public int compareTo(CheckpointFilename other) {
+      int res = Longs.compare(firstTimestamp, other.firstTimestamp);
+      if (res == 0) {
+        res = Longs.compare(lastTimestamp, other.lastTimestamp);
+      }
+      return res;
+    }
+  }
 }
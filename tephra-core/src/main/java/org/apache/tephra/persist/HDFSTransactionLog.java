@@ -20,9 +20,11 @@ package org.apache.tephra.persist;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.io.Text;
@@ -33,13 +35,40 @@ import org.slf4j.LoggerFactory;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Allows reading from and writing to a transaction write-ahead log stored in HDFS.
+ *
+ * <p>Log files are written with the replication, block size and buffer size configured with
+ * {@link TxConstants.TransactionLog#CFG_TX_LOG_HDFS_REPLICATION},
+ * {@link TxConstants.TransactionLog#CFG_TX_LOG_HDFS_BLOCK_SIZE} and
+ * {@link TxConstants.TransactionLog#CFG_TX_LOG_HDFS_BUFFER_SIZE}, which default to those of the filesystem.
+ * Written batches are made durable according to the {@link SyncMode} configured with
+ * {@link TxConstants.TransactionLog#CFG_TX_LOG_HDFS_SYNC_MODE}.</p>
  */
 public class HDFSTransactionLog extends AbstractTransactionLog {
   private static final Logger LOG = LoggerFactory.getLogger(HDFSTransactionLog.class);
 
+  /**
+   * How written batches are made durable before the appenders of the batch return.
+   */
+  public enum SyncMode {
+    /**
+     * Every batch is flushed to all datanodes of the write pipeline. A batch survives the failure of any of them,
+     * but may be lost if all of them lose power before writing it to disk.
+     */
+    HFLUSH,
+    /** Every batch is forced to disk on all datanodes of the write pipeline, at the cost of a disk sync. */
+    HSYNC,
+    /**
+     * Every batch is flushed to all datanodes, and batches are forced to disk at most once per hsync interval, by
+     * the first batch after the interval elapsed, and when the log is closed. The batches since the last hsync have
+     * the durability of {@link #HFLUSH}.
+     */
+    WRITE_BEHIND
+  }
+
   private final FileSystem fs;
   private final Configuration hConf;
   private final Path logPath;
@@ -52,7 +81,7 @@ public class HDFSTransactionLog extends AbstractTransactionLog {
    */
   public HDFSTransactionLog(final FileSystem fs, final Configuration hConf,
                             final Path logPath, long timestamp, MetricsCollector metricsCollector) {
-    super(timestamp, metricsCollector);
+    super(timestamp, metricsCollector, hConf);
     this.fs = fs;
     this.hConf = hConf;
     this.logPath = logPath;
@@ -110,38 +139,123 @@ public class HDFSTransactionLog extends AbstractTransactionLog {
     return reader;
   }
 
+  /**
+   * Writes every batch of edits as a single record, encoded by {@link TransactionEditBatchCodec}. The key of the
+   * record is the sequence number of the first edit in the batch.
+   */
   @VisibleForTesting
   static final class LogWriter implements TransactionLogWriter {
+    // the writer does not own the output stream, it must be closed separately
+    private final FSDataOutputStream out;
     private final SequenceFile.Writer internalWriter;
+    private final TransactionEditBatchCodec batch = new TransactionEditBatchCodec();
+    private final LongWritable firstSequence = new LongWritable();
+    private final BytesWritable value = new BytesWritable();
+    private final SyncMode syncMode;
+    private final long hsyncIntervalNanos;
+    private long lastHsyncNanos = System.nanoTime();
+
     public LogWriter(FileSystem fs, Configuration hConf, Path logPath) throws IOException {
+      this.syncMode = SyncMode.valueOf(hConf.get(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_SYNC_MODE,
+                                                 TxConstants.TransactionLog.DEFAULT_TX_LOG_HDFS_SYNC_MODE)
+                                         .toUpperCase());
+      this.hsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+        hConf.getLong(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_HSYNC_INTERVAL_MS,
+                      TxConstants.TransactionLog.DEFAULT_TX_LOG_HDFS_HSYNC_INTERVAL_MS));
+      int replication = hConf.getInt(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_REPLICATION, 0);
+      if (replication <= 0) {
+        replication = fs.getDefaultReplication(logPath);
+      }
+      long blockSize = hConf.getLong(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_BLOCK_SIZE, 0);
+      if (blockSize <= 0) {
+        blockSize = fs.getDefaultBlockSize(logPath);
+      }
+      int bufferSize = hConf.getInt(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_BUFFER_SIZE, 0);
+      if (bufferSize <= 0) {
+        bufferSize = hConf.getInt("io.file.buffer.size", 4096);
+      }
+
       // TODO: retry a few times to ride over transient failures?
       SequenceFile.Metadata metadata = new SequenceFile.Metadata();
       metadata.set(new Text(TxConstants.TransactionLog.VERSION_KEY),
                    new Text(Byte.toString(TxConstants.TransactionLog.CURRENT_VERSION)));
 
-      this.internalWriter = SequenceFile.createWriter(fs, hConf, logPath, LongWritable.class, TransactionEdit.class,
-                                                      SequenceFile.CompressionType.NONE, null, null, metadata);
-      LOG.debug("Created a new TransactionLog writer for " + logPath);
+      this.out = fs.create(logPath, true, bufferSize, (short) replication, blockSize);
+      try {
+        this.internalWriter = SequenceFile.createWriter(hConf, SequenceFile.Writer.stream(out),
+                                                        SequenceFile.Writer.keyClass(LongWritable.class),
+                                                        SequenceFile.Writer.valueClass(BytesWritable.class),
+                                                        SequenceFile.Writer.compression(
+                                                          SequenceFile.CompressionType.NONE),
+                                                        SequenceFile.Writer.metadata(metadata));
+      } catch (IOException e) {
+        out.close();
+        throw e;
+      }
+      LOG.debug("Created a new TransactionLog writer for {} with sync mode {}, replication {} and block size {}",
+                logPath, syncMode, replication, blockSize);
     }
 
     @Override
     public void append(Entry entry) throws IOException {
-      internalWriter.append(entry.getKey(), entry.getEdit());
+      if (batch.size() == 0) {
+        firstSequence.set(entry.getKey().get());
+      }
+      batch.add(entry.getEdit());
     }
 
     @Override
     public void commitMarker(int count) throws IOException {
-      CommitMarkerCodec.writeMarker(internalWriter, count);
+      // the number of edits is part of the batch record
+    }
+
+    @Override
+    public void flush() throws IOException {
+      writeBatch();
     }
 
     @Override
     public void sync() throws IOException {
-      internalWriter.syncFs();
+      writeBatch();
+      switch (syncMode) {
+        case HSYNC:
+          internalWriter.hsync();
+          break;
+        case WRITE_BEHIND:
+          if (System.nanoTime() - lastHsyncNanos >= hsyncIntervalNanos) {
+            hsync();
+          } else {
+            internalWriter.hflush();
+          }
+          break;
+        default:
+          internalWriter.hflush();
+      }
     }
 
     @Override
     public void close() throws IOException {
-      internalWriter.close();
+      try {
+        writeBatch();
+        if (syncMode == SyncMode.WRITE_BEHIND) {
+          hsync();
+        }
+        internalWriter.close();
+      } finally {
+        out.close();
+      }
+    }
+
+    private void hsync() throws IOException {
+      internalWriter.hsync();
+      lastHsyncNanos = System.nanoTime();
+    }
+
+    private void writeBatch() throws IOException {
+      if (batch.size() > 0) {
+        batch.writeTo(value);
+        internalWriter.append(firstSequence, value);
+      }
     }
   }
 }
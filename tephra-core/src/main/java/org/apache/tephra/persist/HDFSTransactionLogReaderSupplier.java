@@ -45,6 +45,9 @@ public class HDFSTransactionLogReaderSupplier implements Supplier<TransactionLog
     }
 
     switch (version) {
+      case 4:
+        logReader = new HDFSTransactionLogReaderV4(reader);
+        return logReader;
       case 3:
         logReader = new HDFSTransactionLogReaderV3(reader);
         return logReader;
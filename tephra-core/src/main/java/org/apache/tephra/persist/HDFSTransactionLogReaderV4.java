@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * {@link TransactionLogReader} that can read v4 version of Transaction logs. Every record of the log is a batch of
+ * {@link TransactionEdit}s that were synced together, encoded by {@link TransactionEditBatchCodec}. A batch that was
+ * not completely written is discarded, and a batch that does not match its checksum fails the read.
+ */
+public class HDFSTransactionLogReaderV4 implements SequencedTransactionLogReader {
+  private static final Logger LOG = LoggerFactory.getLogger(HDFSTransactionLogReaderV4.class);
+
+  private final SequenceFile.Reader reader;
+  private final Queue<TransactionEdit> transactionEdits;
+  private final LongWritable key;
+  private final BytesWritable value;
+
+  // the sequence number of the edit at the head of transactionEdits
+  private long nextSequence;
+  private long sequence = -1;
+  private boolean closed;
+
+  public HDFSTransactionLogReaderV4(SequenceFile.Reader reader) {
+    this.reader = reader;
+    this.transactionEdits = new ArrayDeque<>();
+    this.key = new LongWritable();
+    this.value = new BytesWritable();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    reader.close();
+    closed = true;
+  }
+
+  @Override
+  public TransactionEdit next() throws IOException {
+    return next(null);
+  }
+
+  @Override
+  public TransactionEdit next(TransactionEdit reuse) throws IOException {
+    if (closed) {
+      return null;
+    }
+    if (transactionEdits.isEmpty()) {
+      populateTransactionEdits();
+    }
+    TransactionEdit edit = transactionEdits.poll();
+    if (edit != null) {
+      sequence = nextSequence++;
+    }
+    return edit;
+  }
+
+  @Override
+  public long getSequence() {
+    return sequence;
+  }
+
+  private void populateTransactionEdits() throws IOException {
+    try {
+      if (!reader.next(key, value)) {
+        return;
+      }
+    } catch (EOFException e) {
+      // the last batch was not completely written, none of its edits were acknowledged
+      LOG.warn("Reached EOF in log while trying to read a batch of edits", e);
+      return;
+    }
+    TransactionEditBatchCodec.decode(value.getBytes(), value.getLength(), transactionEdits);
+    // the edits of a batch have consecutive sequence numbers
+    nextSequence = key.get();
+  }
+}
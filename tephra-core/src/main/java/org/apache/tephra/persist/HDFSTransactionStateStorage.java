@@ -22,6 +22,7 @@ import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.io.CountingInputStream;
+import com.google.common.primitives.Ints;
 import com.google.common.primitives.Longs;
 import com.google.inject.Inject;
 import org.apache.hadoop.conf.Configuration;
@@ -42,10 +43,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 import javax.annotation.Nullable;
 
 /**
@@ -54,14 +61,21 @@ import javax.annotation.Nullable;
  * The directory used for file storage is configured using the {@code data.tx.snapshot.dir} configuration property.
  * Both snapshot and transaction log files are suffixed with a timestamp to allow easy ordering.  Snapshot files
  * are written with the filename "snapshot.&lt;timestamp&gt;".  Transaction log files are written with the filename
- * "txlog.&lt;timestamp&gt;".
+ * "txlog.&lt;timestamp&gt;".  If transaction logs are striped across multiple files, configured with
+ * {@code data.tx.log.stripes}, the stripe files are named "txlog.&lt;timestamp&gt;.&lt;stripe&gt;" and are placed in
+ * the directories configured with {@code data.tx.log.stripe.dirs}.  A checkpoint that replaces closed transaction
+ * logs is written with the filename "txcheckpoint.&lt;first timestamp&gt;.&lt;last timestamp&gt;".  The most recent
+ * visibility state, which is read by coprocessors, is written with the filename "visibility.&lt;timestamp&gt;".
  */
 public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage {
   private static final Logger LOG = LoggerFactory.getLogger(HDFSTransactionStateStorage.class);
 
   private static final String SNAPSHOT_FILE_PREFIX = "snapshot.";
   private static final String TMP_SNAPSHOT_FILE_PREFIX = ".in-progress.snapshot.";
+  private static final String TMP_CHECKPOINT_FILE_PREFIX = ".in-progress.";
   private static final String LOG_FILE_PREFIX = "txlog.";
+  private static final String VISIBILITY_FILE_PREFIX = "visibility.";
+  private static final String TMP_VISIBILITY_FILE_PREFIX = ".in-progress.visibility.";
 
   private static final PathFilter SNAPSHOT_FILE_FILTER = new PathFilter() {
     @Override
@@ -70,14 +84,34 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
     }
   };
 
+  private static final PathFilter VISIBILITY_FILE_FILTER = new PathFilter() {
+    @Override
+    public boolean accept(Path path) {
+      return path.getName().startsWith(VISIBILITY_FILE_PREFIX);
+    }
+  };
+
+  private static final PathFilter VISIBILITY_OR_SNAPSHOT_FILE_FILTER = new PathFilter() {
+    @Override
+    public boolean accept(Path path) {
+      return SNAPSHOT_FILE_FILTER.accept(path) || VISIBILITY_FILE_FILTER.accept(path);
+    }
+  };
+
   // buffer size used for HDFS reads and writes
   private static final int BUFFER_SIZE = 16384;
 
   private final Configuration hConf;
   private final String configuredSnapshotDir;
   private final MetricsCollector metricsCollector;
+  private final int stripes;
+  private final String[] configuredStripeDirs;
   private FileSystem fs;
   private Path snapshotDir;
+  // the directories that the stripes of new logs are placed in
+  private List<Path> stripeDirs;
+  // all directories that may contain logs
+  private Set<Path> logDirs;
 
   @Inject
   public HDFSTransactionStateStorage(Configuration hConf, SnapshotCodecProvider codecProvider,
@@ -86,6 +120,11 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
     this.hConf = hConf;
     this.configuredSnapshotDir = hConf.get(TxConstants.Manager.CFG_TX_SNAPSHOT_DIR);
     this.metricsCollector = metricsCollector;
+    this.stripes = hConf.getInt(TxConstants.TransactionLog.CFG_TX_LOG_STRIPES,
+                                TxConstants.TransactionLog.DEFAULT_TX_LOG_STRIPES);
+    Preconditions.checkArgument(stripes > 0, "Number of transaction log stripes must be positive, but is %s",
+                                stripes);
+    this.configuredStripeDirs = hConf.getTrimmedStrings(TxConstants.TransactionLog.CFG_TX_LOG_STRIPE_DIRS);
   }
 
   @Override
@@ -107,6 +146,16 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
     }
     snapshotDir = new Path(configuredSnapshotDir);
     LOG.info("Using snapshot dir " + snapshotDir);
+    stripeDirs = new ArrayList<>();
+    for (String dir : configuredStripeDirs) {
+      stripeDirs.add(new Path(dir));
+    }
+    if (stripeDirs.isEmpty()) {
+      stripeDirs.add(snapshotDir);
+    }
+    logDirs = new LinkedHashSet<>();
+    logDirs.add(snapshotDir);
+    logDirs.addAll(stripeDirs);
   }
 
   @Override
@@ -147,12 +196,44 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
     }
   }
 
+  @Override
+  public void writeVisibilityState(TransactionVisibilityState state) throws IOException {
+    Path tmpFile = new Path(snapshotDir, TMP_VISIBILITY_FILE_PREFIX + state.getTimestamp());
+    FSDataOutputStream out = fs.create(tmpFile, true, BUFFER_SIZE);
+    try {
+      encodeVisibilityState(out, state);
+    } finally {
+      out.close();
+    }
+    Path finalFile = new Path(snapshotDir, VISIBILITY_FILE_PREFIX + state.getTimestamp());
+    if (!fs.rename(tmpFile, finalFile)) {
+      throw new IOException("Failed renaming temporary visibility state file " + tmpFile + " to " + finalFile);
+    }
+    // only the most recent visibility state is kept
+    for (FileStatus status : fs.listStatus(snapshotDir, VISIBILITY_FILE_FILTER)) {
+      if (new TimestampedFilename(status.getPath()).getTimestamp() < state.getTimestamp()) {
+        fs.delete(status.getPath(), false);
+      }
+    }
+    LOG.debug("Completed visibility state to file {}", finalFile);
+  }
+
   @Override
   public TransactionVisibilityState getLatestTransactionVisibilityState() throws IOException {
-    InputStream in = getLatestSnapshotInputStream();
-    if (in == null) {
+    // read the most recent of the visibility state and the snapshots, the visibility state if they are equally recent
+    TimestampedFilename latest = null;
+    for (FileStatus status : fs.listStatus(snapshotDir, VISIBILITY_OR_SNAPSHOT_FILE_FILTER)) {
+      TimestampedFilename file = new TimestampedFilename(status.getPath());
+      if (latest == null || file.getTimestamp() > latest.getTimestamp()
+        || (file.getTimestamp() == latest.getTimestamp() && VISIBILITY_FILE_FILTER.accept(file.getPath()))) {
+        latest = file;
+      }
+    }
+    if (latest == null) {
+      LOG.info("No snapshot files found in {}", snapshotDir);
       return null;
     }
+    InputStream in = fs.open(latest.getPath(), BUFFER_SIZE);
     try {
       return readTransactionVisibilityStateFromInputStream(in);
     } finally {
@@ -242,33 +323,123 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
 
   @Override
   public List<TransactionLog> getLogsSince(long timestamp) throws IOException {
-    FileStatus[] statuses = fs.listStatus(snapshotDir, new LogFileFilter(timestamp, Long.MAX_VALUE));
-    TimestampedFilename[] timestampedFiles = new TimestampedFilename[statuses.length];
-    for (int i = 0; i < statuses.length; i++) {
-      timestampedFiles[i] = new TimestampedFilename(statuses[i].getPath());
+    // the stripes of a log have the same timestamp, logs need to be processed in ascending order
+    Map<Long, List<TimestampedFilename>> logFiles = new TreeMap<>();
+    for (FileStatus status : listLogFiles(new LogFileFilter(timestamp, Long.MAX_VALUE))) {
+      TimestampedFilename logFile = new TimestampedFilename(status.getPath());
+      List<TimestampedFilename> files = logFiles.get(logFile.getTimestamp());
+      if (files == null) {
+        files = new ArrayList<>();
+        logFiles.put(logFile.getTimestamp(), files);
+      }
+      files.add(logFile);
     }
-    return Lists.transform(Arrays.asList(timestampedFiles), new Function<TimestampedFilename, TransactionLog>() {
-      @Nullable
-      @Override
-      public TransactionLog apply(@Nullable TimestampedFilename input) {
-        return openLog(input.getPath(), input.getTimestamp());
+    NavigableMap<Long, TransactionLog> logs = new TreeMap<>();
+    for (Map.Entry<Long, List<TimestampedFilename>> entry : logFiles.entrySet()) {
+      List<TimestampedFilename> files = entry.getValue();
+      if (files.size() == 1 && files.get(0).getStripe() < 0) {
+        logs.put(entry.getKey(), openLog(files.get(0).getPath(), entry.getKey()));
+      } else {
+        Collections.sort(files);
+        List<HDFSTransactionLog> stripeLogs = new ArrayList<>(files.size());
+        for (TimestampedFilename file : files) {
+          stripeLogs.add(openLog(file.getPath(), entry.getKey()));
+        }
+        logs.put(entry.getKey(), new StripedTransactionLog(entry.getKey(), stripeLogs));
       }
-    });
+    }
+    // a checkpoint replaces the logs it covers, including those left over from writing it, and any earlier
+    // checkpoint of a subset of these logs, which precedes it in order
+    for (CheckpointFilename checkpoint : listCheckpoints()) {
+      long first = checkpoint.getFirstTimestamp();
+      if (first >= timestamp) {
+        logs.subMap(first, true, checkpoint.getLastTimestamp(), true).clear();
+        logs.put(first, openLog(new Path(snapshotDir, checkpoint.getName()), first));
+      }
+    }
+    return new ArrayList<>(logs.values());
+  }
+
+  /**
+   * Returns the checkpoints in the snapshot directory, in ascending order.
+   */
+  private List<CheckpointFilename> listCheckpoints() throws IOException {
+    List<CheckpointFilename> checkpoints = new ArrayList<>();
+    for (FileStatus status : fs.listStatus(snapshotDir)) {
+      CheckpointFilename checkpoint = CheckpointFilename.parse(status.getPath().getName());
+      if (checkpoint != null) {
+        checkpoints.add(checkpoint);
+      }
+    }
+    Collections.sort(checkpoints);
+    return checkpoints;
+  }
+
+  @Override
+  public void writeCheckpoint(long firstTimestamp, long lastTimestamp, TransactionLogReader edits)
+    throws IOException {
+    CheckpointFilename checkpoint = new CheckpointFilename(firstTimestamp, lastTimestamp);
+    // write the checkpoint to a temporary file, so that it does not replace any logs until it is complete
+    Path checkpointTmpFile = new Path(snapshotDir, TMP_CHECKPOINT_FILE_PREFIX + checkpoint.getName());
+    fs.delete(checkpointTmpFile, false);
+    LOG.debug("Writing checkpoint to temporary file {}", checkpointTmpFile);
+    int editCount = writeCheckpointEdits(openLog(checkpointTmpFile, firstTimestamp), edits);
+
+    Path finalFile = new Path(snapshotDir, checkpoint.getName());
+    if (!fs.rename(checkpointTmpFile, finalFile)) {
+      throw new IOException("Failed renaming temporary checkpoint file " + checkpointTmpFile.getName() + " to " +
+                              finalFile.getName());
+    }
+
+    // the logs and checkpoints that are replaced are no longer needed
+    List<Path> replaced = new ArrayList<>();
+    for (FileStatus status : listLogFiles(new LogFileFilter(firstTimestamp, lastTimestamp + 1))) {
+      replaced.add(status.getPath());
+    }
+    for (CheckpointFilename other : listCheckpoints()) {
+      if (checkpoint.covers(other) && !checkpoint.getName().equals(other.getName())) {
+        replaced.add(new Path(snapshotDir, other.getName()));
+      }
+    }
+    for (Path path : replaced) {
+      if (!fs.delete(path, false)) {
+        LOG.error("Failed to delete replaced transaction log file {}", path);
+      }
+    }
+    LOG.info("Completed checkpoint {} with {} edits, replacing {} files", finalFile, editCount, replaced.size());
   }
 
   @Override
   public TransactionLog createLog(long timestamp) throws IOException {
-    Path newLog = new Path(snapshotDir, LOG_FILE_PREFIX + timestamp);
-    return openLog(newLog, timestamp);
+    if (stripes == 1) {
+      Path newLog = new Path(stripeDirs.get(0), LOG_FILE_PREFIX + timestamp);
+      return openLog(newLog, timestamp);
+    }
+    List<HDFSTransactionLog> stripeLogs = new ArrayList<>(stripes);
+    for (int i = 0; i < stripes; i++) {
+      Path dir = stripeDirs.get(i % stripeDirs.size());
+      stripeLogs.add(openLog(new Path(dir, LOG_FILE_PREFIX + timestamp + "." + i), timestamp));
+    }
+    return new StripedTransactionLog(timestamp, stripeLogs);
   }
 
-  private TransactionLog openLog(Path path, long timestamp) {
+  private HDFSTransactionLog openLog(Path path, long timestamp) {
     return new HDFSTransactionLog(fs, hConf, path, timestamp, metricsCollector);
   }
 
+  private List<FileStatus> listLogFiles(LogFileFilter filter) throws IOException {
+    List<FileStatus> files = new ArrayList<>();
+    for (Path dir : logDirs) {
+      if (fs.exists(dir)) {
+        files.addAll(Arrays.asList(fs.listStatus(dir, filter)));
+      }
+    }
+    return files;
+  }
+
   @Override
   public void deleteLogsOlderThan(long timestamp) throws IOException {
-    FileStatus[] statuses = fs.listStatus(snapshotDir, new LogFileFilter(0, timestamp));
+    List<FileStatus> statuses = listLogFiles(new LogFileFilter(0, timestamp));
     int removedCnt = 0;
     for (FileStatus status : statuses) {
       LOG.debug("Removing old transaction log {}", status.getPath());
@@ -278,6 +449,17 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
         LOG.error("Failed to delete transaction log file {}", status.getPath());
       }
     }
+    for (CheckpointFilename checkpoint : listCheckpoints()) {
+      if (checkpoint.getLastTimestamp() < timestamp) {
+        Path path = new Path(snapshotDir, checkpoint.getName());
+        LOG.debug("Removing old transaction log checkpoint {}", path);
+        if (fs.delete(path, false)) {
+          removedCnt++;
+        } else {
+          LOG.error("Failed to delete transaction log checkpoint {}", path);
+        }
+      }
+    }
     LOG.debug("Removed {} transaction logs older than {}", removedCnt, timestamp);
   }
 
@@ -290,18 +472,28 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
       Preconditions.checkState(fs.isDirectory(snapshotDir),
                                "Configured snapshot directory " + snapshotDir + " is not a directory!");
     }
+    for (Path dir : stripeDirs) {
+      if (!fs.exists(dir)) {
+        LOG.info("Creating transaction log dir at {}", dir);
+        fs.mkdirs(dir);
+      }
+    }
   }
 
   @Override
   public List<String> listLogs() throws IOException {
-    FileStatus[] files = fs.listStatus(snapshotDir, new LogFileFilter(0, Long.MAX_VALUE));
-    return Lists.transform(Arrays.asList(files), new Function<FileStatus, String>() {
+    List<FileStatus> files = listLogFiles(new LogFileFilter(0, Long.MAX_VALUE));
+    List<String> names = new ArrayList<>(Lists.transform(files, new Function<FileStatus, String>() {
       @Nullable
       @Override
       public String apply(@Nullable FileStatus input) {
         return input.getPath().getName();
       }
-    });
+    }));
+    for (CheckpointFilename checkpoint : listCheckpoints()) {
+      names.add(checkpoint.getName());
+    }
+    return names;
   }
 
   @Override
@@ -324,12 +516,16 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
     public boolean accept(Path path) {
       if (path.getName().startsWith(LOG_FILE_PREFIX)) {
         String[] parts = path.getName().split("\\.");
-        if (parts.length == 2) {
+        if (parts.length == 2 || parts.length == 3) {
           try {
             long fileTime = Long.parseLong(parts[1]);
+            if (parts.length == 3) {
+              // the stripe of a striped log
+              Integer.parseInt(parts[2]);
+            }
             return fileTime >= startTime && fileTime < endTime;
           } catch (NumberFormatException ignored) {
-            LOG.warn("Filename {} did not match the expected pattern prefix.<timestamp>", path.getName());
+            LOG.warn("Filename {} did not match the expected pattern prefix.<timestamp>[.<stripe>]", path.getName());
           }
         }
       }
@@ -338,23 +534,25 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
   }
 
   /**
-   * Represents a filename composed of a prefix and a ".timestamp" suffix.  This is useful for manipulating both
-   * snapshot and transaction log filenames.
+   * Represents a filename composed of a prefix and a ".timestamp" suffix, optionally followed by the ".stripe" of a
+   * striped transaction log.  This is useful for manipulating both snapshot and transaction log filenames.
    */
   private static class TimestampedFilename implements Comparable<TimestampedFilename> {
     private Path path;
     private String prefix;
     private long timestamp;
+    private int stripe;
 
     public TimestampedFilename(Path path) {
       this.path = path;
       String[] parts = path.getName().split("\\.");
-      if (parts.length != 2) {
+      if (parts.length != 2 && parts.length != 3) {
         throw new IllegalArgumentException("Filename " + path.getName() +
-            " did not match the expected pattern prefix.timestamp");
+            " did not match the expected pattern prefix.timestamp[.stripe]");
       }
       prefix = parts[0];
       timestamp = Long.parseLong(parts[1]);
+      stripe = parts.length == 3 ? Integer.parseInt(parts[2]) : -1;
     }
 
     public Path getPath() {
@@ -369,12 +567,22 @@ public class HDFSTransactionStateStorage extends AbstractTransactionStateStorage
       return timestamp;
     }
 
+    /**
+     * Returns the stripe of a striped transaction log, or -1 if the file is not a stripe.
+     */
+    public int getStripe() {
+      return stripe;
+    }
+
     @Override
     public int compareTo(TimestampedFilename other) {
       int res = prefix.compareTo(other.getPrefix());
       if (res == 0) {
         res = Longs.compare(timestamp, other.getTimestamp());
       }
+      if (res == 0) {
+        res = Ints.compare(stripe, other.getStripe());
+      }
       return res;
     }
   }
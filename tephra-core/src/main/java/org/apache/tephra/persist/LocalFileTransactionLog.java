@@ -18,23 +18,75 @@
 
 package org.apache.tephra.persist;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.tephra.TxConstants;
 import org.apache.tephra.metrics.MetricsCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
 
 /**
  * Reads and writes transaction logs against files in the local filesystem.
+ *
+ * <p>A log file starts with a header, followed by one frame for every batch of edits synced by the
+ * {@link AbstractTransactionLog}. A frame consists of the length of the serialized edits, their CRC32 checksum, and
+ * the edits. The file is extended in chunks of {@link TxConstants.TransactionLog#CFG_TX_LOG_LOCAL_PREALLOCATE_BYTES},
+ * so that the file size rarely changes when a batch is synced, and is truncated to the written frames when the log
+ * is closed. A reader stops at the first frame of length zero, which is preallocated space, and at a frame that is
+ * incomplete or does not match its checksum, which is a batch that was not completely written when the process
+ * crashed. Such a batch was never acknowledged to the appenders.</p>
+ *
+ * <p>Batches are written through a {@link FileChannel}, and forced to the storage device according to the
+ * {@link SyncPolicy} configured with {@link TxConstants.TransactionLog#CFG_TX_LOG_LOCAL_SYNC_POLICY}.</p>
+ *
+ * <p>Log files without a header were written by earlier versions, as a plain sequence of edits, and can still be
+ * read.</p>
  */
 public class LocalFileTransactionLog extends AbstractTransactionLog {
+  private static final Logger LOG = LoggerFactory.getLogger(LocalFileTransactionLog.class);
+
+  // "TXLG", the first four bytes of a log file without header are part of the sequence number of the first edit, 0
+  private static final int MAGIC = 0x54584C47;
+  private static final byte VERSION = 1;
+  private static final int HEADER_SIZE = 5;
+  // length and checksum of a frame
+  private static final int FRAME_HEADER_SIZE = 8;
+  private static final ByteBuffer ZEROS = ByteBuffer.allocateDirect(64 * 1024);
+
+  /**
+   * When written batches are forced to the storage device.
+   */
+  public enum SyncPolicy {
+    /** Every batch is forced to the storage device before the appenders of the batch return. */
+    BATCH,
+    /**
+     * Batches are forced to the storage device at most once per sync interval. Batches written in between may be
+     * lost if the machine fails.
+     */
+    INTERVAL,
+    /** Batches are written to the operating system only, and may be lost if the machine fails. */
+    NONE
+  }
+
   private final File logFile;
+  private final SyncPolicy syncPolicy;
+  private final long syncIntervalNanos;
+  private final int preallocateBytes;
 
   /**
    * Creates a new transaction log using the given file instance.
@@ -43,6 +95,29 @@ public class LocalFileTransactionLog extends AbstractTransactionLog {
   public LocalFileTransactionLog(File logFile, long timestamp, MetricsCollector metricsCollector) {
     super(timestamp, metricsCollector);
     this.logFile = logFile;
+    this.syncPolicy = SyncPolicy.valueOf(TxConstants.TransactionLog.DEFAULT_TX_LOG_LOCAL_SYNC_POLICY);
+    this.syncIntervalNanos =
+      TimeUnit.MILLISECONDS.toNanos(TxConstants.TransactionLog.DEFAULT_TX_LOG_LOCAL_SYNC_INTERVAL_MS);
+    this.preallocateBytes = TxConstants.TransactionLog.DEFAULT_TX_LOG_LOCAL_PREALLOCATE_BYTES;
+  }
+
+  /**
+   * Creates a new transaction log using the given file instance.
+   * @param logFile The log file to use.
+   * @param conf Configuration for batching of appended edits, syncing and preallocation.
+   */
+  public LocalFileTransactionLog(File logFile, long timestamp, MetricsCollector metricsCollector,
+                                 Configuration conf) {
+    super(timestamp, metricsCollector, conf);
+    this.logFile = logFile;
+    this.syncPolicy = SyncPolicy.valueOf(conf.get(TxConstants.TransactionLog.CFG_TX_LOG_LOCAL_SYNC_POLICY,
+                                                  TxConstants.TransactionLog.DEFAULT_TX_LOG_LOCAL_SYNC_POLICY)
+                                           .toUpperCase());
+    this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+      conf.getLong(TxConstants.TransactionLog.CFG_TX_LOG_LOCAL_SYNC_INTERVAL_MS,
+                   TxConstants.TransactionLog.DEFAULT_TX_LOG_LOCAL_SYNC_INTERVAL_MS));
+    this.preallocateBytes = Math.max(0, conf.getInt(TxConstants.TransactionLog.CFG_TX_LOG_LOCAL_PREALLOCATE_BYTES,
+                                                    TxConstants.TransactionLog.DEFAULT_TX_LOG_LOCAL_PREALLOCATE_BYTES));
   }
 
   @Override
@@ -52,7 +127,7 @@ public class LocalFileTransactionLog extends AbstractTransactionLog {
 
   @Override
   protected TransactionLogWriter createWriter() throws IOException {
-    return new LogWriter(logFile);
+    return new LogWriter(logFile, syncPolicy, syncIntervalNanos, preallocateBytes);
   }
 
   @Override
@@ -60,65 +135,246 @@ public class LocalFileTransactionLog extends AbstractTransactionLog {
     return new LogReader(logFile);
   }
 
+  /**
+   * A byte array output stream that gives access to its buffer, to fill in the header of a frame.
+   */
+  private static final class FrameBuffer extends ByteArrayOutputStream {
+    private FrameBuffer() {
+      super(LocalFileTransactionStateStorage.BUFFER_SIZE);
+    }
+
+    private byte[] getBuffer() {
+      return buf;
+    }
+  }
+
   private static final class LogWriter implements TransactionLogWriter {
-    private final FileOutputStream fos;
-    private final DataOutputStream out;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final SyncPolicy syncPolicy;
+    private final long syncIntervalNanos;
+    private final int preallocateBytes;
+    private final FrameBuffer frame = new FrameBuffer();
+    private final DataOutputStream out = new DataOutputStream(frame);
+    private final CRC32 checksum = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(LocalFileTransactionStateStorage.BUFFER_SIZE);
+    private boolean inFrame;
+    // the position at which the next frame is written
+    private long position;
+    // the length of the file, including preallocated space
+    private long allocated;
+    private boolean unsynced;
+    private long lastSyncNanos = System.nanoTime();
 
-    public LogWriter(File logFile) throws IOException {
-      this.fos = new FileOutputStream(logFile);
-      this.out = new DataOutputStream(new BufferedOutputStream(fos, LocalFileTransactionStateStorage.BUFFER_SIZE));
+    public LogWriter(File logFile, SyncPolicy syncPolicy, long syncIntervalNanos,
+                     int preallocateBytes) throws IOException {
+      this.syncPolicy = syncPolicy;
+      this.syncIntervalNanos = syncIntervalNanos;
+      this.preallocateBytes = preallocateBytes;
+      this.file = new RandomAccessFile(logFile, "rw");
+      this.channel = file.getChannel();
+      try {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).put(VERSION).flip();
+        write(header);
+        if (syncPolicy != SyncPolicy.NONE) {
+          channel.force(true);
+          syncDirectory(logFile.getAbsoluteFile().getParentFile());
+        }
+      } catch (IOException e) {
+        file.close();
+        throw e;
+      }
     }
 
     @Override
     public void append(Entry entry) throws IOException {
+      if (!inFrame) {
+        startFrame();
+      }
       entry.write(out);
     }
 
     @Override
     public void commitMarker(int count) throws IOException {
-      // skip for local file
+      // every batch is written as one frame
+      if (!inFrame) {
+        startFrame();
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (inFrame) {
+        writeFrame();
+      }
     }
 
     @Override
     public void sync() throws IOException {
-      out.flush();
+      flush();
+      if (!unsynced) {
+        return;
+      }
+      switch (syncPolicy) {
+        case BATCH:
+          force();
+          break;
+        case INTERVAL:
+          if (System.nanoTime() - lastSyncNanos >= syncIntervalNanos) {
+            force();
+          }
+          break;
+        default:
+          // leave it to the operating system
+      }
     }
 
     @Override
     public void close() throws IOException {
-      out.flush();
-      out.close();
-      fos.close();
+      try {
+        if (inFrame) {
+          writeFrame();
+        }
+        // remove the preallocated space
+        channel.truncate(position);
+        if (syncPolicy != SyncPolicy.NONE) {
+          channel.force(true);
+        }
+      } finally {
+        file.close();
+      }
+    }
+
+    private void startFrame() throws IOException {
+      frame.reset();
+      // placeholder for the length and checksum
+      out.writeLong(0L);
+      inFrame = true;
+    }
+
+    private void writeFrame() throws IOException {
+      byte[] bytes = frame.getBuffer();
+      int size = frame.size();
+      int length = size - FRAME_HEADER_SIZE;
+      checksum.reset();
+      checksum.update(bytes, FRAME_HEADER_SIZE, length);
+      if (buffer.capacity() < size) {
+        buffer = ByteBuffer.allocateDirect(Math.max(size, buffer.capacity() * 2));
+      }
+      buffer.clear();
+      buffer.putInt(length).putInt((int) checksum.getValue()).put(bytes, FRAME_HEADER_SIZE, length).flip();
+      write(buffer);
+      inFrame = false;
+    }
+
+    private void write(ByteBuffer data) throws IOException {
+      long end = position + data.remaining();
+      if (end > allocated) {
+        preallocate(end);
+      }
+      while (data.hasRemaining()) {
+        position += channel.write(data, position);
+      }
+      unsynced = true;
+    }
+
+    private void preallocate(long end) throws IOException {
+      long length = Math.max(end, allocated + preallocateBytes);
+      ByteBuffer zeros = ZEROS.duplicate();
+      // the space up to end is written right after
+      long pos = end;
+      while (pos < length) {
+        zeros.clear();
+        zeros.limit((int) Math.min(zeros.capacity(), length - pos));
+        pos += channel.write(zeros, pos);
+      }
+      allocated = length;
+    }
+
+    private void force() throws IOException {
+      // the data only, the file length changes rarely due to preallocation, and is included when it does
+      channel.force(false);
+      unsynced = false;
+      lastSyncNanos = System.nanoTime();
+    }
+
+    private static void syncDirectory(File dir) {
+      // makes the new file durable, this is not supported on all platforms
+      try (FileChannel dirChannel = FileChannel.open(dir.toPath(), StandardOpenOption.READ)) {
+        dirChannel.force(true);
+      } catch (IOException e) {
+        LOG.debug("Unable to sync directory {}", dir, e);
+      }
     }
   }
 
-  private static final class LogReader implements TransactionLogReader {
+  private static final class LogReader implements SequencedTransactionLogReader {
+    private final File logFile;
     private final FileInputStream fin;
     private final DataInputStream in;
+    private final boolean framed;
+    private final long fileLength;
     private Entry reuseEntry = new Entry();
+    // the current frame of a framed log
+    private DataInputStream frameIn;
+    private byte[] frameBytes = new byte[0];
+    private long offset;
+    private boolean end;
 
     public LogReader(File logFile) throws IOException {
+      this.logFile = logFile;
       this.fin = new FileInputStream(logFile);
       this.in = new DataInputStream(new BufferedInputStream(fin, LocalFileTransactionStateStorage.BUFFER_SIZE));
+      this.fileLength = logFile.length();
+      this.framed = readHeader();
+    }
+
+    private boolean readHeader() throws IOException {
+      in.mark(HEADER_SIZE);
+      try {
+        if (in.readInt() == MAGIC) {
+          byte version = in.readByte();
+          if (version != VERSION) {
+            throw new IOException("Unknown version " + version + " of transaction log " + logFile);
+          }
+          offset = HEADER_SIZE;
+          return true;
+        }
+      } catch (EOFException e) {
+        // an empty log without header
+      }
+      in.reset();
+      return false;
     }
 
     @Override
     public TransactionEdit next() throws IOException {
       Entry entry = new Entry();
+      DataInputStream input = nextInput();
+      if (input == null) {
+        return null;
+      }
       try {
-        entry.readFields(in);
+        entry.readFields(input);
       } catch (EOFException eofe) {
         // signal end of file by returning null
         return null;
       }
+      reuseEntry.getKey().set(entry.getKey().get());
       return entry.getEdit();
     }
 
     @Override
     public TransactionEdit next(TransactionEdit reuse) throws IOException {
+      DataInputStream input = nextInput();
+      if (input == null) {
+        return null;
+      }
       try {
-        reuseEntry.getKey().readFields(in);
-        reuse.readFields(in);
+        reuseEntry.getKey().readFields(input);
+        reuse.readFields(input);
       } catch (EOFException eofe) {
         // signal end of file by returning null
         return null;
@@ -126,6 +382,61 @@ public class LocalFileTransactionLog extends AbstractTransactionLog {
       return reuse;
     }
 
+    @Override
+    public long getSequence() {
+      return reuseEntry.getKey().get();
+    }
+
+    /**
+     * Returns the input to read the next edit from, or {@code null} if there are no more edits.
+     */
+    private DataInputStream nextInput() throws IOException {
+      if (!framed) {
+        return in;
+      }
+      while (frameIn == null || frameIn.available() == 0) {
+        if (!nextFrame()) {
+          return null;
+        }
+      }
+      return frameIn;
+    }
+
+    private boolean nextFrame() throws IOException {
+      if (end || fileLength - offset < FRAME_HEADER_SIZE) {
+        return false;
+      }
+      int length = in.readInt();
+      int expectedChecksum = in.readInt();
+      offset += FRAME_HEADER_SIZE;
+      if (length == 0) {
+        // preallocated space after the last frame
+        end = true;
+        return false;
+      }
+      if (length < 0 || length > fileLength - offset) {
+        LOG.warn("Ignoring incomplete batch of edits at offset {} of transaction log {}",
+                 offset - FRAME_HEADER_SIZE, logFile);
+        end = true;
+        return false;
+      }
+      if (frameBytes.length < length) {
+        frameBytes = new byte[length];
+      }
+      in.readFully(frameBytes, 0, length);
+      CRC32 checksum = new CRC32();
+      checksum.update(frameBytes, 0, length);
+      if ((int) checksum.getValue() != expectedChecksum) {
+        LOG.warn("Ignoring batch of edits with checksum mismatch at offset {} of transaction log {}",
+                 offset - FRAME_HEADER_SIZE, logFile);
+        end = true;
+        return false;
+      }
+      offset += length;
+      frameIn = new DataInputStream(new ByteArrayInputStream(frameBytes, 0, length));
+      return true;
+    }
+
     @Override
     public void close() throws IOException {
       in.close();
@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.io.Closeables;
 import com.google.common.io.Files;
+import com.google.common.primitives.Ints;
 import com.google.common.primitives.Longs;
 import com.google.inject.Inject;
 import org.apache.hadoop.conf.Configuration;
@@ -38,18 +39,28 @@ import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 import javax.annotation.Nullable;
 
 /**
- * Persists transaction snapshots and write-ahead logs to files on the local filesystem.
+ * Persists transaction snapshots and write-ahead logs to files on the local filesystem.  Write-ahead logs can be
+ * striped across multiple files, which may be placed on different disks, see
+ * {@link TxConstants.TransactionLog#CFG_TX_LOG_STRIPES}.  Checkpoints that replace closed logs, and the most recent
+ * visibility state, are placed in the snapshot directory.
  */
 public class LocalFileTransactionStateStorage extends AbstractTransactionStateStorage {
   private static final String TMP_SNAPSHOT_FILE_PREFIX = ".in-progress.";
   private static final String SNAPSHOT_FILE_PREFIX = "snapshot.";
   private static final String LOG_FILE_PREFIX = "txlog.";
+  private static final String VISIBILITY_FILE_PREFIX = "visibility.";
   private static final Logger LOG = LoggerFactory.getLogger(LocalFileTransactionStateStorage.class);
   static final int BUFFER_SIZE = 16384;
 
@@ -60,16 +71,43 @@ public class LocalFileTransactionStateStorage extends AbstractTransactionStateSt
     }
   };
 
+  private static final FilenameFilter VISIBILITY_FILE_FILTER = new FilenameFilter() {
+    @Override
+    public boolean accept(File file, String s) {
+      return s.startsWith(VISIBILITY_FILE_PREFIX);
+    }
+  };
+
+  private static final FilenameFilter VISIBILITY_OR_SNAPSHOT_FILE_FILTER = new FilenameFilter() {
+    @Override
+    public boolean accept(File file, String s) {
+      return SNAPSHOT_FILE_FILTER.accept(file, s) || VISIBILITY_FILE_FILTER.accept(file, s);
+    }
+  };
+
+  private final Configuration conf;
   private final String configuredSnapshotDir;
   private final MetricsCollector metricsCollector;
+  private final int stripes;
+  private final String[] configuredStripeDirs;
   private File snapshotDir;
+  // the directories that the stripes of new logs are placed in
+  private List<File> stripeDirs;
+  // all directories that may contain logs
+  private Set<File> logDirs;
 
   @Inject
   public LocalFileTransactionStateStorage(Configuration conf, SnapshotCodecProvider codecProvider,
                                           MetricsCollector metricsCollector) {
     super(codecProvider);
+    this.conf = conf;
     this.configuredSnapshotDir = conf.get(TxConstants.Manager.CFG_TX_SNAPSHOT_LOCAL_DIR);
     this.metricsCollector = metricsCollector;
+    this.stripes = conf.getInt(TxConstants.TransactionLog.CFG_TX_LOG_STRIPES,
+                               TxConstants.TransactionLog.DEFAULT_TX_LOG_STRIPES);
+    Preconditions.checkArgument(stripes > 0, "Number of transaction log stripes must be positive, but is %s",
+                                stripes);
+    this.configuredStripeDirs = conf.getTrimmedStrings(TxConstants.TransactionLog.CFG_TX_LOG_STRIPE_DIRS);
   }
 
   @Override
@@ -78,6 +116,16 @@ public class LocalFileTransactionStateStorage extends AbstractTransactionStateSt
         "Snapshot directory is not configured.  Please set " + TxConstants.Manager.CFG_TX_SNAPSHOT_LOCAL_DIR +
         " in configuration.");
     snapshotDir = new File(configuredSnapshotDir);
+    stripeDirs = new ArrayList<>();
+    for (String dir : configuredStripeDirs) {
+      stripeDirs.add(new File(dir));
+    }
+    if (stripeDirs.isEmpty()) {
+      stripeDirs.add(snapshotDir);
+    }
+    logDirs = new LinkedHashSet<>();
+    logDirs.add(snapshotDir);
+    logDirs.addAll(stripeDirs);
   }
 
   @Override
@@ -127,12 +175,47 @@ public class LocalFileTransactionStateStorage extends AbstractTransactionStateSt
     }
   }
 
+  @Override
+  public void writeVisibilityState(TransactionVisibilityState state) throws IOException {
+    File tmpFile = new File(snapshotDir, TMP_SNAPSHOT_FILE_PREFIX + VISIBILITY_FILE_PREFIX + state.getTimestamp());
+    OutputStream out = Files.newOutputStreamSupplier(tmpFile).getOutput();
+    boolean threw = true;
+    try {
+      encodeVisibilityState(out, state);
+      threw = false;
+    } finally {
+      Closeables.close(out, threw);
+    }
+    File finalFile = new File(snapshotDir, VISIBILITY_FILE_PREFIX + state.getTimestamp());
+    if (!tmpFile.renameTo(finalFile)) {
+      throw new IOException("Failed renaming temporary visibility state file " + tmpFile.getName() + " to " +
+          finalFile.getName());
+    }
+    // only the most recent visibility state is kept
+    for (File file : snapshotDir.listFiles(VISIBILITY_FILE_FILTER)) {
+      if (new TimestampedFilename(file).getTimestamp() < state.getTimestamp() && !file.delete()) {
+        LOG.warn("Failed to delete old visibility state file {}", file);
+      }
+    }
+    LOG.debug("Completed visibility state to file {}", finalFile);
+  }
+
   @Override
   public TransactionVisibilityState getLatestTransactionVisibilityState() throws IOException {
-    InputStream is = getLatestSnapshotInputStream();
-    if (is == null) {
+    // read the most recent of the visibility state and the snapshots, the visibility state if they are equally recent
+    TimestampedFilename latest = null;
+    for (File file : snapshotDir.listFiles(VISIBILITY_OR_SNAPSHOT_FILE_FILTER)) {
+      TimestampedFilename tsFile = new TimestampedFilename(file);
+      if (latest == null || tsFile.getTimestamp() > latest.getTimestamp()
+        || (tsFile.getTimestamp() == latest.getTimestamp() && file.getName().startsWith(VISIBILITY_FILE_PREFIX))) {
+        latest = tsFile;
+      }
+    }
+    if (latest == null) {
+      LOG.info("No snapshot files found in {}", snapshotDir.getAbsolutePath());
       return null;
     }
+    InputStream is = new FileInputStream(latest.getFile());
     try {
       return codecProvider.decodeTransactionVisibilityState(is);
     } finally {
@@ -209,32 +292,127 @@ public class LocalFileTransactionStateStorage extends AbstractTransactionStateSt
 
   @Override
   public List<TransactionLog> getLogsSince(long timestamp) throws IOException {
-    File[] logFiles = snapshotDir.listFiles(new LogFileFilter(timestamp, Long.MAX_VALUE));
-    TimestampedFilename[] timestampedFiles = new TimestampedFilename[logFiles.length];
-    for (int i = 0; i < logFiles.length; i++) {
-      timestampedFiles[i] = new TimestampedFilename(logFiles[i]);
-    }
-    // logs need to be processed in ascending order
-    Arrays.sort(timestampedFiles);
-    return Lists.transform(Arrays.asList(timestampedFiles), new Function<TimestampedFilename, TransactionLog>() {
-      @Nullable
-      @Override
-      public TransactionLog apply(@Nullable TimestampedFilename input) {
-        return new LocalFileTransactionLog(input.getFile(), input.getTimestamp(), metricsCollector);
+    // the stripes of a log have the same timestamp, logs need to be processed in ascending order
+    Map<Long, List<TimestampedFilename>> logFiles = new TreeMap<>();
+    for (File file : listLogFiles(new LogFileFilter(timestamp, Long.MAX_VALUE))) {
+      TimestampedFilename logFile = new TimestampedFilename(file);
+      List<TimestampedFilename> files = logFiles.get(logFile.getTimestamp());
+      if (files == null) {
+        files = new ArrayList<>();
+        logFiles.put(logFile.getTimestamp(), files);
       }
-    });
+      files.add(logFile);
+    }
+    NavigableMap<Long, TransactionLog> logs = new TreeMap<>();
+    for (Map.Entry<Long, List<TimestampedFilename>> entry : logFiles.entrySet()) {
+      List<TimestampedFilename> files = entry.getValue();
+      if (files.size() == 1 && files.get(0).getStripe() < 0) {
+        logs.put(entry.getKey(),
+                 new LocalFileTransactionLog(files.get(0).getFile(), entry.getKey(), metricsCollector, conf));
+      } else {
+        Collections.sort(files);
+        List<LocalFileTransactionLog> stripeLogs = new ArrayList<>(files.size());
+        for (TimestampedFilename file : files) {
+          stripeLogs.add(new LocalFileTransactionLog(file.getFile(), entry.getKey(), metricsCollector, conf));
+        }
+        logs.put(entry.getKey(), new StripedTransactionLog(entry.getKey(), stripeLogs));
+      }
+    }
+    // a checkpoint replaces the logs it covers, including those left over from writing it, and any earlier
+    // checkpoint of a subset of these logs, which precedes it in order
+    for (CheckpointFilename checkpoint : listCheckpoints()) {
+      long first = checkpoint.getFirstTimestamp();
+      if (first >= timestamp) {
+        logs.subMap(first, true, checkpoint.getLastTimestamp(), true).clear();
+        logs.put(first, new LocalFileTransactionLog(new File(snapshotDir, checkpoint.getName()), first,
+                                                    metricsCollector, conf));
+      }
+    }
+    return new ArrayList<>(logs.values());
+  }
+
+  /**
+   * Returns the checkpoints in the snapshot directory, in ascending order.
+   */
+  private List<CheckpointFilename> listCheckpoints() {
+    List<CheckpointFilename> checkpoints = new ArrayList<>();
+    String[] names = snapshotDir.list();
+    if (names != null) {
+      for (String name : names) {
+        CheckpointFilename checkpoint = CheckpointFilename.parse(name);
+        if (checkpoint != null) {
+          checkpoints.add(checkpoint);
+        }
+      }
+    }
+    Collections.sort(checkpoints);
+    return checkpoints;
+  }
+
+  @Override
+  public void writeCheckpoint(long firstTimestamp, long lastTimestamp, TransactionLogReader edits)
+    throws IOException {
+    CheckpointFilename checkpoint = new CheckpointFilename(firstTimestamp, lastTimestamp);
+    // write the checkpoint to a temporary file, so that it does not replace any logs until it is complete
+    File checkpointTmpFile = new File(snapshotDir, TMP_SNAPSHOT_FILE_PREFIX + checkpoint.getName());
+    if (checkpointTmpFile.exists() && !checkpointTmpFile.delete()) {
+      throw new IOException("Failed deleting temporary checkpoint file " + checkpointTmpFile.getName());
+    }
+    LOG.debug("Writing checkpoint to temporary file {}", checkpointTmpFile);
+    int editCount = writeCheckpointEdits(
+      new LocalFileTransactionLog(checkpointTmpFile, firstTimestamp, metricsCollector, conf), edits);
+
+    File finalFile = new File(snapshotDir, checkpoint.getName());
+    if (!checkpointTmpFile.renameTo(finalFile)) {
+      throw new IOException("Failed renaming temporary checkpoint file " + checkpointTmpFile.getName() + " to " +
+                              finalFile.getName());
+    }
+
+    // the logs and checkpoints that are replaced are no longer needed
+    List<File> replaced = listLogFiles(new LogFileFilter(firstTimestamp, lastTimestamp + 1));
+    for (CheckpointFilename other : listCheckpoints()) {
+      if (checkpoint.covers(other) && !checkpoint.getName().equals(other.getName())) {
+        replaced.add(new File(snapshotDir, other.getName()));
+      }
+    }
+    for (File file : replaced) {
+      if (!file.delete()) {
+        LOG.warn("Failed to remove replaced log file {}", file.getAbsolutePath());
+      }
+    }
+    LOG.info("Completed checkpoint {} with {} edits, replacing {} files", finalFile, editCount, replaced.size());
   }
 
   @Override
   public TransactionLog createLog(long timestamp) throws IOException {
-    File newLogFile = new File(snapshotDir, LOG_FILE_PREFIX + timestamp);
-    LOG.info("Creating new transaction log at {}", newLogFile.getAbsolutePath());
-    return new LocalFileTransactionLog(newLogFile, timestamp, metricsCollector);
+    if (stripes == 1) {
+      File newLogFile = new File(stripeDirs.get(0), LOG_FILE_PREFIX + timestamp);
+      LOG.info("Creating new transaction log at {}", newLogFile.getAbsolutePath());
+      return new LocalFileTransactionLog(newLogFile, timestamp, metricsCollector, conf);
+    }
+    List<LocalFileTransactionLog> stripeLogs = new ArrayList<>(stripes);
+    for (int i = 0; i < stripes; i++) {
+      File newLogFile = new File(stripeDirs.get(i % stripeDirs.size()), LOG_FILE_PREFIX + timestamp + "." + i);
+      LOG.info("Creating new transaction log stripe at {}", newLogFile.getAbsolutePath());
+      stripeLogs.add(new LocalFileTransactionLog(newLogFile, timestamp, metricsCollector, conf));
+    }
+    return new StripedTransactionLog(timestamp, stripeLogs);
+  }
+
+  private List<File> listLogFiles(LogFileFilter filter) {
+    List<File> files = new ArrayList<>();
+    for (File dir : logDirs) {
+      File[] dirFiles = dir.listFiles(filter);
+      if (dirFiles != null) {
+        files.addAll(Arrays.asList(dirFiles));
+      }
+    }
+    return files;
   }
 
   @Override
   public void deleteLogsOlderThan(long timestamp) throws IOException {
-    File[] logFiles = snapshotDir.listFiles(new LogFileFilter(0, timestamp));
+    List<File> logFiles = listLogFiles(new LogFileFilter(0, timestamp));
     int removedCnt = 0;
     for (File file : logFiles) {
       LOG.debug("Removing old transaction log {}", file.getPath());
@@ -244,6 +422,17 @@ public class LocalFileTransactionStateStorage extends AbstractTransactionStateSt
         LOG.warn("Failed to remove log file {}", file.getAbsolutePath());
       }
     }
+    for (CheckpointFilename checkpoint : listCheckpoints()) {
+      if (checkpoint.getLastTimestamp() < timestamp) {
+        File file = new File(snapshotDir, checkpoint.getName());
+        LOG.debug("Removing old transaction log checkpoint {}", file.getPath());
+        if (file.delete()) {
+          removedCnt++;
+        } else {
+          LOG.warn("Failed to remove checkpoint file {}", file.getAbsolutePath());
+        }
+      }
+    }
     LOG.debug("Removed {} transaction logs older than {}", removedCnt, timestamp);
   }
 
@@ -261,12 +450,20 @@ public class LocalFileTransactionStateStorage extends AbstractTransactionStateSt
       Preconditions.checkState(snapshotDir.canWrite(), "Configured snapshot directory " +
         configuredSnapshotDir + " exists but is not writable!");
     }
+    for (File dir : stripeDirs) {
+      if (!dir.exists() && !dir.mkdirs()) {
+        throw new IOException("Failed to create directory " + dir + " for transaction logs");
+      }
+    }
   }
 
   @Override
   public List<String> listLogs() throws IOException {
-    File[] logs = snapshotDir.listFiles(new LogFileFilter(0, Long.MAX_VALUE));
-    return Lists.transform(Arrays.asList(logs), new Function<File, String>() {
+    List<File> logs = listLogFiles(new LogFileFilter(0, Long.MAX_VALUE));
+    for (CheckpointFilename checkpoint : listCheckpoints()) {
+      logs.add(new File(snapshotDir, checkpoint.getName()));
+    }
+    return Lists.transform(logs, new Function<File, String>() {
       @Nullable
       @Override
       public String apply(@Nullable File input) {
@@ -288,12 +485,16 @@ public class LocalFileTransactionStateStorage extends AbstractTransactionStateSt
     public boolean accept(File file, String s) {
       if (s.startsWith(LOG_FILE_PREFIX)) {
         String[] parts = s.split("\\.");
-        if (parts.length == 2) {
+        if (parts.length == 2 || parts.length == 3) {
           try {
             long fileTime = Long.parseLong(parts[1]);
+            if (parts.length == 3) {
+              // the stripe of a striped log
+              Integer.parseInt(parts[2]);
+            }
             return fileTime >= startTime && fileTime < endTime;
           } catch (NumberFormatException ignored) {
-            LOG.warn("Filename {} did not match the expected pattern prefix.<timestamp>", s);
+            LOG.warn("Filename {} did not match the expected pattern prefix.<timestamp>[.<stripe>]", s);
           }
         }
       }
@@ -302,23 +503,25 @@ public class LocalFileTransactionStateStorage extends AbstractTransactionStateSt
   }
 
   /**
-   * Represents a filename composed of a prefix and a ".timestamp" suffix.  This is useful for manipulating both
-   * snapshot and transaction log filenames.
+   * Represents a filename composed of a prefix and a ".timestamp" suffix, optionally followed by the ".stripe" of a
+   * striped transaction log.  This is useful for manipulating both snapshot and transaction log filenames.
    */
   private static class TimestampedFilename implements Comparable<TimestampedFilename> {
     private File file;
     private String prefix;
     private long timestamp;
+    private int stripe;
 
     public TimestampedFilename(File file) {
       this.file = file;
       String[] parts = file.getName().split("\\.");
-      if (parts.length != 2) {
+      if (parts.length != 2 && parts.length != 3) {
         throw new IllegalArgumentException("Filename " + file.getName() +
-                                           " did not match the expected pattern prefix.timestamp");
+                                           " did not match the expected pattern prefix.timestamp[.stripe]");
       }
       prefix = parts[0];
       timestamp = Long.parseLong(parts[1]);
+      stripe = parts.length == 3 ? Integer.parseInt(parts[2]) : -1;
     }
 
     public File getFile() {
@@ -333,12 +536,22 @@ public class LocalFileTransactionStateStorage extends AbstractTransactionStateSt
       return timestamp;
     }
 
+    /**
+     * Returns the stripe of a striped transaction log, or -1 if the file is not a stripe.
+     */
+    public int getStripe() {
+      return stripe;
+    }
+
     @Override
     public int compareTo(TimestampedFilename other) {
       int res = prefix.compareTo(other.getPrefix());
       if (res == 0) {
         res = Longs.compare(timestamp, other.getTimestamp());
       }
+      if (res == 0) {
+        res = Ints.compare(stripe, other.getStripe());
+      }
       return res;
     }
   }
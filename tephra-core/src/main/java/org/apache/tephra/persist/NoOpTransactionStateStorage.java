@@ -19,6 +19,8 @@
 package org.apache.tephra.persist;
 
 import com.google.common.util.concurrent.AbstractIdleService;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.inject.Inject;
 import org.apache.tephra.snapshot.SnapshotCodec;
 import org.apache.tephra.snapshot.SnapshotCodecProvider;
@@ -62,6 +64,10 @@ public class NoOpTransactionStateStorage extends AbstractIdleService implements
     return null;
   }
 
+  @Override
+  public void writeVisibilityState(TransactionVisibilityState state) throws IOException {
+  }
+
   @Override
   public TransactionVisibilityState getLatestTransactionVisibilityState() throws IOException {
     return null;
@@ -87,6 +93,11 @@ public class NoOpTransactionStateStorage extends AbstractIdleService implements
     return new NoOpTransactionLog();
   }
 
+  @Override
+  public void writeCheckpoint(long firstTimestamp, long lastTimestamp, TransactionLogReader edits)
+    throws IOException {
+  }
+
   @Override
   public void deleteLogsOlderThan(long timestamp) throws IOException {
   }
@@ -118,6 +129,10 @@ public class NoOpTransactionStateStorage extends AbstractIdleService implements
       return timestamp;
     }
 
+    @Override
+    public void init() throws IOException {
+    }
+
     @Override
     public void append(TransactionEdit edit) throws IOException {
     }
@@ -126,6 +141,16 @@ public class NoOpTransactionStateStorage extends AbstractIdleService implements
     public void append(List<TransactionEdit> edits) throws IOException {
     }
 
+    @Override
+    public ListenableFuture<Void> appendAsync(TransactionEdit edit) {
+      return Futures.immediateFuture(null);
+    }
+
+    @Override
+    public ListenableFuture<Void> appendAsync(List<TransactionEdit> edits) {
+      return Futures.immediateFuture(null);
+    }
+
     @Override
     public void close() {
     }
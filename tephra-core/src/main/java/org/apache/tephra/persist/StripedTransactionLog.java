@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link TransactionLog} that is striped across multiple logs, for example in different directories or on
+ * different disks. Every append goes to one of the stripes, in round-robin order, and each stripe batches and syncs
+ * its edits independently of the others, so that as many batches can be synced at the same time as there are
+ * stripes.
+ *
+ * <p>All stripes take the sequence numbers of the edits they write from one counter, see
+ * {@link AbstractTransactionLog#shareSequences(AtomicLong)}. The reader of a striped log merges the edits of the
+ * stripes by their sequence numbers, which replays every edit after all edits that were synced before it was
+ * appended.</p>
+ */
+public class StripedTransactionLog implements TransactionLog {
+  private final long timestamp;
+  private final List<AbstractTransactionLog> stripes;
+  private final AtomicInteger nextStripe = new AtomicInteger();
+
+  /**
+   * @param timestamp the timestamp of the log
+   * @param stripes the stripes of the log, none of which may be initialized yet
+   */
+  public StripedTransactionLog(long timestamp, List<? extends AbstractTransactionLog> stripes) {
+    Preconditions.checkArgument(!stripes.isEmpty(), "A striped transaction log needs at least one stripe");
+    this.timestamp = timestamp;
+    this.stripes = ImmutableList.copyOf(stripes);
+    AtomicLong sequences = new AtomicLong();
+    for (AbstractTransactionLog stripe : this.stripes) {
+      stripe.shareSequences(sequences);
+    }
+  }
+
+  @Override
+  public String getName() {
+    StringBuilder name = new StringBuilder();
+    for (AbstractTransactionLog stripe : stripes) {
+      if (name.length() > 0) {
+        name.append(',');
+      }
+      name.append(stripe.getName());
+    }
+    return name.toString();
+  }
+
+  @Override
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  @Override
+  public void init() throws IOException {
+    for (AbstractTransactionLog stripe : stripes) {
+      stripe.init();
+    }
+  }
+
+  @Override
+  public void append(TransactionEdit edit) throws IOException {
+    nextStripe().append(edit);
+  }
+
+  @Override
+  public void append(List<TransactionEdit> edits) throws IOException {
+    nextStripe().append(edits);
+  }
+
+  @Override
+  public ListenableFuture<Void> appendAsync(TransactionEdit edit) {
+    return nextStripe().appendAsync(edit);
+  }
+
+  @Override
+  public ListenableFuture<Void> appendAsync(List<TransactionEdit> edits) {
+    return nextStripe().appendAsync(edits);
+  }
+
+  private AbstractTransactionLog nextStripe() {
+    return stripes.get((nextStripe.getAndIncrement() & Integer.MAX_VALUE) % stripes.size());
+  }
+
+  @Override
+  public void close() throws IOException {
+    IOException failure = null;
+    for (AbstractTransactionLog stripe : stripes) {
+      try {
+        stripe.close();
+      } catch (IOException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public TransactionLogReader getReader() throws IOException {
+    List<SequencedTransactionLogReader> readers = new ArrayList<>(stripes.size());
+    try {
+      for (AbstractTransactionLog stripe : stripes) {
+        TransactionLogReader reader = stripe.getReader();
+        // reader may be null in the case of an empty file
+        if (reader == null) {
+          continue;
+        }
+        if (!(reader instanceof SequencedTransactionLogReader)) {
+          reader.close();
+          throw new IOException("Stripe " + stripe.getName() + " of a striped transaction log was not written with " +
+                                  "sequence numbers");
+        }
+        readers.add((SequencedTransactionLogReader) reader);
+      }
+      return new MergingReader(readers);
+    } catch (IOException e) {
+      for (SequencedTransactionLogReader reader : readers) {
+        reader.close();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the edits of all stripes in the order of their sequence numbers.
+   */
+  private static final class MergingReader implements TransactionLogReader {
+    private final List<SequencedTransactionLogReader> readers;
+    // the next edit of every stripe that has more edits
+    private final PriorityQueue<Head> heads;
+
+    private MergingReader(List<SequencedTransactionLogReader> readers) throws IOException {
+      this.readers = readers;
+      this.heads = new PriorityQueue<>(Math.max(1, readers.size()), new Comparator<Head>() {
+        @Override
+        public int compare(Head head1, Head head2) {
+          return Longs.compare(head1.sequence, head2.sequence);
+        }
+      });
+      for (SequencedTransactionLogReader reader : readers) {
+        Head head = new Head(reader);
+        if (head.advance()) {
+          heads.add(head);
+        }
+      }
+    }
+
+    @Override
+    public TransactionEdit next() throws IOException {
+      Head head = heads.poll();
+      if (head == null) {
+        return null;
+      }
+      TransactionEdit edit = head.edit;
+      if (head.advance()) {
+        heads.add(head);
+      }
+      return edit;
+    }
+
+    /**
+     * Returns the next edit, without populating {@code reuse}: the next edit of every stripe is read ahead, hence an
+     * edit cannot be reused.
+     */
+    @Override
+    public TransactionEdit next(TransactionEdit reuse) throws IOException {
+      return next();
+    }
+
+    @Override
+    public void close() throws IOException {
+      IOException failure = null;
+      for (SequencedTransactionLogReader reader : readers) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          if (failure == null) {
+            failure = e;
+          } else {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  private static final class Head {
+    private final SequencedTransactionLogReader reader;
+    private TransactionEdit edit;
+    private long sequence;
+
+    private Head(SequencedTransactionLogReader reader) {
+      this.reader = reader;
+    }
+
+    /**
+     * Reads the next edit of the stripe, returns whether there was one.
+     */
+    private boolean advance() throws IOException {
+      edit = reader.next();
+      if (edit == null) {
+        return false;
+      }
+      sequence = reader.getSequence();
+      return true;
+    }
+  }
+}
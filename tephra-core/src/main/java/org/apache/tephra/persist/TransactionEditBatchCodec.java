@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.UnsignedBytes;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.WritableUtils;
+import org.apache.hadoop.util.PureJavaCrc32C;
+import org.apache.tephra.ChangeId;
+import org.apache.tephra.FingerprintChangeSet;
+import org.apache.tephra.TransactionType;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.zip.Checksum;
+
+/**
+ * Encodes a batch of {@link TransactionEdit}s that are synced together into a single record of a version 4
+ * transaction log.
+ *
+ * <p>A batch starts with a format byte and the CRC32C checksum of the encoded edits. Every edit is written as its
+ * state, type and a bit set of the fields that are present, followed by those fields as variable length longs:
+ * <ul>
+ *   <li>the write pointer as the difference to the write pointer of the previous edit in the batch</li>
+ *   <li>the visibility upper bound, commit pointer, parent write pointer and checkpoint pointers as the difference
+ *   to the write pointer</li>
+ *   <li>the expiration as the difference to the expiration of the previous edit in the batch</li>
+ *   <li>the change keys in ascending order, each as the length of the prefix it shares with the previous key in
+ *   the batch followed by the remaining bytes. Change keys start with the name of their table, which is thus written
+ *   only once for all changes to the same table.</li>
+ *   <li>the width of the fingerprints, if the changes are a {@link FingerprintChangeSet}</li>
+ * </ul>
+ * </p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+final class TransactionEditBatchCodec {
+  // format 2 added the width of fingerprinted changes
+  private static final byte FORMAT = 2;
+  private static final byte FORMAT_NO_FINGERPRINTS = 1;
+  // the format and the checksum
+  private static final int HEADER_SIZE = 1 + Ints.BYTES;
+  private static final byte[] EMPTY = new byte[0];
+  private static final Comparator<byte[]> KEY_ORDER = UnsignedBytes.lexicographicalComparator();
+
+  private static final int CAN_COMMIT = 1;
+  private static final int VISIBILITY_UPPER_BOUND = 1 << 1;
+  private static final int COMMIT_POINTER = 1 << 2;
+  private static final int EXPIRATION = 1 << 3;
+  private static final int CHANGES = 1 << 4;
+  private static final int TRUNCATE_INVALID_TX = 1 << 5;
+  private static final int TRUNCATE_INVALID_TX_TIME = 1 << 6;
+  private static final int PARENT_WRITE_POINTER = 1 << 7;
+  private static final int CHECKPOINT_POINTERS = 1 << 8;
+  private static final int CHANGE_FINGERPRINTS = 1 << 9;
+
+  private final DataOutputBuffer out = new DataOutputBuffer();
+  private final Checksum checksum = new PureJavaCrc32C();
+  private final DeltaState state = new DeltaState();
+  private int size;
+
+  /**
+   * Returns the number of edits added since the last batch was written.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Adds an edit to the current batch.
+   */
+  void add(TransactionEdit edit) throws IOException {
+    if (size == 0) {
+      out.writeByte(FORMAT);
+      // placeholder for the checksum
+      out.writeInt(0);
+    }
+    encode(edit, out, state);
+    size++;
+  }
+
+  /**
+   * Writes the current batch to the given value, and starts a new batch.
+   */
+  void writeTo(BytesWritable value) {
+    Preconditions.checkState(size > 0, "No edits to write");
+    byte[] data = out.getData();
+    checksum.reset();
+    checksum.update(data, HEADER_SIZE, out.getLength() - HEADER_SIZE);
+    int crc = (int) checksum.getValue();
+    data[1] = (byte) (crc >>> 24);
+    data[2] = (byte) (crc >>> 16);
+    data[3] = (byte) (crc >>> 8);
+    data[4] = (byte) crc;
+    value.set(data, 0, out.getLength());
+    out.reset();
+    state.reset();
+    size = 0;
+  }
+
+  /**
+   * Decodes a batch written by {@link #writeTo(BytesWritable)}, and adds its edits to the given collection.
+   *
+   * @throws IOException if the batch does not match its checksum, or cannot be decoded
+   */
+  static void decode(byte[] data, int length, Collection<TransactionEdit> edits) throws IOException {
+    if (length < HEADER_SIZE) {
+      throw new IOException("Batch of transaction edits is too short: " + length + " bytes");
+    }
+    if (data[0] != FORMAT && data[0] != FORMAT_NO_FINGERPRINTS) {
+      throw new IOException("Unknown format " + data[0] + " of batch of transaction edits");
+    }
+    Checksum checksum = new PureJavaCrc32C();
+    checksum.update(data, HEADER_SIZE, length - HEADER_SIZE);
+    if ((int) checksum.getValue() != Ints.fromBytes(data[1], data[2], data[3], data[4])) {
+      throw new IOException("Checksum mismatch of batch of transaction edits");
+    }
+    DataInputBuffer in = new DataInputBuffer();
+    in.reset(data, HEADER_SIZE, length - HEADER_SIZE);
+    DeltaState state = new DeltaState();
+    while (in.getPosition() < length) {
+      edits.add(decode(in, state));
+    }
+  }
+
+  private static void encode(TransactionEdit edit, DataOutputBuffer out, DeltaState state) throws IOException {
+    long writePointer = edit.getWritePointer();
+    Set<ChangeId> changes = edit.getChanges();
+    Set<Long> truncateInvalidTx = edit.getTruncateInvalidTx();
+    long[] checkpointPointers = edit.getCheckpointPointers();
+
+    int fields = 0;
+    fields |= edit.getCanCommit() ? CAN_COMMIT : 0;
+    fields |= edit.getVisibilityUpperBound() != 0 ? VISIBILITY_UPPER_BOUND : 0;
+    fields |= edit.getCommitPointer() != 0 ? COMMIT_POINTER : 0;
+    fields |= edit.getExpiration() != 0 ? EXPIRATION : 0;
+    fields |= changes != null && !changes.isEmpty() ? CHANGES : 0;
+    fields |= truncateInvalidTx != null && !truncateInvalidTx.isEmpty() ? TRUNCATE_INVALID_TX : 0;
+    fields |= edit.getTruncateInvalidTxTime() != 0 ? TRUNCATE_INVALID_TX_TIME : 0;
+    fields |= edit.getParentWritePointer() != 0 ? PARENT_WRITE_POINTER : 0;
+    fields |= checkpointPointers != null ? CHECKPOINT_POINTERS : 0;
+    fields |= (fields & CHANGES) != 0 && changes instanceof FingerprintChangeSet ? CHANGE_FINGERPRINTS : 0;
+
+    out.writeByte(edit.getState().ordinal());
+    out.writeByte(edit.getType() == null ? 0 : edit.getType().ordinal() + 1);
+    WritableUtils.writeVInt(out, fields);
+    WritableUtils.writeVLong(out, writePointer - state.writePointer);
+    state.writePointer = writePointer;
+
+    if ((fields & VISIBILITY_UPPER_BOUND) != 0) {
+      WritableUtils.writeVLong(out, writePointer - edit.getVisibilityUpperBound());
+    }
+    if ((fields & COMMIT_POINTER) != 0) {
+      WritableUtils.writeVLong(out, edit.getCommitPointer() - writePointer);
+    }
+    if ((fields & EXPIRATION) != 0) {
+      WritableUtils.writeVLong(out, edit.getExpiration() - state.expiration);
+      state.expiration = edit.getExpiration();
+    }
+    if ((fields & CHANGES) != 0) {
+      byte[][] keys = new byte[changes.size()][];
+      int i = 0;
+      for (ChangeId change : changes) {
+        keys[i++] = change.getKey();
+      }
+      Arrays.sort(keys, KEY_ORDER);
+      WritableUtils.writeVInt(out, keys.length);
+      for (byte[] key : keys) {
+        int shared = sharedPrefix(state.key, key);
+        WritableUtils.writeVInt(out, shared);
+        WritableUtils.writeVInt(out, key.length - shared);
+        out.write(key, shared, key.length - shared);
+        state.key = key;
+      }
+    }
+    if ((fields & CHANGE_FINGERPRINTS) != 0) {
+      WritableUtils.writeVInt(out, ((FingerprintChangeSet) changes).getBits());
+    }
+    if ((fields & TRUNCATE_INVALID_TX) != 0) {
+      long[] ids = new long[truncateInvalidTx.size()];
+      int i = 0;
+      for (long id : truncateInvalidTx) {
+        ids[i++] = id;
+      }
+      Arrays.sort(ids);
+      WritableUtils.writeVInt(out, ids.length);
+      long previous = 0;
+      for (long id : ids) {
+        WritableUtils.writeVLong(out, id - previous);
+        previous = id;
+      }
+    }
+    if ((fields & TRUNCATE_INVALID_TX_TIME) != 0) {
+      WritableUtils.writeVLong(out, edit.getTruncateInvalidTxTime());
+    }
+    if ((fields & PARENT_WRITE_POINTER) != 0) {
+      WritableUtils.writeVLong(out, writePointer - edit.getParentWritePointer());
+    }
+    if ((fields & CHECKPOINT_POINTERS) != 0) {
+      WritableUtils.writeVInt(out, checkpointPointers.length);
+      for (long checkpointPointer : checkpointPointers) {
+        WritableUtils.writeVLong(out, checkpointPointer - writePointer);
+      }
+    }
+  }
+
+  private static TransactionEdit decode(DataInputBuffer in, DeltaState state) throws IOException {
+    TransactionEdit edit = new TransactionEdit();
+    int stateIdx = in.readByte();
+    try {
+      edit.setState(TransactionEdit.State.values()[stateIdx]);
+    } catch (ArrayIndexOutOfBoundsException e) {
+      throw new IOException("State enum ordinal value is out of range: " + stateIdx);
+    }
+    int typeIdx = in.readByte();
+    if (typeIdx > 0) {
+      try {
+        edit.setType(TransactionType.values()[typeIdx - 1]);
+      } catch (ArrayIndexOutOfBoundsException e) {
+        throw new IOException("Type enum ordinal value is out of range: " + (typeIdx - 1));
+      }
+    }
+    int fields = WritableUtils.readVInt(in);
+    long writePointer = state.writePointer + WritableUtils.readVLong(in);
+    state.writePointer = writePointer;
+    edit.setWritePointer(writePointer);
+    edit.setCanCommit((fields & CAN_COMMIT) != 0);
+
+    if ((fields & VISIBILITY_UPPER_BOUND) != 0) {
+      edit.setVisibilityUpperBound(writePointer - WritableUtils.readVLong(in));
+    }
+    if ((fields & COMMIT_POINTER) != 0) {
+      edit.setCommitPointer(writePointer + WritableUtils.readVLong(in));
+    }
+    if ((fields & EXPIRATION) != 0) {
+      state.expiration += WritableUtils.readVLong(in);
+      edit.setExpiration(state.expiration);
+    }
+    Set<ChangeId> changes = null;
+    if ((fields & CHANGES) != 0) {
+      int count = WritableUtils.readVInt(in);
+      changes = Sets.newHashSetWithExpectedSize(count);
+      for (int i = 0; i < count; i++) {
+        int shared = WritableUtils.readVInt(in);
+        int remaining = WritableUtils.readVInt(in);
+        if (shared < 0 || shared > state.key.length || remaining < 0) {
+          throw new IOException("Invalid change key encoding, shared prefix " + shared + ", remaining " + remaining);
+        }
+        byte[] key = new byte[shared + remaining];
+        System.arraycopy(state.key, 0, key, 0, shared);
+        in.readFully(key, shared, remaining);
+        changes.add(new ChangeId(key));
+        state.key = key;
+      }
+    }
+    if ((fields & CHANGE_FINGERPRINTS) != 0) {
+      changes = toFingerprints(changes, WritableUtils.readVInt(in));
+    }
+    if (changes != null) {
+      edit.setChanges(changes);
+    }
+    if ((fields & TRUNCATE_INVALID_TX) != 0) {
+      int count = WritableUtils.readVInt(in);
+      Set<Long> truncateInvalidTx = Sets.newHashSetWithExpectedSize(count);
+      long id = 0;
+      for (int i = 0; i < count; i++) {
+        id += WritableUtils.readVLong(in);
+        truncateInvalidTx.add(id);
+      }
+      edit.setTruncateInvalidTx(truncateInvalidTx);
+    }
+    if ((fields & TRUNCATE_INVALID_TX_TIME) != 0) {
+      edit.setTruncateInvalidTxTime(WritableUtils.readVLong(in));
+    }
+    if ((fields & PARENT_WRITE_POINTER) != 0) {
+      edit.setParentWritePointer(writePointer - WritableUtils.readVLong(in));
+    }
+    if ((fields & CHECKPOINT_POINTERS) != 0) {
+      long[] checkpointPointers = new long[WritableUtils.readVInt(in)];
+      for (int i = 0; i < checkpointPointers.length; i++) {
+        checkpointPointers[i] = writePointer + WritableUtils.readVLong(in);
+      }
+      edit.setCheckpointPointers(checkpointPointers);
+    }
+    return edit;
+  }
+
+  private static Set<ChangeId> toFingerprints(Set<ChangeId> changes, int bits) throws IOException {
+    if (changes == null) {
+      throw new IOException("Fingerprint width of " + bits + " bits without any changes");
+    }
+    try {
+      return FingerprintChangeSet.copyOf(bits, changes);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Invalid fingerprinted changes", e);
+    }
+  }
+
+  private static int sharedPrefix(byte[] a, byte[] b) {
+    int length = Math.min(a.length, b.length);
+    for (int i = 0; i < length; i++) {
+      if (a[i] != b[i]) {
+        return i;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * The values of the previous edit in a batch, that the values of the next edit are encoded relative to.
+   */
+  private static final class DeltaState {
+    private long writePointer;
+    private long expiration;
+    private byte[] key = EMPTY;
+
+    private void reset() {
+      writePointer = 0;
+      expiration = 0;
+      key = EMPTY;
+    }
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.tephra.persist;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Sets;
 import org.apache.tephra.ChangeId;
+import org.apache.tephra.FingerprintChangeSet;
 import org.apache.tephra.TransactionType;
 
 import java.io.DataInput;
@@ -40,7 +41,8 @@ public class TransactionEditCodecs {
       new TransactionEditCodecV1(),
       new TransactionEditCodecV2(),
       new TransactionEditCodecV3(),
-      new TransactionEditCodecV4()
+      new TransactionEditCodecV4(),
+      new TransactionEditCodecV5()
   };
 
   private static final SortedMap<Byte, TransactionEditCodec> CODECS = new TreeMap<>();
@@ -155,7 +157,7 @@ public class TransactionEditCodecs {
       dest.setVisibilityUpperBound(0);
     }
 
-    /** @deprecated use {@link TransactionEditCodecs.TransactionEditCodecV4} instead, it is still here for
+    /** @deprecated use {@link TransactionEditCodecs.TransactionEditCodecV5} instead, it is still here for
      *  unit-tests only */
     @Override
     @Deprecated
@@ -196,7 +198,7 @@ public class TransactionEditCodecs {
       dest.setVisibilityUpperBound(in.readLong());
     }
 
-    /** @deprecated use {@link TransactionEditCodecs.TransactionEditCodecV4} instead, it is still here for
+    /** @deprecated use {@link TransactionEditCodecs.TransactionEditCodecV5} instead, it is still here for
      *  unit-tests only */
     @Override
     public void encode(TransactionEdit src, DataOutput out) throws IOException {
@@ -310,4 +312,34 @@ public class TransactionEditCodecs {
       return -4;
     }
   }
+
+  /**
+   * Adds the width of the fingerprints if the changes are a {@link FingerprintChangeSet}, or 0 for full change keys.
+   */
+  static class TransactionEditCodecV5 extends TransactionEditCodecV4 {
+    @Override
+    public void decode(TransactionEdit dest, DataInput in) throws IOException {
+      super.decode(dest, in);
+      int fingerprintBits = in.readInt();
+      if (fingerprintBits != 0) {
+        try {
+          dest.setChanges(FingerprintChangeSet.copyOf(fingerprintBits, dest.getChanges()));
+        } catch (IllegalArgumentException e) {
+          throw new IOException("Invalid fingerprinted changes", e);
+        }
+      }
+    }
+
+    @Override
+    public void encode(TransactionEdit src, DataOutput out) throws IOException {
+      super.encode(src, out);
+      Set<ChangeId> changes = src.getChanges();
+      out.writeInt(changes instanceof FingerprintChangeSet ? ((FingerprintChangeSet) changes).getBits() : 0);
+    }
+
+    @Override
+    public byte getVersion() {
+      return -5;
+    }
+  }
 }
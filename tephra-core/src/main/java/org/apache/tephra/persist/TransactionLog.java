@@ -18,6 +18,8 @@
 
 package org.apache.tephra.persist;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 import java.io.IOException;
 import java.util.List;
 
@@ -30,10 +32,30 @@ public interface TransactionLog {
 
   long getTimestamp();
 
+  /**
+   * Opens the log for writing. Logs are opened by their first append if they are not open yet, calling this before
+   * takes the cost of creating the log files out of the first append.
+   */
+  void init() throws IOException;
+
   void append(TransactionEdit edit) throws IOException;
 
   void append(List<TransactionEdit> edits) throws IOException;
 
+  /**
+   * Appends an edit without waiting for it to be synced.
+   *
+   * @return a future that completes once the edit is durable, or fails if it could not be written
+   */
+  ListenableFuture<Void> appendAsync(TransactionEdit edit);
+
+  /**
+   * Appends edits without waiting for them to be synced.
+   *
+   * @return a future that completes once all of the edits are durable, or fails if they could not be written
+   */
+  ListenableFuture<Void> appendAsync(List<TransactionEdit> edits);
+
   void close() throws IOException;
 
   TransactionLogReader getReader() throws IOException;
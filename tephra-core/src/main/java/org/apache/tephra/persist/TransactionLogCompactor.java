@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Folds the edits of a sequence of closed transaction logs into their net effect, which is written to a checkpoint
+ * that replaces the logs, see {@link TransactionStateStorage#writeCheckpoint(long, long, TransactionLogReader)}.
+ * Replaying the net effect results in the same transaction state as replaying all edits of the logs:
+ * <ul>
+ *   <li>a transaction that is started and committed within the logs, without a checkpoint, is only represented by
+ *   its COMMITTED edit, which moves both the read pointer and the last write pointer; its INPROGRESS and COMMITTING
+ *   edits are dropped.</li>
+ *   <li>the COMMITTING edit of any other transaction that is committed or aborted within the logs is dropped, as
+ *   committing or aborting the transaction removes its change set.</li>
+ * </ul>
+ * The edits of a transaction that is invalidated within the logs are always kept. So are the INPROGRESS and CHECKPOINT
+ * edits of a transaction with checkpoints: its COMMITTED edit does not contain the checkpoint write pointers, only
+ * replaying the CHECKPOINT edits moves the last write pointer past them.
+ */
+public final class TransactionLogCompactor {
+
+  private final List<TransactionLog> logs;
+  // transactions that are only represented by their COMMITTED edit
+  private final LongSet folded = new LongOpenHashSet();
+  // transactions whose COMMITTING edit is dropped
+  private final LongSet ended = new LongOpenHashSet();
+  private int editCount;
+
+  /**
+   * Reads the edits of the given logs, to find the edits that can be dropped.
+   *
+   * @param logs the logs to compact, in ascending timestamp order
+   */
+  public TransactionLogCompactor(List<TransactionLog> logs) throws IOException {
+    this.logs = new ArrayList<>(logs);
+    LongSet started = new LongOpenHashSet();
+    LongSet invalidated = new LongOpenHashSet();
+    LongSet checkpointed = new LongOpenHashSet();
+    for (TransactionLog log : logs) {
+      TransactionLogReader reader = log.getReader();
+      if (reader == null) {
+        continue;
+      }
+      try {
+        TransactionEdit edit;
+        while ((edit = reader.next()) != null) {
+          editCount++;
+          long writePointer = edit.getWritePointer();
+          switch (edit.getState()) {
+            case INPROGRESS:
+              started.add(writePointer);
+              break;
+            case COMMITTED:
+              if (started.contains(writePointer)) {
+                folded.add(writePointer);
+              }
+              ended.add(writePointer);
+              break;
+            case ABORTED:
+              ended.add(writePointer);
+              break;
+            case INVALID:
+              invalidated.add(writePointer);
+              break;
+            case CHECKPOINT:
+              checkpointed.add(edit.getParentWritePointer());
+              break;
+            default:
+              break;
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    }
+    folded.removeAll(invalidated);
+    folded.removeAll(checkpointed);
+    ended.removeAll(invalidated);
+  }
+
+  /**
+   * Returns the number of edits in the logs.
+   */
+  public int getEditCount() {
+    return editCount;
+  }
+
+  /**
+   * Returns a reader of the net effect of the logs. The logs are read again, the reader must be closed.
+   */
+  public TransactionLogReader getReader() {
+    return new CompactingReader(logs.iterator());
+  }
+
+  private boolean isDropped(TransactionEdit edit) {
+    switch (edit.getState()) {
+      case INPROGRESS:
+        return folded.contains(edit.getWritePointer());
+      case COMMITTING:
+        return ended.contains(edit.getWritePointer());
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Reads the logs one after the other, skipping the dropped edits.
+   */
+  private final class CompactingReader implements TransactionLogReader {
+    private final Iterator<TransactionLog> remaining;
+    private TransactionLogReader current;
+
+    private CompactingReader(Iterator<TransactionLog> remaining) {
+      this.remaining = remaining;
+    }
+
+    @Override
+    public TransactionEdit next() throws IOException {
+      return next(new TransactionEdit());
+    }
+
+    @Override
+    public TransactionEdit next(TransactionEdit reuse) throws IOException {
+      while (true) {
+        if (current == null) {
+          if (!remaining.hasNext()) {
+            return null;
+          }
+          current = remaining.next().getReader();
+          continue;
+        }
+        TransactionEdit edit = current.next(reuse);
+        if (edit == null) {
+          current.close();
+          current = null;
+        } else if (!isDropped(edit)) {
+          return edit;
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (current != null) {
+        current.close();
+        current = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reads the edits of a sequence of transaction logs ahead with a pool of threads, so that reading and decoding the
+ * next logs overlaps with applying the edits of the current log. The edits of a log are handed over in chunks through
+ * a bounded queue, which limits the number of edits that are held in memory for every log that is read ahead.
+ */
+public final class TransactionLogPrefetcher implements Closeable {
+  private static final int CHUNK_SIZE = 1024;
+  private static final int QUEUED_CHUNKS = 16;
+
+  private final Iterator<TransactionLog> logs;
+  private final int readAhead;
+  private final ExecutorService executor;
+  // the logs that are being read ahead, in order
+  private final Queue<PrefetchedLog> prefetched = new ArrayDeque<>();
+
+  /**
+   * @param logs the logs to read, in the order they are returned by {@link #nextReader()}
+   * @param threads the number of logs that are read at the same time
+   */
+  public TransactionLogPrefetcher(Collection<TransactionLog> logs, int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive, but is " + threads);
+    }
+    this.logs = logs.iterator();
+    this.readAhead = threads;
+    this.executor = Executors.newFixedThreadPool(
+      threads, new ThreadFactoryBuilder().setDaemon(true).setNameFormat("tx-log-prefetch-%d").build());
+    prefetch();
+  }
+
+  /**
+   * Returns a reader of the edits of the next log, or {@code null} if all logs have been returned. The reader of a
+   * log that does not have any edits returns none. A failure to read a log is thrown by its reader, once the reader
+   * has returned all edits that were read before the failure.
+   */
+  public TransactionLogReader nextReader() {
+    PrefetchedLog next = prefetched.poll();
+    prefetch();
+    return next;
+  }
+
+  private void prefetch() {
+    while (prefetched.size() < readAhead && logs.hasNext()) {
+      PrefetchedLog log = new PrefetchedLog(logs.next());
+      prefetched.add(log);
+      executor.execute(log);
+    }
+  }
+
+  /**
+   * Stops reading the logs.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private static final class PrefetchedLog implements TransactionLogReader, Runnable {
+    // marks the end of the edits of a log
+    private static final List<TransactionEdit> END = new ArrayList<>(0);
+
+    private final TransactionLog log;
+    private final BlockingQueue<List<TransactionEdit>> chunks = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+    // set before END is queued
+    private volatile Throwable failure;
+    private Iterator<TransactionEdit> chunk = Collections.emptyIterator();
+    private boolean end;
+
+    private PrefetchedLog(TransactionLog log) {
+      this.log = log;
+    }
+
+    @Override
+    public void run() {
+      try {
+        TransactionLogReader reader = log.getReader();
+        // reader may be null in the case of an empty file
+        if (reader == null) {
+          return;
+        }
+        try {
+          List<TransactionEdit> edits = new ArrayList<>(CHUNK_SIZE);
+          TransactionEdit edit;
+          while ((edit = reader.next()) != null) {
+            edits.add(edit);
+            if (edits.size() == CHUNK_SIZE) {
+              if (!put(edits)) {
+                return;
+              }
+              edits = new ArrayList<>(CHUNK_SIZE);
+            }
+          }
+          if (!edits.isEmpty()) {
+            put(edits);
+          }
+        } finally {
+          reader.close();
+        }
+      } catch (Throwable t) {
+        failure = t;
+      } finally {
+        put(END);
+      }
+    }
+
+    /**
+     * Queues a chunk of edits, returns {@code false} if the prefetcher was closed while waiting for room.
+     */
+    private boolean put(List<TransactionEdit> edits) {
+      try {
+        chunks.put(edits);
+        return true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+
+    @Override
+    public TransactionEdit next() throws IOException {
+      while (!chunk.hasNext()) {
+        if (end) {
+          return null;
+        }
+        List<TransactionEdit> edits = Uninterruptibles.takeUninterruptibly(chunks);
+        if (edits == END) {
+          end = true;
+          if (failure != null) {
+            Throwables.propagateIfInstanceOf(failure, IOException.class);
+            throw Throwables.propagate(failure);
+          }
+          return null;
+        }
+        chunk = edits.iterator();
+      }
+      return chunk.next();
+    }
+
+    @Override
+    public TransactionEdit next(TransactionEdit reuse) throws IOException {
+      return next();
+    }
+
+    @Override
+    public void close() throws IOException {
+      // the log reader is closed by the prefetching thread
+    }
+  }
+}
@@ -42,6 +42,15 @@ public interface TransactionLogWriter extends Closeable {
    */
   void commitMarker(int count) throws IOException;
 
+  /**
+   * Writes the transaction edits added through {@link #append(AbstractTransactionLog.Entry)} to storage, without
+   * making them durable.  This is called before {@link #sync()}, which must also write any edits that have not been
+   * flushed.
+   *
+   * @throws IOException If an error occurs while writing the outstanding edits.
+   */
+  void flush() throws IOException;
+
   /**
    * Syncs any pending transaction edits added through {@link #append(AbstractTransactionLog.Entry)},
    * but not yet flushed to durable storage.
@@ -46,7 +46,14 @@ public interface TransactionStateStorage extends Service {
   public TransactionSnapshot getLatestSnapshot() throws IOException;
 
   /**
-   * Returns the most recent transaction visibility state that has been successfully written.
+   * Persists the transaction visibility state, without the change sets of a full snapshot.  Only the most recent
+   * visibility state is kept, it is not used to recover the transaction state.
+   */
+  public void writeVisibilityState(TransactionVisibilityState state) throws IOException;
+
+  /**
+   * Returns the most recent transaction visibility state that has been successfully written, either with
+   * {@link #writeVisibilityState(TransactionVisibilityState)} or as part of a snapshot.
    * Note that this may return {@code null} if no completed snapshot files are found.
    * @return {@link TransactionVisibilityState}
    */
@@ -77,6 +84,18 @@ public interface TransactionStateStorage extends Service {
    */
   public TransactionLog createLog(long timestamp) throws IOException;
 
+  /**
+   * Writes a checkpoint that replaces all logs with a timestamp from {@code firstTimestamp} to {@code lastTimestamp},
+   * both inclusive, with the given edits, and removes these logs.  The logs must be closed.  Once written,
+   * {@link #getLogsSince(long)} returns the checkpoint in place of the logs, as a log with the first timestamp, if
+   * that is not less than the given timestamp.
+   * @param firstTimestamp The timestamp of the first log that is replaced.
+   * @param lastTimestamp The timestamp of the last log that is replaced.
+   * @param edits The edits to write, which must result in the same transaction state as the edits of the logs.
+   * @throws IOException If an error occurs while writing the checkpoint.  The logs are not replaced in that case.
+   */
+  public void writeCheckpoint(long firstTimestamp, long lastTimestamp, TransactionLogReader edits) throws IOException;
+
   /**
    * Returns the (non-qualified) names of available logs.
    */
@@ -85,7 +104,8 @@ public interface TransactionStateStorage extends Service {
   /**
    * Removes any transaction logs with a timestamp older than the given value.  Logs must be removed based on timestamp
    * to ensure we can fully recover state based on a given snapshot.
-   * @param timestamp The timestamp to delete up to.  Logs with a timestamp less than this value will be removed.
+   * @param timestamp The timestamp to delete up to.  Logs with a timestamp less than this value will be removed, as
+   *                  well as checkpoints of logs that all have a timestamp less than this value.
    * @throws IOException If an error occurs while removing logs.
    */
   public void deleteLogsOlderThan(long timestamp) throws IOException;
@@ -24,16 +24,43 @@ import java.io.InputStream;
 
 /**
  * An decoder to help read snapshots in binary format.
+ *
+ * <p>The input stream is read in bulk into a buffer, hence the decoder may read beyond the last value it returns.
+ * Once values are read with a decoder, the remaining values of the stream must be read with the same decoder.</p>
  */
 public final class BinaryDecoder {
 
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
   private final InputStream input;
+  private final byte[] buffer;
+  private int position;
+  private int limit;
 
   /**
    * @param input Stream to read from.
    */
   public BinaryDecoder(InputStream input) {
+    this(input, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * @param input Stream to read from.
+   * @param bufferSize the size of the buffer. A size of one never reads beyond the last value returned.
+   */
+  public BinaryDecoder(InputStream input, int bufferSize) {
     this.input = input;
+    this.buffer = new byte[Math.max(bufferSize, 1)];
+  }
+
+  /**
+   * Reads from the given bytes, without copying them.
+   * @param bytes bytes to read from.
+   */
+  public BinaryDecoder(byte[] bytes) {
+    this.input = null;
+    this.buffer = bytes;
+    this.limit = bytes.length;
   }
 
   /**
@@ -83,6 +110,14 @@ public final class BinaryDecoder {
   public byte[] readBytes() throws IOException {
     int toRead = readInt();
     byte[] bytes = new byte[toRead];
+    int buffered = Math.min(toRead, limit - position);
+    System.arraycopy(buffer, position, bytes, 0, buffered);
+    position += buffered;
+    toRead -= buffered;
+    if (toRead > 0 && input == null) {
+      throw new EOFException();
+    }
+    // read the rest directly from the stream
     while (toRead > 0) {
       int byteRead = input.read(bytes, bytes.length - toRead, toRead);
       if (byteRead == -1) {
@@ -101,10 +136,24 @@ public final class BinaryDecoder {
    * @throws java.io.EOFException If end of file reached.
    */
   private int readByte() throws IOException {
-    int b = input.read();
-    if (b == -1) {
+    if (position == limit) {
+      fill();
+    }
+    return buffer[position++] & 0xff;
+  }
+
+  private void fill() throws IOException {
+    if (input == null) {
       throw new EOFException();
     }
-    return b;
+    int read;
+    do {
+      read = input.read(buffer, 0, buffer.length);
+      if (read == -1) {
+        throw new EOFException();
+      }
+    } while (read == 0);
+    position = 0;
+    limit = read;
   }
 }
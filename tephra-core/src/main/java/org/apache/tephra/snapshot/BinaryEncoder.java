@@ -23,16 +23,34 @@ import java.io.OutputStream;
 
 /**
  *  An encoder to help encode snapshots in binary format.
+ *
+ *  <p>Values are encoded into a buffer, which is written to the output stream in bulk when it is full and by
+ *  {@link #flush()}. Hence {@link #flush()} must be called once all values are written.</p>
  */
 public final class BinaryEncoder {
 
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+  // the longest encoding of a single value
+  private static final int MAX_VARINT_LENGTH = 10;
+
   private final OutputStream output;
+  private final byte[] buffer;
+  private int position;
 
   /**
    * @param output stream to write to
    */
   public BinaryEncoder(OutputStream output) {
+    this(output, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * @param output stream to write to
+   * @param bufferSize the size of the buffer
+   */
+  public BinaryEncoder(OutputStream output, int bufferSize) {
     this.output = output;
+    this.buffer = new byte[Math.max(bufferSize, MAX_VARINT_LENGTH)];
   }
 
   /**
@@ -40,18 +58,19 @@ public final class BinaryEncoder {
    * @throws java.io.IOException If there is IO error.
    */
   public BinaryEncoder writeInt(int i) throws IOException {
+    ensureCapacity(MAX_VARINT_LENGTH);
     // Compute the zig-zag value. First double the value and flip the bit if the input is negative.
     int val = (i << 1) ^ (i >> 31);
 
     if ((val & ~0x7f) != 0) {
-      output.write(0x80 | val & 0x7f);
+      buffer[position++] = (byte) (0x80 | val & 0x7f);
       val >>>= 7;
       while (val > 0x7f) {
-        output.write(0x80 | val & 0x7f);
+        buffer[position++] = (byte) (0x80 | val & 0x7f);
         val >>>= 7;
       }
     }
-    output.write(val);
+    buffer[position++] = (byte) val;
 
     return this;
   }
@@ -61,18 +80,19 @@ public final class BinaryEncoder {
    * @throws java.io.IOException If there is IO error.
    */
   public BinaryEncoder writeLong(long l) throws IOException {
+    ensureCapacity(MAX_VARINT_LENGTH);
     // Compute the zig-zag value. First double the value and flip the bit if the input is negative.
     long val = (l << 1) ^ (l >> 63);
 
     if ((val & ~0x7f) != 0) {
-      output.write((int) (0x80 | val & 0x7f));
+      buffer[position++] = (byte) (0x80 | val & 0x7f);
       val >>>= 7;
       while (val > 0x7f) {
-        output.write((int) (0x80 | val & 0x7f));
+        buffer[position++] = (byte) (0x80 | val & 0x7f);
         val >>>= 7;
       }
     }
-    output.write((int) val);
+    buffer[position++] = (byte) val;
 
     return this;
   }
@@ -83,7 +103,36 @@ public final class BinaryEncoder {
    */
   public BinaryEncoder writeBytes(byte[] bytes) throws IOException {
     writeLong(bytes.length);
-    output.write(bytes, 0, bytes.length);
+    if (bytes.length <= buffer.length - position) {
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    } else {
+      // larger than the remaining buffer, write directly to the stream
+      writeBuffer();
+      output.write(bytes, 0, bytes.length);
+    }
     return this;
   }
+
+  /**
+   * Writes all buffered values to the output stream, and flushes the stream.
+   * @throws java.io.IOException If there is IO error.
+   */
+  public void flush() throws IOException {
+    writeBuffer();
+    output.flush();
+  }
+
+  private void ensureCapacity(int length) throws IOException {
+    if (buffer.length - position < length) {
+      writeBuffer();
+    }
+  }
+
+  private void writeBuffer() throws IOException {
+    if (position > 0) {
+      output.write(buffer, 0, position);
+      position = 0;
+    }
+  }
 }
@@ -23,6 +23,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.tephra.ChangeId;
+import org.apache.tephra.FingerprintChangeSet;
 import org.apache.tephra.TransactionManager;
 import org.apache.tephra.persist.TransactionSnapshot;
 import org.apache.tephra.persist.TransactionVisibilityState;
@@ -66,6 +67,7 @@ public class DefaultSnapshotCodec implements SnapshotCodec {
       encodeInProgress(encoder, snapshot.getInProgress());
       encodeChangeSets(encoder, snapshot.getCommittingChangeSets());
       encodeChangeSets(encoder, snapshot.getCommittedChangeSets());
+      encoder.flush();
 
     } catch (IOException e) {
       LOG.error("Unable to serialize transaction state: ", e);
@@ -78,7 +80,7 @@ public class DefaultSnapshotCodec implements SnapshotCodec {
     BinaryDecoder decoder = new BinaryDecoder(in);
 
     try {
-      TransactionVisibilityState minTxSnapshot = decodeTransactionVisibilityState(in);
+      TransactionVisibilityState minTxSnapshot = decodeTransactionVisibilityState(decoder);
       NavigableMap<Long, Set<ChangeId>> committing = decodeChangeSets(decoder);
       NavigableMap<Long, Set<ChangeId>> committed = decodeChangeSets(decoder);
       return new TransactionSnapshot(minTxSnapshot.getTimestamp(), minTxSnapshot.getReadPointer(),
@@ -94,19 +96,23 @@ public class DefaultSnapshotCodec implements SnapshotCodec {
   public TransactionVisibilityState decodeTransactionVisibilityState(InputStream in) {
     BinaryDecoder decoder = new BinaryDecoder(in);
     try {
-      long timestamp = decoder.readLong();
-      long readPointer = decoder.readLong();
-      long writePointer = decoder.readLong();
-      Collection<Long> invalid = decodeInvalid(decoder);
-      NavigableMap<Long, TransactionManager.InProgressTx> inProgress = decodeInProgress(decoder);
-      return new TransactionSnapshot(timestamp, readPointer, writePointer, invalid, inProgress);
+      return decodeTransactionVisibilityState(decoder);
     } catch (IOException e) {
       LOG.error("Unable to deserialize transaction state: ", e);
       throw Throwables.propagate(e);
     }
   }
 
-  private void encodeInvalid(BinaryEncoder encoder, Collection<Long> invalid) throws IOException {
+  protected TransactionVisibilityState decodeTransactionVisibilityState(BinaryDecoder decoder) throws IOException {
+    long timestamp = decoder.readLong();
+    long readPointer = decoder.readLong();
+    long writePointer = decoder.readLong();
+    Collection<Long> invalid = decodeInvalid(decoder);
+    NavigableMap<Long, TransactionManager.InProgressTx> inProgress = decodeInProgress(decoder);
+    return new TransactionSnapshot(timestamp, readPointer, writePointer, invalid, inProgress);
+  }
+
+  protected void encodeInvalid(BinaryEncoder encoder, Collection<Long> invalid) throws IOException {
     if (!invalid.isEmpty()) {
       encoder.writeInt(invalid.size());
       for (long invalidTx : invalid) {
@@ -116,7 +122,7 @@ public class DefaultSnapshotCodec implements SnapshotCodec {
     encoder.writeInt(0); // zero denotes end of list as per AVRO spec
   }
 
-  private Collection<Long> decodeInvalid(BinaryDecoder decoder) throws IOException {
+  protected Collection<Long> decodeInvalid(BinaryDecoder decoder) throws IOException {
     int size = decoder.readInt();
     Collection<Long> invalid = Lists.newArrayListWithCapacity(size);
     while (size != 0) { // zero denotes end of list as per AVRO spec
@@ -184,6 +190,10 @@ public class DefaultSnapshotCodec implements SnapshotCodec {
   }
 
   private void encodeChanges(BinaryEncoder encoder, Set<ChangeId> changes) throws IOException {
+    if (changes instanceof FingerprintChangeSet) {
+      // the fingerprints would be read back as full change keys
+      throw new IOException("Snapshot codec version " + getVersion() + " cannot record fingerprinted change sets");
+    }
     if (!changes.isEmpty()) {
       encoder.writeInt(changes.size());
       for (ChangeId change : changes) {
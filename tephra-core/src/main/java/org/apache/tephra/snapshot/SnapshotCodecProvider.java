@@ -23,6 +23,7 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
+import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.tephra.TxConstants;
 import org.apache.tephra.persist.TransactionSnapshot;
@@ -76,6 +77,9 @@ public class SnapshotCodecProvider implements SnapshotCodec {
     for (Class<?> codecClass : codecClasses) {
       try {
         SnapshotCodec codec = (SnapshotCodec) (codecClass.newInstance());
+        if (codec instanceof Configurable) {
+          ((Configurable) codec).setConf(configuration);
+        }
         codecs.put(codec.getVersion(), codec);
         LOG.debug("Using snapshot codec {} for snapshots of version {}", codecClass.getName(), codec.getVersion());
       } catch (Exception e) {
@@ -114,7 +118,8 @@ public class SnapshotCodecProvider implements SnapshotCodec {
 
   // Return the appropriate codec for the version in InputStream
   private SnapshotCodec getCodec(InputStream in) {
-    BinaryDecoder decoder = new BinaryDecoder(in);
+    // read byte by byte, so that the codec can read the rest of the stream
+    BinaryDecoder decoder = new BinaryDecoder(in, 1);
     int persistedVersion;
     try {
       persistedVersion = decoder.readInt();
@@ -144,7 +149,9 @@ public class SnapshotCodecProvider implements SnapshotCodec {
   public void encode(OutputStream out, TransactionSnapshot snapshot) {
     SnapshotCodec codec = getCurrentCodec();
     try {
-      new BinaryEncoder(out).writeInt(codec.getVersion());
+      BinaryEncoder encoder = new BinaryEncoder(out);
+      encoder.writeInt(codec.getVersion());
+      encoder.flush();
     } catch (IOException e) {
       LOG.error("Unable to write transaction state version: ", e);
       throw Throwables.propagate(e);
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.snapshot;
+
+import com.google.common.primitives.Longs;
+import org.apache.tephra.persist.TransactionSnapshot;
+import org.apache.tephra.util.SortedLongsCodec;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Handles serialization/deserialization of a {@link TransactionSnapshot}
+ * and its elements to {@code byte[]}.
+ *
+ * <p>The serialization/deserialization of this codec is the same as that performed by {@link SnapshotCodecV4},
+ * except that the invalid list is written in the compact encoding of {@link SortedLongsCodec}.</p>
+ */
+public class SnapshotCodecV5 extends SnapshotCodecV4 {
+  @Override
+  public int getVersion() {
+    return 5;
+  }
+
+  @Override
+  protected void encodeInvalid(BinaryEncoder encoder, Collection<Long> invalid) throws IOException {
+    long[] sorted = Longs.toArray(invalid);
+    Arrays.sort(sorted);
+    encoder.writeBytes(SortedLongsCodec.encode(sorted));
+  }
+
+  @Override
+  protected Collection<Long> decodeInvalid(BinaryDecoder decoder) throws IOException {
+    try {
+      return Longs.asList(SortedLongsCodec.decode(decoder.readBytes()));
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unable to decode invalid list", e);
+    }
+  }
+}
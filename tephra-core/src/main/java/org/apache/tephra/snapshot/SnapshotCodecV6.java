@@ -0,0 +1,499 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.snapshot;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.Longs;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.apache.hadoop.conf.Configurable;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.tephra.ChangeId;
+import org.apache.tephra.FingerprintChangeSet;
+import org.apache.tephra.TransactionManager;
+import org.apache.tephra.TransactionType;
+import org.apache.tephra.TxConstants;
+import org.apache.tephra.persist.TransactionSnapshot;
+import org.apache.tephra.persist.TransactionVisibilityState;
+import org.apache.tephra.util.SortedLongsCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Handles serialization/deserialization of a {@link TransactionSnapshot}
+ * and its elements to {@code byte[]}.
+ *
+ * <p>This codec writes the elements of a snapshot as columns rather than as one record per transaction: the ids of the
+ * in-progress transactions, their expirations and their visibility upper bounds are each written as the differences
+ * between consecutive values, which are small for transactions started close in time. The invalid list is written
+ * as in {@link SnapshotCodecV5}. The change keys of all change sets are written once, prefix-coded in a shared
+ * dictionary, and every change set refers to its keys by their index in the dictionary.</p>
+ *
+ * <p>The encoding is:
+ * <ul>
+ *   <li>the compression of the blocks, see {@link TxConstants.Persist#CFG_TX_SNAPSHOT_CODEC_COMPRESS}</li>
+ *   <li>the timestamp, read pointer and write pointer</li>
+ *   <li>a block with the invalid list</li>
+ *   <li>a block with the in-progress transactions</li>
+ *   <li>a block with the dictionary of change keys</li>
+ *   <li>a block with the committing change sets</li>
+ *   <li>a block with the committed change sets</li>
+ * </ul>
+ * Every block is written as a length-prefixed sequence of bytes, which is compressed with a {@link Deflater} if
+ * compression is enabled. Decoding the visibility state only reads the first two blocks.</p>
+ */
+public class SnapshotCodecV6 extends SnapshotCodecV5 implements Configurable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SnapshotCodecV6.class);
+
+  private static final int UNCOMPRESSED = 0;
+  private static final int DEFLATED = 1;
+
+  private Configuration conf;
+  private boolean compress = TxConstants.Persist.DEFAULT_TX_SNAPSHOT_CODEC_COMPRESS;
+
+  @Override
+  public int getVersion() {
+    return 6;
+  }
+
+  @Override
+  public void setConf(Configuration conf) {
+    this.conf = conf;
+    this.compress = conf.getBoolean(TxConstants.Persist.CFG_TX_SNAPSHOT_CODEC_COMPRESS,
+                                    TxConstants.Persist.DEFAULT_TX_SNAPSHOT_CODEC_COMPRESS);
+  }
+
+  @Override
+  public Configuration getConf() {
+    return conf;
+  }
+
+  @Override
+  public void encode(OutputStream out, TransactionSnapshot snapshot) {
+    try {
+      BinaryEncoder encoder = new BinaryEncoder(out);
+      int compression = compress ? DEFLATED : UNCOMPRESSED;
+      encoder.writeInt(compression);
+      encoder.writeLong(snapshot.getTimestamp());
+      encoder.writeLong(snapshot.getReadPointer());
+      encoder.writeLong(snapshot.getWritePointer());
+      writeBlock(encoder, compression, encodeInvalidColumn(snapshot.getInvalid()));
+      writeBlock(encoder, compression, encodeInProgressColumns(snapshot.getInProgress()));
+
+      // the dictionary is filled while encoding the change sets, but written before them
+      Object2IntOpenHashMap<ChangeId> index = new Object2IntOpenHashMap<>(
+        countChanges(snapshot.getCommittingChangeSets()) + countChanges(snapshot.getCommittedChangeSets()));
+      index.defaultReturnValue(-1);
+      List<ChangeId> dictionary = new ArrayList<>();
+      byte[] committing = encodeChangeSetColumns(snapshot.getCommittingChangeSets(), index, dictionary);
+      byte[] committed = encodeChangeSetColumns(snapshot.getCommittedChangeSets(), index, dictionary);
+      writeBlock(encoder, compression, encodeDictionary(dictionary));
+      writeBlock(encoder, compression, committing);
+      writeBlock(encoder, compression, committed);
+      encoder.flush();
+    } catch (IOException e) {
+      LOG.error("Unable to serialize transaction state: ", e);
+      throw Throwables.propagate(e);
+    }
+  }
+
+  @Override
+  public TransactionSnapshot decode(InputStream in) {
+    BinaryDecoder decoder = new BinaryDecoder(in);
+    try {
+      int compression = decoder.readInt();
+      TransactionSnapshot state = decodeVisibilityState(decoder, compression);
+      ChangeId[] dictionary = decodeDictionary(readBlock(decoder, compression));
+      NavigableMap<Long, Set<ChangeId>> committing =
+        decodeChangeSetColumns(readBlock(decoder, compression), dictionary);
+      NavigableMap<Long, Set<ChangeId>> committed =
+        decodeChangeSetColumns(readBlock(decoder, compression), dictionary);
+      return new TransactionSnapshot(state.getTimestamp(), state.getReadPointer(), state.getWritePointer(),
+                                     state.getInvalid(), state.getInProgress(), committing, committed);
+    } catch (IOException e) {
+      LOG.error("Unable to deserialize transaction state: ", e);
+      throw Throwables.propagate(e);
+    }
+  }
+
+  @Override
+  public TransactionVisibilityState decodeTransactionVisibilityState(InputStream in) {
+    BinaryDecoder decoder = new BinaryDecoder(in);
+    try {
+      return decodeVisibilityState(decoder, decoder.readInt());
+    } catch (IOException e) {
+      LOG.error("Unable to deserialize transaction state: ", e);
+      throw Throwables.propagate(e);
+    }
+  }
+
+  private TransactionSnapshot decodeVisibilityState(BinaryDecoder decoder, int compression) throws IOException {
+    if (compression != UNCOMPRESSED && compression != DEFLATED) {
+      throw new IOException("Unknown snapshot compression " + compression);
+    }
+    long timestamp = decoder.readLong();
+    long readPointer = decoder.readLong();
+    long writePointer = decoder.readLong();
+    Collection<Long> invalid = decodeInvalidColumn(readBlock(decoder, compression));
+    NavigableMap<Long, TransactionManager.InProgressTx> inProgress =
+      decodeInProgressColumns(readBlock(decoder, compression));
+    return new TransactionSnapshot(timestamp, readPointer, writePointer, invalid, inProgress);
+  }
+
+  private byte[] encodeInvalidColumn(Collection<Long> invalid) {
+    long[] sorted = Longs.toArray(invalid);
+    Arrays.sort(sorted);
+    return SortedLongsCodec.encode(sorted);
+  }
+
+  private Collection<Long> decodeInvalidColumn(byte[] block) throws IOException {
+    try {
+      return Longs.asList(SortedLongsCodec.decode(block));
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unable to decode invalid list", e);
+    }
+  }
+
+  private byte[] encodeInProgressColumns(Map<Long, TransactionManager.InProgressTx> inProgress) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = new BinaryEncoder(out);
+    encoder.writeInt(inProgress.size());
+    long previous = 0;
+    for (long txId : inProgress.keySet()) {
+      encoder.writeLong(txId - previous);
+      previous = txId;
+    }
+    previous = 0;
+    for (TransactionManager.InProgressTx tx : inProgress.values()) {
+      encoder.writeLong(tx.getExpiration() - previous);
+      previous = tx.getExpiration();
+    }
+    previous = 0;
+    for (TransactionManager.InProgressTx tx : inProgress.values()) {
+      encoder.writeLong(tx.getVisibilityUpperBound() - previous);
+      previous = tx.getVisibilityUpperBound();
+    }
+    for (TransactionManager.InProgressTx tx : inProgress.values()) {
+      encoder.writeInt(tx.getType().ordinal());
+    }
+    for (TransactionManager.InProgressTx tx : inProgress.values()) {
+      LongArrayList checkpointPointers = tx.getCheckpointWritePointers();
+      encoder.writeInt(checkpointPointers == null ? 0 : checkpointPointers.size());
+    }
+    // checkpoint write pointers are written relative to their transaction id
+    for (Map.Entry<Long, TransactionManager.InProgressTx> entry : inProgress.entrySet()) {
+      LongArrayList checkpointPointers = entry.getValue().getCheckpointWritePointers();
+      if (checkpointPointers != null) {
+        previous = entry.getKey();
+        for (int i = 0; i < checkpointPointers.size(); i++) {
+          encoder.writeLong(checkpointPointers.getLong(i) - previous);
+          previous = checkpointPointers.getLong(i);
+        }
+      }
+    }
+    encoder.flush();
+    return out.toByteArray();
+  }
+
+  private NavigableMap<Long, TransactionManager.InProgressTx> decodeInProgressColumns(byte[] block)
+    throws IOException {
+
+    BinaryDecoder decoder = new BinaryDecoder(block);
+    int size = decoder.readInt();
+    checkSize(size, block.length);
+    long[] txIds = readDeltas(decoder, size);
+    long[] expirations = readDeltas(decoder, size);
+    long[] visibilityUpperBounds = readDeltas(decoder, size);
+    TransactionType[] types = new TransactionType[size];
+    for (int i = 0; i < size; i++) {
+      int txTypeIdx = decoder.readInt();
+      try {
+        types[i] = TransactionType.values()[txTypeIdx];
+      } catch (ArrayIndexOutOfBoundsException e) {
+        throw new IOException("Type enum ordinal value is out of range: " + txTypeIdx);
+      }
+    }
+    int[] checkpointCounts = new int[size];
+    for (int i = 0; i < size; i++) {
+      checkpointCounts[i] = decoder.readInt();
+      checkSize(checkpointCounts[i], block.length);
+    }
+    NavigableMap<Long, TransactionManager.InProgressTx> inProgress = Maps.newTreeMap();
+    for (int i = 0; i < size; i++) {
+      LongArrayList checkpointPointers = new LongArrayList(checkpointCounts[i]);
+      long previous = txIds[i];
+      for (int j = 0; j < checkpointCounts[i]; j++) {
+        previous += decoder.readLong();
+        checkpointPointers.add(previous);
+      }
+      inProgress.put(txIds[i], new TransactionManager.InProgressTx(visibilityUpperBounds[i], expirations[i],
+                                                                   types[i], checkpointPointers));
+    }
+    return inProgress;
+  }
+
+  private static int countChanges(Map<Long, Set<ChangeId>> changeSets) {
+    int count = 0;
+    for (Set<ChangeId> changes : changeSets.values()) {
+      count += changes.size();
+    }
+    return count;
+  }
+
+  /**
+   * Writes every key as the length of the prefix it shares with the previous key and the remaining suffix. The
+   * prefix lengths, suffix lengths and suffixes are written as separate columns.
+   */
+  private byte[] encodeDictionary(List<ChangeId> dictionary) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = new BinaryEncoder(out);
+    ByteArrayOutputStream suffixes = new ByteArrayOutputStream();
+    encoder.writeInt(dictionary.size());
+    int[] prefixLengths = new int[dictionary.size()];
+    byte[] previous = new byte[0];
+    for (int i = 0; i < prefixLengths.length; i++) {
+      byte[] key = dictionary.get(i).getKey();
+      int prefix = 0;
+      int maxPrefix = Math.min(previous.length, key.length);
+      while (prefix < maxPrefix && previous[prefix] == key[prefix]) {
+        prefix++;
+      }
+      prefixLengths[i] = prefix;
+      encoder.writeInt(prefix);
+      suffixes.write(key, prefix, key.length - prefix);
+      previous = key;
+    }
+    for (int i = 0; i < prefixLengths.length; i++) {
+      encoder.writeInt(dictionary.get(i).getKey().length - prefixLengths[i]);
+    }
+    encoder.writeBytes(suffixes.toByteArray());
+    encoder.flush();
+    return out.toByteArray();
+  }
+
+  private ChangeId[] decodeDictionary(byte[] block) throws IOException {
+    BinaryDecoder decoder = new BinaryDecoder(block);
+    int size = decoder.readInt();
+    checkSize(size, block.length);
+    int[] prefixLengths = new int[size];
+    for (int i = 0; i < size; i++) {
+      prefixLengths[i] = decoder.readInt();
+    }
+    int[] suffixLengths = new int[size];
+    for (int i = 0; i < size; i++) {
+      suffixLengths[i] = decoder.readInt();
+    }
+    byte[] suffixes = decoder.readBytes();
+    ChangeId[] dictionary = new ChangeId[size];
+    byte[] previous = new byte[0];
+    int offset = 0;
+    for (int i = 0; i < size; i++) {
+      if (prefixLengths[i] < 0 || prefixLengths[i] > previous.length
+        || suffixLengths[i] < 0 || suffixLengths[i] > suffixes.length - offset) {
+        throw new IOException("Invalid change key at index " + i + " of the dictionary");
+      }
+      byte[] key = new byte[prefixLengths[i] + suffixLengths[i]];
+      System.arraycopy(previous, 0, key, 0, prefixLengths[i]);
+      System.arraycopy(suffixes, offset, key, prefixLengths[i], suffixLengths[i]);
+      offset += suffixLengths[i];
+      dictionary[i] = new ChangeId(key);
+      previous = key;
+    }
+    return dictionary;
+  }
+
+  /**
+   * Writes the transaction ids, the sizes of the change sets, the widths of fingerprinted change sets (0 for change
+   * sets with full keys) and the dictionary indexes of the change keys as separate columns. The change sets are
+   * written in ascending order of the transaction ids, and the indexes of every change set in ascending order, so
+   * that both can be written as the differences between consecutive values.
+   * Change keys that are not in the dictionary yet are added to it, in the order they are first encountered. Sorting
+   * the dictionary would share longer prefixes between keys, but takes longer than encoding all of the snapshot.
+   */
+  private byte[] encodeChangeSetColumns(Map<Long, Set<ChangeId>> changeSets, Object2IntOpenHashMap<ChangeId> index,
+                                        List<ChangeId> dictionary) throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = new BinaryEncoder(out);
+    NavigableMap<Long, Set<ChangeId>> sorted =
+      changeSets instanceof TreeMap ? (NavigableMap<Long, Set<ChangeId>>) changeSets : new TreeMap<>(changeSets);
+    encoder.writeInt(sorted.size());
+    long previous = 0;
+    for (long txId : sorted.keySet()) {
+      encoder.writeLong(txId - previous);
+      previous = txId;
+    }
+    for (Set<ChangeId> changes : sorted.values()) {
+      encoder.writeInt(changes.size());
+    }
+    for (Set<ChangeId> changes : sorted.values()) {
+      encoder.writeInt(changes instanceof FingerprintChangeSet ? ((FingerprintChangeSet) changes).getBits() : 0);
+    }
+    for (Set<ChangeId> changes : sorted.values()) {
+      int[] indexes = new int[changes.size()];
+      int i = 0;
+      for (ChangeId change : changes) {
+        int changeIndex = index.getInt(change);
+        if (changeIndex < 0) {
+          changeIndex = dictionary.size();
+          index.put(change, changeIndex);
+          dictionary.add(change);
+        }
+        indexes[i++] = changeIndex;
+      }
+      Arrays.sort(indexes);
+      int previousIndex = 0;
+      for (int changeIndex : indexes) {
+        encoder.writeInt(changeIndex - previousIndex);
+        previousIndex = changeIndex;
+      }
+    }
+    encoder.flush();
+    return out.toByteArray();
+  }
+
+  private NavigableMap<Long, Set<ChangeId>> decodeChangeSetColumns(byte[] block, ChangeId[] dictionary)
+    throws IOException {
+
+    BinaryDecoder decoder = new BinaryDecoder(block);
+    int size = decoder.readInt();
+    checkSize(size, block.length);
+    long[] txIds = readDeltas(decoder, size);
+    int[] changeCounts = new int[size];
+    for (int i = 0; i < size; i++) {
+      changeCounts[i] = decoder.readInt();
+      checkSize(changeCounts[i], block.length);
+    }
+    int[] fingerprintBits = new int[size];
+    for (int i = 0; i < size; i++) {
+      fingerprintBits[i] = decoder.readInt();
+    }
+    NavigableMap<Long, Set<ChangeId>> changeSets = new TreeMap<>();
+    for (int i = 0; i < size; i++) {
+      Set<ChangeId> changes = Sets.newHashSetWithExpectedSize(changeCounts[i]);
+      int changeIndex = 0;
+      for (int j = 0; j < changeCounts[i]; j++) {
+        changeIndex += decoder.readInt();
+        if (changeIndex < 0 || changeIndex >= dictionary.length) {
+          throw new IOException("Change key index " + changeIndex + " is out of range");
+        }
+        changes.add(dictionary[changeIndex]);
+      }
+      if (fingerprintBits[i] != 0) {
+        try {
+          changes = FingerprintChangeSet.copyOf(fingerprintBits[i], changes);
+        } catch (IllegalArgumentException e) {
+          throw new IOException("Invalid fingerprinted change set of transaction " + txIds[i], e);
+        }
+      }
+      changeSets.put(txIds[i], changes);
+    }
+    return changeSets;
+  }
+
+  private static long[] readDeltas(BinaryDecoder decoder, int size) throws IOException {
+    long[] values = new long[size];
+    long previous = 0;
+    for (int i = 0; i < size; i++) {
+      previous += decoder.readLong();
+      values[i] = previous;
+    }
+    return values;
+  }
+
+  /**
+   * Every element of a column takes at least one byte, which guards against allocating huge arrays for a corrupt
+   * size.
+   */
+  private static void checkSize(int size, int blockLength) throws IOException {
+    if (size < 0 || size > blockLength) {
+      throw new IOException("Invalid column size " + size);
+    }
+  }
+
+  private static void writeBlock(BinaryEncoder encoder, int compression, byte[] block) throws IOException {
+    if (compression == UNCOMPRESSED) {
+      encoder.writeBytes(block);
+      return;
+    }
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(block);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, block.length / 2));
+      byte[] buffer = new byte[64 * 1024];
+      while (!deflater.finished()) {
+        int length = deflater.deflate(buffer);
+        out.write(buffer, 0, length);
+      }
+      encoder.writeInt(block.length);
+      encoder.writeBytes(out.toByteArray());
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] readBlock(BinaryDecoder decoder, int compression) throws IOException {
+    if (compression == UNCOMPRESSED) {
+      return decoder.readBytes();
+    }
+    int length = decoder.readInt();
+    byte[] compressed = decoder.readBytes();
+    if (length < 0) {
+      throw new IOException("Invalid block length " + length);
+    }
+    byte[] block = new byte[length];
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      int offset = 0;
+      while (offset < block.length) {
+        int inflated = inflater.inflate(block, offset, block.length - offset);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IOException("Compressed block is shorter than its length " + length);
+        }
+        offset += inflated;
+      }
+      return block;
+    } catch (DataFormatException e) {
+      throw new IOException("Unable to decompress block", e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.util;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact encoding of a sorted array of longs, such as the invalid transaction list.
+ *
+ * <p>Transaction ids are derived from the time at which the transactions started, and invalid transactions tend to be
+ * clustered in time. Hence the list is encoded as the first value followed by the gaps between consecutive values,
+ * each as a variable length integer. A gap within the same millisecond takes a single byte and a gap of up to a few
+ * seconds takes four or five bytes, compared to eight bytes for every value in a plain list.</p>
+ *
+ * <p>The encoding is:
+ * <ul>
+ *   <li>the format version, a single byte</li>
+ *   <li>the number of values, as an unsigned variable length int</li>
+ *   <li>the first value, as a zig-zag encoded variable length long</li>
+ *   <li>the difference to the previous value for every other value, as an unsigned variable length long</li>
+ * </ul>
+ * </p>
+ */
+public final class SortedLongsCodec {
+
+  private static final byte VERSION = 1;
+  private static final long[] EMPTY = { };
+
+  private SortedLongsCodec() {
+  }
+
+  /**
+   * Encodes the given values.
+   *
+   * @param sorted values in ascending order
+   * @throws IllegalArgumentException if the values are not sorted
+   */
+  public static byte[] encode(long[] sorted) {
+    // the largest possible encoding: 5 bytes for the size and 10 bytes for every value
+    byte[] buffer = new byte[1 + 5 + 10 * sorted.length];
+    int pos = 0;
+    buffer[pos++] = VERSION;
+    pos = writeUnsigned(buffer, pos, sorted.length);
+    if (sorted.length > 0) {
+      pos = writeUnsigned(buffer, pos, (sorted[0] << 1) ^ (sorted[0] >> 63));
+      for (int i = 1; i < sorted.length; i++) {
+        Preconditions.checkArgument(sorted[i] >= sorted[i - 1], "Values are not sorted at index %s", i);
+        pos = writeUnsigned(buffer, pos, sorted[i] - sorted[i - 1]);
+      }
+    }
+    byte[] encoded = new byte[pos];
+    System.arraycopy(buffer, 0, encoded, 0, pos);
+    return encoded;
+  }
+
+  /**
+   * Decodes values encoded by {@link #encode(long[])}.
+   *
+   * @throws IllegalArgumentException if the given bytes are not a valid encoding
+   */
+  public static long[] decode(byte[] encoded) {
+    return decode(ByteBuffer.wrap(encoded));
+  }
+
+  /**
+   * Decodes values encoded by {@link #encode(long[])}, from the remaining bytes of the given buffer. The position of
+   * the buffer is not changed.
+   *
+   * @throws IllegalArgumentException if the given bytes are not a valid encoding
+   */
+  public static long[] decode(ByteBuffer encoded) {
+    ByteBuffer buffer = encoded.duplicate();
+    try {
+      byte version = buffer.get();
+      Preconditions.checkArgument(version == VERSION, "Unknown encoding version %s", version);
+      long size = readUnsigned(buffer);
+      // every value takes at least one byte, which also guards against allocating a huge array for corrupt input
+      Preconditions.checkArgument(size <= buffer.remaining(), "Encoded size %s exceeds the available bytes", size);
+      if (size == 0) {
+        return EMPTY;
+      }
+      long[] values = new long[(int) size];
+      long first = readUnsigned(buffer);
+      values[0] = (first >>> 1) ^ -(first & 1);
+      for (int i = 1; i < values.length; i++) {
+        values[i] = values[i - 1] + readUnsigned(buffer);
+      }
+      return values;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Encoded values are truncated", e);
+    }
+  }
+
+  private static int writeUnsigned(byte[] buffer, int pos, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer[pos++] = (byte) (0x80 | value & 0x7F);
+      value >>>= 7;
+    }
+    buffer[pos++] = (byte) value;
+    return pos;
+  }
+
+  private static long readUnsigned(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable length long");
+  }
+}
@@ -20,7 +20,8 @@ namespace java org.apache.tephra.distributed.thrift
 
 enum TTransactionType {
   SHORT = 1,
-  LONG = 2
+  LONG = 2,
+  READ_ONLY = 3
 }
 
 enum TVisibilityLevel {
@@ -38,7 +39,9 @@ struct TTransaction {
   6: TTransactionType type,
   7: i64 writePointer,
   8: list<i64> checkpointWritePointers,
-  9: TVisibilityLevel visibilityLevel
+  9: TVisibilityLevel visibilityLevel,
+  # the invalids list in the compact encoding of org.apache.tephra.util.SortedLongsCodec, replaces field 3 if set
+  10: optional binary invalidsEncoded
 }
 
 exception TTransactionNotInProgressException {
@@ -62,9 +65,12 @@ service TTransactionServer {
   // temporary tx2 stuff
   TTransaction startLong(),
   TTransaction startShort(),
+  TTransaction startReadOnly(),
   TTransaction startShortTimeout(1: i32 timeout),
+  list<TTransaction> startShortBatch(1: i32 count, 2: i32 timeout),
   TBoolean canCommitTx(1: TTransaction tx, 2: set<binary> changes) throws (1:TTransactionNotInProgressException e),
   TBoolean commitTx(1: TTransaction tx) throws (1:TTransactionNotInProgressException e),
+  TBoolean commitWithChanges(1: TTransaction tx, 2: set<binary> changes) throws (1:TTransactionNotInProgressException e),
   void abortTx(1: TTransaction tx),
   bool invalidateTx(1: i64 tx),
   binary getSnapshot() throws (1:TTransactionCouldNotTakeSnapshotException e),
@@ -74,4 +80,8 @@ service TTransactionServer {
   TBoolean truncateInvalidTxBefore(1: i64 time) throws (1: TInvalidTruncateTimeException e),
   i32 invalidTxSize(),
   TTransaction checkpoint(1: TTransaction tx) throws (1: TTransactionNotInProgressException e),
+  # paged snapshot: open a snapshot, read it in chunks until an empty chunk is returned, then close it
+  i64 openSnapshot() throws (1: TTransactionCouldNotTakeSnapshotException e),
+  binary getSnapshotChunk(1: i64 snapshotId, 2: i64 offset) throws (1: TTransactionCouldNotTakeSnapshotException e),
+  void closeSnapshot(1: i64 snapshotId),
 }
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra;
+
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Longs;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for {@link CommittedChangeIndex}.
+ */
+public class CommittedChangeIndexTest {
+  private static final byte[] TABLE = { 't', 'a', 'b', 'l', 'e' };
+
+  @Test
+  public void testAddAndRemove() {
+    for (int bits : new int[] { 0, 32, 64, 128 }) {
+      CommittedChangeIndex index = CommittedChangeIndex.create(bits);
+      List<Set<ChangeId>> changeSets = new ArrayList<>();
+      // every change set overlaps with the previous one
+      for (int i = 0; i < 100; i++) {
+        Set<ChangeId> changes = newChangeSet(bits, i * 10, i * 10 + 20);
+        changeSets.add(changes);
+        index.add(changes, i + 1);
+      }
+      Assert.assertEquals(1010, index.size());
+      for (int i = 0; i < 100; i++) {
+        Set<ChangeId> changes = changeSets.get(i);
+        // the changes of the last change set were committed last at its commit time, the others one later
+        int latest = i == 99 ? i + 1 : i + 2;
+        Assert.assertTrue(index.hasCommittedAfter(changes, latest - 1));
+        Assert.assertFalse(index.hasCommittedAfter(changes, latest));
+      }
+      Assert.assertFalse(index.hasCommittedAfter(newChangeSet(bits, 2000, 2100), 0));
+
+      // a commit that is replayed out of order does not replace a later one
+      index.add(changeSets.get(50), 1);
+      Assert.assertTrue(index.hasCommittedAfter(changeSets.get(50), 51));
+
+      // removing a change set only removes the changes that were not committed again later
+      for (int i = 0; i < 50; i++) {
+        index.remove(changeSets.get(i), i + 1);
+      }
+      Assert.assertEquals(510, index.size());
+      Assert.assertFalse(index.hasCommittedAfter(newChangeSet(bits, 0, 500), 0));
+      Assert.assertTrue(index.hasCommittedAfter(newChangeSet(bits, 500, 501), 50));
+      for (int i = 50; i < 100; i++) {
+        Assert.assertTrue(index.hasCommittedAfter(changeSets.get(i), i));
+        index.remove(changeSets.get(i), i + 1);
+      }
+      Assert.assertEquals(0, index.size());
+      Assert.assertFalse(index.hasCommittedAfter(newChangeSet(bits, 0, 1010), 0));
+
+      index.add(changeSets.get(0), 1);
+      index.clear();
+      Assert.assertEquals(0, index.size());
+      Assert.assertFalse(index.hasCommittedAfter(changeSets.get(0), 0));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFullKeysInFingerprintIndex() {
+    CommittedChangeIndex.create(64).add(newChangeSet(0, 0, 1), 1);
+  }
+
+  /**
+   * Compares the heap taken by the committed change sets and their index with full change keys and with 64 bit
+   * fingerprints.
+   */
+  @Test
+  public void testHeapPerChange() {
+    long keyBytes = retainedBytesPerChange(0);
+    long fingerprintBytes = retainedBytesPerChange(64);
+    Assert.assertTrue("Heap per change is " + fingerprintBytes + " bytes with fingerprints and " + keyBytes +
+                        " bytes with full keys", fingerprintBytes * 3 < keyBytes * 2);
+  }
+
+  private static long retainedBytesPerChange(int bits) {
+    int changeSetCount = 1000;
+    int changesPerSet = 100;
+    long before = usedHeap();
+    CommittedChangeIndex index = CommittedChangeIndex.create(bits);
+    List<Set<ChangeId>> changeSets = new ArrayList<>(changeSetCount);
+    for (int i = 0; i < changeSetCount; i++) {
+      Set<ChangeId> changes = newChangeSet(bits, i * changesPerSet, (i + 1) * changesPerSet);
+      index.add(changes, i + 1);
+      changeSets.add(changes);
+    }
+    long used = usedHeap() - before;
+    // keeps the change sets and the index reachable until the heap was measured
+    Assert.assertEquals(changeSetCount, changeSets.size());
+    Assert.assertEquals(changeSetCount * changesPerSet, index.size());
+    return used / (changeSetCount * changesPerSet);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  /**
+   * Creates a change set with the rows in the given range, with fingerprints of the given width or full keys.
+   */
+  private static Set<ChangeId> newChangeSet(int bits, long from, long to) {
+    FingerprintChangeSet fingerprints = bits == 0 ? null : new FingerprintChangeSet(bits);
+    Set<ChangeId> keys = new HashSet<>();
+    for (long row = from; row < to; row++) {
+      byte[] key = Bytes.concat(TABLE, Longs.toByteArray(row));
+      if (fingerprints == null) {
+        keys.add(new ChangeId(key));
+      } else {
+        fingerprints.addKey(key);
+      }
+    }
+    return fingerprints == null ? keys : fingerprints;
+  }
+}
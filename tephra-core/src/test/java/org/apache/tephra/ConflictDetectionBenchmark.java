@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra;
+
+import com.google.common.primitives.Longs;
+import org.apache.hadoop.conf.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of conflict detection in {@link TransactionManager#canCommit} depending on the number of
+ * committed change sets that are retained by the transaction manager. Change sets are retained as long as an
+ * older short transaction is in progress, which is simulated by keeping one transaction open. This is not run as
+ * part of the unit tests, run it with:
+ * <pre>
+ *   java -cp ... org.apache.tephra.ConflictDetectionBenchmark [changes per tx] [canCommit calls per run]
+ * </pre>
+ */
+public class ConflictDetectionBenchmark {
+
+  private static final int[] RETAINED_CHANGE_SETS = { 100, 1000, 10000, 100000 };
+
+  public static void main(String[] args) throws Exception {
+    int changesPerTx = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+    int calls = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+
+    // warm up the JIT before measuring
+    run(RETAINED_CHANGE_SETS[1], changesPerTx, calls);
+
+    System.out.println(String.format("%12s %18s", "retained", "canCommit (us)"));
+    for (int retained : RETAINED_CHANGE_SETS) {
+      System.out.println(String.format("%12d %18.2f", retained, run(retained, changesPerTx, calls)));
+    }
+  }
+
+  /**
+   * Returns the average latency of a canCommit call in microseconds.
+   */
+  private static double run(int retained, int changesPerTx, int calls) throws Exception {
+    Configuration conf = new Configuration();
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0);
+    conf.setLong(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL, 0);
+    TransactionManager txManager = new TransactionManager(conf);
+    txManager.startAndWait();
+    try {
+      // keeps all change sets committed after it from being pruned
+      Transaction oldest = txManager.startShort();
+      long key = 0;
+      for (int i = 0; i < retained; i++) {
+        Transaction tx = txManager.startShort();
+        txManager.canCommit(tx, changes(key, changesPerTx));
+        txManager.commit(tx);
+        key += changesPerTx;
+      }
+
+      long nanos = 0;
+      for (int i = 0; i < calls; i++) {
+        Transaction tx = txManager.startShort();
+        // changes that do not conflict, so that every check has to consider all retained change sets
+        List<byte[]> changes = changes(key + i * changesPerTx, changesPerTx);
+        long begin = System.nanoTime();
+        txManager.canCommit(tx, changes);
+        nanos += System.nanoTime() - begin;
+        txManager.abort(tx);
+      }
+      txManager.abort(oldest);
+      return nanos / 1000d / calls;
+    } finally {
+      txManager.stopAndWait();
+    }
+  }
+
+  private static List<byte[]> changes(long first, int count) {
+    List<byte[]> changes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      changes.add(Longs.toByteArray(first + i));
+    }
+    return changes;
+  }
+}
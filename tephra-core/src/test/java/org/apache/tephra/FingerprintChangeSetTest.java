@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra;
+
+import com.google.common.primitives.Longs;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests for {@link FingerprintChangeSet}.
+ */
+public class FingerprintChangeSetTest {
+
+  @Test
+  public void testAddAndContains() {
+    for (int bits : new int[] { 32, 64, 72, 128 }) {
+      FingerprintChangeSet set = new FingerprintChangeSet(bits);
+      Set<ChangeId> fingerprints = new HashSet<>();
+      for (long i = 0; i < 1000; i++) {
+        Assert.assertTrue(set.addKey(Longs.toByteArray(i)));
+        Assert.assertFalse(set.addKey(Longs.toByteArray(i)));
+      }
+      Assert.assertEquals(1000, set.size());
+
+      for (ChangeId fingerprint : set) {
+        Assert.assertEquals(bits / 8, fingerprint.getKey().length);
+        Assert.assertTrue(set.isFingerprint(fingerprint));
+        Assert.assertTrue(set.contains(fingerprint));
+        Assert.assertTrue(fingerprints.add(fingerprint));
+      }
+      Assert.assertEquals(1000, fingerprints.size());
+
+      // a set built from the fingerprints is equal, and fingerprints the same keys the same way
+      FingerprintChangeSet copy = new FingerprintChangeSet(bits);
+      copy.addAll(fingerprints);
+      Assert.assertEquals(set, copy);
+      Assert.assertEquals(fingerprints, copy);
+      Assert.assertFalse(copy.addKey(Longs.toByteArray(500L)));
+      Assert.assertTrue(copy.addKey(Longs.toByteArray(1000L)));
+      Assert.assertFalse(copy.contains(new ChangeId(Longs.toByteArray(1000L))));
+    }
+  }
+
+  @Test
+  public void testZeroFingerprint() {
+    FingerprintChangeSet set = new FingerprintChangeSet(32);
+    ChangeId zero = new ChangeId(new byte[4]);
+    Assert.assertFalse(set.contains(zero));
+    Assert.assertTrue(set.add(zero));
+    Assert.assertFalse(set.add(zero));
+    Assert.assertTrue(set.contains(zero));
+    Assert.assertEquals(1, set.size());
+    Assert.assertEquals(zero, set.iterator().next());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddFullKey() {
+    new FingerprintChangeSet(64).add(new ChangeId(new byte[] { 'a' }));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidWidth() {
+    new FingerprintChangeSet(60);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra;
+
+import com.google.common.primitives.Longs;
+import org.apache.hadoop.conf.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how long the {@link TransactionManager} holds its lock to capture the state for a snapshot, depending on
+ * the number of committed change sets that it retains. Change sets are retained as long as an older short
+ * transaction is in progress, which is simulated by keeping one transaction open. This is not run as part of the
+ * unit tests, run it with:
+ * <pre>
+ *   java -cp ... org.apache.tephra.SnapshotBenchmark [changes per tx] [snapshots per run]
+ * </pre>
+ */
+public class SnapshotBenchmark {
+
+  private static final int[] RETAINED_CHANGE_SETS = { 1000, 10000, 100000 };
+
+  public static void main(String[] args) throws Exception {
+    int changesPerTx = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+    int snapshots = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+    // warm up the JIT before measuring
+    run(RETAINED_CHANGE_SETS[0], changesPerTx, snapshots);
+
+    System.out.println(String.format("%12s %18s", "retained", "capture (ms)"));
+    for (int retained : RETAINED_CHANGE_SETS) {
+      System.out.println(String.format("%12d %18.3f", retained, run(retained, changesPerTx, snapshots)));
+    }
+  }
+
+  /**
+   * Returns the average time to capture the state in milliseconds.
+   */
+  private static double run(int retained, int changesPerTx, int snapshots) throws Exception {
+    Configuration conf = new Configuration();
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0);
+    conf.setLong(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL, 0);
+    TransactionManager txManager = new TransactionManager(conf);
+    txManager.startAndWait();
+    try {
+      // keeps all change sets committed after it from being pruned
+      Transaction oldest = txManager.startShort();
+      long key = 0;
+      for (int i = 0; i < retained; i++) {
+        Transaction tx = txManager.startShort();
+        txManager.canCommit(tx, changes(key, changesPerTx));
+        txManager.commit(tx);
+        key += changesPerTx;
+      }
+
+      long nanos = 0;
+      for (int i = 0; i < snapshots; i++) {
+        long begin = System.nanoTime();
+        txManager.getCurrentState();
+        nanos += System.nanoTime() - begin;
+      }
+      txManager.abort(oldest);
+      return nanos / 1000000d / snapshots;
+    } finally {
+      txManager.stopAndWait();
+    }
+  }
+
+  private static List<byte[]> changes(long first, int count) {
+    List<byte[]> changes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      changes.add(Longs.toByteArray(first + i));
+    }
+    return changes;
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra;
+
+import org.apache.hadoop.conf.Configuration;
+import org.junit.BeforeClass;
+
+/**
+ * Runs the {@link ThriftTransactionSystemTest} with the Thrift options that are not enabled by default, and with a
+ * small snapshot chunk size.
+ */
+public class ThriftTransactionSystemNonDefaultTest extends ThriftTransactionSystemTest {
+
+  @BeforeClass
+  public static void start() throws Exception {
+    Configuration conf = new Configuration();
+    // transactions are sent with the compact invalid list in both directions
+    conf.setBoolean(TxConstants.Service.CFG_DATA_TX_THRIFT_ENCODE_INVALIDS, true);
+    // snapshots are read in many small chunks
+    conf.setInt(TxConstants.Service.CFG_DATA_TX_THRIFT_SNAPSHOT_CHUNK_SIZE, 100);
+    start(conf);
+  }
+}
@@ -56,10 +56,17 @@ public class ThriftTransactionSystemTest extends TransactionSystemTest {
   
   @BeforeClass
   public static void start() throws Exception {
+    start(new Configuration());
+  }
+
+  /**
+   * Starts the transaction service and the client with the given configuration, which subclasses use to run the
+   * tests with other than the default settings.
+   */
+  protected static void start(Configuration conf) throws Exception {
     zkServer = InMemoryZKServer.builder().setDataDir(tmpFolder.newFolder()).build();
     zkServer.startAndWait();
 
-    Configuration conf = new Configuration();
     conf.setBoolean(TxConstants.Manager.CFG_DO_PERSIST, false);
     conf.set(TxConstants.Service.CFG_DATA_TX_ZOOKEEPER_QUORUM, zkServer.getConnectionStr());
     conf.set(TxConstants.Service.CFG_DATA_TX_CLIENT_RETRY_STRATEGY, "n-times");
@@ -295,6 +295,101 @@ public class TransactionContextTest {
     Assert.assertEquals(txClient.state, DummyTxClient.CommitState.Aborted);
   }
 
+  @Test
+  public void testSuccessfulWithSingleCall() throws TransactionFailureException, InterruptedException {
+    TransactionContext context = newTransactionContext(ds1, ds2);
+    // start transaction
+    context.start();
+    // add a change to ds1 and ds2
+    ds1.addChange(A);
+    ds2.addChange(B);
+    // commit transaction
+    context.finishWithSingleCall();
+    // verify both are committed and post-committed
+    Assert.assertTrue(ds1.checked);
+    Assert.assertTrue(ds2.checked);
+    Assert.assertTrue(ds1.committed);
+    Assert.assertTrue(ds2.committed);
+    Assert.assertTrue(ds1.postCommitted);
+    Assert.assertTrue(ds2.postCommitted);
+    Assert.assertFalse(ds1.rolledBack);
+    Assert.assertFalse(ds2.rolledBack);
+    Assert.assertEquals(txClient.state, DummyTxClient.CommitState.Committed);
+  }
+
+  @Test
+  public void testCommitWithChangesFalse() throws TransactionFailureException, InterruptedException {
+    txClient.failCommits = 1;
+    TransactionContext context = newTransactionContext(ds1, ds2);
+    // start transaction
+    context.start();
+    // add a change to ds1 and ds2
+    ds1.addChange(A);
+    ds2.addChange(B);
+    // commit transaction should fail and cause rollback of the changes that were persisted already
+    try {
+      context.finishWithSingleCall();
+      Assert.fail("commit failed - exception should be thrown");
+    } catch (TransactionConflictException e) {
+      Assert.assertNull(e.getCause());
+    }
+    // verify both are rolled back and tx is aborted
+    Assert.assertTrue(ds1.checked);
+    Assert.assertTrue(ds2.checked);
+    Assert.assertTrue(ds1.committed);
+    Assert.assertTrue(ds2.committed);
+    Assert.assertFalse(ds1.postCommitted);
+    Assert.assertFalse(ds2.postCommitted);
+    Assert.assertTrue(ds1.rolledBack);
+    Assert.assertTrue(ds2.rolledBack);
+    Assert.assertEquals(txClient.state, DummyTxClient.CommitState.Aborted);
+  }
+
+  @Test
+  public void testReadOnly() throws TransactionFailureException, InterruptedException {
+    TransactionContext context = newTransactionContext(ds1, ds2);
+    // start read-only transaction
+    context.startReadOnly();
+    Assert.assertEquals(TransactionType.READ_ONLY, context.getCurrentTransaction().getType());
+    Assert.assertTrue(ds1.started);
+    Assert.assertTrue(ds2.started);
+    // finish without any calls to the transaction system
+    context.finish();
+    Assert.assertTrue(ds1.checked);
+    Assert.assertTrue(ds2.checked);
+    Assert.assertFalse(ds1.committed);
+    Assert.assertFalse(ds2.committed);
+    Assert.assertTrue(ds1.postCommitted);
+    Assert.assertTrue(ds2.postCommitted);
+    Assert.assertFalse(ds1.rolledBack);
+    Assert.assertFalse(ds2.rolledBack);
+    Assert.assertNull(context.getCurrentTransaction());
+    Assert.assertEquals(txClient.state, DummyTxClient.CommitState.Started);
+  }
+
+  @Test
+  public void testReadOnlyWithChanges() throws TransactionFailureException, InterruptedException {
+    TransactionContext context = newTransactionContext(ds1, ds2);
+    // start read-only transaction
+    context.startReadOnly();
+    // add a change to ds1
+    ds1.addChange(A);
+    // finish should fail without rolling back, aborting or invalidating the transaction
+    try {
+      context.finish();
+      Assert.fail("read-only tx with changes - exception should be thrown");
+    } catch (TransactionFailureException e) {
+      Assert.assertNull(e.getCause());
+    }
+    Assert.assertTrue(ds1.checked);
+    Assert.assertFalse(ds1.committed);
+    Assert.assertFalse(ds1.postCommitted);
+    Assert.assertFalse(ds1.rolledBack);
+    Assert.assertFalse(ds2.rolledBack);
+    Assert.assertNull(context.getCurrentTransaction());
+    Assert.assertEquals(txClient.state, DummyTxClient.CommitState.Started);
+  }
+
   @Test
   public void testCanCommitFalse() throws TransactionFailureException, InterruptedException {
     txClient.failCanCommitOnce = true;
@@ -643,6 +738,17 @@ public class TransactionContextTest {
       }
     }
 
+    @Override
+    public boolean commitWithChanges(Transaction tx, Collection<byte[]> changeIds)
+      throws TransactionNotInProgressException {
+      if (failCommits-- > 0) {
+        return false;
+      } else {
+        state = CommitState.Committed;
+        return super.commitWithChanges(tx, changeIds);
+      }
+    }
+
     @Override
     public Transaction startLong() {
       state = CommitState.Started;
@@ -661,6 +767,12 @@ public class TransactionContextTest {
       return super.startShort(timeout);
     }
 
+    @Override
+    public Transaction startReadOnly() {
+      state = CommitState.Started;
+      return super.startReadOnly();
+    }
+
     @Override
     public void abort(Transaction tx) {
       state = CommitState.Aborted;
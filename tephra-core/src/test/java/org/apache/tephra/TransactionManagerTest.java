@@ -20,18 +20,31 @@ package org.apache.tephra;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.tephra.inmemory.InMemoryTxSystemClient;
 import org.apache.tephra.metrics.TxMetricsCollector;
 import org.apache.tephra.persist.InMemoryTransactionStateStorage;
+import org.apache.tephra.persist.TransactionEdit;
+import org.apache.tephra.persist.TransactionLog;
+import org.apache.tephra.persist.TransactionLogReader;
+import org.apache.tephra.persist.TransactionSnapshot;
 import org.apache.tephra.persist.TransactionStateStorage;
+import org.apache.tephra.persist.TransactionVisibilityState;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  *
@@ -183,6 +196,75 @@ public class TransactionManagerTest extends TransactionSystemTest {
     }
   }
   
+  @Test
+  public void testTimeoutsAreMergedIntoInvalid() throws Exception {
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 1);
+    // using a new tx manager that cleans up
+    TransactionManager txm = new TransactionManager
+      (conf, new InMemoryTransactionStateStorage(), new TxMetricsCollector());
+    txm.startAndWait();
+    try {
+      // interleave transactions that time out with transactions that do not, and with invalidated transactions
+      List<Long> expected = new ArrayList<>();
+      List<Transaction> open = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        Transaction timingOut = txm.startShort(1);
+        expected.add(timingOut.getTransactionId());
+        Transaction committed = txm.startShort(1);
+        Assert.assertTrue(txm.commit(committed));
+        open.add(txm.startShort(100));
+        Transaction invalidated = txm.startShort(100);
+        Assert.assertTrue(txm.invalidate(invalidated.getTransactionId()));
+        expected.add(invalidated.getTransactionId());
+      }
+      Transaction aborted = txm.startShort(1);
+      txm.abort(aborted);
+      Assert.assertEquals(5, txm.getInvalidSize());
+
+      // sleep longer than the timeout and the cleanup interval
+      TimeUnit.SECONDS.sleep(3);
+      Assert.assertEquals(expected, new ArrayList<>(txm.getCurrentState().getInvalid()));
+      Transaction tx = txm.startShort();
+      Assert.assertArrayEquals(Longs.toArray(expected), tx.getInvalids());
+      Set<Long> inProgress = txm.getCurrentState().getInProgress().keySet();
+      Assert.assertEquals(open.size() + 1, inProgress.size());
+      for (Transaction openTx : open) {
+        Assert.assertTrue(inProgress.contains(openTx.getTransactionId()));
+      }
+    } finally {
+      txm.stopAndWait();
+    }
+  }
+
+  @Test
+  public void testSnapshotNotModifiedByLaterCommits() throws Exception {
+    // keeps the committed change sets from being pruned
+    Transaction oldest = txManager.startShort();
+    Transaction tx1 = txManager.startShort();
+    Transaction tx2 = txManager.startShort();
+    Transaction tx3 = txManager.startShort();
+    Assert.assertTrue(txManager.canCommit(tx1, ImmutableList.of(Longs.toByteArray(1L))));
+    Assert.assertTrue(txManager.canCommit(tx2, ImmutableList.of(Longs.toByteArray(2L))));
+    Assert.assertTrue(txManager.commit(tx1));
+
+    TransactionSnapshot snapshot = txManager.getCurrentState();
+    Set<ChangeId> committed = ImmutableSet.of(new ChangeId(Longs.toByteArray(1L)));
+    Set<ChangeId> committing = ImmutableSet.of(new ChangeId(Longs.toByteArray(2L)));
+    Assert.assertEquals(ImmutableSet.of(committed), ImmutableSet.copyOf(snapshot.getCommittedChangeSets().values()));
+    Assert.assertEquals(committing, snapshot.getCommittingChangeSets().get(tx2.getTransactionId()));
+
+    // tx2 commits at the same commit pointer as tx1, tx3 is invalidated
+    Assert.assertTrue(txManager.commit(tx2));
+    Assert.assertTrue(txManager.invalidate(tx3.getTransactionId()));
+    Assert.assertEquals(1, txManager.getCommittedSize());
+
+    Assert.assertEquals(ImmutableSet.of(committed), ImmutableSet.copyOf(snapshot.getCommittedChangeSets().values()));
+    Assert.assertEquals(committing, snapshot.getCommittingChangeSets().get(tx2.getTransactionId()));
+    Assert.assertTrue(snapshot.getInvalid().isEmpty());
+    Assert.assertEquals(3, snapshot.getInProgress().size());
+    txManager.abort(oldest);
+  }
+
   @Test
   public void testTruncateInvalid() throws Exception {
     InMemoryTransactionStateStorage storage = new InMemoryTransactionStateStorage();
@@ -343,4 +425,306 @@ public class TransactionManagerTest extends TransactionSystemTest {
       }
     }
   }
+
+  @Test
+  public void testConcurrentStarts() throws Exception {
+    final int threads = 8;
+    final int txPerThread = 500;
+    final List<Transaction> started = Collections.synchronizedList(new ArrayList<Transaction>());
+    final CountDownLatch done = new CountDownLatch(threads);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    for (int t = 0; t < threads; t++) {
+      final boolean commitAll = t % 2 == 0;
+      new Thread() {
+        @Override
+        public void run() {
+          try {
+            for (int i = 0; i < txPerThread; i++) {
+              Transaction tx = txManager.startShort();
+              started.add(tx);
+              if (commitAll || i % 2 == 0) {
+                byte[] change = Longs.toByteArray(tx.getTransactionId());
+                Assert.assertTrue(txManager.canCommit(tx, Collections.singleton(change)));
+                txManager.commit(tx);
+              }
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          } finally {
+            done.countDown();
+          }
+        }
+      }.start();
+    }
+    Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+    Assert.assertNull(failure.get());
+
+    // every transaction got a distinct id, and never excluded itself
+    Set<Long> ids = new HashSet<>();
+    for (Transaction tx : started) {
+      Assert.assertTrue(ids.add(tx.getTransactionId()));
+      Assert.assertFalse(tx.isInProgress(tx.getTransactionId()));
+      Assert.assertTrue(tx.getReadPointer() < tx.getTransactionId());
+    }
+    Assert.assertEquals(threads * txPerThread, ids.size());
+
+    // the in-progress transactions left over must all be excluded from a new transaction
+    Set<Long> expectedInProgress = txManager.getCurrentState().getInProgress().keySet();
+    Assert.assertEquals(threads / 2 * txPerThread / 2, expectedInProgress.size());
+    Transaction tx = txManager.startShort();
+    Assert.assertEquals(expectedInProgress, ImmutableSet.copyOf(Longs.asList(tx.getInProgress())));
+    for (Transaction startedTx : started) {
+      Assert.assertEquals(expectedInProgress.contains(startedTx.getTransactionId()),
+                          !tx.isVisible(startedTx.getTransactionId()));
+    }
+    txManager.abort(tx);
+  }
+
+  @Test(timeout = 60000)
+  public void testStateDuringConcurrentStarts() throws Exception {
+    final int threads = 4;
+    final int txPerThread = 500;
+    final CountDownLatch done = new CountDownLatch(threads);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    for (int t = 0; t < threads; t++) {
+      new Thread() {
+        @Override
+        public void run() {
+          try {
+            for (int i = 0; i < txPerThread; i++) {
+              Transaction tx = txManager.startShort();
+              if (i % 2 == 0) {
+                txManager.commit(tx);
+              } else {
+                txManager.abort(tx);
+              }
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          } finally {
+            done.countDown();
+          }
+        }
+      }.start();
+    }
+    // every state taken while transactions start only contains transactions below its write pointer
+    while (done.getCount() > 0) {
+      TransactionSnapshot snapshot = txManager.getCurrentState();
+      Assert.assertTrue(snapshot.getReadPointer() <= snapshot.getWritePointer());
+      for (long id : snapshot.getInProgress().keySet()) {
+        Assert.assertTrue(id + " is above write pointer " + snapshot.getWritePointer(),
+                          id <= snapshot.getWritePointer());
+      }
+      TransactionVisibilityState state = txManager.getVisibilityState();
+      for (long id : state.getInProgress().keySet()) {
+        Assert.assertTrue(id + " is above write pointer " + state.getWritePointer(), id <= state.getWritePointer());
+      }
+    }
+    Assert.assertNull(failure.get());
+    Assert.assertTrue(txManager.getCurrentState().getInProgress().isEmpty());
+  }
+
+  @Test
+  public void testFirstShortInProgressWithLongTxs() throws Exception {
+    Transaction long1 = txManager.startLong();
+    Transaction short1 = txManager.startShort();
+    Transaction long2 = txManager.startLong();
+    Transaction short2 = txManager.startShort();
+
+    Transaction tx = txManager.startShort();
+    Assert.assertEquals(short1.getTransactionId(), tx.getFirstShortInProgress());
+    Assert.assertArrayEquals(new long[] { long1.getTransactionId(), short1.getTransactionId(),
+                                          long2.getTransactionId(), short2.getTransactionId() },
+                             tx.getInProgress());
+    txManager.abort(tx);
+
+    txManager.commit(short1);
+    tx = txManager.startShort();
+    Assert.assertEquals(short2.getTransactionId(), tx.getFirstShortInProgress());
+    txManager.abort(tx);
+
+    Assert.assertTrue(txManager.invalidate(short2.getTransactionId()));
+    tx = txManager.startShort();
+    Assert.assertEquals(Transaction.NO_TX_IN_PROGRESS, tx.getFirstShortInProgress());
+    Assert.assertArrayEquals(new long[] { long1.getTransactionId(), long2.getTransactionId() }, tx.getInProgress());
+    txManager.abort(tx);
+
+    // a checkpoint of a long transaction is excluded, but is not a short transaction
+    Transaction checkpointed = txManager.checkpoint(long2);
+    tx = txManager.startShort();
+    Assert.assertEquals(Transaction.NO_TX_IN_PROGRESS, tx.getFirstShortInProgress());
+    Assert.assertTrue(tx.isExcluded(checkpointed.getWritePointer()));
+    txManager.abort(tx);
+
+    txManager.abort(long1);
+    txManager.abort(long2);
+  }
+
+  @Test
+  public void testConflictAfterPruning() throws Exception {
+    byte[] change = Longs.toByteArray(1L);
+    byte[] other = Longs.toByteArray(2L);
+
+    Transaction tx1 = txManager.startShort();
+    Transaction tx2 = txManager.startShort();
+    Assert.assertTrue(txManager.canCommit(tx1, Collections.singleton(change)));
+    Assert.assertTrue(txManager.commit(tx1));
+    // tx2 is still in progress, so the change set of tx1 is retained
+    Transaction tx3 = txManager.startShort();
+    Assert.assertTrue(txManager.canCommit(tx3, Collections.singleton(change)));
+    Assert.assertTrue(txManager.commit(tx3));
+    Assert.assertFalse(txManager.canCommit(tx2, Collections.singleton(change)));
+
+    // a transaction started now only conflicts with later commits
+    Transaction tx4 = txManager.startShort();
+    txManager.abort(tx2);
+    Transaction tx5 = txManager.startShort();
+    Assert.assertTrue(txManager.canCommit(tx5, ImmutableList.of(change, other)));
+    Assert.assertTrue(txManager.commit(tx5));
+    // pruning the change sets of tx1 and tx3 must not lose the later commit of the same change by tx5
+    Assert.assertFalse(txManager.canCommit(tx4, Collections.singleton(change)));
+    Assert.assertFalse(txManager.canCommit(tx4, Collections.singleton(other)));
+    txManager.abort(tx4);
+  }
+
+  @Test(timeout = 30000)
+  public void testSnapshotDoesNotWaitForLogClose() throws Exception {
+    final CountDownLatch closing = new CountDownLatch(1);
+    final CountDownLatch closeBlocker = new CountDownLatch(1);
+    InMemoryTransactionStateStorage storage = new InMemoryTransactionStateStorage() {
+      @Override
+      protected InMemoryTransactionLog newLog(long timestamp) {
+        return new InMemoryTransactionLog(timestamp) {
+          @Override
+          public void close() {
+            closing.countDown();
+            Uninterruptibles.awaitUninterruptibly(closeBlocker);
+            super.close();
+          }
+        };
+      }
+    };
+    Configuration snapshotConf = new Configuration(conf);
+    snapshotConf.setInt(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL, 1);
+    TransactionManager manager = new TransactionManager(snapshotConf, storage, new TxMetricsCollector());
+    manager.startAndWait();
+    try {
+      // the first snapshot rolls the log, and then closes the old log
+      Assert.assertTrue(closing.await(10, TimeUnit.SECONDS));
+      // transactions are not blocked while the old log is being closed
+      Transaction tx = manager.startShort();
+      manager.abort(tx);
+      closeBlocker.countDown();
+
+      TransactionSnapshot snapshot;
+      while ((snapshot = storage.getLatestSnapshot()) == null) {
+        TimeUnit.MILLISECONDS.sleep(10);
+      }
+      // the snapshot starts the new log, which has all edits of the transaction
+      List<TransactionLog> logs = storage.getLogsSince(snapshot.getTimestamp());
+      Assert.assertEquals(1, logs.size());
+      Assert.assertEquals(snapshot.getTimestamp(), logs.get(0).getTimestamp());
+      Assert.assertTrue(snapshot.getInProgress().isEmpty());
+      List<TransactionEdit> edits = new ArrayList<>();
+      TransactionLogReader reader = logs.get(0).getReader();
+      TransactionEdit edit;
+      while ((edit = reader.next()) != null) {
+        edits.add(edit);
+      }
+      Assert.assertEquals(2, edits.size());
+      Assert.assertEquals(TransactionEdit.State.INPROGRESS, edits.get(0).getState());
+      Assert.assertEquals(TransactionEdit.State.ABORTED, edits.get(1).getState());
+    } finally {
+      closeBlocker.countDown();
+      manager.stopAndWait();
+    }
+  }
+
+  @Test
+  public void testCommitWithChangesWritesSingleEdit() throws Exception {
+    Transaction tx = txManager.startShort();
+    Assert.assertTrue(txManager.commitWithChanges(tx, ImmutableList.of(Longs.toByteArray(1L))));
+
+    List<TransactionEdit> edits = new ArrayList<>();
+    for (TransactionLog log : txStateStorage.getLogsSince(0)) {
+      TransactionLogReader reader = log.getReader();
+      TransactionEdit edit;
+      while ((edit = reader.next()) != null) {
+        edits.add(edit);
+      }
+    }
+    Assert.assertEquals(2, edits.size());
+    Assert.assertEquals(TransactionEdit.State.INPROGRESS, edits.get(0).getState());
+    TransactionEdit committed = edits.get(1);
+    Assert.assertEquals(TransactionEdit.State.COMMITTED, committed.getState());
+    Assert.assertEquals(tx.getTransactionId(), committed.getWritePointer());
+    Assert.assertEquals(ImmutableSet.of(new ChangeId(Longs.toByteArray(1L))), committed.getChanges());
+  }
+
+  @Test
+  public void testStartShortBatch() throws Exception {
+    List<Transaction> txs = txManager.startShort(5, 30);
+    Assert.assertEquals(5, txs.size());
+    Assert.assertEquals(5, txManager.getCurrentState().getInProgress().size());
+    for (int i = 0; i < txs.size(); i++) {
+      Transaction tx = txs.get(i);
+      Assert.assertEquals(txs.get(0).getTransactionId() + i, tx.getTransactionId());
+      Assert.assertEquals(TransactionType.SHORT, tx.getType());
+      Assert.assertEquals(Transaction.NO_TX_IN_PROGRESS, tx.getFirstShortInProgress());
+    }
+
+    // all transactions of the batch are logged
+    List<Long> started = new ArrayList<>();
+    for (TransactionLog log : txStateStorage.getLogsSince(0)) {
+      TransactionLogReader reader = log.getReader();
+      TransactionEdit edit;
+      while ((edit = reader.next()) != null) {
+        Assert.assertEquals(TransactionEdit.State.INPROGRESS, edit.getState());
+        started.add(edit.getWritePointer());
+      }
+    }
+    Assert.assertEquals(5, started.size());
+    for (int i = 0; i < txs.size(); i++) {
+      Assert.assertEquals(txs.get(i).getTransactionId(), (long) started.get(i));
+    }
+
+    // the next transaction starts after the batch
+    Transaction next = txManager.startShort();
+    Assert.assertEquals(txs.get(0).getTransactionId(), next.getFirstShortInProgress());
+    Assert.assertTrue(next.getTransactionId() > txs.get(4).getTransactionId());
+    for (Transaction tx : txs) {
+      txManager.abort(tx);
+    }
+    txManager.abort(next);
+    Assert.assertTrue(txManager.getCurrentState().getInProgress().isEmpty());
+  }
+
+  @Test
+  public void testStartReadOnly() throws Exception {
+    Transaction tx1 = txManager.startShort();
+    Transaction readOnly = txManager.startReadOnly();
+    Assert.assertEquals(TransactionType.READ_ONLY, readOnly.getType());
+    Assert.assertEquals(Transaction.READ_ONLY_WRITE_POINTER, readOnly.getTransactionId());
+    Assert.assertEquals(Transaction.READ_ONLY_WRITE_POINTER, readOnly.getWritePointer());
+    // no version is considered written by the read-only transaction
+    Assert.assertFalse(readOnly.isCurrentWrite(readOnly.getWritePointer()));
+    Assert.assertFalse(readOnly.isVisible(readOnly.getWritePointer()));
+    Assert.assertArrayEquals(new long[] { tx1.getTransactionId() }, readOnly.getInProgress());
+    Assert.assertEquals(tx1.getTransactionId(), readOnly.getFirstShortInProgress());
+    // the read-only transaction is neither tracked nor logged
+    Assert.assertEquals(1, txManager.getCurrentState().getInProgress().size());
+    int edits = 0;
+    for (TransactionLog log : txStateStorage.getLogsSince(0)) {
+      TransactionLogReader reader = log.getReader();
+      while (reader.next() != null) {
+        edits++;
+      }
+    }
+    Assert.assertEquals(1, edits);
+
+    txManager.commit(tx1);
+    Assert.assertFalse(readOnly.isVisible(tx1.getTransactionId()));
+    Assert.assertTrue(txManager.commit(readOnly));
+    Assert.assertTrue(txManager.getCurrentState().getInProgress().isEmpty());
+  }
 }
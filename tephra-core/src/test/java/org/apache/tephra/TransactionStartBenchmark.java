@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra;
+
+import org.apache.hadoop.conf.Configuration;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how the rate of transaction starts in the {@link TransactionManager} scales with the number of
+ * concurrent clients. Every client repeatedly starts a short transaction and commits it without changes. This is
+ * not run as part of the unit tests, run it with:
+ * <pre>
+ *   java -cp ... org.apache.tephra.TransactionStartBenchmark [seconds per run] [max threads] [open long txs]
+ * </pre>
+ */
+public class TransactionStartBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+    int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+    int openLongTxs = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+    // warm up the JIT before measuring
+    run(Math.min(4, maxThreads), 2, openLongTxs);
+
+    System.out.println(String.format("%8s %15s %15s", "threads", "starts/sec", "avg start (us)"));
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      Result result = run(threads, seconds, openLongTxs);
+      System.out.println(String.format("%8d %15.0f %15.2f", threads,
+                                       result.starts / (double) seconds,
+                                       result.startNanos / 1000d / Math.max(1, result.starts)));
+    }
+  }
+
+  private static Result run(int threads, int seconds, int openLongTxs) throws Exception {
+    Configuration conf = new Configuration();
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0);
+    conf.setLong(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL, 0);
+    // no persistence, so that only the in-memory bookkeeping of the transaction manager is measured
+    final TransactionManager txManager = new TransactionManager(conf);
+    txManager.startAndWait();
+    try {
+      for (int i = 0; i < openLongTxs; i++) {
+        txManager.startLong();
+      }
+
+      final AtomicBoolean stop = new AtomicBoolean();
+      final AtomicLong starts = new AtomicLong();
+      final AtomicLong startNanos = new AtomicLong();
+      final CountDownLatch ready = new CountDownLatch(threads);
+      final CountDownLatch go = new CountDownLatch(1);
+      final CountDownLatch done = new CountDownLatch(threads);
+      for (int t = 0; t < threads; t++) {
+        Thread thread = new Thread("start-benchmark-" + t) {
+          @Override
+          public void run() {
+            long count = 0;
+            long nanos = 0;
+            try {
+              ready.countDown();
+              go.await();
+              while (!stop.get()) {
+                long begin = System.nanoTime();
+                Transaction tx = txManager.startShort();
+                nanos += System.nanoTime() - begin;
+                count++;
+                txManager.commit(tx);
+              }
+            } catch (Exception e) {
+              throw new RuntimeException(e);
+            } finally {
+              starts.addAndGet(count);
+              startNanos.addAndGet(nanos);
+              done.countDown();
+            }
+          }
+        };
+        thread.setDaemon(true);
+        thread.start();
+      }
+      ready.await();
+      go.countDown();
+      TimeUnit.SECONDS.sleep(seconds);
+      stop.set(true);
+      done.await();
+      return new Result(starts.get(), startNanos.get());
+    } finally {
+      txManager.stopAndWait();
+    }
+  }
+
+  private static final class Result {
+    private final long starts;
+    private final long startNanos;
+
+    private Result(long starts, long startNanos) {
+      this.starts = starts;
+      this.startNanos = startNanos;
+    }
+  }
+}
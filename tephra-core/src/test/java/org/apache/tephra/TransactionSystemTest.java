@@ -19,13 +19,20 @@
 package org.apache.tephra;
 
 import com.google.common.collect.ImmutableSet;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.tephra.persist.TransactionSnapshot;
 import org.apache.tephra.persist.TransactionStateStorage;
+import org.apache.tephra.snapshot.SnapshotCodecProvider;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -89,6 +96,103 @@ public abstract class TransactionSystemTest {
     Assert.assertTrue(client5.canCommit(tx5, asList(C3)));
   }
 
+  @Test
+  public void testCommitWithChanges() throws Exception {
+    TransactionSystemClient client = getClient();
+    Transaction tx1 = client.startShort();
+    Transaction tx2 = client.startShort();
+    Transaction tx3 = client.startShort();
+
+    Assert.assertTrue(client.commitWithChanges(tx1, asList(C1, C2)));
+    // conflicts with the changes committed by tx1
+    Assert.assertFalse(client.commitWithChanges(tx2, asList(C2, C3)));
+    client.abort(tx2);
+    // changes passed to an earlier canCommit are replaced by the committed changes
+    Assert.assertTrue(client.canCommit(tx3, asList(C3)));
+    Assert.assertTrue(client.commitWithChanges(tx3, asList(C4)));
+
+    Transaction tx4 = client.startShort();
+    Transaction tx5 = client.startShort();
+    Assert.assertTrue(client.commitWithChanges(tx4, asList(C3)));
+    Assert.assertFalse(client.canCommit(tx5, asList(C3)));
+    client.abort(tx5);
+
+    // cannot commit twice same tx
+    try {
+      client.commitWithChanges(tx1, asList(C1));
+      Assert.fail();
+    } catch (TransactionNotInProgressException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testStartShortBatch() throws Exception {
+    TransactionSystemClient client = getClient();
+    List<Transaction> txs = client.startShort(3, 30);
+    Assert.assertEquals(3, txs.size());
+    Transaction tx1 = txs.get(0);
+    Transaction tx2 = txs.get(1);
+    Transaction tx3 = txs.get(2);
+    Assert.assertTrue(tx1.getTransactionId() < tx2.getTransactionId());
+    Assert.assertTrue(tx2.getTransactionId() < tx3.getTransactionId());
+    // all transactions of the batch share the same snapshot
+    for (Transaction tx : txs) {
+      Assert.assertEquals(tx1.getReadPointer(), tx.getReadPointer());
+      Assert.assertArrayEquals(tx1.getInProgress(), tx.getInProgress());
+      for (Transaction other : txs) {
+        Assert.assertEquals(tx == other, tx.isVisible(other.getTransactionId()));
+      }
+    }
+
+    // a later transaction excludes all of them
+    Transaction tx4 = client.startShort();
+    for (Transaction tx : txs) {
+      Assert.assertTrue(tx4.isExcluded(tx.getTransactionId()));
+    }
+
+    // transactions of the same batch detect conflicts with each other
+    Assert.assertTrue(client.canCommit(tx1, asList(C1)));
+    Assert.assertTrue(client.commit(tx1));
+    Assert.assertFalse(client.canCommit(tx2, asList(C1)));
+    client.abort(tx2);
+    Assert.assertTrue(client.canCommit(tx3, asList(C2)));
+    Assert.assertTrue(client.commit(tx3));
+    Assert.assertFalse(client.canCommit(tx4, asList(C2)));
+    client.abort(tx4);
+  }
+
+  @Test
+  public void testStartReadOnly() throws Exception {
+    TransactionSystemClient client = getClient();
+    Transaction tx1 = client.startShort();
+    Assert.assertTrue(client.canCommit(tx1, asList(C1)));
+    Assert.assertTrue(client.commit(tx1));
+    Transaction tx2 = client.startShort();
+
+    Transaction readOnly = client.startReadOnly();
+    Assert.assertEquals(TransactionType.READ_ONLY, readOnly.getType());
+    Assert.assertTrue(readOnly.isVisible(tx1.getTransactionId()));
+    Assert.assertFalse(readOnly.isVisible(tx2.getTransactionId()));
+    Assert.assertTrue(readOnly.getReadPointer() < tx2.getTransactionId());
+    // the write pointer of the read-only transaction is not the version of committed data
+    Assert.assertFalse(readOnly.isCurrentWrite(tx1.getTransactionId()));
+    Assert.assertEquals(Transaction.READ_ONLY_WRITE_POINTER, readOnly.getWritePointer());
+
+    // the read-only transaction is not excluded by transactions started after it
+    Transaction tx3 = client.startShort();
+    Assert.assertArrayEquals(new long[] { tx2.getTransactionId() }, tx3.getInProgress());
+
+    // a read-only transaction can commit if it has no changes, and can be aborted
+    Assert.assertTrue(client.canCommit(readOnly, Collections.<byte[]>emptyList()));
+    Assert.assertFalse(client.canCommit(readOnly, asList(C2)));
+    Assert.assertTrue(client.commit(readOnly));
+    client.abort(readOnly);
+
+    client.abort(tx2);
+    client.abort(tx3);
+  }
+
   @Test
   public void testCommitTwice() throws Exception {
     TransactionSystemClient client = getClient();
@@ -314,6 +418,24 @@ public abstract class TransactionSystemTest {
     Assert.assertEquals(3, client.getInvalidSize());
   }
 
+  @Test
+  public void testGetSnapshotInputStream() throws Exception {
+    TransactionSystemClient client = getClient();
+    Set<Long> inProgress = new HashSet<>();
+    for (int i = 0; i < 50; i++) {
+      inProgress.add(client.startShort().getTransactionId());
+    }
+    Transaction invalid = client.startShort();
+    client.invalidate(invalid.getTransactionId());
+
+    TransactionSnapshot snapshot;
+    try (InputStream in = client.getSnapshotInputStream()) {
+      snapshot = new SnapshotCodecProvider(new Configuration()).decode(in);
+    }
+    Assert.assertEquals(inProgress, snapshot.getInProgress().keySet());
+    Assert.assertEquals(Collections.singletonList(invalid.getTransactionId()), snapshot.getInvalid());
+  }
+
   private Collection<byte[]> asList(byte[]... val) {
     return Arrays.asList(val);
   }
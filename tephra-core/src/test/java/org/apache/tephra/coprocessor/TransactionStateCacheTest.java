@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.coprocessor;
+
+import com.google.inject.Guice;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.tephra.Transaction;
+import org.apache.tephra.TransactionManager;
+import org.apache.tephra.TxConstants;
+import org.apache.tephra.distributed.VisibilityStateNotifier;
+import org.apache.tephra.metrics.TxMetricsCollector;
+import org.apache.tephra.persist.LocalFileTransactionStateStorage;
+import org.apache.tephra.persist.TransactionVisibilityState;
+import org.apache.tephra.runtime.ConfigModule;
+import org.apache.tephra.runtime.ZKModule;
+import org.apache.tephra.snapshot.SnapshotCodecProvider;
+import org.apache.twill.internal.zookeeper.InMemoryZKServer;
+import org.apache.twill.zookeeper.ZKClientService;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the refresh of the {@link TransactionStateCache} when notified of new visibility states.
+ */
+public class TransactionStateCacheTest {
+
+  @ClassRule
+  public static TemporaryFolder tmpFolder = new TemporaryFolder();
+
+  private static InMemoryZKServer zkServer;
+
+  @BeforeClass
+  public static void start() throws Exception {
+    zkServer = InMemoryZKServer.builder().setDataDir(tmpFolder.newFolder()).build();
+    zkServer.startAndWait();
+  }
+
+  @AfterClass
+  public static void stop() {
+    zkServer.stopAndWait();
+  }
+
+  @Test
+  public void testVisibilityStateNotification() throws Exception {
+    String snapshotDir = tmpFolder.newFolder().getAbsolutePath();
+    Configuration conf = new Configuration();
+    conf.set(TxConstants.Service.CFG_DATA_TX_ZOOKEEPER_QUORUM, zkServer.getConnectionStr());
+    conf.set(TxConstants.Manager.CFG_TX_SNAPSHOT_LOCAL_DIR, snapshotDir);
+    conf.set(TxConstants.Manager.CFG_TX_SNAPSHOT_DIR, snapshotDir);
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0); // no cleanup thread
+    conf.setInt(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL, 600);
+    conf.setBoolean(TxConstants.Manager.CFG_TX_VISIBILITY_STATE_NOTIFY, true);
+
+    // the cache only polls every 15 seconds, unless notified
+    final Configuration cacheConf = new Configuration(conf);
+    TransactionStateCache cache = new TransactionStateCache() {
+      @Override
+      protected Configuration getSnapshotConfiguration() {
+        return cacheConf;
+      }
+    };
+    conf.setInt(TxConstants.Manager.CFG_TX_VISIBILITY_STATE_INTERVAL, 1);
+
+    ZKClientService zkClient =
+      Guice.createInjector(new ConfigModule(conf), new ZKModule()).getInstance(ZKClientService.class);
+    zkClient.startAndWait();
+    LocalFileTransactionStateStorage storage =
+      new LocalFileTransactionStateStorage(conf, new SnapshotCodecProvider(conf), new TxMetricsCollector());
+    TransactionManager txManager = new TransactionManager(conf, storage, new TxMetricsCollector());
+    txManager.setVisibilityStateListener(new VisibilityStateNotifier(zkClient));
+    txManager.startAndWait();
+    try {
+      cache.startAndWait();
+      try {
+        Transaction tx = txManager.startShort();
+        Assert.assertTrue("Transaction not visible as in progress",
+                          waitForInProgress(cache, tx.getTransactionId(), true));
+        txManager.abort(tx);
+        Assert.assertTrue("Transaction still visible as in progress",
+                          waitForInProgress(cache, tx.getTransactionId(), false));
+      } finally {
+        cache.stopAndWait();
+      }
+    } finally {
+      txManager.stopAndWait();
+      zkClient.stopAndWait();
+    }
+  }
+
+  /**
+   * Waits for less than the polling frequency of the cache until the transaction is in progress or not in the cached
+   * state.
+   */
+  private static boolean waitForInProgress(TransactionStateCache cache, long txId, boolean inProgress)
+    throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (System.currentTimeMillis() < deadline) {
+      TransactionVisibilityState state = cache.getLatestState();
+      if (state != null && state.getInProgress().containsKey(txId) == inProgress) {
+        return true;
+      }
+      TimeUnit.MILLISECONDS.sleep(100);
+    }
+    return false;
+  }
+}
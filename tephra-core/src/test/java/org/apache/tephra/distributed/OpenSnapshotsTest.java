@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.distributed;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.tephra.TransactionManager;
+import org.apache.tephra.TxConstants;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests reading snapshots in chunks with {@link OpenSnapshots}.
+ */
+public class OpenSnapshotsTest {
+
+  @Test
+  public void testChunks() throws Exception {
+    Configuration conf = new Configuration();
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0); // no cleanup thread
+    TransactionManager txManager = new TransactionManager(conf);
+    OpenSnapshots openSnapshots = new OpenSnapshots(10);
+    // a snapshot cannot be taken before the transaction manager is running
+    Assert.assertNull(openSnapshots.open(txManager));
+    Assert.assertEquals(0, openSnapshots.size());
+
+    txManager.startAndWait();
+    try {
+      for (int i = 0; i < 10; i++) {
+        txManager.startShort();
+      }
+      long snapshotId = openSnapshots.open(txManager);
+      long otherSnapshotId = openSnapshots.open(txManager);
+      Assert.assertNotEquals(snapshotId, otherSnapshotId);
+      Assert.assertEquals(2, openSnapshots.size());
+
+      // the chunks make up the snapshot, and can be read again at the same offset
+      ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+      ByteBuffer chunk;
+      do {
+        chunk = openSnapshots.read(snapshotId, snapshot.size());
+        Assert.assertTrue(chunk.remaining() <= 10);
+        Assert.assertEquals(chunk, openSnapshots.read(snapshotId, snapshot.size()));
+        snapshot.write(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+      } while (chunk.hasRemaining());
+      Assert.assertTrue(snapshot.size() > 10);
+      Assert.assertFalse(openSnapshots.read(snapshotId, snapshot.size() + 100).hasRemaining());
+
+      openSnapshots.close(snapshotId);
+      Assert.assertEquals(1, openSnapshots.size());
+      try {
+        openSnapshots.read(snapshotId, 0);
+        Assert.fail("Expected reading a closed snapshot to fail");
+      } catch (IOException e) {
+        // expected
+      }
+      try {
+        openSnapshots.read(otherSnapshotId, -1);
+        Assert.fail("Expected reading at a negative offset to fail");
+      } catch (IOException e) {
+        // expected
+      }
+      // closing again has no effect
+      openSnapshots.close(snapshotId);
+
+      openSnapshots.closeAll();
+      Assert.assertEquals(0, openSnapshots.size());
+    } finally {
+      txManager.stopAndWait();
+    }
+  }
+
+  @Test
+  public void testExpireOnRead() throws Exception {
+    Configuration conf = new Configuration();
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0); // no cleanup thread
+    TransactionManager txManager = new TransactionManager(conf);
+    txManager.startAndWait();
+    try {
+      OpenSnapshots openSnapshots = new OpenSnapshots(10, 1000);
+      long abandonedSnapshotId = openSnapshots.open(txManager);
+      TimeUnit.MILLISECONDS.sleep(700);
+      long snapshotId = openSnapshots.open(txManager);
+      Assert.assertEquals(2, openSnapshots.size());
+      TimeUnit.MILLISECONDS.sleep(500);
+
+      // reading one snapshot deletes the one that was not read since it expired
+      Assert.assertTrue(openSnapshots.read(snapshotId, 0).hasRemaining());
+      Assert.assertEquals(1, openSnapshots.size());
+      try {
+        openSnapshots.read(abandonedSnapshotId, 0);
+        Assert.fail("Expected reading an expired snapshot to fail");
+      } catch (IOException e) {
+        // expected
+      }
+      openSnapshots.close(snapshotId);
+      Assert.assertEquals(0, openSnapshots.size());
+    } finally {
+      txManager.stopAndWait();
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.distributed;
+
+import org.apache.tephra.Transaction;
+import org.apache.tephra.TransactionType;
+import org.apache.tephra.distributed.thrift.TTransaction;
+import org.apache.tephra.distributed.thrift.TTransactionType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the conversion of transactions to thrift and back with {@link TransactionConverterUtils}.
+ */
+public class TransactionConverterUtilsTest {
+
+  @Test
+  public void testTypes() {
+    for (TransactionType type : TransactionType.values()) {
+      Transaction tx = new Transaction(5, 6, new long[] { 1 }, new long[] { 3, 4 }, 3, type);
+      Assert.assertEquals(type, TransactionConverterUtils.unwrap(TransactionConverterUtils.wrap(tx)).getType());
+    }
+  }
+
+  @Test
+  public void testUnsetType() {
+    // older clients leave the optional type unset
+    TTransaction thriftTx = new TTransaction();
+    thriftTx.setTransactionId(6);
+    thriftTx.setReadPointer(5);
+    thriftTx.setWritePointer(6);
+    thriftTx.setFirstShort(Transaction.NO_TX_IN_PROGRESS);
+    Assert.assertFalse(thriftTx.isSetType());
+    Transaction tx = TransactionConverterUtils.unwrap(thriftTx);
+    Assert.assertEquals(TransactionType.LONG, tx.getType());
+    Assert.assertEquals(6, tx.getTransactionId());
+
+    Transaction untyped = new Transaction(5, 6, new long[0], new long[0], Transaction.NO_TX_IN_PROGRESS, null);
+    Assert.assertEquals(TTransactionType.LONG, TransactionConverterUtils.wrap(untyped).getType());
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.distributed;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.tephra.Transaction;
+import org.apache.tephra.TransactionContext;
+import org.apache.tephra.TransactionManager;
+import org.apache.tephra.TransactionType;
+import org.apache.tephra.TxConstants;
+import org.apache.tephra.distributed.thrift.TTransactionServer;
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TException;
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TMessageType;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests {@link TransactionServiceClient} against servers that do not know all methods of the client, as servers of
+ * an older version.
+ */
+public class TransactionServiceClientTest {
+  private static final byte[] CHANGE = { 'r', 'o', 'w' };
+
+  private Configuration conf;
+  private TransactionManager txManager;
+  private TProcessor processor;
+
+  @Before
+  public void before() {
+    conf = new Configuration();
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0); // no cleanup thread
+    txManager = new TransactionManager(conf);
+    txManager.startAndWait();
+    processor = new TTransactionServer.Processor<>(new TransactionServiceThriftHandler(txManager));
+  }
+
+  @After
+  public void after() {
+    txManager.stopAndWait();
+  }
+
+  @Test
+  public void testCommitWithChanges() throws Exception {
+    testCommitWithChanges(newClient());
+  }
+
+  @Test
+  public void testCommitWithChangesOnOlderServer() throws Exception {
+    testCommitWithChanges(newClient("commitWithChanges"));
+  }
+
+  private void testCommitWithChanges(TransactionServiceClient client) throws Exception {
+    Transaction tx1 = client.startShort();
+    Transaction tx2 = client.startShort();
+    Assert.assertTrue(client.commitWithChanges(tx1, Collections.singleton(CHANGE)));
+    // conflicts are detected in either case
+    Assert.assertFalse(client.commitWithChanges(tx2, Collections.singleton(CHANGE)));
+    client.abort(tx2);
+    Assert.assertTrue(txManager.getCurrentState().getInProgress().isEmpty());
+  }
+
+  @Test
+  public void testStartShortBatch() throws Exception {
+    testStartShortBatch(newClient());
+  }
+
+  @Test
+  public void testStartShortBatchOnOlderServer() throws Exception {
+    testStartShortBatch(newClient("startShortBatch"));
+  }
+
+  private void testStartShortBatch(TransactionServiceClient client) throws Exception {
+    List<Transaction> txs = client.startShort(3, 30);
+    Assert.assertEquals(3, txs.size());
+    Set<Long> ids = new HashSet<>();
+    for (Transaction tx : txs) {
+      Assert.assertTrue(ids.add(tx.getTransactionId()));
+    }
+    Assert.assertEquals(ids, txManager.getCurrentState().getInProgress().keySet());
+    for (Transaction tx : txs) {
+      client.abort(tx);
+    }
+  }
+
+  @Test
+  public void testStartReadOnly() throws Exception {
+    Assert.assertEquals(TransactionType.READ_ONLY, testStartReadOnly(newClient()));
+  }
+
+  @Test
+  public void testStartReadOnlyOnOlderServer() throws Exception {
+    // a short transaction is started instead, and committed when the transaction context finishes
+    Assert.assertEquals(TransactionType.SHORT, testStartReadOnly(newClient("startReadOnly")));
+  }
+
+  private TransactionType testStartReadOnly(TransactionServiceClient client) throws Exception {
+    TransactionContext context = new TransactionContext(client);
+    context.startReadOnly();
+    TransactionType type = context.getCurrentTransaction().getType();
+    context.finish();
+    Assert.assertNull(context.getCurrentTransaction());
+    Assert.assertTrue(txManager.getCurrentState().getInProgress().isEmpty());
+    return type;
+  }
+
+  /**
+   * Creates a client that talks to a server in the same process, which does not know the given methods.
+   */
+  private TransactionServiceClient newClient(String... unknownMethods) {
+    final Set<String> unknown = ImmutableSet.copyOf(unknownMethods);
+    return new TransactionServiceClient(conf, new ThriftClientProvider() {
+      @Override
+      public void initialize() {
+        // nothing to do
+      }
+
+      @Override
+      public CloseableThriftClient getCloseableClient() {
+        return new CloseableThriftClient(this, new TransactionServiceThriftClient(
+          new InProcessTransport(processor, unknown)));
+      }
+
+      @Override
+      public void returnClient(TransactionServiceThriftClient client) {
+        client.close();
+      }
+    });
+  }
+
+  /**
+   * Transport that processes every request when it is flushed, and answers the methods that the server does not know
+   * the way a Thrift server does.
+   */
+  private static final class InProcessTransport extends TTransport {
+    private final TProcessor processor;
+    private final Set<String> unknownMethods;
+    private TMemoryBuffer request = new TMemoryBuffer(256);
+    private TMemoryBuffer response = new TMemoryBuffer(256);
+
+    private InProcessTransport(TProcessor processor, Set<String> unknownMethods) {
+      this.processor = processor;
+      this.unknownMethods = unknownMethods;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void open() {
+      // always open
+    }
+
+    @Override
+    public void close() {
+      // nothing to release
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws TTransportException {
+      return response.read(buf, off, len);
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) throws TTransportException {
+      request.write(buf, off, len);
+    }
+
+    @Override
+    public void flush() throws TTransportException {
+      byte[] message = Arrays.copyOf(request.getArray(), request.length());
+      request = new TMemoryBuffer(256);
+      response = new TMemoryBuffer(256);
+      TProtocol out = new TBinaryProtocol(response);
+      try {
+        TMessage call = new TBinaryProtocol(new TMemoryInputTransport(message)).readMessageBegin();
+        if (unknownMethods.contains(call.name)) {
+          out.writeMessageBegin(new TMessage(call.name, TMessageType.EXCEPTION, call.seqid));
+          new TApplicationException(TApplicationException.UNKNOWN_METHOD, "Invalid method name: '" + call.name + "'")
+            .write(out);
+          out.writeMessageEnd();
+        } else {
+          processor.process(new TBinaryProtocol(new TMemoryInputTransport(message)), out);
+        }
+      } catch (TException e) {
+        throw new TTransportException(e);
+      }
+    }
+  }
+}
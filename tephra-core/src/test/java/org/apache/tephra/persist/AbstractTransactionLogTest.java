@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimaps;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.tephra.TxConstants;
+import org.apache.tephra.metrics.TxMetricsCollector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests the batching of edits appended to an {@link AbstractTransactionLog}.
+ */
+public class AbstractTransactionLogTest {
+
+  @Test
+  public void testConcurrentAppends() throws Exception {
+    Configuration conf = new Configuration();
+    conf.setInt(TxConstants.TransactionLog.CFG_TX_LOG_BATCH_MAX_SIZE, 10);
+    final InMemoryLog log = new InMemoryLog(conf);
+
+    final int threads = 8;
+    final int appendsPerThread = 200;
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    List<Thread> appenders = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final long firstTx = t * 1000000L;
+      Thread appender = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            long tx = firstTx;
+            for (int i = 0; i < appendsPerThread; i++) {
+              int count = editCount(i);
+              List<TransactionEdit> edits = new ArrayList<>(count);
+              for (int j = 0; j < count; j++) {
+                edits.add(TransactionEdit.createAborted(tx++, null, null));
+              }
+              log.append(edits);
+              // once append returns, the edits must be synced
+              Assert.assertTrue(log.isSynced(tx - 1));
+            }
+          } catch (Throwable e) {
+            error.compareAndSet(null, e);
+          }
+        }
+      };
+      appender.start();
+      appenders.add(appender);
+    }
+    start.countDown();
+    for (Thread appender : appenders) {
+      appender.join();
+    }
+    log.close();
+    Assert.assertNull(error.get());
+
+    InMemoryWriter writer = log.writer;
+    Assert.assertTrue(writer.closed);
+    // every edit was written exactly once, in the order of the sequence numbers
+    Set<Long> written = new HashSet<>();
+    for (int i = 0; i < writer.entries.size(); i++) {
+      AbstractTransactionLog.Entry entry = writer.entries.get(i);
+      Assert.assertEquals(i, entry.getKey().get());
+      Assert.assertTrue(written.add(entry.getEdit().getWritePointer()));
+    }
+    int expected = 0;
+    for (int i = 0; i < appendsPerThread; i++) {
+      expected += editCount(i);
+    }
+    Assert.assertEquals(threads * expected, writer.entries.size());
+    // every batch was synced, and no batch is larger than the configured maximum
+    int total = 0;
+    for (int batchSize : writer.commitMarkers) {
+      Assert.assertTrue(batchSize > 0 && batchSize <= 10);
+      total += batchSize;
+    }
+    Assert.assertEquals(writer.entries.size(), total);
+    Assert.assertEquals(writer.commitMarkers.size(), writer.syncs);
+  }
+
+  private static int editCount(int append) {
+    // some appends are larger than the ring buffer
+    return append % 50 == 0 ? 100 : 1 + append % 3;
+  }
+
+  @Test
+  public void testSyncFailure() throws Exception {
+    InMemoryLog log = new InMemoryLog(new Configuration());
+    log.append(TransactionEdit.createAborted(1L, null, null));
+
+    log.writer.failSync = true;
+    try {
+      log.append(TransactionEdit.createAborted(2L, null, null));
+      Assert.fail("Expected append to fail");
+    } catch (IOException e) {
+      // expected
+    }
+    // no more edits can be appended once writing failed
+    try {
+      log.append(TransactionEdit.createAborted(3L, null, null));
+      Assert.fail("Expected append to fail");
+    } catch (IOException e) {
+      // expected
+    }
+    log.close();
+    Assert.assertTrue(log.writer.closed);
+
+    try {
+      log.append(TransactionEdit.createAborted(4L, null, null));
+      Assert.fail("Expected append to a closed log to fail");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testAppendAsync() throws Exception {
+    InMemoryLog log = new InMemoryLog(new Configuration());
+    log.init();
+    CountDownLatch syncBlocker = new CountDownLatch(1);
+    log.writer.syncBlocker = syncBlocker;
+    ListenableFuture<Void> first = log.appendAsync(TransactionEdit.createAborted(1L, null, null));
+    ListenableFuture<Void> second = log.appendAsync(ImmutableList.of(TransactionEdit.createAborted(2L, null, null),
+                                                                     TransactionEdit.createAborted(3L, null, null)));
+    // the appends are not complete until the edits are synced
+    TimeUnit.MILLISECONDS.sleep(100);
+    Assert.assertFalse(first.isDone());
+    Assert.assertFalse(second.isDone());
+    syncBlocker.countDown();
+    first.get(10, TimeUnit.SECONDS);
+    second.get(10, TimeUnit.SECONDS);
+    Assert.assertTrue(log.isSynced(3L));
+
+    // a failed sync fails the pending appends, and all later appends
+    log.writer.failSync = true;
+    ListenableFuture<Void> failed = log.appendAsync(TransactionEdit.createAborted(4L, null, null));
+    try {
+      failed.get(10, TimeUnit.SECONDS);
+      Assert.fail("Expected append to fail");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof IOException);
+    }
+    failed = log.appendAsync(TransactionEdit.createAborted(5L, null, null));
+    Assert.assertTrue(failed.isDone());
+    try {
+      failed.get();
+      Assert.fail("Expected append to fail");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof IOException);
+    }
+    log.close();
+  }
+
+  @Test
+  public void testBatchMetrics() throws Exception {
+    final ListMultimap<String, Integer> histograms =
+      Multimaps.synchronizedListMultimap(ArrayListMultimap.<String, Integer>create());
+    TxMetricsCollector metricsCollector = new TxMetricsCollector() {
+      @Override
+      public void histogram(String metricName, int value) {
+        histograms.put(metricName, value);
+      }
+    };
+    Configuration conf = new Configuration();
+    // every batch is logged as slow
+    conf.setLong(TxConstants.TransactionLog.CFG_TX_LOG_SLOW_BATCH_THRESHOLD_MS, 0);
+    InMemoryLog log = new InMemoryLog(conf, metricsCollector);
+    log.append(TransactionEdit.createAborted(1L, null, null));
+    log.append(ImmutableList.of(TransactionEdit.createAborted(2L, null, null),
+                                TransactionEdit.createAborted(3L, null, null)));
+    log.close();
+
+    Assert.assertEquals(ImmutableSet.of("wal.sync.size", "wal.batch.appends", "wal.queue.wait.us",
+                                        "wal.commit.marker.us", "wal.serialize.us", "wal.sync.us", "wal.wakeup.us"),
+                        histograms.keySet());
+    // every batch reports every stage
+    int batches = log.writer.commitMarkers.size();
+    for (String metric : histograms.keySet()) {
+      Assert.assertEquals(metric, batches, histograms.get(metric).size());
+    }
+    int edits = 0;
+    for (int size : histograms.get("wal.sync.size")) {
+      edits += size;
+    }
+    Assert.assertEquals(3, edits);
+    int appends = 0;
+    for (int count : histograms.get("wal.batch.appends")) {
+      appends += count;
+    }
+    Assert.assertEquals(2, appends);
+  }
+
+  private static final class InMemoryLog extends AbstractTransactionLog {
+    private InMemoryWriter writer;
+
+    private InMemoryLog(Configuration conf) {
+      this(conf, new TxMetricsCollector());
+    }
+
+    private InMemoryLog(Configuration conf, TxMetricsCollector metricsCollector) {
+      super(System.currentTimeMillis(), metricsCollector, conf);
+    }
+
+    @Override
+    protected TransactionLogWriter createWriter() throws IOException {
+      writer = new InMemoryWriter();
+      return writer;
+    }
+
+    @Override
+    public String getName() {
+      return "in-memory";
+    }
+
+    @Override
+    public TransactionLogReader getReader() throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    private boolean isSynced(long writePointer) {
+      synchronized (writer) {
+        return writer.synced.contains(writePointer);
+      }
+    }
+  }
+
+  private static final class InMemoryWriter implements TransactionLogWriter {
+    private final List<AbstractTransactionLog.Entry> entries = Lists.newArrayList();
+    private final List<Integer> commitMarkers = Lists.newArrayList();
+    private final Set<Long> synced = new HashSet<>();
+    private int pending;
+    private int syncs;
+    private volatile boolean failSync;
+    private volatile CountDownLatch syncBlocker;
+    private boolean closed;
+
+    @Override
+    public synchronized void append(AbstractTransactionLog.Entry entry) throws IOException {
+      // the entry is reused by the log once it is synced, hence keep a copy
+      entries.add(new AbstractTransactionLog.Entry(new LongWritable(entry.getKey().get()), entry.getEdit()));
+      pending++;
+    }
+
+    @Override
+    public synchronized void commitMarker(int count) throws IOException {
+      commitMarkers.add(count);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+      // entries are kept in memory
+    }
+
+    @Override
+    public synchronized void sync() throws IOException {
+      if (syncBlocker != null) {
+        Uninterruptibles.awaitUninterruptibly(syncBlocker);
+      }
+      if (failSync) {
+        throw new IOException("Sync failed");
+      }
+      syncs++;
+      for (int i = entries.size() - pending; i < entries.size(); i++) {
+        synced.add(entries.get(i).getEdit().getWritePointer());
+      }
+      pending = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      closed = true;
+    }
+  }
+}
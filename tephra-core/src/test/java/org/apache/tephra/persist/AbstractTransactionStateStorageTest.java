@@ -38,6 +38,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -118,6 +119,56 @@ public abstract class AbstractTransactionStateStorageTest {
     }
   }
 
+  @Test
+  public void testStripedLogs() throws Exception {
+    // the configuration may be shared with other tests
+    Configuration conf = new Configuration(getConfiguration("testStripedLogs"));
+    conf.setInt(TxConstants.TransactionLog.CFG_TX_LOG_STRIPES, 3);
+
+    List<TransactionEdit> edits = TransactionEditUtil.createRandomEdits(100);
+    TransactionStateStorage storage = getStorage(conf);
+    try {
+      long now = System.currentTimeMillis();
+      storage.startAndWait();
+      storage.setupStorage();
+      TransactionLog log = storage.createLog(now);
+      for (TransactionEdit edit : edits) {
+        log.append(edit);
+      }
+      log.append(edits.subList(0, 10));
+      log.close();
+      log = storage.createLog(now + 1);
+      // appends go to the stripes in turn, the file of a stripe is created by its first append
+      for (int i = 0; i < 3; i++) {
+        log.append(edits.get(i));
+      }
+      log.close();
+      // every log is written to three files
+      assertEquals(6, storage.listLogs().size());
+
+      List<TransactionLog> logsToRead = storage.getLogsSince(now);
+      assertEquals(2, logsToRead.size());
+      assertEquals(now, logsToRead.get(0).getTimestamp());
+      TransactionLogReader logReader = logsToRead.get(0).getReader();
+      List<TransactionEdit> readEdits = Lists.newArrayList();
+      TransactionEdit nextEdit;
+      while ((nextEdit = logReader.next()) != null) {
+        readEdits.add(nextEdit);
+      }
+      logReader.close();
+      // every append completed before the next one started, hence the edits are read in the order of the appends
+      List<TransactionEdit> expected = Lists.newArrayList(edits);
+      expected.addAll(edits.subList(0, 10));
+      assertEquals(expected, readEdits);
+
+      storage.deleteLogsOlderThan(now + 1);
+      assertEquals(3, storage.listLogs().size());
+      assertEquals(1, storage.getLogsSince(0).size());
+    } finally {
+      storage.stopAndWait();
+    }
+  }
+
   @Test
   public void testTransactionManagerPersistence() throws Exception {
     Configuration conf = getConfiguration("testTransactionManagerPersistence");
@@ -273,6 +324,80 @@ public abstract class AbstractTransactionStateStorageTest {
     }
   }
 
+  /**
+   * Tests recovery of change sets recorded with full keys and with fingerprints.
+   */
+  @Test
+  public void testFingerprintedChangesRecovery() throws Exception {
+    Configuration conf = getConfiguration("testFingerprintedChangesRecovery");
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0); // no cleanup thread
+    // start snapshot thread, but with long enough interval so we only get snapshots on shutdown
+    conf.setInt(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL, 600);
+
+    final byte[] a = { 'a' };
+    final byte[] b = { 'b' };
+    final byte[] c = { 'c' };
+    // as long as a 64 bit fingerprint
+    final byte[] h = { 'h', 'h', 'h', 'h', 'h', 'h', 'h', 'h' };
+    TransactionStateStorage storage1 = null;
+    TransactionStateStorage storage2 = null;
+    TransactionStateStorage storage3 = null;
+    try {
+      // record full change keys first
+      storage1 = getStorage(conf);
+      TransactionManager txManager = new TransactionManager(conf, storage1, new TxMetricsCollector());
+      txManager.startAndWait();
+      // tx1 stays in progress, so that all later change sets are retained
+      Transaction tx1 = txManager.startShort();
+      Transaction tx2 = txManager.startShort();
+      Assert.assertTrue(txManager.canCommit(tx2, Arrays.asList(a, h)));
+      Assert.assertTrue(txManager.commit(tx2));
+      Transaction tx3 = txManager.startShort();
+      Assert.assertTrue(txManager.canCommit(tx3, Collections.singleton(b)));
+      txManager.stopAndWait();
+
+      // full change keys from the snapshot are fingerprinted when it is restored
+      conf.setInt(TxConstants.Manager.CFG_TX_CHANGE_FINGERPRINT_BITS, 64);
+      storage2 = getStorage(conf);
+      txManager = new TransactionManager(conf, storage2, new TxMetricsCollector());
+      txManager.startAndWait();
+      Assert.assertFalse(txManager.canCommit(tx1, Collections.singleton(a)));
+      Assert.assertFalse(txManager.canCommit(tx1, Collections.singleton(h)));
+      Assert.assertTrue(txManager.commit(tx3));
+      Assert.assertFalse(txManager.canCommit(tx1, Collections.singleton(b)));
+      Transaction tx4 = txManager.startShort();
+      Assert.assertTrue(txManager.canCommit(tx4, Collections.singleton(c)));
+      Assert.assertTrue(txManager.commit(tx4));
+      for (Set<ChangeId> changes : txManager.getCurrentState().getCommittedChangeSets().values()) {
+        for (ChangeId change : changes) {
+          Assert.assertEquals(8, change.getKey().length);
+        }
+      }
+
+      // simulate a failure, the fingerprints are replayed from the transaction log
+      storage3 = getStorage(conf);
+      txManager = new TransactionManager(conf, storage3, new TxMetricsCollector());
+      txManager.startAndWait();
+      Assert.assertFalse(txManager.canCommit(tx1, Collections.singleton(a)));
+      Assert.assertFalse(txManager.canCommit(tx1, Collections.singleton(b)));
+      Assert.assertFalse(txManager.canCommit(tx1, Collections.singleton(c)));
+      Assert.assertFalse(txManager.canCommit(tx1, Collections.singleton(h)));
+      Assert.assertTrue(txManager.canCommit(tx1, Collections.singleton(new byte[] { 'd' })));
+      Assert.assertTrue(txManager.commit(tx1));
+      txManager.stopAndWait();
+    } finally {
+      if (storage1 != null) {
+        storage1.stopAndWait();
+      }
+      if (storage2 != null) {
+        storage2.stopAndWait();
+      }
+      if (storage3 != null) {
+        storage3.stopAndWait();
+      }
+    }
+  }
+
   /**
    * Tests removal of old snapshots and old transaction logs.
    */
@@ -358,6 +483,176 @@ public abstract class AbstractTransactionStateStorageTest {
     }
   }
   
+  /**
+   * Tests that replaying a checkpoint of compacted logs results in the same state as replaying the logs.
+   */
+  @Test
+  public void testVisibilityState() throws Exception {
+    Configuration conf = getConfiguration("testVisibilityState");
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0); // no cleanup thread
+    // only snapshots on shutdown, but frequent visibility states
+    conf.setInt(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL, 600);
+    conf.setInt(TxConstants.Manager.CFG_TX_VISIBILITY_STATE_INTERVAL, 1);
+
+    TransactionStateStorage storage = null;
+    try {
+      storage = getStorage(conf);
+      storage.startAndWait();
+      long now = System.currentTimeMillis();
+      long wp = now * TxConstants.MAX_TX_PER_MS;
+      NavigableMap<Long, TransactionManager.InProgressTx> inProgress = Maps.newTreeMap();
+      inProgress.put(wp - 5, new TransactionManager.InProgressTx(wp - 10, now + 1000, TransactionType.SHORT));
+      TransactionSnapshot snapshot = new TransactionSnapshot(now - 10, wp - 10, wp - 5, ImmutableList.of(wp - 20),
+                                                             inProgress);
+      storage.writeSnapshot(snapshot);
+      Assert.assertEquals(snapshot, storage.getLatestTransactionVisibilityState());
+
+      // a more recent visibility state is read instead of the snapshot
+      NavigableMap<Long, TransactionManager.InProgressTx> inProgress1 = Maps.newTreeMap(inProgress);
+      inProgress1.put(wp, new TransactionManager.InProgressTx(wp - 10, now + 1000, TransactionType.SHORT));
+      TransactionSnapshot state1 = new TransactionSnapshot(now - 5, wp - 10, wp, ImmutableList.of(wp - 20),
+                                                           inProgress1);
+      storage.writeVisibilityState(state1);
+      Assert.assertEquals(state1, storage.getLatestTransactionVisibilityState());
+      TransactionSnapshot state2 = new TransactionSnapshot(now, wp, wp, ImmutableList.of(wp - 20),
+                                                           Maps.<Long, TransactionManager.InProgressTx>newTreeMap());
+      storage.writeVisibilityState(state2);
+      Assert.assertEquals(state2, storage.getLatestTransactionVisibilityState());
+      // the full snapshot is not affected
+      Assert.assertEquals(snapshot, storage.getLatestSnapshot());
+      storage.stopAndWait();
+
+      // the transaction manager writes the visibility state periodically
+      storage = getStorage(conf);
+      TransactionManager txManager = new TransactionManager(conf, storage, new TxMetricsCollector());
+      txManager.startAndWait();
+      try {
+        Transaction tx = txManager.startShort();
+        TransactionVisibilityState state = null;
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+          state = storage.getLatestTransactionVisibilityState();
+          if (state != null && state.getInProgress().containsKey(tx.getWritePointer())) {
+            break;
+          }
+          TimeUnit.MILLISECONDS.sleep(100);
+        }
+        Assert.assertNotNull(state);
+        Assert.assertTrue(state.getInProgress().containsKey(tx.getWritePointer()));
+        Assert.assertEquals(ImmutableList.of(wp - 20), Lists.newArrayList(state.getInvalid()));
+      } finally {
+        txManager.stopAndWait();
+      }
+    } finally {
+      if (storage != null) {
+        storage.stopAndWait();
+      }
+    }
+  }
+
+  @Test
+  public void testLogCompaction() throws Exception {
+    Configuration conf = getConfiguration("testLogCompaction");
+    conf.setInt(TxConstants.Manager.CFG_TX_CLEANUP_INTERVAL, 0); // no cleanup thread
+    conf.setInt(TxConstants.Manager.CFG_TX_SNAPSHOT_INTERVAL, 0); // no snapshots, not even on shutdown
+
+    final List<byte[]> changes = ImmutableList.of(new byte[] { 'a' });
+    TransactionStateStorage storage = null;
+    try {
+      // every restart of the transaction manager starts a new log, the first one with these transactions:
+      // tx0 remains in progress, tx1 and tx2 are committed in later logs
+      long time1 = System.currentTimeMillis();
+      storage = getStorage(conf);
+      TransactionManager txManager = new TransactionManager(conf, storage, new TxMetricsCollector());
+      txManager.startAndWait();
+      Transaction tx0 = txManager.startShort();
+      Transaction tx1 = txManager.startShort();
+      Assert.assertTrue(txManager.canCommit(tx1, changes));
+      Transaction tx2 = txManager.startShort();
+      txManager.stopAndWait();
+
+      // tx3 is aborted, tx4 is invalidated
+      TimeUnit.MILLISECONDS.sleep(10);
+      storage = getStorage(conf);
+      txManager = new TransactionManager(conf, storage, new TxMetricsCollector());
+      txManager.startAndWait();
+      Assert.assertTrue(txManager.commit(tx1));
+      Transaction tx3 = txManager.startShort();
+      Assert.assertTrue(txManager.canCommit(tx3, changes));
+      txManager.abort(tx3);
+      Transaction tx4 = txManager.startShort();
+      Assert.assertTrue(txManager.invalidate(tx4.getTransactionId()));
+      txManager.stopAndWait();
+
+      // tx2 is committed after a checkpoint, which has the highest write pointer
+      TimeUnit.MILLISECONDS.sleep(10);
+      storage = getStorage(conf);
+      txManager = new TransactionManager(conf, storage, new TxMetricsCollector());
+      txManager.startAndWait();
+      Transaction checkpoint = txManager.checkpoint(tx2);
+      Assert.assertTrue(txManager.canCommit(checkpoint, ImmutableList.of(new byte[] { 'b' })));
+      Assert.assertTrue(txManager.commit(checkpoint));
+      long writePointer = txManager.getCurrentState().getWritePointer();
+      txManager.stopAndWait();
+      assertEquals(checkpoint.getWritePointer(), writePointer);
+
+      // replay the logs
+      TimeUnit.MILLISECONDS.sleep(10);
+      storage = getStorage(conf);
+      txManager = new TransactionManager(conf, storage, new TxMetricsCollector());
+      txManager.startAndWait();
+      TransactionSnapshot origState = txManager.getCurrentState();
+      txManager.stopAndWait();
+      assertEquals(writePointer, origState.getWritePointer());
+      assertEquals(ImmutableList.of(tx4.getTransactionId()), origState.getInvalid());
+      assertEquals(ImmutableSet.of(tx0.getTransactionId()), origState.getInProgress().keySet());
+
+      storage = getStorage(conf);
+      storage.startAndWait();
+      // the log of the replay is not compacted
+      List<TransactionLog> logs = storage.getLogsSince(time1).subList(0, 3);
+      long time3 = logs.get(2).getTimestamp();
+      TransactionLogCompactor compactor = new TransactionLogCompactor(logs);
+      assertEquals(13, compactor.getEditCount());
+      storage.writeCheckpoint(logs.get(0).getTimestamp(), time3, compactor.getReader());
+
+      // the checkpoint replaces the logs, without the INPROGRESS edit of tx1 and the COMMITTING edits
+      logs = storage.getLogsSince(time1);
+      Assert.assertTrue(logs.get(0).getName().contains("txcheckpoint."));
+      Assert.assertTrue(logs.size() < 3);
+      int editCount = 0;
+      TransactionLogReader reader = logs.get(0).getReader();
+      while (reader.next() != null) {
+        editCount++;
+      }
+      reader.close();
+      assertEquals(9, editCount);
+      storage.stopAndWait();
+
+      // replaying the checkpoint results in the same state, including the write pointer of the checkpoint
+      storage = getStorage(conf);
+      txManager = new TransactionManager(conf, storage, new TxMetricsCollector());
+      txManager.startAndWait();
+      TransactionSnapshot newState = txManager.getCurrentState();
+      txManager.stopAndWait();
+      assertEquals(origState, newState);
+      assertEquals(writePointer, newState.getWritePointer());
+
+      // the checkpoint is removed with the logs it replaces
+      storage = getStorage(conf);
+      storage.startAndWait();
+      int logCount = storage.listLogs().size();
+      storage.deleteLogsOlderThan(time3);
+      assertEquals(logCount, storage.listLogs().size());
+      storage.deleteLogsOlderThan(time3 + 1);
+      assertEquals(logCount - 1, storage.listLogs().size());
+    } finally {
+      if (storage != null) {
+        storage.stopAndWait();
+      }
+    }
+  }
+
   @Test
   public void testLongTxnEditReplay() throws Exception {
     Configuration conf = getConfiguration("testLongTxnEditReplay");
@@ -525,6 +820,8 @@ public abstract class AbstractTransactionStateStorageTest {
     for (int i = 0; i < 100; i++) {
       invalid.add(Math.abs(random.nextLong()) % 1000000L);
     }
+    // the transaction manager keeps the invalid list sorted, and snapshots rely on that
+    Collections.sort(invalid);
 
     // make 100 committing entries, 10 keys each
     Map<Long, Set<ChangeId>> committing = Maps.newHashMap();
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import com.google.common.io.Files;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hdfs.MiniDFSCluster;
+import org.apache.tephra.TxConstants;
+import org.apache.tephra.metrics.TxMetricsCollector;
+import org.apache.tephra.util.TransactionEditUtil;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures the latency of appends to an {@link HDFSTransactionLog} by concurrent threads with every
+ * {@link HDFSTransactionLog.SyncMode}, against a local {@link MiniDFSCluster}. The datanodes of the mini cluster share
+ * the local disk, hence the results only compare the modes. This is not run as part of the unit tests, run it with:
+ * <pre>
+ *   java -cp ... org.apache.tephra.persist.HDFSTransactionLogBenchmark [threads] [appends per thread] [datanodes]
+ * </pre>
+ */
+public class HDFSTransactionLogBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int threads = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+    int appends = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+    int dataNodes = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+    File baseDir = Files.createTempDir();
+    Configuration hConf = new Configuration();
+    hConf.set(MiniDFSCluster.HDFS_MINIDFS_BASEDIR, baseDir.getAbsolutePath());
+    MiniDFSCluster dfsCluster = new MiniDFSCluster.Builder(hConf).numDataNodes(dataNodes).build();
+    try {
+      Configuration conf = new Configuration(dfsCluster.getFileSystem().getConf());
+      conf.setInt(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_REPLICATION, dataNodes);
+      FileSystem fs = dfsCluster.getFileSystem();
+      for (HDFSTransactionLog.SyncMode syncMode : HDFSTransactionLog.SyncMode.values()) {
+        conf.set(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_SYNC_MODE, syncMode.name());
+        // warm up the JIT before measuring
+        run(fs, conf, threads, appends / 10);
+        long[] latencies = run(fs, conf, threads, appends);
+        Arrays.sort(latencies);
+        System.out.println(String.format("mode: %s, threads: %d, appends: %d, datanodes: %d",
+                                         syncMode, threads, latencies.length, dataNodes));
+        System.out.println(String.format("append latency (us): p50 %d, p99 %d, max %d",
+                                         latencies[latencies.length / 2], latencies[latencies.length * 99 / 100],
+                                         latencies[latencies.length - 1]));
+      }
+    } finally {
+      dfsCluster.shutdown();
+      FileUtil.fullyDelete(baseDir);
+    }
+  }
+
+  /**
+   * Returns the latencies of all appends, in microseconds.
+   */
+  private static long[] run(FileSystem fs, Configuration conf, int threads, final int appends) throws Exception {
+    long timestamp = System.currentTimeMillis();
+    final HDFSTransactionLog log = new HDFSTransactionLog(fs, conf, new Path("/benchmark/txlog." + timestamp),
+                                                          timestamp, new TxMetricsCollector());
+    log.init();
+    final List<TransactionEdit> edits = TransactionEditUtil.createRandomEdits(appends);
+    final long[] latencies = new long[threads * appends];
+    final CountDownLatch start = new CountDownLatch(1);
+    Thread[] appenders = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      final int offset = t * appends;
+      appenders[t] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            for (int i = 0; i < appends; i++) {
+              long begin = System.nanoTime();
+              log.append(edits.get(i));
+              latencies[offset + i] = (System.nanoTime() - begin) / 1000;
+            }
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+        }
+      };
+      appenders[t].start();
+    }
+    long begin = System.nanoTime();
+    start.countDown();
+    for (Thread appender : appenders) {
+      appender.join();
+    }
+    long millis = (System.nanoTime() - begin) / 1000000;
+    log.close();
+    System.out.println(String.format("%d appends in %d ms", latencies.length, millis));
+    return latencies;
+  }
+}
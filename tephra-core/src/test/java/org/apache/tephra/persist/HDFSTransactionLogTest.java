@@ -18,9 +18,12 @@
 
 package org.apache.tephra.persist;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.io.Closeables;
 import com.google.common.primitives.Longs;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hdfs.MiniDFSCluster;
@@ -40,6 +43,7 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -254,6 +258,58 @@ public class HDFSTransactionLogTest {
     }
   }
 
+  private void testTransactionLogV4Sync(int totalCount, int batchSize, boolean isComplete) throws Exception {
+    List<TransactionEdit> edits = TransactionEditUtil.createRandomEdits(totalCount);
+    long timestamp = System.currentTimeMillis();
+    Configuration configuration = getConfiguration();
+    FileSystem fs = FileSystem.newInstance(FileSystem.getDefaultUri(configuration), configuration);
+    HDFSTransactionLog transactionLog = getHDFSTransactionLog(configuration, fs, timestamp);
+    Path logPath = new Path(configuration.get(TxConstants.Manager.CFG_TX_SNAPSHOT_DIR), LOG_FILE_PREFIX + timestamp);
+    HDFSTransactionLog.LogWriter writer = new HDFSTransactionLog.LogWriter(fs, configuration, logPath);
+    long logSequence = 0;
+    for (int i = 0; i < totalCount; i += batchSize) {
+      writer.commitMarker(batchSize);
+      for (int j = i; j < i + batchSize; j++) {
+        writer.append(new AbstractTransactionLog.Entry(new LongWritable(logSequence++), edits.get(j)));
+      }
+      writer.sync();
+    }
+    writer.close();
+
+    if (!isComplete) {
+      // cut off the end of the last batch
+      byte[] bytes = ByteStreams.toByteArray(fs.open(logPath));
+      try (FSDataOutputStream out = fs.create(logPath, true)) {
+        out.write(bytes, 0, bytes.length - 3);
+      }
+    }
+
+    TransactionLogReader reader = transactionLog.getReader();
+    Assert.assertTrue(reader instanceof HDFSTransactionLogReaderV4);
+    List<TransactionEdit> syncedEdits = new ArrayList<>();
+    TransactionEdit edit;
+    while ((edit = reader.next()) != null) {
+      syncedEdits.add(edit);
+    }
+    reader.close();
+    if (isComplete) {
+      Assert.assertEquals(edits, syncedEdits);
+    } else {
+      Assert.assertEquals(edits.subList(0, totalCount - batchSize), syncedEdits);
+    }
+  }
+
+  @Test
+  public void testTransactionLogVersion4() throws Exception {
+    // in-complete sync
+    testTransactionLogV4Sync(1000, 1, false);
+    testTransactionLogV4Sync(2000, 5, false);
+
+    // complete sync
+    testTransactionLogV4Sync(1000, 1, true);
+    testTransactionLogV4Sync(2000, 5, true);
+  }
+
   @Test
   public void testTransactionLogVersion3() throws Exception {
     // in-complete sync
@@ -284,4 +340,43 @@ public class HDFSTransactionLogTest {
     // complete sync
     testCaskTransactionLogSync(2000, 5, (byte) 1, true);
   }
+
+  @Test
+  public void testWriterOptions() throws Exception {
+    for (HDFSTransactionLog.SyncMode syncMode : HDFSTransactionLog.SyncMode.values()) {
+      Configuration configuration = new Configuration(getConfiguration());
+      configuration.set(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_SYNC_MODE, syncMode.name().toLowerCase());
+      configuration.setLong(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_HSYNC_INTERVAL_MS, 1);
+      configuration.setInt(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_REPLICATION, 1);
+      configuration.setLong(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_BLOCK_SIZE, 4 * 1024 * 1024);
+      configuration.setInt(TxConstants.TransactionLog.CFG_TX_LOG_HDFS_BUFFER_SIZE, 8192);
+      FileSystem fs = FileSystem.newInstance(FileSystem.getDefaultUri(configuration), configuration);
+      try {
+        long timestamp = System.currentTimeMillis();
+        HDFSTransactionLog transactionLog = getHDFSTransactionLog(configuration, fs, timestamp);
+        List<TransactionEdit> edits = TransactionEditUtil.createRandomEdits(100);
+        for (int i = 0; i < edits.size(); i += 10) {
+          transactionLog.append(edits.subList(i, i + 10));
+        }
+        transactionLog.close();
+
+        Path logPath = new Path(configuration.get(TxConstants.Manager.CFG_TX_SNAPSHOT_DIR),
+                                LOG_FILE_PREFIX + timestamp);
+        FileStatus status = fs.getFileStatus(logPath);
+        Assert.assertEquals(1, status.getReplication());
+        Assert.assertEquals(4 * 1024 * 1024, status.getBlockSize());
+
+        TransactionLogReader reader = transactionLog.getReader();
+        List<TransactionEdit> readEdits = new ArrayList<>();
+        TransactionEdit edit;
+        while ((edit = reader.next()) != null) {
+          readEdits.add(edit);
+        }
+        reader.close();
+        Assert.assertEquals(syncMode.name(), edits, readEdits);
+      } finally {
+        fs.close();
+      }
+    }
+  }
 }
@@ -21,14 +21,19 @@ package org.apache.tephra.persist;
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.AbstractIdleService;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.tephra.snapshot.SnapshotCodecProvider;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import javax.annotation.Nullable;
 
 /**
@@ -37,8 +42,10 @@ import javax.annotation.Nullable;
 public class InMemoryTransactionStateStorage extends AbstractIdleService implements TransactionStateStorage {
   // only keeps the most recent snapshot in memory
   private TransactionSnapshot lastSnapshot;
+  private TransactionVisibilityState lastVisibilityState;
 
-  private NavigableMap<Long, TransactionLog> logs = new TreeMap<>();
+  // the snapshot thread creates logs concurrently with the tests reading them
+  private NavigableMap<Long, TransactionLog> logs = new ConcurrentSkipListMap<>();
 
   @Override
   protected void startUp() throws Exception {
@@ -47,12 +54,14 @@ public class InMemoryTransactionStateStorage extends AbstractIdleService impleme
   @Override
   protected void shutDown() throws Exception {
     lastSnapshot = null;
-    logs = new TreeMap<>();
+    lastVisibilityState = null;
+    logs = new ConcurrentSkipListMap<>();
   }
 
   @Override
   public void writeSnapshot(OutputStream out, TransactionSnapshot snapshot) throws IOException {
-    // no codecs in in-memory mode
+    // encode with the default codecs, for clients that read the snapshot
+    new SnapshotCodecProvider(new Configuration()).encode(out, snapshot);
   }
 
   @Override
@@ -65,8 +74,17 @@ public class InMemoryTransactionStateStorage extends AbstractIdleService impleme
     return lastSnapshot;
   }
 
+  @Override
+  public void writeVisibilityState(TransactionVisibilityState state) throws IOException {
+    lastVisibilityState = state;
+  }
+
   @Override
   public TransactionVisibilityState getLatestTransactionVisibilityState() throws IOException {
+    if (lastVisibilityState != null
+      && (lastSnapshot == null || lastVisibilityState.getTimestamp() >= lastSnapshot.getTimestamp())) {
+      return lastVisibilityState;
+    }
     return lastSnapshot;
   }
 
@@ -92,11 +110,28 @@ public class InMemoryTransactionStateStorage extends AbstractIdleService impleme
 
   @Override
   public TransactionLog createLog(long timestamp) throws IOException {
-    TransactionLog log = new InMemoryTransactionLog(timestamp);
+    TransactionLog log = newLog(timestamp);
     logs.put(timestamp, log);
     return log;
   }
 
+  protected InMemoryTransactionLog newLog(long timestamp) {
+    return new InMemoryTransactionLog(timestamp);
+  }
+
+  @Override
+  public void writeCheckpoint(long firstTimestamp, long lastTimestamp, TransactionLogReader edits)
+    throws IOException {
+    InMemoryTransactionLog checkpoint = new InMemoryTransactionLog(firstTimestamp);
+    TransactionEdit edit;
+    while ((edit = edits.next()) != null) {
+      checkpoint.append(edit);
+    }
+    checkpoint.close();
+    logs.subMap(firstTimestamp, true, lastTimestamp, true).clear();
+    logs.put(firstTimestamp, checkpoint);
+  }
+
   @Override
   public void deleteLogsOlderThan(long timestamp) throws IOException {
     Iterator<Map.Entry<Long, TransactionLog>> logIter = logs.entrySet().iterator();
@@ -147,7 +182,12 @@ public class InMemoryTransactionStateStorage extends AbstractIdleService impleme
     }
 
     @Override
-    public void append(TransactionEdit edit) throws IOException {
+    public void init() throws IOException {
+      // nothing to open
+    }
+
+    @Override
+    public synchronized void append(TransactionEdit edit) throws IOException {
       if (isClosed) {
         throw new IOException("Log is closed");
       }
@@ -155,11 +195,26 @@ public class InMemoryTransactionStateStorage extends AbstractIdleService impleme
     }
 
     @Override
-    public void append(List<TransactionEdit> edits) throws IOException {
+    public synchronized void append(List<TransactionEdit> edits) throws IOException {
       if (isClosed) {
         throw new IOException("Log is closed");
       }
-      edits.addAll(edits);
+      this.edits.addAll(edits);
+    }
+
+    @Override
+    public ListenableFuture<Void> appendAsync(TransactionEdit edit) {
+      return appendAsync(Collections.singletonList(edit));
+    }
+
+    @Override
+    public ListenableFuture<Void> appendAsync(List<TransactionEdit> edits) {
+      try {
+        append(edits);
+        return Futures.immediateFuture(null);
+      } catch (IOException e) {
+        return Futures.immediateFailedFuture(e);
+      }
     }
 
     @Override
@@ -168,8 +223,8 @@ public class InMemoryTransactionStateStorage extends AbstractIdleService impleme
     }
 
     @Override
-    public TransactionLogReader getReader() throws IOException {
-      return new InMemoryLogReader(edits.iterator());
+    public synchronized TransactionLogReader getReader() throws IOException {
+      return new InMemoryLogReader(Lists.newArrayList(edits).iterator());
     }
   }
 
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.tephra.TransactionType;
+import org.apache.tephra.TxConstants;
+import org.apache.tephra.metrics.TxMetricsCollector;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+/**
+ * Tests the file format of the {@link LocalFileTransactionLog}.
+ */
+public class LocalFileTransactionLogTest {
+  @ClassRule
+  public static TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private static final int PREALLOCATE_BYTES = 64 * 1024;
+
+  @Test
+  public void testSyncPolicies() throws Exception {
+    for (LocalFileTransactionLog.SyncPolicy policy : LocalFileTransactionLog.SyncPolicy.values()) {
+      Configuration conf = getConfiguration();
+      conf.set(TxConstants.TransactionLog.CFG_TX_LOG_LOCAL_SYNC_POLICY, policy.name().toLowerCase());
+      File file = tmpDir.newFile();
+      LocalFileTransactionLog log = new LocalFileTransactionLog(file, 0L, new TxMetricsCollector(), conf);
+      List<TransactionEdit> edits = createEdits(1, 20);
+      append(log, edits);
+      log.close();
+      Assert.assertEquals(edits, read(file));
+    }
+  }
+
+  @Test
+  public void testPreallocatedSpace() throws Exception {
+    File file = tmpDir.newFile();
+    LocalFileTransactionLog log = new LocalFileTransactionLog(file, 0L, new TxMetricsCollector(), getConfiguration());
+    List<TransactionEdit> edits = createEdits(1, 20);
+    append(log, edits);
+
+    // the log as it would be found after a crash
+    File crashed = tmpDir.newFile();
+    Files.copy(file, crashed);
+    Assert.assertEquals(PREALLOCATE_BYTES, crashed.length());
+    Assert.assertEquals(edits, read(crashed));
+
+    // the preallocated space is removed on close
+    log.close();
+    Assert.assertTrue(file.length() < PREALLOCATE_BYTES);
+    Assert.assertEquals(edits, read(file));
+
+    // a batch that was not completely written, or only partially made it to disk, is ignored
+    try (RandomAccessFile raf = new RandomAccessFile(crashed, "rw")) {
+      raf.seek(file.length());
+      raf.writeInt(100);
+      raf.writeInt(42);
+      raf.write(new byte[100]);
+    }
+    Assert.assertEquals(edits, read(crashed));
+    try (RandomAccessFile raf = new RandomAccessFile(crashed, "rw")) {
+      raf.setLength(file.length() + 50);
+    }
+    Assert.assertEquals(edits, read(crashed));
+  }
+
+  @Test
+  public void testGrowth() throws Exception {
+    File file = tmpDir.newFile();
+    LocalFileTransactionLog log = new LocalFileTransactionLog(file, 0L, new TxMetricsCollector(), getConfiguration());
+    // more than the preallocated space, with a single batch that is larger than the preallocation size
+    List<TransactionEdit> edits = createEdits(1, 5000);
+    append(log, edits);
+    log.append(createEdits(5001, 10000));
+    edits.addAll(createEdits(5001, 10000));
+    log.close();
+    Assert.assertTrue(file.length() > 2 * PREALLOCATE_BYTES);
+    Assert.assertEquals(edits, read(file));
+  }
+
+  @Test
+  public void testLogWithoutHeader() throws Exception {
+    // a log written by an earlier version, as a plain sequence of entries
+    File file = tmpDir.newFile();
+    List<TransactionEdit> edits = createEdits(1, 20);
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+      long sequence = 0;
+      for (TransactionEdit edit : edits) {
+        new AbstractTransactionLog.Entry(new LongWritable(sequence++), edit).write(out);
+      }
+    }
+    Assert.assertEquals(edits, read(file));
+
+    File empty = tmpDir.newFile();
+    Assert.assertEquals(ImmutableList.of(), read(empty));
+  }
+
+  private static Configuration getConfiguration() {
+    Configuration conf = new Configuration();
+    conf.setInt(TxConstants.TransactionLog.CFG_TX_LOG_LOCAL_PREALLOCATE_BYTES, PREALLOCATE_BYTES);
+    return conf;
+  }
+
+  private static List<TransactionEdit> createEdits(long firstTx, long lastTx) {
+    List<TransactionEdit> edits = Lists.newArrayList();
+    for (long tx = firstTx; tx <= lastTx; tx++) {
+      edits.add(TransactionEdit.createStarted(tx, tx - 1, tx + 1000, TransactionType.SHORT));
+    }
+    return edits;
+  }
+
+  private static void append(TransactionLog log, List<TransactionEdit> edits) throws IOException {
+    for (TransactionEdit edit : edits) {
+      log.append(edit);
+    }
+  }
+
+  private static List<TransactionEdit> read(File file) throws IOException {
+    List<TransactionEdit> edits = Lists.newArrayList();
+    TransactionLogReader reader = new LocalFileTransactionLog(file, 0L, new TxMetricsCollector()).getReader();
+    try {
+      TransactionEdit edit;
+      while ((edit = reader.next()) != null) {
+        edits.add(edit);
+      }
+    } finally {
+      reader.close();
+    }
+    return edits;
+  }
+}
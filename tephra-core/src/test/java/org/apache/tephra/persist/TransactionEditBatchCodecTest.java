@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Longs;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.tephra.ChangeId;
+import org.apache.tephra.FingerprintChangeSet;
+import org.apache.tephra.TransactionType;
+import org.apache.tephra.TxConstants;
+import org.apache.tephra.util.TransactionEditUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for {@link TransactionEditBatchCodec}.
+ */
+public class TransactionEditBatchCodecTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    List<TransactionEdit> edits = TransactionEditUtil.createRandomEdits(1000);
+    edits.add(TransactionEdit.createAborted(1L, TransactionType.SHORT, new long[0]));
+    edits.add(TransactionEdit.createAborted(5L, TransactionType.LONG, new long[] { 6L, 9L }));
+    edits.add(TransactionEdit.createCheckpoint(7L, 5L));
+    edits.add(TransactionEdit.createTruncateInvalidTx(ImmutableSet.of(3L, 1L, 1000000000000L)));
+    edits.add(TransactionEdit.createTruncateInvalidTxBefore(System.currentTimeMillis()));
+    edits.add(TransactionEdit.createStarted(2L, 0L, -1L, null));
+    edits.add(TransactionEdit.createCommitted(-2L, ImmutableSet.of(new ChangeId(new byte[0])), 0L, false));
+    Assert.assertEquals(edits, roundTrip(edits));
+    // a batch per edit
+    for (TransactionEdit edit : edits) {
+      Assert.assertEquals(ImmutableSet.of(edit), ImmutableSet.copyOf(roundTrip(Lists.newArrayList(edit))));
+    }
+  }
+
+  @Test
+  public void testFingerprints() throws Exception {
+    // an 8 byte change key is not mistaken for a 64 bit fingerprint
+    FingerprintChangeSet fingerprints = new FingerprintChangeSet(64);
+    fingerprints.addKey(new byte[] { 'a' });
+    Set<ChangeId> keys = ImmutableSet.of(new ChangeId(Longs.toByteArray(1L)));
+    List<TransactionEdit> edits = Lists.newArrayList(TransactionEdit.createCommitting(1L, fingerprints),
+                                                     TransactionEdit.createCommitting(2L, keys));
+    List<TransactionEdit> decoded = roundTrip(edits);
+    Assert.assertEquals(edits, decoded);
+    Assert.assertTrue(decoded.get(0).getChanges() instanceof FingerprintChangeSet);
+    Assert.assertEquals(64, ((FingerprintChangeSet) decoded.get(0).getChanges()).getBits());
+    Assert.assertFalse(decoded.get(1).getChanges() instanceof FingerprintChangeSet);
+  }
+
+  @Test
+  public void testSize() throws Exception {
+    // the commits of a busy transaction manager, with changes to the rows of a few tables
+    List<TransactionEdit> edits = Lists.newArrayList();
+    long writePointer = System.currentTimeMillis() * TxConstants.MAX_TX_PER_MS;
+    for (int i = 0; i < 100; i++) {
+      Set<ChangeId> changes = Sets.newHashSet();
+      for (int j = 0; j < 10; j++) {
+        byte[] table = ("table" + (i + j) % 3).getBytes();
+        byte[] row = ("row" + (i * 10 + j)).getBytes();
+        changes.add(new ChangeId(Bytes.concat(table, row)));
+      }
+      edits.add(TransactionEdit.createCommitting(writePointer, changes));
+      edits.add(TransactionEdit.createCommitted(writePointer, changes, writePointer + 2, true));
+      writePointer += 2;
+    }
+
+    DataOutputBuffer v4 = new DataOutputBuffer();
+    for (TransactionEdit edit : edits) {
+      edit.write(v4);
+    }
+    TransactionEditBatchCodec codec = new TransactionEditBatchCodec();
+    for (TransactionEdit edit : edits) {
+      codec.add(edit);
+    }
+    BytesWritable batch = new BytesWritable();
+    codec.writeTo(batch);
+    Assert.assertTrue(batch.getLength() * 2 < v4.getLength());
+  }
+
+  @Test
+  public void testChecksumMismatch() throws Exception {
+    TransactionEditBatchCodec codec = new TransactionEditBatchCodec();
+    for (TransactionEdit edit : TransactionEditUtil.createRandomEdits(10)) {
+      codec.add(edit);
+    }
+    BytesWritable batch = new BytesWritable();
+    codec.writeTo(batch);
+    byte[] bytes = batch.copyBytes();
+    bytes[bytes.length / 2]++;
+    try {
+      TransactionEditBatchCodec.decode(bytes, bytes.length, Lists.<TransactionEdit>newArrayList());
+      Assert.fail("Expected decoding a corrupt batch to fail");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  private static List<TransactionEdit> roundTrip(List<TransactionEdit> edits) throws IOException {
+    TransactionEditBatchCodec codec = new TransactionEditBatchCodec();
+    for (TransactionEdit edit : edits) {
+      codec.add(edit);
+    }
+    Assert.assertEquals(edits.size(), codec.size());
+    BytesWritable batch = new BytesWritable();
+    codec.writeTo(batch);
+    Assert.assertEquals(0, codec.size());
+    List<TransactionEdit> decoded = Lists.newArrayList();
+    TransactionEditBatchCodec.decode(batch.getBytes(), batch.getLength(), decoded);
+    return decoded;
+  }
+}
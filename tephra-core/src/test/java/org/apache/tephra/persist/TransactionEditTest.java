@@ -21,7 +21,9 @@ package org.apache.tephra.persist;
 import com.google.common.collect.Sets;
 import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Longs;
 import org.apache.tephra.ChangeId;
+import org.apache.tephra.FingerprintChangeSet;
 import org.apache.tephra.TransactionType;
 import org.junit.Assert;
 import org.junit.Test;
@@ -111,7 +113,19 @@ public class TransactionEditTest {
     assertSerializedEdit(TransactionEdit.createTruncateInvalidTxBefore(System.currentTimeMillis()));
   }
 
-  private void assertSerializedEdit(TransactionEdit originalEdit) throws IOException {
+  @Test
+  public void testFingerprintSerialization() throws Exception {
+    FingerprintChangeSet fingerprints = new FingerprintChangeSet(64);
+    fingerprints.addKey(new byte[] { 'a' });
+    fingerprints.addKey(new byte[] { 'b' });
+    TransactionEdit edit = TransactionEdit.createCommitted(1L, fingerprints, 2L, true);
+    Assert.assertTrue(assertSerializedEdit(edit).getChanges() instanceof FingerprintChangeSet);
+    // an 8 byte change key is not mistaken for a 64 bit fingerprint
+    edit = TransactionEdit.createCommitted(1L, Sets.newHashSet(new ChangeId(Longs.toByteArray(1L))), 2L, true);
+    Assert.assertFalse(assertSerializedEdit(edit).getChanges() instanceof FingerprintChangeSet);
+  }
+
+  private TransactionEdit assertSerializedEdit(TransactionEdit originalEdit) throws IOException {
     ByteArrayDataOutput out = ByteStreams.newDataOutput();
     originalEdit.write(out);
 
@@ -120,5 +134,6 @@ public class TransactionEditTest {
     decodedEdit.readFields(in);
 
     Assert.assertEquals(originalEdit, decodedEdit);
+    return decodedEdit;
   }
 }
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import org.apache.tephra.metrics.TxMetricsCollector;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the latency of appends to an {@link AbstractTransactionLog} by concurrent threads, with a log writer
+ * that simulates the latency of a sync to HDFS. This is not run as part of the unit tests, run it with:
+ * <pre>
+ *   java -cp ... org.apache.tephra.persist.TransactionLogBenchmark [threads] [appends per thread] [sync micros]
+ * </pre>
+ */
+public class TransactionLogBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int threads = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+    int appends = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+    long syncMicros = args.length > 2 ? Long.parseLong(args[2]) : 2000;
+
+    // warm up the JIT before measuring
+    run(threads, appends / 10, syncMicros);
+    long[] latencies = run(threads, appends, syncMicros);
+    Arrays.sort(latencies);
+    System.out.println(String.format("threads: %d, appends: %d, sync: %d us", threads, latencies.length, syncMicros));
+    System.out.println(String.format("append latency (us): p50 %d, p99 %d, max %d",
+                                     latencies[latencies.length / 2], latencies[latencies.length * 99 / 100],
+                                     latencies[latencies.length - 1]));
+  }
+
+  /**
+   * Returns the latencies of all appends, in microseconds.
+   */
+  private static long[] run(int threads, final int appends, long syncMicros) throws Exception {
+    final SlowSyncLog log = new SlowSyncLog(syncMicros);
+    final long[] latencies = new long[threads * appends];
+    final CountDownLatch start = new CountDownLatch(1);
+    Thread[] appenders = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      final int offset = t * appends;
+      appenders[t] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            for (int i = 0; i < appends; i++) {
+              long begin = System.nanoTime();
+              log.append(TransactionEdit.createAborted(offset + i, null, null));
+              latencies[offset + i] = (System.nanoTime() - begin) / 1000;
+            }
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+        }
+      };
+      appenders[t].start();
+    }
+    long begin = System.nanoTime();
+    start.countDown();
+    for (Thread appender : appenders) {
+      appender.join();
+    }
+    long millis = (System.nanoTime() - begin) / 1000000;
+    log.close();
+    System.out.println(String.format("%d appends in %d ms, %d syncs", latencies.length, millis, log.syncs.get()));
+    return latencies;
+  }
+
+  private static final class SlowSyncLog extends AbstractTransactionLog {
+    private final long syncNanos;
+    private final AtomicInteger syncs = new AtomicInteger();
+
+    private SlowSyncLog(long syncMicros) {
+      super(System.currentTimeMillis(), new TxMetricsCollector());
+      this.syncNanos = TimeUnit.MICROSECONDS.toNanos(syncMicros);
+    }
+
+    @Override
+    protected TransactionLogWriter createWriter() throws IOException {
+      return new TransactionLogWriter() {
+        @Override
+        public void append(Entry entry) throws IOException {
+          // nothing to write
+        }
+
+        @Override
+        public void commitMarker(int count) throws IOException {
+          // nothing to write
+        }
+
+        @Override
+        public void flush() throws IOException {
+          // nothing to write
+        }
+
+        @Override
+        public synchronized void sync() throws IOException {
+          // like a single output stream, syncs do not overlap
+          syncs.incrementAndGet();
+          LockSupport.parkNanos(syncNanos);
+        }
+
+        @Override
+        public void close() throws IOException {
+          // nothing to close
+        }
+      };
+    }
+
+    @Override
+    public String getName() {
+      return "slow-sync";
+    }
+
+    @Override
+    public TransactionLogReader getReader() throws IOException {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
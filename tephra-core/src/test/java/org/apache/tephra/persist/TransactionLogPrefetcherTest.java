@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.persist;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link TransactionLogPrefetcher}.
+ */
+public class TransactionLogPrefetcherTest {
+
+  @Test
+  public void testReadInOrder() throws Exception {
+    List<TransactionLog> logs = new ArrayList<>();
+    long writePointer = 0;
+    // more logs than threads, and logs with more edits than are queued
+    int[] sizes = { 100000, 0, 1, 1024, 3000, 50000, 7 };
+    for (int i = 0; i < sizes.length; i++) {
+      InMemoryTransactionStateStorage.InMemoryTransactionLog log =
+        new InMemoryTransactionStateStorage.InMemoryTransactionLog(i);
+      for (int j = 0; j < sizes[i]; j++) {
+        log.append(TransactionEdit.createAborted(writePointer++, null, null));
+      }
+      logs.add(log);
+    }
+
+    TransactionLogPrefetcher prefetcher = new TransactionLogPrefetcher(logs, 2);
+    try {
+      long expected = 0;
+      for (int size : sizes) {
+        TransactionLogReader reader = prefetcher.nextReader();
+        Assert.assertNotNull(reader);
+        TransactionEdit edit;
+        while ((edit = reader.next()) != null) {
+          Assert.assertEquals(expected++, edit.getWritePointer());
+        }
+        // the end of a log stays the end
+        Assert.assertNull(reader.next());
+        reader.close();
+      }
+      Assert.assertEquals(writePointer, expected);
+      Assert.assertNull(prefetcher.nextReader());
+    } finally {
+      prefetcher.close();
+    }
+  }
+
+  @Test
+  public void testReadFailure() throws Exception {
+    InMemoryTransactionStateStorage.InMemoryTransactionLog log =
+      new InMemoryTransactionStateStorage.InMemoryTransactionLog(0);
+    log.append(TransactionEdit.createAborted(1L, null, null));
+    TransactionLog failing = new InMemoryTransactionStateStorage.InMemoryTransactionLog(1) {
+      @Override
+      public synchronized TransactionLogReader getReader() throws IOException {
+        throw new IOException("Corrupt log");
+      }
+    };
+
+    TransactionLogPrefetcher prefetcher = new TransactionLogPrefetcher(ImmutableList.of(log, failing), 2);
+    try {
+      TransactionLogReader reader = prefetcher.nextReader();
+      Assert.assertEquals(1L, reader.next().getWritePointer());
+      Assert.assertNull(reader.next());
+      reader = prefetcher.nextReader();
+      try {
+        reader.next();
+        Assert.fail("Expected the failure to read the log");
+      } catch (IOException e) {
+        Assert.assertEquals("Corrupt log", e.getMessage());
+      }
+    } finally {
+      prefetcher.close();
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void testCloseWhileReading() throws Exception {
+    InMemoryTransactionStateStorage.InMemoryTransactionLog log =
+      new InMemoryTransactionStateStorage.InMemoryTransactionLog(0);
+    for (int i = 0; i < 100000; i++) {
+      log.append(TransactionEdit.createAborted(i, null, null));
+    }
+    TransactionLogPrefetcher prefetcher = new TransactionLogPrefetcher(ImmutableList.<TransactionLog>of(log), 1);
+    Assert.assertEquals(0L, prefetcher.nextReader().next().getWritePointer());
+    // the prefetching thread is blocked on the full queue, and stops when it is closed
+    prefetcher.close();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.snapshot;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Tests {@link BinaryEncoder} and {@link BinaryDecoder}.
+ */
+public class BinaryEncoderTest {
+
+  private static final long[] LONGS = {
+    0, 1, -1, 63, 64, -64, -65, 127, 128, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE,
+    1457000000000000000L
+  };
+  private static final int[] INTS = { 0, 1, -1, 63, 64, -64, -65, 8191, 8192, Integer.MAX_VALUE, Integer.MIN_VALUE };
+
+  @Test
+  public void testEncoding() throws IOException {
+    // the buffered encoding is identical to writing every byte separately
+    for (int bufferSize : new int[] {1, 10, 17, 8192}) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      BinaryEncoder encoder = new BinaryEncoder(out, bufferSize);
+      ByteArrayOutputStream expected = new ByteArrayOutputStream();
+      Random random = new Random(bufferSize);
+      for (int i = 0; i < 100; i++) {
+        for (long l : LONGS) {
+          encoder.writeLong(l);
+          writeUnbufferedLong(expected, l);
+        }
+        for (int n : INTS) {
+          encoder.writeInt(n);
+          writeUnbufferedLong(expected, n);
+        }
+        byte[] bytes = new byte[random.nextInt(40)];
+        random.nextBytes(bytes);
+        encoder.writeBytes(bytes);
+        writeUnbufferedLong(expected, bytes.length);
+        expected.write(bytes);
+      }
+      encoder.flush();
+      Assert.assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+  }
+
+  @Test
+  public void testDecoding() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = new BinaryEncoder(out);
+    for (long l : LONGS) {
+      encoder.writeLong(l);
+    }
+    for (int n : INTS) {
+      encoder.writeInt(n);
+    }
+    byte[] large = new byte[20000];
+    new Random(0).nextBytes(large);
+    encoder.writeBytes(new byte[] {1, 2, 3});
+    encoder.writeBytes(large);
+    encoder.writeInt(42);
+    encoder.flush();
+    byte[] encoded = out.toByteArray();
+
+    for (int bufferSize : new int[] {1, 7, 8192, 100000}) {
+      assertDecoded(new BinaryDecoder(new ByteArrayInputStream(encoded), bufferSize), large);
+    }
+    assertDecoded(new BinaryDecoder(encoded), large);
+
+    // a decoder with a buffer of one byte does not read beyond the value
+    ByteArrayInputStream in = new ByteArrayInputStream(encoded);
+    Assert.assertEquals(LONGS[0], new BinaryDecoder(in, 1).readLong());
+    Assert.assertEquals(LONGS[1], new BinaryDecoder(in, 1).readLong());
+  }
+
+  private void assertDecoded(BinaryDecoder decoder, byte[] large) throws IOException {
+    for (long l : LONGS) {
+      Assert.assertEquals(l, decoder.readLong());
+    }
+    for (int n : INTS) {
+      Assert.assertEquals(n, decoder.readInt());
+    }
+    Assert.assertArrayEquals(new byte[] {1, 2, 3}, decoder.readBytes());
+    Assert.assertArrayEquals(large, decoder.readBytes());
+    Assert.assertEquals(42, decoder.readInt());
+    try {
+      decoder.readInt();
+      Assert.fail("Expected end of input");
+    } catch (EOFException e) {
+      // expected
+    }
+  }
+
+  /**
+   * The encoding of a long as written by the encoder before it was buffered.
+   */
+  private static void writeUnbufferedLong(ByteArrayOutputStream output, long l) {
+    long val = (l << 1) ^ (l >> 63);
+    while ((val & ~0x7fL) != 0) {
+      output.write((int) (0x80 | val & 0x7f));
+      val >>>= 7;
+    }
+    output.write((int) val);
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.snapshot;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.tephra.ChangeId;
+import org.apache.tephra.TransactionManager;
+import org.apache.tephra.TransactionType;
+import org.apache.tephra.TxConstants;
+import org.apache.tephra.persist.TransactionSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compares the size of the encoded snapshot and the time to encode and decode it for {@link SnapshotCodecV4} and
+ * {@link SnapshotCodecV6}, with and without compression. This is not run as part of the unit tests, run it with:
+ * <pre>
+ *   java -cp ... org.apache.tephra.snapshot.SnapshotCodecBenchmark [in-progress] [change sets] [keys per change set]
+ * </pre>
+ */
+public class SnapshotCodecBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int inProgress = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    int changeSets = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+    int keysPerChangeSet = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+    int iterations = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+    TransactionSnapshot snapshot = createSnapshot(inProgress, changeSets, keysPerChangeSet);
+    Configuration compressed = new Configuration(false);
+    compressed.setBoolean(TxConstants.Persist.CFG_TX_SNAPSHOT_CODEC_COMPRESS, true);
+    SnapshotCodecV6 compressedV6 = new SnapshotCodecV6();
+    compressedV6.setConf(compressed);
+    SnapshotCodecV6 v6 = new SnapshotCodecV6();
+    v6.setConf(new Configuration(false));
+
+    System.out.println(String.format("in-progress: %d, change sets: %d, keys per change set: %d",
+                                     inProgress, changeSets, keysPerChangeSet));
+    for (int round = 0; round < 2; round++) {
+      // the first round warms up the JIT
+      boolean report = round > 0;
+      run("V4", new SnapshotCodecV4(), snapshot, iterations, report);
+      run("V6", v6, snapshot, iterations, report);
+      run("V6 compressed", compressedV6, snapshot, iterations, report);
+      runFile("V4 file", new SnapshotCodecV4(), snapshot, iterations, report);
+    }
+  }
+
+  private static void run(String name, SnapshotCodec codec, TransactionSnapshot snapshot, int iterations,
+                          boolean report) {
+    byte[] encoded = null;
+    long begin = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      codec.encode(out, snapshot);
+      encoded = out.toByteArray();
+    }
+    long encodeMillis = (System.nanoTime() - begin) / 1000000 / iterations;
+    begin = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      codec.decode(new ByteArrayInputStream(encoded));
+    }
+    long decodeMillis = (System.nanoTime() - begin) / 1000000 / iterations;
+    if (report) {
+      System.out.println(String.format("%-14s size: %,d bytes, encode: %d ms, decode: %d ms",
+                                       name, encoded.length, encodeMillis, decodeMillis));
+    }
+  }
+
+  /**
+   * Encodes to and decodes from a local file through unbuffered file streams, as the local transaction state storage
+   * does.
+   */
+  private static void runFile(String name, SnapshotCodec codec, TransactionSnapshot snapshot, int iterations,
+                              boolean report) throws IOException {
+    File file = File.createTempFile("snapshot", ".bench");
+    try {
+      long begin = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        try (OutputStream out = new FileOutputStream(file)) {
+          codec.encode(out, snapshot);
+        }
+      }
+      long encodeMillis = (System.nanoTime() - begin) / 1000000 / iterations;
+      begin = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        try (InputStream in = new FileInputStream(file)) {
+          codec.decode(in);
+        }
+      }
+      long decodeMillis = (System.nanoTime() - begin) / 1000000 / iterations;
+      if (report) {
+        System.out.println(String.format("%-14s size: %,d bytes, encode: %d ms, decode: %d ms",
+                                         name, file.length(), encodeMillis, decodeMillis));
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  /**
+   * Creates a snapshot similar to that of a busy transaction manager: transactions started within a few seconds, and
+   * change sets of row keys from a few tables, where some rows are changed by many transactions.
+   */
+  static TransactionSnapshot createSnapshot(int inProgressCount, int changeSetCount, int keysPerChangeSet) {
+    Random random = new Random(42);
+    long now = System.currentTimeMillis();
+    long writePointer = now * TxConstants.MAX_TX_PER_MS;
+    long txId = writePointer - (inProgressCount + changeSetCount) * 100L;
+
+    List<Long> invalid = Lists.newArrayList();
+    for (int i = 0; i < inProgressCount / 10; i++) {
+      invalid.add(txId - random.nextInt(1000000000));
+    }
+    // the transaction manager keeps the invalid list sorted
+    Collections.sort(invalid);
+    NavigableMap<Long, TransactionManager.InProgressTx> inProgress = Maps.newTreeMap();
+    Map<Long, Set<ChangeId>> committed = Maps.newTreeMap();
+    for (int i = 0; i < inProgressCount + changeSetCount; i++) {
+      txId += 1 + random.nextInt(100);
+      if (random.nextInt(inProgressCount + changeSetCount) < inProgressCount) {
+        TransactionManager.InProgressTx tx =
+          new TransactionManager.InProgressTx(txId - random.nextInt(10000), txId / TxConstants.MAX_TX_PER_MS + 30000,
+                                              TransactionType.SHORT);
+        inProgress.put(txId, tx);
+        if (random.nextInt(10) == 0) {
+          tx.addCheckpointWritePointer(++txId);
+        }
+      } else {
+        Set<ChangeId> changes = Sets.newHashSet();
+        for (int j = 0; j < keysPerChangeSet; j++) {
+          changes.add(createKey(random));
+        }
+        committed.put(txId, changes);
+      }
+    }
+    Map<Long, Set<ChangeId>> committing = Maps.newHashMap();
+    Long[] inProgressIds = inProgress.keySet().toArray(new Long[inProgress.size()]);
+    for (int i = 0; i < inProgressIds.length / 100; i++) {
+      committing.put(inProgressIds[random.nextInt(inProgressIds.length)], Sets.newHashSet(createKey(random)));
+    }
+    return new TransactionSnapshot(now, writePointer - 1, writePointer, invalid, inProgress, committing, committed);
+  }
+
+  private static ChangeId createKey(Random random) {
+    // a table name followed by a row key, with a skewed distribution of rows
+    int row = random.nextInt(10) == 0 ? random.nextInt(100) : random.nextInt(1000000);
+    return new ChangeId(String.format("ns:table%d|row-%08d", random.nextInt(5), row).getBytes(Charsets.UTF_8));
+  }
+}
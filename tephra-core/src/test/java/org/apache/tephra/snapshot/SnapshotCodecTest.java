@@ -23,10 +23,12 @@ import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Longs;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.tephra.ChangeId;
+import org.apache.tephra.FingerprintChangeSet;
 import org.apache.tephra.Transaction;
 import org.apache.tephra.TransactionManager;
 import org.apache.tephra.TransactionNotInProgressException;
@@ -48,11 +50,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -283,6 +287,123 @@ public class SnapshotCodecTest {
     SnapshotCodec v4codec = codecProvider.getCodecForVersion(new SnapshotCodecV4().getVersion());
     assertNotNull(v4codec);
     assertTrue(v4codec instanceof SnapshotCodecV4);
+
+    SnapshotCodec v5codec = codecProvider.getCodecForVersion(new SnapshotCodecV5().getVersion());
+    assertNotNull(v5codec);
+    assertTrue(v5codec instanceof SnapshotCodecV5);
+
+    SnapshotCodec v6codec = codecProvider.getCodecForVersion(new SnapshotCodecV6().getVersion());
+    assertNotNull(v6codec);
+    assertTrue(v6codec instanceof SnapshotCodecV6);
+  }
+
+  @Test
+  public void testSnapshotCodecV6() throws IOException {
+    long now = System.currentTimeMillis() * TxConstants.MAX_TX_PER_MS;
+    List<Long> invalid = Lists.newArrayList(now - 5000000000L, now - 10, now - 9, now - 1);
+    TreeMap<Long, TransactionManager.InProgressTx> inProgress = Maps.newTreeMap();
+    inProgress.put(now - 8, new TransactionManager.InProgressTx(now - 20, now + 1000, TransactionType.SHORT));
+    inProgress.put(now - 5, new TransactionManager.InProgressTx(now - 20, -1L, TransactionType.LONG));
+    inProgress.get(now - 5).addCheckpointWritePointer(now - 4);
+    inProgress.get(now - 5).addCheckpointWritePointer(now - 3);
+    inProgress.put(now - 2, new TransactionManager.InProgressTx(now - 7, now + 3000, TransactionType.SHORT));
+    Map<Long, Set<ChangeId>> committing = Maps.newHashMap();
+    committing.put(now - 2, Sets.newHashSet(new ChangeId(new byte[] {'r', '1'}), new ChangeId(new byte[] {})));
+    Map<Long, Set<ChangeId>> committed = Maps.newTreeMap();
+    committed.put(now - 30, Sets.newHashSet(new ChangeId(new byte[] {'r', '1'}), new ChangeId(new byte[] {'r'}),
+                                            new ChangeId(new byte[] {'r', '1', 0})));
+    committed.put(now - 11, Sets.newHashSet(new ChangeId(new byte[] {'s', '1', (byte) 0xff})));
+    committed.put(now - 10, Collections.<ChangeId>emptySet());
+    TransactionSnapshot snapshot =
+      new TransactionSnapshot(System.currentTimeMillis(), now - 9, now, invalid, inProgress, committing, committed);
+
+    for (boolean compress : new boolean[] {false, true}) {
+      Configuration conf = new Configuration(false);
+      conf.setBoolean(TxConstants.Persist.CFG_TX_SNAPSHOT_CODEC_COMPRESS, compress);
+      SnapshotCodecV6 codec = new SnapshotCodecV6();
+      codec.setConf(conf);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      codec.encode(out, snapshot);
+      TransactionSnapshot decoded = codec.decode(new ByteArrayInputStream(out.toByteArray()));
+      assertEquals(snapshot, decoded);
+      assertEquals(inProgress.get(now - 5).getCheckpointWritePointers(),
+                   decoded.getInProgress().get(now - 5).getCheckpointWritePointers());
+
+      TransactionVisibilityState state =
+        codec.decodeTransactionVisibilityState(new ByteArrayInputStream(out.toByteArray()));
+      assertEquals(snapshot.getWritePointer(), state.getWritePointer());
+      assertEquals(invalid, Lists.newArrayList(state.getInvalid()));
+      assertEquals(inProgress, state.getInProgress());
+    }
+
+    // fingerprinted change sets are decoded as such, even if a full change key has the same length
+    FingerprintChangeSet fingerprints = new FingerprintChangeSet(64);
+    fingerprints.addKey(new byte[] {'r', '1'});
+    committed.put(now - 12, fingerprints);
+    committed.put(now - 13, Sets.newHashSet(new ChangeId(Longs.toByteArray(now))));
+    snapshot =
+      new TransactionSnapshot(System.currentTimeMillis(), now - 9, now, invalid, inProgress, committing, committed);
+    SnapshotCodecV6 codecV6 = new SnapshotCodecV6();
+    codecV6.setConf(new Configuration(false));
+    ByteArrayOutputStream outV6 = new ByteArrayOutputStream();
+    codecV6.encode(outV6, snapshot);
+    TransactionSnapshot decodedV6 = codecV6.decode(new ByteArrayInputStream(outV6.toByteArray()));
+    assertEquals(snapshot, decodedV6);
+    assertTrue(decodedV6.getCommittedChangeSets().get(now - 12) instanceof FingerprintChangeSet);
+    assertFalse(decodedV6.getCommittedChangeSets().get(now - 13) instanceof FingerprintChangeSet);
+
+    // an empty snapshot
+    TransactionSnapshot empty = new TransactionSnapshot(
+      System.currentTimeMillis(), now, now, Collections.<Long>emptyList(),
+      Maps.<Long, TransactionManager.InProgressTx>newTreeMap(), Collections.<Long, Set<ChangeId>>emptyMap(),
+      Collections.<Long, Set<ChangeId>>emptyMap());
+    SnapshotCodec codec = new SnapshotCodecV6();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    codec.encode(out, empty);
+    assertEquals(empty, codec.decode(new ByteArrayInputStream(out.toByteArray())));
+  }
+
+  @Test
+  public void testSnapshotCodecV6Size() throws IOException {
+    TransactionSnapshot snapshot = SnapshotCodecBenchmark.createSnapshot(1000, 200, 20);
+    ByteArrayOutputStream outV4 = new ByteArrayOutputStream();
+    new SnapshotCodecV4().encode(outV4, snapshot);
+
+    SnapshotCodecV6 codec = new SnapshotCodecV6();
+    codec.setConf(new Configuration(false));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    codec.encode(out, snapshot);
+    assertEquals(snapshot, codec.decode(new ByteArrayInputStream(out.toByteArray())));
+    assertTrue(out.size() < outV4.size());
+
+    Configuration conf = new Configuration(false);
+    conf.setBoolean(TxConstants.Persist.CFG_TX_SNAPSHOT_CODEC_COMPRESS, true);
+    codec.setConf(conf);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    codec.encode(compressed, snapshot);
+    assertEquals(snapshot, codec.decode(new ByteArrayInputStream(compressed.toByteArray())));
+    assertTrue(compressed.size() < out.size());
+  }
+
+  @Test
+  public void testSnapshotCodecV5Invalid() throws IOException {
+    long now = System.currentTimeMillis() * TxConstants.MAX_TX_PER_MS;
+    List<Long> invalid = Lists.newArrayList(now - 5000000000L, now - 10, now - 9, now - 1);
+    TransactionSnapshot snapshot = new TransactionSnapshot(
+      System.currentTimeMillis(), now - 2, now, invalid, Maps.<Long, TransactionManager.InProgressTx>newTreeMap(),
+      Maps.<Long, Set<ChangeId>>newHashMap(), Maps.<Long, Set<ChangeId>>newTreeMap());
+
+    SnapshotCodec codec = new SnapshotCodecV5();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    codec.encode(out, snapshot);
+    TransactionSnapshot decoded = codec.decode(new ByteArrayInputStream(out.toByteArray()));
+    Assert.assertEquals(snapshot, decoded);
+    Assert.assertEquals(invalid, Lists.newArrayList(decoded.getInvalid()));
+
+    // the compact encoding takes less space than the plain list of longs in V4
+    ByteArrayOutputStream outV4 = new ByteArrayOutputStream();
+    new SnapshotCodecV4().encode(outV4, snapshot);
+    Assert.assertTrue(out.size() < outV4.size());
   }
 
   @Test
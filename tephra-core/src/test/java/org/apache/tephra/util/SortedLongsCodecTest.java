@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tephra.util;
+
+import org.apache.tephra.TxConstants;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests for {@link SortedLongsCodec}.
+ */
+public class SortedLongsCodecTest {
+
+  @Test
+  public void testRoundTrip() {
+    assertRoundTrip(new long[0]);
+    assertRoundTrip(new long[] { 0 });
+    assertRoundTrip(new long[] { -5, -1, 0, 0, 7 });
+    assertRoundTrip(new long[] { Long.MIN_VALUE, -1, Long.MAX_VALUE });
+
+    // invalid transactions that are clustered in time
+    Random random = new Random(42);
+    long[] values = new long[10000];
+    long txId = System.currentTimeMillis() * TxConstants.MAX_TX_PER_MS;
+    for (int i = 0; i < values.length; i++) {
+      txId += random.nextInt(10) == 0 ? random.nextInt(1000) * TxConstants.MAX_TX_PER_MS : 1 + random.nextInt(10);
+      values[i] = txId;
+    }
+    byte[] encoded = assertRoundTrip(values);
+    // less than half the size of the plain longs
+    Assert.assertTrue(encoded.length < values.length * 4);
+  }
+
+  @Test
+  public void testDecodeFromBuffer() {
+    byte[] encoded = SortedLongsCodec.encode(new long[] { 3, 5, 8 });
+    byte[] padded = new byte[encoded.length + 2];
+    System.arraycopy(encoded, 0, padded, 1, encoded.length);
+    ByteBuffer buffer = ByteBuffer.wrap(padded, 1, encoded.length);
+    Assert.assertArrayEquals(new long[] { 3, 5, 8 }, SortedLongsCodec.decode(buffer));
+    // decoding does not consume the buffer
+    Assert.assertEquals(1, buffer.position());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsorted() {
+    SortedLongsCodec.encode(new long[] { 2, 1 });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncated() {
+    byte[] encoded = SortedLongsCodec.encode(new long[] { 1, 1000, 1000000 });
+    SortedLongsCodec.decode(Arrays.copyOf(encoded, encoded.length - 1));
+  }
+
+  private static byte[] assertRoundTrip(long[] values) {
+    byte[] encoded = SortedLongsCodec.encode(values);
+    Assert.assertArrayEquals(values, SortedLongsCodec.decode(encoded));
+    return encoded;
+  }
+}
@@ -724,6 +724,33 @@ public class TransactionAwareHTableTest {
     transactionAwareHTable.get(new Get(TestBytes.row));
   }
 
+  /**
+   * Tests that writes in a read-only transaction are refused, as they would not be part of any transaction.
+   */
+  @Test
+  public void testReadOnlyRefusesWrites() throws Exception {
+    transactionContext.startReadOnly();
+    Put put = new Put(TestBytes.row);
+    put.add(TestBytes.family, TestBytes.qualifier, TestBytes.value);
+    try {
+      transactionAwareHTable.put(put);
+      fail("Expected a put in a read-only transaction to fail");
+    } catch (IOException e) {
+      // expected
+    }
+    try {
+      transactionAwareHTable.delete(new Delete(TestBytes.row));
+      fail("Expected a delete in a read-only transaction to fail");
+    } catch (IOException e) {
+      // expected
+    }
+    transactionContext.finish();
+
+    transactionContext.start();
+    assertTrue(transactionAwareHTable.get(new Get(TestBytes.row)).isEmpty());
+    transactionContext.finish();
+  }
+
   /**
    * Tests that each transaction can see its own persisted writes, while not seeing writes from other
    * in-progress transactions.
@@ -531,6 +531,7 @@ public class TransactionAwareHTable extends AbstractTransactionAwareTable
   }
 
   private Put transactionalizeAction(Put put) throws IOException {
+    checkWritable();
     Put txPut = new Put(put.getRow(), tx.getWritePointer());
     Set<Map.Entry<byte[], List<Cell>>> familyMap = put.getFamilyCellMap().entrySet();
     if (!familyMap.isEmpty()) {
@@ -553,6 +554,7 @@ public class TransactionAwareHTable extends AbstractTransactionAwareTable
   }
 
   private Delete transactionalizeAction(Delete delete) throws IOException {
+    checkWritable();
     long transactionTimestamp = tx.getWritePointer();
 
     byte[] deleteRow = delete.getRow();